@@ -51,6 +51,7 @@ public abstract class AbstractScannable<T> implements IScannable<T>, IScanAttrib
 	private boolean             activated;
 	private MonitorRole         monitorRole=MonitorRole.PER_POINT;
 	private long                timeout=-1;
+	private boolean             readoutSafe;
 	
 	/**
 	 * Model is used for some scannables for instance those writing NeXus 
@@ -272,6 +273,14 @@ public abstract class AbstractScannable<T> implements IScannable<T>, IScanAttrib
 		this.timeout = timeout;
 	}
 	@Override
+	public boolean isReadoutSafe() {
+		return readoutSafe;
+	}
+	@Override
+	public void setReadoutSafe(boolean readoutSafe) {
+		this.readoutSafe = readoutSafe;
+	}
+	@Override
 	public T getTolerance() {
 		return tolerance;
 	}
@@ -0,0 +1,60 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api;
+
+import java.util.List;
+
+import org.eclipse.scanning.api.points.IPosition;
+
+/**
+ * A scannable which may be moved through the points of a line of a scan
+ * as a trajectory, for instance a motor which is sent the whole line and
+ * moves on the triggers of the detectors. If batching is switched on with
+ * the property org.eclipse.scanning.sequencer.batch, every scannable of a
+ * scan is batched and every detector is an IBatchedDetector, the scan runs
+ * and writes the detectors for each line of the innermost axis at once
+ * rather than handing each point to the threads of the scan.
+ * 
+ * The scannables are moved to the first point of a line as normal and
+ * then armed with the rest of the points of the line, in the order of
+ * their levels. The detectors of the line are run, during which the
+ * scannables move through the points, and then the scan waits for the
+ * scannables to reach the end of the line. Tolerances and the level
+ * annotations are not used for those points.
+ *
+ * @param <T> the type of value returned by {@link #getPosition()}
+ */
+public interface IBatchedScannable<T> extends IScannable<T> {
+
+	/**
+	 * Arms the scannable with the positions which it will move through
+	 * while the detectors of the line run, for instance by sending a
+	 * trajectory to the hardware. Returns once armed, without waiting
+	 * for the move.
+	 * 
+	 * @param positions of the scan, the value of this scannable is the one with its name.
+	 * @throws Exception
+	 */
+	void setPositions(List<IPosition> positions) throws Exception;
+
+	/**
+	 * Waits until the scannable has moved through the positions of the
+	 * last setPositions(...), called once the detectors of the line have run.
+	 * By default it returns straight away, for a scannable which has reached
+	 * the end of the line when the detectors have been triggered for it.
+	 * 
+	 * @throws Exception
+	 */
+	default void awaitPositions() throws Exception {
+		// Already there
+	}
+}
@@ -0,0 +1,40 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api;
+
+public interface IReadoutSafe {
+
+	/**
+	 * A device which is readout safe may be moved to the next position
+	 * of a scan while the detectors are still being read out at the current one.
+	 * This is used when the scan has a look ahead, see ScanModel.setLookAhead(...),
+	 * the readout safe scannables start moving as soon as the detectors have
+	 * been run. They do not wait for the other scannables or their level so
+	 * should only be declared safe if the detectors do not depend on them after
+	 * the exposure, for instance a sample stage with a detector which is triggered.
+	 * 
+	 * Default is false.
+	 * 
+	 * @return true if the device may move during readout.
+	 */
+	default boolean isReadoutSafe() {
+		return false;
+	}
+	
+	/**
+	 * 
+	 * @param readoutSafe
+	 */
+	default void setReadoutSafe(boolean readoutSafe) {
+		throw new IllegalArgumentException("Readout safe cannot be set on "+getClass().getSimpleName());
+	}
+}
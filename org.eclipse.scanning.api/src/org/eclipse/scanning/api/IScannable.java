@@ -36,7 +36,7 @@ import org.eclipse.scanning.api.points.IPosition;
 public interface IScannable<T> extends 
 						           /* A list of mostly defaulted and vanilla interfaces optionally used for scannables */
 						           ILevel, INameable, ITimeoutable, 
-						           IBoundable<T>, ITolerable<T>, IMonitoredDevice {
+						           IBoundable<T>, ITolerable<T>, IMonitoredDevice, IReadoutSafe {
 	
 	/**
 	 * Returns the current position of the Scannable. Called by ConcurentScan at the end of the point. 
@@ -12,18 +12,25 @@
 package org.eclipse.scanning.api.annotation.scan;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.scanning.api.IServiceResolver;
 import org.eclipse.scanning.api.event.EventException;
@@ -42,8 +49,11 @@ import org.slf4j.LoggerFactory;
  * to be injected into the method. 
  * 
  * If attemps to parse all the reflection stuff up-front so that a call
- * to invoke(...) during the scan can be as efficiently despatched using
- * method.invoke(...) as possible.
+ * to invoke(...) during the scan can be as efficiently despatched as possible.
+ * Each annotated method is made into a method handle when the device is added
+ * and the argument which each type of context goes into is found the first
+ * time that type is seen. The time spent in each annotated method is added up,
+ * see getTimes(...), so that slow participants in a scan may be found.
  * 
  * This class could be made into a general purpose annotation parsing
  * and method calling class once tested.
@@ -215,7 +225,11 @@ public class AnnotationManager {
 	public void invoke(Class<? extends Annotation> annotation, Object... context) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException, InstantiationException, ScanningException, EventException {
 		try {
 			final Collection<MethodWrapper> as = annotationMap.get(annotation);
-			if (as!=null) for (MethodWrapper wrapper : as) wrapper.invoke(context);
+			if (as!=null) {
+				// The end of each call is the start of the next, which halves the calls to nanoTime()
+				long time = System.nanoTime();
+				for (MethodWrapper wrapper : as) time = wrapper.invoke(time, context);
+			}
 			
 		} catch (InvocationTargetException wapperExceptioned) {
 		    Throwable supressed = wapperExceptioned.getTargetException();
@@ -228,16 +242,79 @@ public class AnnotationManager {
 		}
 	}
 	
+	/**
+	 * The time spent in the methods with this annotation, for instance to find which
+	 * participants make the points of a scan slow.
+	 * 
+	 * @param annotation like &#64;PointEnd etc.
+	 * @param unit
+	 * @return the time spent in each method by the class and name of the method, in the order they are called.
+	 */
+	public Map<String, Long> getTimes(Class<? extends Annotation> annotation, TimeUnit unit) {
+		final Collection<MethodWrapper> as = annotationMap.get(annotation);
+		if (as==null) return Collections.emptyMap();
+		final Map<String, Long> ret = new LinkedHashMap<>(as.size());
+		for (MethodWrapper wrapper : as) {
+			ret.merge(wrapper.getName(), unit.convert(wrapper.time.sum(), TimeUnit.NANOSECONDS), Long::sum);
+		}
+		return ret;
+	}
+
+	/**
+	 * 
+	 * @param annotation like &#64;PointEnd etc.
+	 * @return the number of calls made to the methods with this annotation.
+	 */
+	public long getCount(Class<? extends Annotation> annotation) {
+		final Collection<MethodWrapper> as = annotationMap.get(annotation);
+		if (as==null) return 0;
+		long count = 0;
+		for (MethodWrapper wrapper : as) count+=wrapper.count.sum();
+		return count;
+	}
+
+	/**
+	 * 
+	 * @param annotation like &#64;WriteComplete etc.
+	 * @return true if a method has this annotation, so that invoking it calls something.
+	 */
+	public boolean hasMethods(Class<? extends Annotation> annotation) {
+		final Collection<MethodWrapper> as = annotationMap.get(annotation);
+		return as!=null && !as.isEmpty();
+	}
+
+	/**
+	 * Sets the times and counts of all the methods back to zero.
+	 */
+	public void resetTimes() {
+		for (Collection<MethodWrapper> as : annotationMap.values()) {
+			for (MethodWrapper wrapper : as) {
+				wrapper.time.reset();
+				wrapper.count.reset();
+			}
+		}
+	}
+	
 	private class MethodWrapper {
 		
+		private static final int UNBOUND = -1;
+		
 		private Object          instance;
 		private Method          method;
+		private MethodHandle    handle;    // Takes the arguments as an Object[] and returns nothing
 		private List<Class<?>>  argClasses;
 		private Object[]        arguments; // Must be object[] for speed and is not variable
 		
+		private final Map<Class<?>, Integer> bindings; // The index in arguments of each type of context, or UNBOUND
+		private final LongAdder              time;
+		private final LongAdder              count;
+		
 		MethodWrapper(final Class<? extends Annotation> aclass, Object instance, Method method) throws IllegalArgumentException {
 			this.instance = instance;
 			this.method   = method;
+			this.bindings = new ConcurrentHashMap<>(7);
+			this.time     = new LongAdder();
+			this.count    = new LongAdder();
 			
 			final Class<?>[] args = method.getParameterTypes();
 			this.argClasses = args!=null?Arrays.asList(args):null;
@@ -267,35 +344,78 @@ public class AnnotationManager {
 					}
 				}
 			}
+			
+			try {
+				this.handle = createHandle(instance, method);
+			} catch (IllegalAccessException ne) {
+				throw new IllegalArgumentException("Cannot call method '"+method.getName()+"' on class '"+instance.getClass().getSimpleName()+"' annotated with @"+aclass.getSimpleName(), ne);
+			}
 		}
 		
-		public void invoke(Object... objects) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+		private MethodHandle createHandle(Object instance, Method method) throws IllegalAccessException {
+			// The method is public but its class might not be, for instance if it is anonymous.
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method);
+			if (!Modifier.isStatic(method.getModifiers())) handle = handle.bindTo(instance);
+			return handle.asSpreader(Object[].class, method.getParameterCount())
+					     .asType(MethodType.methodType(void.class, Object[].class));
+		}
+		
+		/**
+		 * 
+		 * @param start the time in nanoseconds that the call started
+		 * @param objects the context
+		 * @return the time in nanoseconds that the call ended
+		 * @throws InvocationTargetException
+		 */
+		public long invoke(long start, Object... objects) throws InvocationTargetException {
 			
-			if (arguments!=null) { // Put the context into the args (if there are any)
-				
-				List<Object> context = getContext(objects);
-				for (int i = 0; i < context.size(); i++) {
-					
-				    final Collection<Class<?>> classes = getCachedClasses(context.get(i));
-				    
-				    // Find the first class in classes which is in argClasses
-				    // NOTE this is why duplicates are not supported, type of argument used to map to injected class.
-                	Optional<Class<?>> contained = classes.stream().filter(x -> argClasses.contains(x)).findFirst();
-                	if (contained.isPresent()) {
-                	    final int index = argClasses.indexOf(contained.get());
-                	    arguments[index] = context.get(i);
-                    }
-				}
-				boolean accessible = method.isAccessible();
-				try {
-					method.setAccessible(true);
-					method.invoke(instance, arguments);
-				} finally {
-					method.setAccessible(accessible);
-				}
-			} else {
-				method.invoke(instance);
+			if (arguments!=null && arguments.length>0) { // Put the context into the args (if there are any)
+				if (extraContext!=null) for (Object object : extraContext) bind(object);
+				if (objects!=null)      for (Object object : objects) bind(object);
 			}
+			
+			try {
+				handle.invokeExact(arguments);
+			} catch (Throwable ne) {
+				throw new InvocationTargetException(ne);
+			} finally {
+				count.increment();
+			}
+			final long end = System.nanoTime();
+			time.add(end-start);
+			return end;
+		}
+
+		private void bind(Object object) {
+			if (object==null) return;
+			final int index = getIndex(object);
+			if (index!=UNBOUND) arguments[index] = object;
+		}
+
+		/**
+		 * Find the first class in the classes of the object which is in argClasses
+		 * NOTE this is why duplicates are not supported, type of argument used to map to injected class.
+		 */
+		private int getIndex(Object object) {
+			Integer index = bindings.get(object.getClass());
+			if (index==null) {
+				index = UNBOUND;
+			    for (Class<?> clazz : getCachedClasses(object)) {
+			    	if (argClasses.contains(clazz)) {
+			    		index = argClasses.indexOf(clazz);
+			    		break;
+			    	}
+			    }
+			    bindings.put(object.getClass(), index);
+			}
+			return index;
+		}
+
+		private String getName() {
+			String cname = instance.getClass().getSimpleName();
+			if (cname.isEmpty()) cname = instance.getClass().getName(); // Anonymous
+			return cname+"."+method.getName();
 		}
 	}
 
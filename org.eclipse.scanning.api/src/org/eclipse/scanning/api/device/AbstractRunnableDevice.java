@@ -32,6 +32,7 @@ import org.eclipse.scanning.api.device.models.IDetectorModel;
 import org.eclipse.scanning.api.device.models.ScanMode;
 import org.eclipse.scanning.api.event.EventException;
 import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.event.core.ProgressPublisher;
 import org.eclipse.scanning.api.event.scan.DeviceInformation;
 import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.event.scan.ScanBean;
@@ -83,6 +84,7 @@ public abstract class AbstractRunnableDevice<T> implements IRunnableEventDevice<
 	protected IRunnableDeviceService     runnableDeviceService;
 	protected IScannableDeviceService    connectorService;
 	private   IPublisher<ScanBean>       publisher;
+	private   ProgressPublisher<ScanBean> progress;
 	
 	// Listeners
 	private   Collection<IRunListener>   rlisteners;
@@ -217,8 +219,8 @@ public abstract class AbstractRunnableDevice<T> implements IRunnableEventDevice<
 			
 			fireStateChanged(bean.getPreviousDeviceState(), nstate);
 
-			if (publisher!=null) {
-				publisher.broadcast(bean);
+			if (progress!=null) {
+				progress.broadcastNow(bean); // Always send changes of state
 			}
 
 		} catch (Exception ne) {
@@ -266,8 +268,13 @@ public abstract class AbstractRunnableDevice<T> implements IRunnableEventDevice<
 		if (bean.getDeviceState()==DeviceState.RUNNING) { // Only set this message if we are still running.
 			bean.setMessage("Point " + (pos.getStepIndex() + 1) +" of " + size);
 		}
-		if (publisher != null) {
-			publisher.broadcast(bean);
+		if (progress != null) {
+			// The final point is always sent, the others at the most at the rate of the progress publisher.
+			if (size>-1 && count>=size) {
+				progress.broadcastNow(bean);
+			} else {
+				progress.broadcast(bean);
+			}
 		}
 	}
 
@@ -281,8 +288,27 @@ public abstract class AbstractRunnableDevice<T> implements IRunnableEventDevice<
 	public IPublisher<ScanBean> getPublisher() {
 		return publisher;
 	}
+	/**
+	 * @return the publisher which limits the rate of the progress of the bean, null if there is no publisher.
+	 */
+	public ProgressPublisher<ScanBean> getProgressPublisher() {
+		return progress;
+	}
 	public void setPublisher(IPublisher<ScanBean> publisher) {
 		this.publisher = publisher;
+		this.progress  = publisher!=null ? new ProgressPublisher<>(publisher, AbstractRunnableDevice::snapshot) : null;
+	}
+
+	/**
+	 * A copy of the bean as it is now, for the progress publisher to send later
+	 * while the scan carries on changing the bean.
+	 * @param bean
+	 * @return the copy
+	 */
+	protected static ScanBean snapshot(ScanBean bean) {
+		final ScanBean copy = new ScanBean();
+		copy.merge(bean);
+		return copy;
 	}
 
 	@Override
@@ -0,0 +1,59 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.device;
+
+import java.util.List;
+
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.ScanningException;
+
+/**
+ * A detector which may acquire and write a line of the points of a scan
+ * at once, for instance a software triggered detector which works out
+ * its data from the positions. 
+ * 
+ * When batching is switched on with the property org.eclipse.scanning.sequencer.batch,
+ * every detector of a scan is batched and every scannable is an IBatchedScannable,
+ * the scan reads each line of its innermost axis, arms the scannables with it and
+ * calls run(...), during which the scannables move through the line, and then
+ * write(...) with all the positions of the line. The write of one line runs while
+ * the scannables move to the next, as write(IPosition) does for a point. 
+ * 
+ * The PointStart and PointEnd annotations are still called for each point
+ * of the line, but those of all the points of the line come before the
+ * detectors are run or after, respectively. The scan may only be paused
+ * between lines. Otherwise, for instance when there are per point monitors,
+ * the detector is run and written for each point as normal.
+ *
+ * @param <T> Class of model required by detector to configure it.
+ */
+public interface IBatchedDetector<T> extends IWritableDetector<T> {
+
+	/**
+	 * Acquires the data for each of the positions, in order.
+	 * 
+	 * @param positions of a line of the scan
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	void run(List<IPosition> positions) throws ScanningException, InterruptedException;
+
+	/**
+	 * Writes the data acquired by the last run(List) of the positions.
+	 * 
+	 * @param positions the same positions as the last run(List)
+	 * @return true for a successful readout.
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	boolean write(List<IPosition> positions) throws ScanningException, InterruptedException;
+}
@@ -122,6 +122,17 @@ public interface IScannableDeviceService {
 		return ret;
 	}
 	
+	/**
+	 * The last known values of the scannables of this service, which are used
+	 * instead of reading a scannable again when it has just been moved or has
+	 * told its listeners its value, see {@link ScannableValueCache}. 
+	 * 
+	 * @return the cache, or null to always read the scannables.
+	 */
+	default ScannableValueCache getValueCache() {
+		return ScannableValueCache.getCache(this);
+	}
+	
 	default void handleDeviceError(String name, Exception e) {
 		System.err.println("Failure getting device information for " + name);
 		e.printStackTrace();
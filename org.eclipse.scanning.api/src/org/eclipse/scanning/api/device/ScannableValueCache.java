@@ -0,0 +1,232 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.device;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.PositionEvent;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.api.scan.event.IPositionListenable;
+import org.eclipse.scanning.api.scan.event.IPositionListener;
+
+/**
+ * The last known values of the scannables of a connector, so that
+ * the value of a scannable which has just been moved, or which tells its
+ * listeners when it changes, is not read from the hardware again.
+ *
+ * The cache is fed by the moves of the scanning and by the position
+ * events of the scannables which are IPositionListenable, it listens to a
+ * scannable from the first time its value is asked for. A value is used
+ * for at most the maximum age of its scannable, after that it is read
+ * again. The maximum age is set for each scannable by name, those not set
+ * use the property org.eclipse.scanning.api.device.cache.maximumAge in ms,
+ * by default 0. A maximum age of 0 always reads the scannable, so values
+ * are only cached for the scannables which are given an age or when the
+ * property is set. Whether a move is within the tolerance of a scannable
+ * is always decided from a value read from it, not from the cache.
+ *
+ * The cache of a connector is got with IScannableDeviceService.getValueCache().
+ */
+public class ScannableValueCache implements IPositionListener {
+
+	private static final Map<IScannableDeviceService, ScannableValueCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final Map<String, Value>     values;
+	private final Map<String, Long>      maximumAges; // ns
+	private final Set<IScannable<?>>     listening;
+	private final long                   defaultMaximumAge; // ns
+	private final AtomicLong             hits;
+	private final AtomicLong             reads;
+
+	public ScannableValueCache() {
+		this(Long.getLong("org.eclipse.scanning.api.device.cache.maximumAge", 0), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 *
+	 * @param maximumAge the age after which a value is read again, for the scannables which have not had one set.
+	 * @param unit
+	 */
+	public ScannableValueCache(long maximumAge, TimeUnit unit) {
+		this.values            = new ConcurrentHashMap<>();
+		this.maximumAges       = new ConcurrentHashMap<>();
+		this.listening         = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+		this.defaultMaximumAge = unit.toNanos(maximumAge);
+		this.hits              = new AtomicLong();
+		this.reads             = new AtomicLong();
+	}
+
+	/**
+	 * The cache of a connector which does not keep its own.
+	 * @param service
+	 * @return the cache, created the first time it is asked for.
+	 */
+	public static ScannableValueCache getCache(IScannableDeviceService service) {
+		return caches.computeIfAbsent(service, s -> new ScannableValueCache());
+	}
+
+	/**
+	 * The value of the scannable, from the cache if it is recent enough
+	 * otherwise read from the scannable.
+	 *
+	 * @param scannable
+	 * @return the value
+	 * @throws Exception if the scannable cannot be read
+	 */
+	public <T> T getPosition(IScannable<T> scannable) throws Exception {
+		return getPosition(scannable, System.nanoTime()-getMaximumAge(scannable.getName()));
+	}
+
+	/**
+	 * The value of the scannable, from the cache if it was set after the time
+	 * given, for instance by the events of a move which started then,
+	 * otherwise read from the scannable.
+	 *
+	 * @param scannable
+	 * @param since the time from System.nanoTime()
+	 * @return the value
+	 * @throws Exception if the scannable cannot be read
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getPosition(IScannable<T> scannable, long since) throws Exception {
+		listen(scannable);
+		final Value value = values.get(scannable.getName());
+		if (value!=null && value.scannable.get()==scannable && value.time-since>=0) {
+			hits.incrementAndGet();
+			return (T)value.value;
+		}
+		final T read = scannable.getPosition();
+		reads.incrementAndGet();
+		put(scannable, read);
+		return read;
+	}
+
+	/**
+	 * Sets the value of the scannable, for instance when a move has returned it.
+	 * @param scannable
+	 * @param value null to remove the value
+	 */
+	public void put(IScannable<?> scannable, Object value) {
+		if (value==null) {
+			invalidate(scannable.getName());
+			return;
+		}
+		values.put(scannable.getName(), new Value(scannable, value, System.nanoTime()));
+	}
+
+	/**
+	 * Removes the value of a scannable, for instance when it starts to move.
+	 * @param name
+	 */
+	public void invalidate(String name) {
+		values.remove(name);
+	}
+
+	/**
+	 * Removes all the values.
+	 */
+	public void clear() {
+		values.clear();
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @return the age after which a value of the scannable is read again, in ns.
+	 */
+	public long getMaximumAge(String name) {
+		final Long age = maximumAges.get(name);
+		return age!=null ? age : defaultMaximumAge;
+	}
+
+	/**
+	 * Sets the age after which a value of the scannable is read again.
+	 * @param name
+	 * @param maximumAge 0 to always read it
+	 * @param unit
+	 */
+	public void setMaximumAge(String name, long maximumAge, TimeUnit unit) {
+		maximumAges.put(name, unit.toNanos(maximumAge));
+	}
+
+	/**
+	 * @return the number of values which came from the cache.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of values which were read from the scannables.
+	 */
+	public long getReadCount() {
+		return reads.get();
+	}
+
+	private void listen(IScannable<?> scannable) {
+		if (!(scannable instanceof IPositionListenable)) return;
+		if (listening.add(scannable)) ((IPositionListenable)scannable).addPositionListener(this);
+	}
+
+	@Override
+	public void positionChanged(PositionEvent evt) throws ScanningException {
+		update(evt);
+	}
+
+	@Override
+	public void positionPerformed(PositionEvent evt) throws ScanningException {
+		update(evt);
+	}
+
+	private void update(PositionEvent evt) {
+		final IPosition position = evt.getPosition();
+		if (position==null) return;
+		for (String name : position.getNames()) {
+			final Value value = values.get(name);
+			// Only the scannables listened to are fed by their events.
+			final IScannable<?> scannable = value!=null ? value.scannable.get() : find(name);
+			if (scannable!=null) put(scannable, position.get(name));
+		}
+	}
+
+	private IScannable<?> find(String name) {
+		synchronized (listening) {
+			for (IScannable<?> scannable : listening) if (name.equals(scannable.getName())) return scannable;
+		}
+		return null;
+	}
+
+	/**
+	 * A value and when it was set. The scannables are not held by the cache
+	 * so that the cache of a connector does not keep the connector.
+	 */
+	private static final class Value {
+		private final WeakReference<IScannable<?>> scannable;
+		private final Object                       value;
+		private final long                         time; // ns
+
+		Value(IScannable<?> scannable, Object value, long time) {
+			this.scannable = new WeakReference<>(scannable);
+			this.value     = value;
+			this.time      = time;
+		}
+	}
+}
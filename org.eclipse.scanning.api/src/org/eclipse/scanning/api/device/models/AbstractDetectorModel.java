@@ -11,9 +11,13 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.device.models;
 
+import java.io.Serializable;
+
 import org.eclipse.scanning.api.annotation.ui.FieldDescriptor;
 
-public abstract class AbstractDetectorModel implements IDetectorModel, IReflectedModel {
+public abstract class AbstractDetectorModel implements IDetectorModel, IReflectedModel, Serializable {
+
+	private static final long serialVersionUID = 1676320813047436287L;
 
 	private long timeout;
 	
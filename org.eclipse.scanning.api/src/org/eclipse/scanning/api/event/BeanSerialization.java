@@ -0,0 +1,123 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * The default binary encoding of the beans of the event system, Java serialization.
+ * It writes the fields of a bean directly rather than marshalling it to JSON.
+ *
+ * Only the classes of beans, the classes of the scanning and dawnsci bundles and
+ * the plain classes of the JDK which beans hold may be read back, so that a message
+ * cannot make this process create any other class.
+ */
+final class BeanSerialization {
+
+	static final String CONTENT_TYPE = "application/x-java-serialized-object";
+
+	private static final String[] ALLOWED = {"org.eclipse.scanning.", "org.eclipse.dawnsci.", "org.eclipse.january.",
+			                                 "java.lang.", "java.util.", "java.math.", "java.text.", "java.net.URI",
+			                                 "java.beans.PropertyChangeSupport"};
+
+	private BeanSerialization() {
+		// Static methods only
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return the bytes or null if the bean holds something which is not serializable.
+	 * @throws IOException
+	 */
+	static byte[] serialize(Object bean) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(bean);
+		} catch (NotSerializableException ne) {
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 *
+	 * @param bytes
+	 * @param beanClass the class of the bean or null if any bean may be read
+	 * @return the bean
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	static <U> U deserialize(byte[] bytes, Class<U> beanClass) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new BeanInputStream(new ByteArrayInputStream(bytes), beanClass)) {
+			final Object bean = in.readObject();
+			if (beanClass!=null) return beanClass.cast(bean);
+			@SuppressWarnings("unchecked")
+			final U ret = (U)bean;
+			return ret;
+		}
+	}
+
+	private static boolean isAllowed(String name) {
+		String type = name.replaceFirst("^\\[+", ""); // The class of the elements of an array
+		if (type.length()==1) return true; // An array of primitives
+		if (type.startsWith("L") && type.endsWith(";")) type = type.substring(1, type.length()-1);
+		for (String prefix : ALLOWED) if (type.startsWith(prefix)) return true;
+		return false;
+	}
+
+	/**
+	 * Reads the allowed classes, from the bundle of the bean if there is one.
+	 */
+	private static final class BeanInputStream extends ObjectInputStream {
+
+		private final ClassLoader loader;
+
+		BeanInputStream(InputStream in, Class<?> beanClass) throws IOException {
+			super(in);
+			this.loader = beanClass!=null ? beanClass.getClassLoader() : null;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			final String name = desc.getName();
+			if (!isAllowed(name)) throw new InvalidClassException(name, "is not allowed in a bean");
+			if (loader!=null) {
+				try {
+					return Class.forName(name, false, loader);
+				} catch (ClassNotFoundException ne) {
+					// It may be in another bundle
+				}
+			}
+			try {
+				return super.resolveClass(desc);
+			} catch (ClassNotFoundException ne) {
+				final ClassLoader context = Thread.currentThread().getContextClassLoader();
+				if (context==null) throw ne;
+				return Class.forName(name, false, context);
+			}
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException("A proxy is not allowed in a bean");
+		}
+	}
+}
@@ -41,6 +41,43 @@ public interface IEventConnectorService {
 	 */
 	<U> U unmarshal(String anyObject, Class<U> beanClass) throws Exception;
 
+	/**
+	 * The content type of the binary encoding of a bean. Messages in this
+	 * encoding carry it so that they may be told apart from JSON text, which
+	 * every client, for instance a Python client over STOMP, can read.
+	 * 
+	 * By default the encoding is Java serialization, which writes the fields
+	 * of a bean without marshalling it to JSON.
+	 * 
+	 * @return the content type
+	 */
+	default String getBinaryContentType() {
+		return BeanSerialization.CONTENT_TYPE;
+	}
+
+	/**
+	 * Encodes a bean in the binary encoding of this service.
+	 * @param bean
+	 * @return the bytes to send or null if the bean cannot be encoded, it is then sent as JSON.
+	 * @throws Exception
+	 */
+	default byte[] encode(Object bean) throws Exception {
+		return BeanSerialization.serialize(bean);
+	}
+
+	/**
+	 * Decodes a bean which was encoded by a service.
+	 * @param bytes
+	 * @param contentType of the bytes
+	 * @param beanClass the class of the bean or null if it may be any bean
+	 * @return the bean
+	 * @throws Exception if the content type is not one this service can decode
+	 */
+	default <U> U decode(byte[] bytes, String contentType, Class<U> beanClass) throws Exception {
+		if (!getBinaryContentType().equals(contentType)) throw new EventException("Cannot decode content of type "+contentType);
+		return BeanSerialization.deserialize(bytes, beanClass);
+	}
+
 	/**
 	 * Create a connection factory for sending events. This method 
 	 * may return null or a class implementing javax.jms.ConnectionFactory
@@ -0,0 +1,106 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.event.core;
+
+/**
+ * How well the listeners of a subscriber keep up with its events.
+ * The lag is the time in milliseconds from an event arriving to its
+ * listeners being called.
+ */
+public class DispatchStatistics {
+
+	private int    queueDepth;
+	private int    maximumQueueDepth;
+	private long   dispatched;
+	private long   conflated;
+	private long   blocked;
+	private double meanLag;
+	private double maximumLag;
+
+	/**
+	 * @return the number of events waiting for their listeners.
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	public void setQueueDepth(int queueDepth) {
+		this.queueDepth = queueDepth;
+	}
+
+	/**
+	 * @return the most events which have been waiting at once.
+	 */
+	public int getMaximumQueueDepth() {
+		return maximumQueueDepth;
+	}
+
+	public void setMaximumQueueDepth(int maximumQueueDepth) {
+		this.maximumQueueDepth = maximumQueueDepth;
+	}
+
+	/**
+	 * @return the number of events given to the listeners.
+	 */
+	public long getDispatched() {
+		return dispatched;
+	}
+
+	public void setDispatched(long dispatched) {
+		this.dispatched = dispatched;
+	}
+
+	/**
+	 * @return the number of events which were replaced by a later one before their listeners were called.
+	 */
+	public long getConflated() {
+		return conflated;
+	}
+
+	public void setConflated(long conflated) {
+		this.conflated = conflated;
+	}
+
+	/**
+	 * @return the number of events for which the messaging thread waited because the capacity was reached and the listeners did not keep up.
+	 */
+	public long getBlocked() {
+		return blocked;
+	}
+
+	public void setBlocked(long blocked) {
+		this.blocked = blocked;
+	}
+
+	public double getMeanLag() {
+		return meanLag;
+	}
+
+	public void setMeanLag(double meanLag) {
+		this.meanLag = meanLag;
+	}
+
+	public double getMaximumLag() {
+		return maximumLag;
+	}
+
+	public void setMaximumLag(double maximumLag) {
+		this.maximumLag = maximumLag;
+	}
+
+	@Override
+	public String toString() {
+		return "DispatchStatistics [queueDepth=" + queueDepth + ", maximumQueueDepth=" + maximumQueueDepth
+				+ ", dispatched=" + dispatched + ", conflated=" + conflated + ", blocked=" + blocked
+				+ ", meanLag=" + meanLag + ", maximumLag=" + maximumLag + "]";
+	}
+}
@@ -79,5 +79,22 @@ public interface IPublisher<T> extends ITopicConnection {
 	 * @param consumer
 	 */
 	public void setConsumer(IConsumer<?> consumer);
+	
+	/**
+	 * Set true to send the beans to the topic in the binary encoding of the connector
+	 * service rather than as JSON, default false. A bean which the service cannot encode
+	 * is still sent as JSON. Clients which only read JSON, for instance python over STOMP,
+	 * cannot read binary messages so only set this for topics whose subscribers all
+	 * use ISubscriber. The status set is always JSON.
+	 * 
+	 * @param binary
+	 */
+	public void setBinary(boolean binary);
+
+	/**
+	 * 
+	 * @return true if the beans are sent to the topic in the binary encoding of the connector service.
+	 */
+	public boolean isBinary();
 
 }
@@ -98,4 +98,14 @@ public interface IRequester<T extends IdBean> extends IRequestResponseConnection
 	 */
 	T post(T request, ResponseConfiguration.ResponseWaiter waiter) throws EventException, InterruptedException;
 	
+	/**
+	 * The times in milliseconds which the posts of this requester took to
+	 * get their responses. Posts which timed out are not counted.
+	 * 
+	 * @return the statistics of the request topic.
+	 */
+	default RequestStatistics getStatistics() {
+		return new RequestStatistics(getRequestTopic());
+	}
+
 }
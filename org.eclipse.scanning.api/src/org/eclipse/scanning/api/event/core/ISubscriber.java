@@ -114,9 +114,9 @@ public interface ISubscriber<T> extends ITopicConnection, IPropertyFilter {
 	 * The default is true. When synchronous is true events are 
 	 * despatched in order and the event listener method is waited
 	 * for until it returns before processing more events.
-	 * If it is false the messaging thread is used to directly
-	 * depatch the event meaning that more events may occur and
-	 * be called the last listener has returned.
+	 * If it is false events of different beans, for instance of
+	 * different scans or scannables, may be despatched at the same
+	 * time. The events of one bean are always despatched in order.
 	 * @param sync
 	 */
 	public void setSynchronous(boolean sync);
@@ -126,4 +126,28 @@ public interface ISubscriber<T> extends ITopicConnection, IPropertyFilter {
 	 * @return true by default.
 	 */
 	public boolean isSynchronous();
+	
+	/**
+	 * Call to set if an event which is waiting for its listeners may be
+	 * replaced by a later event of the same bean, for instance the progress
+	 * of a scan or the value of a scannable. Only the last is then given
+	 * to the listeners. Changes of status are never replaced. The default
+	 * is false or the property org.eclipse.scanning.event.dispatch.conflate.
+	 * @param conflating
+	 */
+	public void setConflating(boolean conflating);
+	
+	/**
+	 * 
+	 * @return false by default.
+	 */
+	public boolean isConflating();
+	
+	/**
+	 * 
+	 * @return the queue depth and lag of the events given to the listeners.
+	 */
+	default DispatchStatistics getDispatchStatistics() {
+		return new DispatchStatistics();
+	}
 }
@@ -0,0 +1,180 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.event.core;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.scanning.api.event.EventException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the rate at which the progress of a bean, for instance the
+ * ScanBean of a running scan, is broadcast. Each broadcast marshals the
+ * whole bean and sends it, for a scan with thousands of points a second
+ * that would be most of the time of the scan.
+ *
+ * The last value always wins: a progress which is not sent is not queued,
+ * the next broadcast replaces it. If no broadcast comes by the end of the
+ * interval the last progress is sent then, so a client is never left with
+ * an old progress when the scan pauses. As the bean is still being changed
+ * by the scan, the one sent then is a snapshot taken by the thread of the
+ * scan when the progress was not sent, never the bean itself. State changes and the
+ * final point should be sent with broadcastNow(...) which always sends,
+ * so a client never misses them and always sees the last progress before
+ * a change of state.
+ *
+ * The rate is read from the property org.eclipse.scanning.api.event.progress.rate,
+ * the most broadcasts a second, by default 10. Zero or less does not limit it.
+ */
+public class ProgressPublisher<T> {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProgressPublisher.class);
+
+	/**
+	 * Sends the last bean at the end of an interval, shared by all publishers as the sends are short.
+	 */
+	private static final ScheduledExecutorService trailing = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "Progress publisher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final IPublisher<T>            publisher;
+	private final UnaryOperator<T>         snapshot;
+	private final long                     interval; // ms
+	private final LongSupplier             clock;    // ms
+	private final ScheduledExecutorService timer;
+	private long                           lastBroadcast = -1;
+	private long                           suppressed;
+	private T                              latest;   // The snapshot of the bean not sent, if any
+	private ScheduledFuture<?>             scheduled;
+
+	/**
+	 * A progress publisher with the rate from the properties.
+	 * @param publisher
+	 * @param snapshot copies the bean as it is when its progress is not sent
+	 */
+	public ProgressPublisher(IPublisher<T> publisher, UnaryOperator<T> snapshot) {
+		this(publisher, snapshot, getDefaultRate());
+	}
+
+	/**
+	 *
+	 * @param publisher
+	 * @param snapshot copies the bean as it is when its progress is not sent
+	 * @param rate the most broadcasts a second, zero or less for any number.
+	 */
+	public ProgressPublisher(IPublisher<T> publisher, UnaryOperator<T> snapshot, double rate) {
+		this(publisher, snapshot, rate, System::currentTimeMillis, trailing);
+	}
+
+	/**
+	 * Used by tests to control the time.
+	 *
+	 * @param publisher
+	 * @param snapshot copies the bean as it is when its progress is not sent
+	 * @param rate the most broadcasts a second, zero or less for any number.
+	 * @param clock the time in ms
+	 * @param timer sends the last progress at the end of an interval
+	 */
+	public ProgressPublisher(IPublisher<T> publisher, UnaryOperator<T> snapshot, double rate, LongSupplier clock, ScheduledExecutorService timer) {
+		this.publisher = publisher;
+		this.snapshot  = snapshot;
+		this.interval  = rate>0 ? Math.round(1000d/rate) : 0;
+		this.clock     = clock;
+		this.timer     = timer;
+	}
+
+	/**
+	 *
+	 * @return the most broadcasts a second from the properties
+	 */
+	public static double getDefaultRate() {
+		final String rate = System.getProperty("org.eclipse.scanning.api.event.progress.rate");
+		if (rate==null) return 10;
+		try {
+			return Double.parseDouble(rate.trim());
+		} catch (NumberFormatException ne) {
+			return 10;
+		}
+	}
+
+	/**
+	 * Broadcasts the bean if the last broadcast was long enough ago,
+	 * otherwise it is sent at the end of the interval unless another
+	 * broadcast comes first.
+	 *
+	 * @param bean
+	 * @return true if the bean was broadcast
+	 * @throws EventException
+	 */
+	public synchronized boolean broadcast(T bean) throws EventException {
+		final long now = clock.getAsLong();
+		if (lastBroadcast>-1 && now-lastBroadcast<interval) {
+			suppressed++;
+			latest = snapshot.apply(bean);
+			if (scheduled==null) scheduled = timer.schedule(this::sendLatest, lastBroadcast+interval-now, TimeUnit.MILLISECONDS);
+			return false;
+		}
+		send(bean, now);
+		return true;
+	}
+
+	/**
+	 * Broadcasts the bean whenever the last broadcast was, for a change
+	 * of state or the final progress.
+	 *
+	 * @param bean
+	 * @throws EventException
+	 */
+	public synchronized void broadcastNow(T bean) throws EventException {
+		send(bean, clock.getAsLong());
+	}
+
+	private void send(T bean, long now) throws EventException {
+		latest = null;
+		if (scheduled!=null) {
+			scheduled.cancel(false);
+			scheduled = null;
+		}
+		publisher.broadcast(bean);
+		lastBroadcast = now;
+	}
+
+	private synchronized void sendLatest() {
+		scheduled = null;
+		if (latest==null) return;
+		try {
+			send(latest, clock.getAsLong());
+		} catch (EventException ne) {
+			logger.error("Cannot broadcast the progress of "+latest, ne);
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of broadcasts which were not sent straight away because they came too soon.
+	 */
+	public synchronized long getSuppressedCount() {
+		return suppressed;
+	}
+
+	public IPublisher<T> getPublisher() {
+		return publisher;
+	}
+}
@@ -0,0 +1,82 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.event.core;
+
+/**
+ * How long the posts of a requester took to get their responses.
+ * The latencies are in milliseconds, posts which timed out are not counted.
+ */
+public class RequestStatistics {
+
+	private String requestTopic;
+	private long   count;
+	private double meanLatency;
+	private double minimumLatency;
+	private double maximumLatency;
+
+	public RequestStatistics() {
+
+	}
+
+	public RequestStatistics(String requestTopic) {
+		this.requestTopic = requestTopic;
+	}
+
+	public String getRequestTopic() {
+		return requestTopic;
+	}
+
+	public void setRequestTopic(String requestTopic) {
+		this.requestTopic = requestTopic;
+	}
+
+	/**
+	 * @return the number of posts which had their responses.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public double getMeanLatency() {
+		return meanLatency;
+	}
+
+	public void setMeanLatency(double meanLatency) {
+		this.meanLatency = meanLatency;
+	}
+
+	public double getMinimumLatency() {
+		return minimumLatency;
+	}
+
+	public void setMinimumLatency(double minimumLatency) {
+		this.minimumLatency = minimumLatency;
+	}
+
+	public double getMaximumLatency() {
+		return maximumLatency;
+	}
+
+	public void setMaximumLatency(double maximumLatency) {
+		this.maximumLatency = maximumLatency;
+	}
+
+	@Override
+	public String toString() {
+		return "RequestStatistics [requestTopic=" + requestTopic + ", count=" + count + ", meanLatency=" + meanLatency
+				+ ", minimumLatency=" + minimumLatency + ", maximumLatency=" + maximumLatency + "]";
+	}
+}
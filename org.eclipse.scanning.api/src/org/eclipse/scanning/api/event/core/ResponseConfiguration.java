@@ -62,7 +62,6 @@ public class ResponseConfiguration {
 	private long         timeout;
 	private TimeUnit     timeUnit;
 	private CountDownLatch latch;
-	private boolean somethingFound;
 	
 	public ResponseConfiguration() {
 		this(ResponseType.ONE, DEFAULT.getTimeout(), DEFAULT.getTimeUnit());
@@ -76,31 +75,41 @@ public class ResponseConfiguration {
 	}
 	
 	public void latch(ResponseWaiter waiter) throws EventException, InterruptedException {
+		this.latch = new CountDownLatch(1);
+		waitForResponse(latch, waiter);
+	}
+	
+	/**
+	 * Waits for a response in the way of the response type. The latch is
+	 * counted down when a response comes, by whoever hears the response.
+	 * 
+	 * @param responded
+	 * @param waiter may be null
+	 * @throws EventException if there is no response within the timeout
+	 * @throws InterruptedException
+	 */
+	public void waitForResponse(CountDownLatch responded, ResponseWaiter waiter) throws EventException, InterruptedException {
 		
 		if (waiter==null) waiter = new ResponseWaiter.Dont();
 		
 		if (getResponseType()==ResponseType.ONE) {
-			this.latch    = new CountDownLatch(1);
-			boolean ok = latch.await(timeout, timeUnit);
+			boolean ok = responded.await(timeout, timeUnit);
 			while (!ok && waiter.waitAgain()) {
-				ok = latch.await(timeout, timeUnit);
+				ok = responded.await(timeout, timeUnit);
 			}
-			ok = latch.await(timeout, timeUnit); // This is because waitAgain() could be false leaving ok as false, we recheck it!
+			ok = responded.await(timeout, timeUnit); // This is because waitAgain() could be false leaving ok as false, we recheck it!
 			if (!ok) throw new EventException("The timeout of "+timeout+" "+timeUnit+" was reached and no response occurred!");
 			
 		} else if (getResponseType()==ResponseType.ONE_OR_MORE) {
-			somethingFound = false;
-			
 			Thread.sleep(timeUnit.toMillis(timeout));
 			while (waiter.waitAgain()) {
 				Thread.sleep(timeUnit.toMillis(timeout));		
 			}
-			if (!somethingFound) throw new EventException("The timeout of "+timeout+" "+timeUnit+" was reached and no response occurred!");
+			if (responded.getCount()>0) throw new EventException("The timeout of "+timeout+" "+timeUnit+" was reached and no response occurred!");
 		}
 	}
 	
 	public void countDown() {
-		somethingFound = true;
 		if (latch!=null) latch.countDown();
 	}
 	
@@ -14,6 +14,7 @@ package org.eclipse.scanning.api.event.scan;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.scanning.api.event.status.Status;
 import org.eclipse.scanning.api.event.status.StatusBean;
@@ -75,6 +76,9 @@ public final class ScanBean extends StatusBean {
 	private String  filePath;
 	private String  datasetPath;
 	private int     scanNumber;
+	
+	// The times taken by the stages of the points, these are not data.
+	private List<StageStatistics> stageTimes;
 		
 	public ScanBean() {
         super();
@@ -137,6 +141,25 @@ public final class ScanBean extends StatusBean {
 	public ScanBean(DeviceState state) {
 		this.deviceState = state;
 	}
+
+	@Override
+	public void merge(StatusBean with) {
+		super.merge(with);
+		if (!(with instanceof ScanBean)) return;
+		final ScanBean bean = (ScanBean)with;
+		this.scanRequest         = bean.scanRequest;
+		this.deviceName          = bean.deviceName;
+		this.beamline            = bean.beamline;
+		this.point               = bean.point;
+		this.size                = bean.size;
+		this.position            = bean.position;
+		this.deviceState         = bean.deviceState;
+		this.previousDeviceState = bean.previousDeviceState;
+		this.filePath            = bean.filePath;
+		this.datasetPath         = bean.datasetPath;
+		this.scanNumber          = bean.scanNumber;
+		this.stageTimes          = bean.stageTimes;
+	}
 	
 	
 	public String getFilePath() {
@@ -286,6 +309,7 @@ public final class ScanBean extends StatusBean {
 		result = prime * result + scanNumber;
 		result = prime * result + ((scanRequest == null) ? 0 : scanRequest.hashCode());
 		result = prime * result + size;
+		result = prime * result + ((stageTimes == null) ? 0 : stageTimes.hashCode());
 		return result;
 	}
 
@@ -338,6 +362,11 @@ public final class ScanBean extends StatusBean {
 			return false;
 		if (size != other.size)
 			return false;
+		if (stageTimes == null) {
+			if (other.stageTimes != null)
+				return false;
+		} else if (!stageTimes.equals(other.stageTimes))
+			return false;
 		return true;
 	}
 
@@ -356,4 +385,19 @@ public final class ScanBean extends StatusBean {
 	public void setDeviceName(String deviceName) {
 		this.deviceName = deviceName;
 	}
+
+	/**
+	 * The times taken by each stage of the points of the scan so far and
+	 * by each device in the stages, for instance to move or to run. These
+	 * are updated as the scan runs and are also written to the NeXus file.
+	 * 
+	 * @return the times or null if none have been taken.
+	 */
+	public List<StageStatistics> getStageTimes() {
+		return stageTimes;
+	}
+
+	public void setStageTimes(List<StageStatistics> stageTimes) {
+		this.stageTimes = stageTimes;
+	}
 }
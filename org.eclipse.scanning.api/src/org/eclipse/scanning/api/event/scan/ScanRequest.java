@@ -23,6 +23,7 @@ import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.models.CompoundModel;
 import org.eclipse.scanning.api.points.models.IScanPathModel;
 import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.scan.ExecutorStrategy;
 import org.eclipse.scanning.api.scan.models.ScanMetadata;
 import org.eclipse.scanning.api.script.ScriptRequest;
 import org.eclipse.scanning.api.script.ScriptResponse;
@@ -113,6 +114,28 @@ public class ScanRequest<T> implements Serializable {
 	 */
 	private boolean ignorePreprocess;
 	
+	/**
+	 * The number of positions read ahead of the one being collected,
+	 * see ScanModel.setLookAhead(...). Default is 0, no look ahead.
+	 */
+	private int lookAhead;
+	
+	/**
+	 * The executor which runs the devices of each level, for instance
+	 * THREAD_PER_TASK to move many slow scannables at once. May be null
+	 * to use the default, see ExecutorStrategy.getDefault(...)
+	 */
+	private ExecutorStrategy executorStrategy;
+	
+	/**
+	 * Set to carry on from the checkpoint of an earlier scan of the same
+	 * request, if it did not finish, see ScanCheckpoint. The points which
+	 * were written are not run again, the rest are written to a new file.
+	 * 
+	 * Default is false.
+	 */
+	private boolean resume;
+	
 	public ScanRequest() {
 
 	}
@@ -165,6 +188,9 @@ public class ScanRequest<T> implements Serializable {
 		result = prime * result + ((end == null) ? 0 : end.hashCode());
 		result = prime * result + ((filePath == null) ? 0 : filePath.hashCode());
 		result = prime * result + (ignorePreprocess ? 1231 : 1237);
+		result = prime * result + lookAhead;
+		result = prime * result + (resume ? 1231 : 1237);
+		result = prime * result + ((executorStrategy == null) ? 0 : executorStrategy.hashCode());
 		result = prime * result + ((compoundModel == null) ? 0 : compoundModel.hashCode());
 		result = prime * result + ((monitorNames == null) ? 0 : monitorNames.hashCode());
 		result = prime * result + ((scanMetadata == null) ? 0 : scanMetadata.hashCode());
@@ -218,6 +244,12 @@ public class ScanRequest<T> implements Serializable {
 			return false;
 		if (ignorePreprocess != other.ignorePreprocess)
 			return false;
+		if (lookAhead != other.lookAhead)
+			return false;
+		if (resume != other.resume)
+			return false;
+		if (executorStrategy != other.executorStrategy)
+			return false;
 		if (compoundModel == null) {
 			if (other.compoundModel != null)
 				return false;
@@ -285,6 +317,30 @@ public class ScanRequest<T> implements Serializable {
 		this.ignorePreprocess = ignorePreprocess;
 	}
 
+	public int getLookAhead() {
+		return lookAhead;
+	}
+
+	public void setLookAhead(int lookAhead) {
+		this.lookAhead = lookAhead;
+	}
+
+	public boolean isResume() {
+		return resume;
+	}
+
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	public ExecutorStrategy getExecutorStrategy() {
+		return executorStrategy;
+	}
+
+	public void setExecutorStrategy(ExecutorStrategy executorStrategy) {
+		this.executorStrategy = executorStrategy;
+	}
+
 	public ScriptRequest getBefore() {
 		return before;
 	}
@@ -0,0 +1,182 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.event.scan;
+
+import java.io.Serializable;
+
+/**
+ * The times taken by one stage of the points of a scan, for instance
+ * moving the scannables, or by one device in a stage, for instance
+ * run/detector. The times are in milliseconds.
+ *
+ * These are times of the scan, not data, they are sent with the ScanBean
+ * so that a client may see where the time of a running scan goes and are
+ * also written to the NeXus file.
+ */
+public class StageStatistics implements Serializable {
+
+	private static final long serialVersionUID = -2563097391418707375L;
+
+	private String name;
+	private long   count;
+	private double total;
+	private double mean;
+	private double min;
+	private double max;
+	private double median;
+	private double percentile90;
+	private double percentile99;
+
+	public StageStatistics() {
+
+	}
+
+	public StageStatistics(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public double getTotal() {
+		return total;
+	}
+
+	public void setTotal(double total) {
+		this.total = total;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public void setMean(double mean) {
+		this.mean = mean;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public void setMin(double min) {
+		this.min = min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public void setMax(double max) {
+		this.max = max;
+	}
+
+	public double getMedian() {
+		return median;
+	}
+
+	public void setMedian(double median) {
+		this.median = median;
+	}
+
+	public double getPercentile90() {
+		return percentile90;
+	}
+
+	public void setPercentile90(double percentile90) {
+		this.percentile90 = percentile90;
+	}
+
+	public double getPercentile99() {
+		return percentile99;
+	}
+
+	public void setPercentile99(double percentile99) {
+		this.percentile99 = percentile99;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		long temp;
+		result = prime * result + (int) (count ^ (count >>> 32));
+		temp = Double.doubleToLongBits(max);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		temp = Double.doubleToLongBits(mean);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		temp = Double.doubleToLongBits(median);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		temp = Double.doubleToLongBits(min);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		temp = Double.doubleToLongBits(percentile90);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		temp = Double.doubleToLongBits(percentile99);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		temp = Double.doubleToLongBits(total);
+		result = prime * result + (int) (temp ^ (temp >>> 32));
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		StageStatistics other = (StageStatistics) obj;
+		if (count != other.count)
+			return false;
+		if (Double.doubleToLongBits(max) != Double.doubleToLongBits(other.max))
+			return false;
+		if (Double.doubleToLongBits(mean) != Double.doubleToLongBits(other.mean))
+			return false;
+		if (Double.doubleToLongBits(median) != Double.doubleToLongBits(other.median))
+			return false;
+		if (Double.doubleToLongBits(min) != Double.doubleToLongBits(other.min))
+			return false;
+		if (name == null) {
+			if (other.name != null)
+				return false;
+		} else if (!name.equals(other.name))
+			return false;
+		if (Double.doubleToLongBits(percentile90) != Double.doubleToLongBits(other.percentile90))
+			return false;
+		if (Double.doubleToLongBits(percentile99) != Double.doubleToLongBits(other.percentile99))
+			return false;
+		if (Double.doubleToLongBits(total) != Double.doubleToLongBits(other.total))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "StageStatistics [name=" + name + ", count=" + count + ", total=" + total + ", mean=" + mean
+				+ ", min=" + min + ", max=" + max + ", median=" + median + ", percentile90=" + percentile90
+				+ ", percentile99=" + percentile99 + "]";
+	}
+}
@@ -223,7 +223,16 @@ public abstract class AbstractGenerator<T> implements IPointGenerator<T>, Iterab
 	public List<IPosition> createPoints() throws GeneratorException {
 		final List<IPosition> points = new ArrayList<IPosition>(89);
 		Iterator<IPosition> it = iterator();
-		while(it.hasNext()) points.add(it.next());
+		while(it.hasNext()) {
+			points.add(it.next());
+			if (points.size()==PointStore.getThreshold()+1 && PointStore.isStorable(points.get(0))) {
+				// Very large scans are held in a file rather than as objects
+				PointStore store = new PointStore(size());
+				for (IPosition pos : points) store.add(pos);
+				while(it.hasNext()) store.add(it.next());
+				return store;
+			}
+		}
 		return points;
 	}
 
@@ -261,6 +270,7 @@ public abstract class AbstractGenerator<T> implements IPointGenerator<T>, Iterab
 	@Override
 	public void setRegions(Collection<Object> regions) throws GeneratorException {
 		this.regions = regions == null ? new ArrayList<Object>() : regions;
+		this.shape = null; // regions change the shape
 	}
 
 	public String getId() {
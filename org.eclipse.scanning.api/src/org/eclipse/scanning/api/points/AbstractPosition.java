@@ -34,6 +34,11 @@ public abstract class AbstractPosition implements IPosition, Serializable {
 
 	public final IPosition compound(IPosition parent) {
 		if (parent==null) return this; // this+null = this
+		
+		// Positions of doubles, which is most scans, share their names rather than copying maps.
+		final ArrayPosition aret = ArrayPosition.compound(parent, this);
+		if (aret!=null) return aret;
+		
 		final MapPosition ret = new MapPosition();
 		ret.putAll(parent);
 		ret.putAll(this);
@@ -0,0 +1,191 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.points;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multiple double values to the position, backed by primitive arrays
+ * with the names held in a {@link PositionSchema} shared between positions.
+ * Unlike {@link MapPosition} creating one of these only allocates its arrays.
+ *
+ * The values and indices are not copied so must not be changed after
+ * the position is created.
+ */
+public final class ArrayPosition extends AbstractPosition {
+
+	private static final long serialVersionUID = -1958457281045377305L;
+
+	private final PositionSchema schema;
+	private final double[]       values;
+	private final int[]          indices;
+
+	// Made when required, for instance by JSON serialization
+	private transient Map<String, Object>  valueMap;
+	private transient Map<String, Integer> indexMap;
+
+	/**
+	 *
+	 * @param schema
+	 * @param values value of each name in the schema, in the same order
+	 * @param indices index of each name in the schema, in the same order
+	 */
+	public ArrayPosition(PositionSchema schema, double[] values, int[] indices) {
+		if (values.length!=schema.size() || indices.length!=schema.size()) {
+			throw new IllegalArgumentException("The values and indices must be the same size as the schema!");
+		}
+		this.schema  = schema;
+		this.values  = values;
+		this.indices = indices;
+		this.dimensionNames = schema.getDimensionNames();
+	}
+
+	/**
+	 * Compound two positions without copying maps. Returns null if
+	 * either position has a value which is not a Double, in which
+	 * case a {@link MapPosition} should be used instead.
+	 *
+	 * @param parent
+	 * @param child
+	 * @return
+	 */
+	static ArrayPosition compound(IPosition parent, IPosition child) {
+
+		if (!isDoubles(parent) || !isDoubles(child)) return null;
+
+		final PositionSchema.Compound compound = PositionSchema.of(parent).compound(PositionSchema.of(child));
+		final int size = compound.schema.size();
+		final double[] vals = new double[size];
+		final int[]    inds = new int[size];
+
+		final int psize = parent.size();
+		if (parent instanceof ArrayPosition) {
+			System.arraycopy(((ArrayPosition)parent).values,  0, vals, 0, psize);
+			System.arraycopy(((ArrayPosition)parent).indices, 0, inds, 0, psize);
+		} else {
+			for (int i = 0; i < psize; i++) {
+				String name = compound.schema.getName(i);
+				vals[i] = parent.getValue(name);
+				inds[i] = parent.getIndex(name);
+			}
+		}
+		for (int i = 0; i < compound.innerColumns.length; i++) {
+			final int col = compound.innerColumns[i];
+			if (child instanceof ArrayPosition) {
+				vals[col] = ((ArrayPosition)child).values[i];
+				inds[col] = ((ArrayPosition)child).indices[i];
+			} else {
+				String name = compound.schema.getName(col);
+				vals[col] = child.getValue(name);
+				inds[col] = child.getIndex(name);
+			}
+		}
+
+		ArrayPosition ret = new ArrayPosition(compound.schema, vals, inds);
+		ret.setStepIndex(child.getStepIndex());
+		ret.setExposureTime(child.getExposureTime());
+		return ret;
+	}
+
+	private static boolean isDoubles(IPosition pos) {
+		if (pos instanceof ArrayPosition) return true;
+		if (!(pos instanceof AbstractPosition)) return false;
+		final List<String> names = pos.getNames();
+		if (names==null) return false;
+		for (String name : names) {
+			if (!(pos.get(name) instanceof Double)) return false;
+		}
+		return true;
+	}
+
+	public PositionSchema getSchema() {
+		return schema;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public List<String> getNames() {
+		return schema.getNames();
+	}
+
+	@Override
+	public Object get(String name) {
+		final int col = schema.indexOf(name);
+		return col<0 ? null : values[col];
+	}
+
+	@Override
+	public double getValue(String name) {
+		final int col = schema.indexOf(name);
+		if (col<0) throw new IllegalArgumentException("There is no value for "+name);
+		return values[col];
+	}
+
+	@Override
+	public int getIndex(String name) {
+		final int col = schema.indexOf(name);
+		return col<0 ? -1 : indices[col];
+	}
+
+	@Override
+	public Map<String, Object> getValues() {
+		if (valueMap==null) {
+			Map<String, Object> map = new LinkedHashMap<>(values.length);
+			for (int i = 0; i < values.length; i++) map.put(schema.getName(i), values[i]);
+			valueMap = map;
+		}
+		return valueMap;
+	}
+
+	@Override
+	public Map<String, Integer> getIndices() {
+		if (indexMap==null) {
+			Map<String, Integer> map = new LinkedHashMap<>(indices.length);
+			for (int i = 0; i < indices.length; i++) map.put(schema.getName(i), indices[i]);
+			indexMap = map;
+		}
+		return indexMap;
+	}
+
+	/**
+	 * @return the names of the schema, which are unmodifiable because other positions
+	 *         share them, or a copy of the names if they have been set.
+	 */
+	@Override
+	public synchronized List<Collection<String>> getDimensionNames() {
+		if (dimensionNames==null) dimensionNames = schema.getDimensionNames();
+		return dimensionNames;
+	}
+
+	/**
+	 * The names are copied so that changing them does not change the schema
+	 * or the positions which share it.
+	 */
+	@Override
+	public synchronized void setDimensionNames(List<Collection<String>> dNames) {
+		if (dNames==null) {
+			dimensionNames = schema.getDimensionNames();
+			return;
+		}
+		List<Collection<String>> copy = new ArrayList<>(dNames.size());
+		for (Collection<String> dim : dNames) copy.add(new ArrayList<>(dim));
+		dimensionNames = copy;
+	}
+}
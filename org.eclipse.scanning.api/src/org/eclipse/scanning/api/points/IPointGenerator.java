@@ -165,4 +165,74 @@ public interface IPointGenerator<T> extends Iterable<IPosition>, IValidator<T>,
 	default IPosition getFirstPoint() {
 		return iterator().next();
 	}
+	
+	/**
+	 * Gets the point with the given step index, the same point as the
+	 * iterator would return after stepIndex calls to next().
+	 * 
+	 * By default this moves a new iterator directly to the point if it is
+	 * a {@link ScanPointIterator} which can seek, otherwise the iterator
+	 * is run up to the point. Generators which can calculate a point
+	 * directly should override this.
+	 * 
+	 * @param stepIndex
+	 * @return
+	 * @throws GeneratorException if the step index is not in the scan
+	 */
+	default IPosition getPoint(int stepIndex) throws GeneratorException {
+		if (stepIndex<0) throw new GeneratorException("The step index "+stepIndex+" is invalid!");
+		Iterator<IPosition> it = iterator();
+		if (!(it instanceof ScanPointIterator) || !((ScanPointIterator)it).seek(stepIndex)) {
+			for (int i = 0; i < stepIndex && it.hasNext(); i++) it.next();
+		}
+		if (!it.hasNext()) throw new GeneratorException("The step index "+stepIndex+" is outside the scan!");
+		return it.next();
+	}
+	
+	/**
+	 * Gets the index in each dimension of the scan of the point with the given step index.
+	 * 
+	 * @param stepIndex
+	 * @return array of length getScanRank() of the point
+	 * @throws GeneratorException if the step index is not in the scan
+	 */
+	default int[] getIndices(int stepIndex) throws GeneratorException {
+		IPosition pos = getPoint(stepIndex);
+		int[] indices = new int[pos.getScanRank()];
+		for (int i = 0; i < indices.length; i++) indices[i] = pos.getIndex(i);
+		return indices;
+	}
+	
+	/**
+	 * Creates a block which can hold the values of all the axes of this
+	 * generator and its indices for the given number of points.
+	 * 
+	 * @param capacity
+	 * @return
+	 * @throws GeneratorException
+	 */
+	default PointBlock createBlock(int capacity) throws GeneratorException {
+		IPosition first = getFirstPoint();
+		return new PointBlock(first.getNames(), first.getScanRank(), capacity);
+	}
+	
+	/**
+	 * Fills the block with the points starting at the given step index, the
+	 * values and indices of the same points as {@link #getPoint(int)} would return.
+	 * 
+	 * By default this seeks in a new iterator and fills the block from it.
+	 * 
+	 * @param stepIndex of the first point in the block
+	 * @param block
+	 * @return the number of points put in the block, less than its capacity at the end of the scan.
+	 * @throws GeneratorException if the step index is invalid
+	 */
+	default int getPoints(int stepIndex, PointBlock block) throws GeneratorException {
+		if (stepIndex<0) throw new GeneratorException("The step index "+stepIndex+" is invalid!");
+		Iterator<IPosition> it = iterator();
+		if (!(it instanceof ScanPointIterator) || !((ScanPointIterator)it).seek(stepIndex)) {
+			for (int i = 0; i < stepIndex && it.hasNext(); i++) it.next();
+		}
+		return it instanceof ScanPointIterator ? ((ScanPointIterator)it).nextBlock(block) : block.fill(it);
+	}
 }
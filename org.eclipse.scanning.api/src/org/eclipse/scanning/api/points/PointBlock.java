@@ -0,0 +1,183 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.points;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A block of consecutive points of a scan held as columns of primitives
+ * rather than as {@link IPosition}s. Used by code which only needs the
+ * numbers, for instance to write the demand positions of many points
+ * in one slice. The arrays are supplied by the caller or made when the
+ * block is created and are overwritten each time the block is filled.
+ *
+ * <pre>
+ *   PointBlock block = generator.createBlock(1000);
+ *   for (int start = 0; generator.getPoints(start, block) > 0; start += block.getSize()) {
+ *       double[] x = block.getValues("x");
+ *       ...
+ *   }
+ * </pre>
+ *
+ */
+public final class PointBlock {
+
+	private final List<String> names;
+	private final double[][]   values;  // [column][row]
+	private final int[][]      indices; // [dimension][row]
+	private final int          capacity;
+	private int                size;
+
+	/**
+	 *
+	 * @param names the axes which the block holds values for
+	 * @param rank the number of dimensions of the scan to hold indices for
+	 * @param capacity the maximum number of points in the block
+	 */
+	public PointBlock(List<String> names, int rank, int capacity) {
+		this(names, new double[names.size()][capacity], new int[rank][capacity]);
+	}
+
+	/**
+	 * A block which fills the given arrays.
+	 *
+	 * @param names the axes which the block holds values for
+	 * @param values an array for the values of each name, all the same length
+	 * @param indices an array for the index in each dimension of the scan, the same length as the values
+	 */
+	public PointBlock(List<String> names, double[][] values, int[][] indices) {
+		if (names.size()!=values.length) throw new IllegalArgumentException("There must be an array of values for each name!");
+		int cap = -1;
+		for (double[] column : values) {
+			if (cap>-1 && column.length!=cap) throw new IllegalArgumentException("The value and index arrays must all be the same size!");
+			cap = column.length;
+		}
+		for (int[] column : indices) {
+			if (cap>-1 && column.length!=cap) throw new IllegalArgumentException("The value and index arrays must all be the same size!");
+			cap = column.length;
+		}
+		this.names    = Collections.unmodifiableList(names);
+		this.values   = values;
+		this.indices  = indices;
+		this.capacity = Math.max(cap, 0);
+	}
+
+	/**
+	 * Fills the block from the iterator, starting at the first row.
+	 * Used when an iterator cannot fill a block directly.
+	 *
+	 * @param it
+	 * @return the number of points in the block, less than the capacity if the iterator finished.
+	 */
+	public int fill(Iterator<IPosition> it) {
+		int row = 0;
+		for (; row < capacity && it.hasNext(); row++) set(row, it.next());
+		this.size = row;
+		return row;
+	}
+
+	/**
+	 * Sets a row of the block from a position
+	 * @param row
+	 * @param pos
+	 */
+	public void set(int row, IPosition pos) {
+		for (int col = 0; col < values.length; col++) {
+			values[col][row] = pos.getValue(names.get(col));
+		}
+		for (int dim = 0; dim < indices.length; dim++) {
+			indices[dim][row] = pos.getIndex(dim);
+		}
+	}
+
+	/**
+	 *
+	 * @return the names of the columns of values, unmodifiable
+	 */
+	public List<String> getNames() {
+		return names;
+	}
+
+	/**
+	 * The number of dimensions which indices are held for
+	 * @return
+	 */
+	public int getRank() {
+		return indices.length;
+	}
+
+	/**
+	 * The maximum number of points in the block
+	 * @return
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * The number of points filled last time the block was filled,
+	 * rows after this are not valid.
+	 * @return
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		if (size<0 || size>capacity) throw new IllegalArgumentException("The size "+size+" is not between 0 and "+capacity);
+		this.size = size;
+	}
+
+	/**
+	 *
+	 * @return the values of each column, indexed [column][row]
+	 */
+	public double[][] getValues() {
+		return values;
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @return the values of the name in each row
+	 * @throws IllegalArgumentException if the name is not in the block
+	 */
+	public double[] getValues(String name) {
+		final int col = names.indexOf(name);
+		if (col<0) throw new IllegalArgumentException("There are no values for "+name);
+		return values[col];
+	}
+
+	/**
+	 *
+	 * @return the index in each dimension, indexed [dimension][row]
+	 */
+	public int[][] getIndices() {
+		return indices;
+	}
+
+	/**
+	 *
+	 * @param dimension
+	 * @return the index in the dimension of each row
+	 */
+	public int[] getIndices(int dimension) {
+		return indices[dimension];
+	}
+
+	@Override
+	public String toString() {
+		return "PointBlock [names=" + names + ", rank=" + indices.length + ", size=" + size + ", capacity=" + capacity + "]";
+	}
+}
@@ -0,0 +1,230 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.points;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of points held in a memory mapped file rather than as objects,
+ * used to create the points of scans too large to hold on the heap.
+ * The value and index of each name and the step index and exposure time
+ * of each point are written in columns, a position is made from them each
+ * time one is read. If the points added are {@link Point}s then so are the
+ * positions read, otherwise they are {@link ArrayPosition}s.
+ *
+ * Points are added in order up to the capacity given when the store is
+ * made, after which the store may be read by many threads. All the
+ * points must have the same names and only have number values.
+ * The file is deleted as soon as it is mapped, the mappings keep the
+ * space until they are collected. Where a mapped file cannot be deleted
+ * it is deleted when the store is closed or the VM exits.
+ *
+ */
+public final class PointStore extends AbstractList<IPosition> implements RandomAccess, Closeable {
+
+	/**
+	 * The number of points above which generators create their points in a store
+	 */
+	private static final int THRESHOLD = Integer.getInteger("org.eclipse.scanning.points.storeThreshold", 1000000);
+
+	/**
+	 * Each column is one mapping, which cannot be more than Integer.MAX_VALUE bytes
+	 */
+	public static final int MAX_CAPACITY = Integer.MAX_VALUE/8;
+
+	private final int      capacity;
+	private int            size;
+	private PositionSchema schema;
+	private File           file;
+	private DoubleBuffer[] values;  // [column]
+	private IntBuffer[]    indices; // [column]
+	private IntBuffer      steps;
+	private DoubleBuffer   exposures;
+	private boolean        points;
+
+	/**
+	 *
+	 * @param capacity the number of points which will be added, at most {@link #MAX_CAPACITY}
+	 */
+	public PointStore(int capacity) {
+		if (capacity<0) throw new IllegalArgumentException("The capacity must not be negative!");
+		if (capacity>MAX_CAPACITY) throw new IllegalArgumentException("Cannot store "+capacity+" points, a store can hold at most "+MAX_CAPACITY+" points!");
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds all the points of the iterator to a new store
+	 *
+	 * @param it
+	 * @param capacity the number of points of the iterator
+	 * @return
+	 */
+	public static PointStore of(Iterator<IPosition> it, int capacity) {
+		PointStore store = new PointStore(capacity);
+		while (it.hasNext()) store.add(it.next());
+		return store;
+	}
+
+	/**
+	 * Set with the property org.eclipse.scanning.points.storeThreshold
+	 * @return the number of points above which generators create their points in a store.
+	 */
+	public static int getThreshold() {
+		return THRESHOLD;
+	}
+
+	/**
+	 *
+	 * @param pos
+	 * @return true if the position has values which are all numbers, so it can be stored.
+	 */
+	public static boolean isStorable(IPosition pos) {
+		if (pos.getNames().isEmpty()) return false; // For instance a static position, these are small
+		for (String name : pos.getNames()) {
+			if (!(pos.get(name) instanceof Number)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a position after the last one. The file is made when the
+	 * first position is added, with columns for its names.
+	 *
+	 * @throws IllegalArgumentException if the store is full or the position does not have the names of the store or has a value which is not a number.
+	 */
+	@Override
+	public boolean add(IPosition pos) {
+		if (size>=capacity) throw new IllegalArgumentException("The store is full, it has a capacity of "+capacity);
+		if (schema==null) {
+			// The dimension names of the position, which may have been set after it was made
+			List<Collection<String>> dnames = pos instanceof AbstractPosition ? ((AbstractPosition)pos).getDimensionNames() : null;
+			map(new PositionSchema(pos.getNames(), dnames));
+			this.points = pos instanceof Point;
+		} else if (!schema.getNames().equals(pos.getNames())) {
+			throw new IllegalArgumentException("The position "+pos+" does not have the names "+schema.getNames());
+		}
+		for (int col = 0; col < values.length; col++) {
+			final String name  = schema.getName(col);
+			final Object value = pos.get(name);
+			if (!(value instanceof Number)) throw new IllegalArgumentException("The value of "+name+" is not a number!");
+			values[col].put(size, ((Number)value).doubleValue());
+			indices[col].put(size, pos.getIndex(name));
+		}
+		steps.put(size, pos.getStepIndex());
+		exposures.put(size, pos.getExposureTime());
+		size++;
+		modCount++;
+		return true;
+	}
+
+	private void map(PositionSchema schema) {
+		try {
+			this.file = File.createTempFile("points", ".store");
+			file.deleteOnExit();
+
+			final int columns = schema.size();
+			final long valueBytes = 8L*capacity;
+			final long indexBytes = 4L*capacity;
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+				 FileChannel channel = raf.getChannel()) {
+				raf.setLength(columns*(valueBytes+indexBytes) + indexBytes + valueBytes);
+
+				this.values  = new DoubleBuffer[columns];
+				this.indices = new IntBuffer[columns];
+				long offset = 0;
+				for (int col = 0; col < columns; col++) {
+					values[col] = channel.map(MapMode.READ_WRITE, offset, valueBytes).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+					offset += valueBytes;
+				}
+				for (int col = 0; col < columns; col++) {
+					indices[col] = channel.map(MapMode.READ_WRITE, offset, indexBytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+					offset += indexBytes;
+				}
+				steps = channel.map(MapMode.READ_WRITE, offset, indexBytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+				offset += indexBytes;
+				exposures = channel.map(MapMode.READ_WRITE, offset, valueBytes).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+			}
+			this.schema = schema; // The mappings stay valid after the channel is closed
+			if (file.delete()) file = null; // And after the file is deleted, if it can be while mapped
+		} catch (IOException ne) {
+			close();
+			throw new IllegalStateException("Cannot create a point store of "+capacity+" points!", ne);
+		}
+	}
+
+	/**
+	 * A new position made from the values of the point
+	 */
+	@Override
+	public IPosition get(int index) {
+		if (index<0 || index>=size) throw new IndexOutOfBoundsException("The index "+index+" is not in a store of "+size+" points");
+		final double[] vals = new double[values.length];
+		final int[]    inds = new int[values.length];
+		for (int col = 0; col < vals.length; col++) {
+			vals[col] = values[col].get(index);
+			inds[col] = indices[col].get(index);
+		}
+		final IPosition pos;
+		if (points) { // The names of a point are y then x
+			pos = new Point(schema.getName(1), inds[1], vals[1], schema.getName(0), inds[0], vals[0], schema.getDimensionNames().size()>1);
+		} else {
+			pos = new ArrayPosition(schema, vals, inds);
+		}
+		pos.setStepIndex(steps.get(index));
+		pos.setExposureTime(exposures.get(index));
+		return pos;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 *
+	 * @return the schema of the points or null if no points have been added
+	 */
+	public PositionSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * Deletes the file. The store must not be used after it is closed.
+	 */
+	@Override
+	public void close() {
+		values    = null;
+		indices   = null;
+		steps     = null;
+		exposures = null;
+		size      = 0;
+		if (file!=null) file.delete(); // The mappings are released when they are collected
+		file = null;
+	}
+}
@@ -0,0 +1,282 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.points;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The names and dimensions of the values in an {@link ArrayPosition}.
+ * A schema is immutable and is shared by all the positions of a scan
+ * which have the same axes, so that each position only holds its
+ * values and indices.
+ *
+ * Names are interned and there are usually only a few of them so
+ * they are looked up by a linear search.
+ *
+ * The interned schemas and compounds are held weakly, a schema is kept
+ * while there are positions which use it. The compounds of a schema are
+ * limited to the last few inner schemas it was compounded with.
+ */
+public final class PositionSchema implements Serializable {
+
+	private static final long serialVersionUID = -7512785434946911245L;
+
+	private static final int MAX_COMPOUNDS = 16;
+
+	private static final Map<PositionSchema, WeakReference<PositionSchema>> schemas = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final String[]                 names;
+	private final List<String>             nameList;
+	private final List<Collection<String>> dimensionNames;
+	private final int                      hash;
+
+	/**
+	 * The schema of a compound of this schema (the outer) with an
+	 * inner schema, keyed by the inner schema.
+	 */
+	private transient volatile Map<PositionSchema, Compound> compounds;
+
+	/**
+	 *
+	 * @param names the axes, in the order in which they are returned by getNames()
+	 * @param dimensionNames the names in each dimension of the scan or null to
+	 *        make a single dimension containing all the names.
+	 */
+	public PositionSchema(List<String> names, List<? extends Collection<String>> dimensionNames) {
+		this.names = new String[names.size()];
+		for (int i = 0; i < this.names.length; i++) {
+			this.names[i] = names.get(i).intern();
+			for (int j = 0; j < i; j++) {
+				if (this.names[j]==this.names[i]) throw new IllegalArgumentException("The name "+this.names[i]+" is repeated!");
+			}
+		}
+		this.nameList = Collections.unmodifiableList(Arrays.asList(this.names));
+
+		List<Collection<String>> dnames = new ArrayList<>();
+		if (dimensionNames==null || dimensionNames.isEmpty()) {
+			dnames.add(nameList);
+		} else {
+			for (Collection<String> dim : dimensionNames) dnames.add(Collections.unmodifiableList(new ArrayList<>(dim)));
+		}
+		this.dimensionNames = Collections.unmodifiableList(dnames);
+		this.hash           = 31 * nameList.hashCode() + this.dimensionNames.hashCode();
+	}
+
+	/**
+	 * The schema of a position. Schemas made from positions are interned
+	 * so that the same schema is returned for all positions of a scan.
+	 * @param pos
+	 * @return
+	 */
+	public static PositionSchema of(IPosition pos) {
+		if (pos instanceof ArrayPosition) return ((ArrayPosition)pos).getSchema();
+		List<String> names = pos.getNames();
+		List<Collection<String>> dnames = pos instanceof AbstractPosition ? ((AbstractPosition)pos).getDimensionNames() : null;
+		if (dnames!=null && dnames.isEmpty()) dnames = null;
+
+		// Look for the schema without making one, this is called for every point of a scan.
+		WeakReference<PositionSchema> ref = schemas.get(new Probe(names, dnames));
+		PositionSchema schema = ref!=null ? ref.get() : null;
+		if (schema==null) schema = intern(new PositionSchema(names, dnames));
+		return schema;
+	}
+
+	/**
+	 * Equal to a schema with the given names and dimension names, used to
+	 * look up an interned schema without copying the names of a position.
+	 */
+	private static final class Probe {
+		private final List<String>                       names;
+		private final List<? extends Collection<String>> dimensionNames;
+		private final int                                hash;
+
+		Probe(List<String> names, List<? extends Collection<String>> dimensionNames) {
+			this.names          = names;
+			this.dimensionNames = dimensionNames;
+			// The same as the hash of a schema, in which null dimension names are a list of the names
+			final int nhash = hash(names);
+			int dhash = 31 + nhash;
+			if (dimensionNames!=null) {
+				dhash = 1;
+				for (int i = 0; i < dimensionNames.size(); i++) {
+					Collection<String> dim = dimensionNames.get(i);
+					dhash = 31*dhash + (dim instanceof List ? hash((List<String>)dim) : dim.hashCode());
+				}
+			}
+			this.hash = 31 * nhash + dhash;
+		}
+
+		/**
+		 * List.hashCode() without an iterator
+		 */
+		private static int hash(List<String> list) {
+			int hash = 1;
+			for (int i = 0; i < list.size(); i++) hash = 31*hash + list.get(i).hashCode();
+			return hash;
+		}
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PositionSchema)) return false;
+			PositionSchema other = (PositionSchema)obj;
+			if (hash!=other.hash || !equal(other.nameList, names)) return false;
+			if (dimensionNames==null) return other.dimensionNames.size()==1 && other.nameList.equals(other.dimensionNames.get(0));
+			if (dimensionNames.size()!=other.dimensionNames.size()) return false;
+			for (int i = 0; i < dimensionNames.size(); i++) {
+				Collection<String> dim = dimensionNames.get(i);
+				if (!(dim instanceof List) || !equal((List<String>)other.dimensionNames.get(i), (List<String>)dim)) return false;
+			}
+			return true;
+		}
+
+		/**
+		 * List.equals() without an iterator
+		 */
+		private static boolean equal(List<String> a, List<String> b) {
+			if (a.size()!=b.size()) return false;
+			for (int i = 0; i < a.size(); i++) {
+				if (!a.get(i).equals(b.get(i))) return false;
+			}
+			return true;
+		}
+	}
+
+	private static PositionSchema intern(PositionSchema schema) {
+		synchronized (schemas) {
+			WeakReference<PositionSchema> ref = schemas.get(schema);
+			PositionSchema existing = ref!=null ? ref.get() : null;
+			if (existing!=null) return existing;
+			schemas.put(schema, new WeakReference<>(schema));
+			return schema;
+		}
+	}
+
+	/**
+	 * The number of names
+	 * @return
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 *
+	 * @return unmodifiable list of the names
+	 */
+	public List<String> getNames() {
+		return nameList;
+	}
+
+	public String getName(int column) {
+		return names[column];
+	}
+
+	/**
+	 *
+	 * @return unmodifiable list of the names in each dimension
+	 */
+	public List<Collection<String>> getDimensionNames() {
+		return dimensionNames;
+	}
+
+	/**
+	 * The column of the name in the values of a position
+	 * @param name
+	 * @return column or -1 if the name is not in this schema
+	 */
+	public int indexOf(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i]==name) return i; // Usually the name is interned
+		}
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * The schema of a compound of this outer position with an inner one, as made
+	 * by {@link IPosition#compound(IPosition)}. If a name is in both, the column of
+	 * the outer name is used.
+	 *
+	 * @param inner
+	 * @return
+	 */
+	Compound compound(PositionSchema inner) {
+		Map<PositionSchema, Compound> cache = compounds;
+		if (cache==null) compounds = cache = Collections.synchronizedMap(new WeakHashMap<>(4));
+		Compound compound = cache.get(inner);
+		if (compound==null) {
+			compound = new Compound(this, inner);
+			synchronized (cache) {
+				if (cache.size()>=MAX_COMPOUNDS) cache.clear(); // Many different inner schemas, for instance from many scans with the same outer axes.
+				cache.put(inner, compound);
+			}
+		}
+		return compound;
+	}
+
+	/**
+	 * A compound schema and where the values of the inner position go in it.
+	 */
+	static final class Compound {
+		final PositionSchema schema;
+		final int[]          innerColumns;
+
+		private Compound(PositionSchema outer, PositionSchema inner) {
+			List<String> cnames = new ArrayList<>(outer.nameList);
+			this.innerColumns = new int[inner.names.length];
+			for (int i = 0; i < inner.names.length; i++) {
+				int col = outer.indexOf(inner.names[i]);
+				if (col<0) {
+					col = cnames.size();
+					cnames.add(inner.names[i]);
+				}
+				innerColumns[i] = col;
+			}
+			List<Collection<String>> cdims = new ArrayList<>(outer.dimensionNames);
+			cdims.addAll(inner.dimensionNames);
+			this.schema = intern(new PositionSchema(cnames, cdims));
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		PositionSchema other = (PositionSchema) obj;
+		return hash==other.hash && nameList.equals(other.nameList) && dimensionNames.equals(other.dimensionNames);
+	}
+
+	@Override
+	public String toString() {
+		return "PositionSchema "+dimensionNames;
+	}
+}
@@ -45,9 +45,11 @@ public class Scalar<T> extends AbstractPosition {
 		return 1;
 	}
 
+	private List<String> names;
 	@Override
 	public List<String> getNames() {
-  	    return Arrays.asList(new String[]{name});
+		if (names==null) names = Arrays.asList(new String[]{name});
+  	    return names;
 	}
 
 	@Override
@@ -37,4 +37,30 @@ public interface ScanPointIterator extends Iterator<IPosition> {
 	 */
 	public int getRank();
 
+	/**
+	 * Moves the iterator so that the next call to next() returns the point
+	 * with the given step index, without iterating over the points before it.
+	 * If the step index is at or beyond the end of the scan, hasNext() will
+	 * return false.
+	 * 
+	 * @param stepIndex
+	 * @return true if the iterator was moved, false if this iterator cannot
+	 *         move directly to a point, in which case it is unchanged.
+	 */
+	default boolean seek(int stepIndex) {
+		return false;
+	}
+
+	/**
+	 * Fills the block with the next points of the iterator, as if
+	 * next() were called for each row of the block. Iterators which can
+	 * calculate the values without making positions should override this.
+	 * 
+	 * @param block
+	 * @return the number of points put in the block, 0 if there are no more points.
+	 */
+	default int nextBlock(PointBlock block) {
+		return block.fill(this);
+	}
+
 }
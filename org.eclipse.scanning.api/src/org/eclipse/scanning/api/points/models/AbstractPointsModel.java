@@ -13,6 +13,7 @@ package org.eclipse.scanning.api.points.models;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
@@ -26,8 +27,9 @@ import org.eclipse.scanning.api.annotation.ui.FieldDescriptor;
  * @author Matthew Gerring
  *
  */
-public abstract class AbstractPointsModel implements IScanPathModel {
+public abstract class AbstractPointsModel implements IScanPathModel, Serializable {
 
+	private static final long serialVersionUID = -2403734215728310645L;
 
 	protected final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
 	
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.points.models;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -73,7 +74,10 @@ import org.eclipse.scanning.api.points.IMutator;
  * @author Matthew Gerring
  *
  */
-public class CompoundModel<R> implements Cloneable {
+public class CompoundModel<R> implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = 7817343853624711230L;
+
 
 	private List<Object>               models;
 	private Collection<ScanRegion<R>>  regions;
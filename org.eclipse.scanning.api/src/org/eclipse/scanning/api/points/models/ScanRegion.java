@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.points.models;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 
@@ -25,7 +26,9 @@ import org.eclipse.scanning.api.INameable;
  *
  * @param <T>
  */
-public class ScanRegion<T> implements INameable {
+public class ScanRegion<T> implements INameable, Serializable {
+
+	private static final long serialVersionUID = 3094478102749915052L;
 	
 	private String       name;
 	private Object       type;
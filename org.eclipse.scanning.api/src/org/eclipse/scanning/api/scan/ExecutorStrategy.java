@@ -0,0 +1,123 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.scan;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executors which may run the devices of the levels of a scan.
+ *
+ * The strategy of a role which is not set on the scan is read from the
+ * property org.eclipse.scanning.level.runner.executor.&lt;role&gt;, for instance
+ * org.eclipse.scanning.level.runner.executor.move, then from the property
+ * org.eclipse.scanning.level.runner.executor, otherwise it is FORK_JOIN.
+ *
+ * FORK_JOIN and BOUNDED have org.eclipse.scanning.level.runner.pool.count threads,
+ * by default the number of processors.
+ */
+public enum ExecutorStrategy implements IExecutorStrategy {
+
+	/**
+	 * A fork join pool, the fastest for devices which return quickly.
+	 */
+	FORK_JOIN {
+		@Override
+		public ExecutorService createService(LevelRole role) {
+			return new ForkJoinPool(getPoolCount());
+		}
+	},
+
+	/**
+	 * A fixed number of threads, tasks wait in a queue for a thread.
+	 */
+	BOUNDED {
+		@Override
+		public ExecutorService createService(LevelRole role) {
+			int count = getPoolCount();
+			ThreadPoolExecutor service = new ThreadPoolExecutor(count, count, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createThreadFactory(role));
+			service.allowCoreThreadTimeOut(true);
+			return service;
+		}
+	},
+
+	/**
+	 * A thread for each task, for devices which block for a long time while
+	 * their hardware moves, so that hundreds of them may run at once. Uses
+	 * virtual threads if the JVM has them (Java 21 or later), otherwise daemon
+	 * threads which are kept for a minute to be reused.
+	 */
+	THREAD_PER_TASK {
+		@Override
+		public ExecutorService createService(LevelRole role) {
+			ExecutorService service = createVirtualThreadService();
+			if (service!=null) return service;
+			return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), createThreadFactory(role));
+		}
+	};
+
+	private static int getPoolCount() {
+		// TODO Need spring config for this.
+		Integer processors = Integer.getInteger("org.eclipse.scanning.level.runner.pool.count");
+		if (processors==null || processors<1) processors = Runtime.getRuntime().availableProcessors();
+		return processors;
+	}
+
+	private static ThreadFactory createThreadFactory(LevelRole role) {
+		final AtomicInteger count = new AtomicInteger();
+		final String name = (role!=null ? role.name().toLowerCase() : "level")+" runner ";
+		return r -> {
+			Thread thread = new Thread(r, name+count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * The API is built for Java 8 so Executors.newVirtualThreadPerTaskExecutor()
+	 * is found by reflection.
+	 * @return a virtual thread per task executor or null if there are no virtual threads.
+	 */
+	private static ExecutorService createVirtualThreadService() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService)method.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException ne) {
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 * @param role
+	 * @return the strategy which the properties give for the role, FORK_JOIN if they are not set.
+	 */
+	public static ExecutorStrategy getDefault(LevelRole role) {
+		String name = null;
+		if (role!=null) name = System.getProperty("org.eclipse.scanning.level.runner.executor."+role.name().toLowerCase());
+		if (name==null) name = System.getProperty("org.eclipse.scanning.level.runner.executor");
+		if (name==null) return FORK_JOIN;
+		try {
+			return valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException ne) {
+			return FORK_JOIN;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.scan;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the executor which runs the devices of each level of a scan
+ * in parallel, for instance the scannables moved at a point.
+ *
+ * The built in strategies are in ExecutorStrategy. Implement this to
+ * provide another and set it on the ScanModel of a scan, for all of its
+ * roles or for one role.
+ *
+ * The executor is shut down when the scan is finished with it.
+ */
+public interface IExecutorStrategy {
+
+	/**
+	 *
+	 * @param role of the levels which the executor will run
+	 * @return a new executor
+	 */
+	ExecutorService createService(LevelRole role);
+}
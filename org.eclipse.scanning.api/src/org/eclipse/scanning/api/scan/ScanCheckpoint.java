@@ -0,0 +1,470 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.api.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.scanning.api.event.scan.ScanRequest;
+
+/**
+ * How far a scan has got, saved to a small file as the scan runs so that
+ * if the server dies a new scan of the same request may carry on from the
+ * last point which was written rather than from the start.
+ *
+ * The checkpoint is saved under the hash of the request, see hash(...),
+ * in the directory given by the property org.eclipse.scanning.api.scan.checkpoint.dir,
+ * by default scanning-checkpoints in the temporary directory. A scan which
+ * completes or is aborted deletes its checkpoint.
+ *
+ * The step number is the step of the next point to run, the points before
+ * it have been written.
+ *
+ * A scan which carries on from a checkpoint writes to a new file, see resume().
+ * The checkpoint then keeps the file which the scan continues and the step
+ * it continued from, so that they can be recorded in the new file.
+ */
+public class ScanCheckpoint implements Serializable {
+
+	private static final long serialVersionUID = 3785468398235622931L;
+
+	private String requestHash;
+	private String filePath;
+	private int    stepNumber;
+	private int    lastWritten = -1;
+	private int    size;
+	private long   time;
+	private String continuedFilePath;
+	private int    continuedStepNumber;
+
+	public ScanCheckpoint() {
+
+	}
+
+	public ScanCheckpoint(String requestHash, String filePath) {
+		this.requestHash = requestHash;
+		this.filePath    = filePath;
+	}
+
+	/**
+	 *
+	 * @return the directory where checkpoints are saved.
+	 */
+	public static File getCheckpointDir() {
+		final String dir = System.getProperty("org.eclipse.scanning.api.scan.checkpoint.dir");
+		if (dir!=null) return new File(dir);
+		return new File(System.getProperty("java.io.tmpdir"), "scanning-checkpoints");
+	}
+
+	/**
+	 *
+	 * @param requestHash
+	 * @return the file of the checkpoint of a request.
+	 */
+	public static File getCheckpointFile(String requestHash) {
+		return new File(getCheckpointDir(), requestHash+".checkpoint");
+	}
+
+	/**
+	 * Reads the checkpoint saved for a request, if any.
+	 *
+	 * @param requestHash
+	 * @return the checkpoint or null if there is none.
+	 * @throws IOException if the checkpoint cannot be read
+	 */
+	public static ScanCheckpoint load(String requestHash) throws IOException {
+		final File file = getCheckpointFile(requestHash);
+		if (!file.exists()) return null;
+
+		final Properties props = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			props.load(in);
+		}
+		final ScanCheckpoint checkpoint = new ScanCheckpoint(props.getProperty("requestHash"), props.getProperty("filePath"));
+		if (!requestHash.equals(checkpoint.getRequestHash())) throw new IOException("The checkpoint "+file+" is not of the request "+requestHash);
+		try {
+			checkpoint.setStepNumber(Integer.parseInt(props.getProperty("stepNumber", "0")));
+			checkpoint.setLastWritten(Integer.parseInt(props.getProperty("lastWritten", "-1")));
+			checkpoint.setSize(Integer.parseInt(props.getProperty("size", "0")));
+			checkpoint.setTime(Long.parseLong(props.getProperty("time", "0")));
+			checkpoint.setContinuedFilePath(props.getProperty("continuedFilePath"));
+			checkpoint.setContinuedStepNumber(Integer.parseInt(props.getProperty("continuedStepNumber", "0")));
+		} catch (NumberFormatException ne) {
+			throw new IOException("The checkpoint "+file+" is corrupt", ne);
+		}
+		return checkpoint;
+	}
+
+	/**
+	 * Saves the checkpoint under its request hash. The checkpoint is written
+	 * to a temporary file which is then moved over the last one, so a
+	 * checkpoint is never left half written.
+	 *
+	 * @throws IOException
+	 */
+	public void save() throws IOException {
+		if (requestHash==null) throw new IOException("A checkpoint must have a request hash to be saved!");
+		final File file = getCheckpointFile(requestHash);
+		final File dir  = file.getParentFile();
+		if (!dir.exists()) dir.mkdirs();
+
+		final Properties props = new Properties();
+		props.setProperty("requestHash", requestHash);
+		if (filePath!=null) props.setProperty("filePath", filePath);
+		props.setProperty("stepNumber",  String.valueOf(stepNumber));
+		props.setProperty("lastWritten", String.valueOf(lastWritten));
+		props.setProperty("size",        String.valueOf(size));
+		props.setProperty("time",        String.valueOf(time));
+		if (continuedFilePath!=null) {
+			props.setProperty("continuedFilePath",   continuedFilePath);
+			props.setProperty("continuedStepNumber", String.valueOf(continuedStepNumber));
+		}
+
+		final File tmp = new File(dir, file.getName()+".tmp");
+		try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+			props.store(out, null);
+		}
+		try {
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException ne) {
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Deletes the saved checkpoint, if there is one.
+	 * @return true if a checkpoint was deleted
+	 */
+	public boolean delete() {
+		if (requestHash==null) return false;
+		return getCheckpointFile(requestHash).delete();
+	}
+
+	/**
+	 * The path of the NeXus file of a scan carrying on from this checkpoint.
+	 * The file of the scan which stopped is kept, the points from the step
+	 * number on go to a new file beside it, for instance scan_12.nxs is
+	 * carried on in scan_12_from_200.nxs.
+	 *
+	 * @return the path or null if the checkpoint has no file.
+	 */
+	public String getResumedFilePath() {
+		if (filePath==null) return null;
+		final Matcher matcher = RESUMED.matcher(filePath);
+		if (!matcher.matches()) return filePath+"_from_"+stepNumber;
+		final String ext = matcher.group(3)!=null ? matcher.group(3) : "";
+		return matcher.group(1)+"_from_"+stepNumber+ext;
+	}
+	private static final Pattern RESUMED = Pattern.compile("(.+?)(_from_\\d+)?(\\.[^./\\\\]+)?");
+
+	/**
+	 * Carries the checkpoint on in a new file, see getResumedFilePath().
+	 * The file of the scan which stopped and the step number carried on
+	 * from become the continued file and step of the checkpoint.
+	 *
+	 * @return the path of the new file or null if the checkpoint has no file.
+	 */
+	public String resume() {
+		continuedFilePath   = filePath;
+		continuedStepNumber = stepNumber;
+		filePath            = getResumedFilePath();
+		return filePath;
+	}
+
+	/**
+	 * A hash of the parts of the request which decide the points of the
+	 * scan and the data written at them: the compound model, the models of
+	 * the detectors and the monitors. Two requests which are the same have
+	 * the same hash, in any server. The scripts, start and end positions
+	 * and the file path are not part of it.
+	 *
+	 * The hash is of the values of the fields of the models, so that it is
+	 * the same in each JVM.
+	 *
+	 * @param request
+	 * @return the hash as a hex string
+	 */
+	public static String hash(ScanRequest<?> request) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ne) {
+			throw new IllegalStateException("SHA-256 must be available in every JVM", ne);
+		}
+		final Map<Object, Boolean> seen = new IdentityHashMap<>();
+		update(digest, request.getCompoundModel(), seen);
+		update(digest, request.getDetectors(), seen);
+		update(digest, request.getMonitorNames()!=null ? new ArrayList<>(request.getMonitorNames()) : null, seen);
+		return toHex(digest.digest());
+	}
+
+	private static void update(MessageDigest digest, Object value, Map<Object, Boolean> seen) {
+		if (value==null) {
+			update(digest, "null");
+			return;
+		}
+		final Class<?> clazz = value.getClass();
+		if (value instanceof Enum) {
+			update(digest, ((Enum<?>)value).name());
+		} else if (clazz.isArray()) {
+			final int length = Array.getLength(value);
+			update(digest, "["+length);
+			for (int i = 0; i < length; i++) update(digest, Array.get(value, i), seen);
+		} else if (value instanceof Set) {
+			// The order of a set may differ from JVM to JVM, the hashes of the items are sorted.
+			final List<String> items = new ArrayList<>();
+			for (Object item : (Set<?>)value) items.add(hash(item, seen));
+			Collections.sort(items);
+			update(digest, "{"+items.size());
+			for (String item : items) update(digest, item);
+		} else if (value instanceof Collection) {
+			update(digest, "("+((Collection<?>)value).size());
+			for (Object item : (Collection<?>)value) update(digest, item, seen);
+		} else if (value instanceof Map) {
+			final List<String> entries = new ArrayList<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet()) {
+				entries.add(hash(entry.getKey(), seen)+"="+hash(entry.getValue(), seen));
+			}
+			Collections.sort(entries);
+			update(digest, "<"+entries.size());
+			for (String entry : entries) update(digest, entry);
+		} else if (clazz.getName().startsWith("java.")) {
+			update(digest, value.toString()); // Strings, numbers, files and the like
+		} else {
+			if (seen.put(value, Boolean.TRUE)!=null) {
+				update(digest, "^"+clazz.getName()); // A cycle
+				return;
+			}
+			update(digest, clazz.getName());
+			for (Field field : getFields(clazz)) {
+				update(digest, field.getName());
+				try {
+					field.setAccessible(true);
+					update(digest, field.get(value), seen);
+				} catch (ReflectiveOperationException | RuntimeException ne) {
+					update(digest, "?");
+				}
+			}
+			seen.remove(value);
+		}
+	}
+
+	private static String hash(Object value, Map<Object, Boolean> seen) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			update(digest, value, seen);
+			return toHex(digest.digest());
+		} catch (NoSuchAlgorithmException ne) {
+			throw new IllegalStateException("SHA-256 must be available in every JVM", ne);
+		}
+	}
+
+	/**
+	 * The fields which hold the value of an object, sorted by name so
+	 * that they are in the same order in each JVM. Listeners, such as a
+	 * PropertyChangeSupport, are not part of the value.
+	 */
+	private static List<Field> getFields(Class<?> clazz) {
+		final List<Field> fields = new ArrayList<>();
+		for (Class<?> c = clazz; c!=null && c!=Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				final int mod = field.getModifiers();
+				if (Modifier.isStatic(mod) || Modifier.isTransient(mod) || field.isSynthetic()) continue;
+				if (field.getType().getName().startsWith("java.beans.")) continue;
+				fields.add(field);
+			}
+		}
+		fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName()).thenComparing(Field::getName));
+		return fields;
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte)0);
+	}
+
+	private static String toHex(byte[] bytes) {
+		final StringBuilder buf = new StringBuilder(bytes.length*2);
+		for (byte b : bytes) buf.append(String.format("%02x", b));
+		return buf.toString();
+	}
+
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	public void setRequestHash(String requestHash) {
+		this.requestHash = requestHash;
+	}
+
+	/**
+	 *
+	 * @return the NeXus file of the scan which saved the checkpoint.
+	 */
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public void setFilePath(String filePath) {
+		this.filePath = filePath;
+	}
+
+	/**
+	 *
+	 * @return the step of the next point to run.
+	 */
+	public int getStepNumber() {
+		return stepNumber;
+	}
+
+	public void setStepNumber(int stepNumber) {
+		this.stepNumber = stepNumber;
+	}
+
+	/**
+	 *
+	 * @return the step of the last point written, -1 if none has been.
+	 */
+	public int getLastWritten() {
+		return lastWritten;
+	}
+
+	public void setLastWritten(int lastWritten) {
+		this.lastWritten = lastWritten;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 *
+	 * @return the time in ms when the checkpoint was saved.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	/**
+	 *
+	 * @return the file of the scan which this one continues, null if it did not resume.
+	 */
+	public String getContinuedFilePath() {
+		return continuedFilePath;
+	}
+
+	public void setContinuedFilePath(String continuedFilePath) {
+		this.continuedFilePath = continuedFilePath;
+	}
+
+	/**
+	 *
+	 * @return the step which this scan continued the scan of the continued file from.
+	 */
+	public int getContinuedStepNumber() {
+		return continuedStepNumber;
+	}
+
+	public void setContinuedStepNumber(int continuedStepNumber) {
+		this.continuedStepNumber = continuedStepNumber;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((continuedFilePath == null) ? 0 : continuedFilePath.hashCode());
+		result = prime * result + continuedStepNumber;
+		result = prime * result + ((filePath == null) ? 0 : filePath.hashCode());
+		result = prime * result + lastWritten;
+		result = prime * result + ((requestHash == null) ? 0 : requestHash.hashCode());
+		result = prime * result + size;
+		result = prime * result + stepNumber;
+		result = prime * result + (int) (time ^ (time >>> 32));
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ScanCheckpoint other = (ScanCheckpoint) obj;
+		if (continuedFilePath == null) {
+			if (other.continuedFilePath != null)
+				return false;
+		} else if (!continuedFilePath.equals(other.continuedFilePath))
+			return false;
+		if (continuedStepNumber != other.continuedStepNumber)
+			return false;
+		if (filePath == null) {
+			if (other.filePath != null)
+				return false;
+		} else if (!filePath.equals(other.filePath))
+			return false;
+		if (lastWritten != other.lastWritten)
+			return false;
+		if (requestHash == null) {
+			if (other.requestHash != null)
+				return false;
+		} else if (!requestHash.equals(other.requestHash))
+			return false;
+		if (size != other.size)
+			return false;
+		if (stepNumber != other.stepNumber)
+			return false;
+		if (time != other.time)
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "ScanCheckpoint [requestHash=" + requestHash + ", filePath=" + filePath + ", stepNumber=" + stepNumber
+				+ ", lastWritten=" + lastWritten + ", size=" + size + ", time=" + time + ", continuedFilePath="
+				+ continuedFilePath + ", continuedStepNumber=" + continuedStepNumber + "]";
+	}
+}
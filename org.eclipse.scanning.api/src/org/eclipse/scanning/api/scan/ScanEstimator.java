@@ -12,6 +12,7 @@
 package org.eclipse.scanning.api.scan;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,6 +25,7 @@ import org.eclipse.scanning.api.points.IDeviceDependentIterable;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPointGeneratorService;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.ScanPointIterator;
 
 /**
  * 
@@ -127,7 +129,10 @@ public class ScanEstimator {
 		
 		this.generator = positionIterable;
 		this.size = getEstimatedSize(positionIterable);
-		this.rank = positionIterable.iterator().next().getScanRank();
+		IPosition first = positionIterable instanceof IPointGenerator
+				        ? ((IPointGenerator<?>)positionIterable).getFirstPoint()
+				        : positionIterable.iterator().next();
+		this.rank = first.getScanRank();
 		this.timePerPoint = timePerPoint;
 		this.estimatedScanTime = size * timePerPoint;
 	}
@@ -141,7 +146,12 @@ public class ScanEstimator {
 		} else if (gen instanceof IPointGenerator) {
 			size = ((IPointGenerator<?>)gen).size();
 		} else  {
-			for (@SuppressWarnings("unused") IPosition unused : gen) size++; // Fast even for large stuff providing they do not check hardware on the next() call.
+			Iterator<IPosition> it = gen.iterator();
+			if (it instanceof ScanPointIterator) {
+				size = ((ScanPointIterator)it).size(); // Known without iterating, for instance from the masks of regions
+			} else {
+				while (it.hasNext()) { it.next(); size++; } // Fast even for large stuff providing they do not check hardware on the next() call.
+			}
 		}
 		
 		return size;
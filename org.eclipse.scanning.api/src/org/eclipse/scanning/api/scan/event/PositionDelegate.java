@@ -104,6 +104,14 @@ public class PositionDelegate {
 		for (IPositionListener l : ls)  l.levelPerformed(evnt);
 	}
 
+	/**
+	 * 
+	 * @return true if there is a publisher or listeners which the events are sent to.
+	 */
+	public boolean isListening() {
+		return publisher!=null || (listeners!=null && !listeners.isEmpty());
+	}
+
 	public void addPositionListener(IPositionListener listener) {
 		if (listeners==null) listeners = new HashSet<IPositionListener>(3);
 		listeners.add(listener);
@@ -11,13 +11,16 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.scan.models;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Encapsulates metadata about the scan of a particular type, e.g. metadata about the sample.
  */
-public class ScanMetadata {
+public class ScanMetadata implements Serializable {
+
+	private static final long serialVersionUID = -5197815270592387311L;
 	
 	/**
 	 * The type of metadata. This determines where location of the metadata in
@@ -15,13 +15,18 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.scanning.api.IScannable;
 import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.event.scan.ScanBean;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.IExecutorStrategy;
+import org.eclipse.scanning.api.scan.LevelRole;
+import org.eclipse.scanning.api.scan.ScanCheckpoint;
 import org.eclipse.scanning.api.scan.ScanInformation;
 
 /**
@@ -83,6 +88,28 @@ public class ScanModel {
 	
 	private ScanInformation scanInformation;
 	
+	/**
+	 * The number of positions read ahead of the one being collected.
+	 * If more than 0 the scannables which are readout safe start moving
+	 * to the next position as soon as the detectors have been run, while
+	 * the detectors are read out. Default is 0, each point is collected in turn.
+	 */
+	private int lookAhead;
+	
+	/**
+	 * The executor strategy of each role of level, for instance to move
+	 * many slow scannables each with its own thread. A role which is not
+	 * set uses the default, see ExecutorStrategy.getDefault(...)
+	 */
+	private Map<LevelRole, IExecutorStrategy> executorStrategies;
+	
+	/**
+	 * The checkpoint which the scan saves as it runs, may be null for
+	 * none. If its step number is more than 0 the scan carries on from
+	 * that step, the points before it are not run.
+	 */
+	private ScanCheckpoint checkpoint;
+	
 	public ScanModel() {
 		this(null);
 	}
@@ -105,6 +132,9 @@ public class ScanModel {
 				+ ((detectors == null) ? 0 : detectors.hashCode());
 		result = prime * result
 				+ ((filePath == null) ? 0 : filePath.hashCode());
+		result = prime * result + lookAhead;
+		result = prime * result
+				+ ((executorStrategies == null) ? 0 : executorStrategies.hashCode());
 		result = prime * result
 				+ ((monitors == null) ? 0 : monitors.hashCode());
 		result = prime
@@ -139,6 +169,13 @@ public class ScanModel {
 				return false;
 		} else if (!filePath.equals(other.filePath))
 			return false;
+		if (lookAhead != other.lookAhead)
+			return false;
+		if (executorStrategies == null) {
+			if (other.executorStrategies != null)
+				return false;
+		} else if (!executorStrategies.equals(other.executorStrategies))
+			return false;
 		if (monitors == null) {
 			if (other.monitors != null)
 				return false;
@@ -250,5 +287,52 @@ public class ScanModel {
 	public void setScanInformation(ScanInformation scanInformation) {
 		this.scanInformation = scanInformation;
 	}
+
+	public int getLookAhead() {
+		return lookAhead;
+	}
+
+	public void setLookAhead(int lookAhead) {
+		this.lookAhead = lookAhead;
+	}
+
+	/**
+	 * 
+	 * @param role
+	 * @return the strategy set for the role or null if the default is used.
+	 */
+	public IExecutorStrategy getExecutorStrategy(LevelRole role) {
+		return executorStrategies!=null ? executorStrategies.get(role) : null;
+	}
+
+	/**
+	 * Sets the executor strategy of one role of level.
+	 * @param role
+	 * @param strategy or null to use the default
+	 */
+	public void setExecutorStrategy(LevelRole role, IExecutorStrategy strategy) {
+		if (strategy==null) {
+			if (executorStrategies!=null) executorStrategies.remove(role);
+			return;
+		}
+		if (executorStrategies==null) executorStrategies = new EnumMap<>(LevelRole.class);
+		executorStrategies.put(role, strategy);
+	}
+
+	public ScanCheckpoint getCheckpoint() {
+		return checkpoint;
+	}
+
+	public void setCheckpoint(ScanCheckpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+
+	/**
+	 * Sets the executor strategy of all the roles of level.
+	 * @param strategy or null to use the defaults
+	 */
+	public void setExecutorStrategy(IExecutorStrategy strategy) {
+		for (LevelRole role : LevelRole.values()) setExecutorStrategy(role, strategy);
+	}
 	
 }
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.script;
 
+import java.io.Serializable;
 import java.util.Map;
 
 /**
@@ -22,7 +23,9 @@ import java.util.Map;
  * @author Matthew Gerring.
  *
  */
-public class ScriptRequest {
+public class ScriptRequest implements Serializable {
+
+	private static final long serialVersionUID = 4458926377390232412L;
 
 	private String             file;
 	private ScriptLanguage     language;
@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.scanning.api.script;
 
+import java.io.Serializable;
+
 /**
  * Class which encapsulates a response one, none or all of the return
  * information may be set.
@@ -21,7 +23,9 @@ package org.eclipse.scanning.api.script;
  *        The object returned should json serialize, it may be sent in events to the client
  *        and should ideally encode information rather than provide callable server methods. 
  */
-public class ScriptResponse<T> {
+public class ScriptResponse<T> implements Serializable {
+
+	private static final long serialVersionUID = 8869311964183560537L;
 
 	@Override
 	public String toString() {
@@ -0,0 +1,169 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.benchmark;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.analysis.api.persistence.IMarshallerService;
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.dawnsci.json.MarshallerService;
+import org.eclipse.scanning.api.event.IEventConnectorService;
+import org.eclipse.scanning.api.event.scan.ScanBean;
+import org.eclipse.scanning.api.event.scan.ScanRequest;
+import org.eclipse.scanning.api.event.status.Status;
+import org.eclipse.scanning.api.event.status.StatusBean;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.points.classregistry.ScanningAPIClassRegistry;
+import org.eclipse.scanning.points.serialization.PointsModelMarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of marshalling the beans which the event system sends, as the
+ * JSON of a TextMessage and in the binary encoding of a BytesMessage which
+ * a publisher sends when it is binary. The bytes on the wire of each are
+ * printed when the benchmark is set up.
+ * 
+ * A status bean is small, a scan bean carries its scan request with a
+ * compound model and a region and is sent with every update of a scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+	@Param({"status", "scan"})
+	private String type;
+
+	private IEventConnectorService service;
+	private Object                 bean;
+	private String                 json;
+	private byte[]                 bytes;
+
+	@Setup
+	public void setup() throws Exception {
+		service = new Connector(new MarshallerService(Arrays.asList(new ScanningAPIClassRegistry()),
+				                                      Arrays.asList(new PointsModelMarshaller())));
+		bean  = "scan".equals(type) ? createScanBean() : createStatusBean();
+		json  = service.marshal(bean);
+		bytes = service.encode(bean);
+		System.out.println(type+" bean: "+json.getBytes("UTF-8").length+" bytes as JSON, "+bytes.length+" bytes as "+service.getBinaryContentType());
+	}
+
+	@Benchmark
+	public String marshal() throws Exception {
+		return service.marshal(bean);
+	}
+
+	@Benchmark
+	public byte[] marshalBinary() throws Exception {
+		return service.encode(bean);
+	}
+
+	@Benchmark
+	public Object unmarshal() throws Exception {
+		return service.unmarshal(json, bean.getClass());
+	}
+
+	@Benchmark
+	public Object unmarshalBinary() throws Exception {
+		return service.decode(bytes, service.getBinaryContentType(), bean.getClass());
+	}
+
+	private static StatusBean createStatusBean() {
+		StatusBean bean = new StatusBean();
+		bean.setName("Benchmark");
+		bean.setStatus(Status.RUNNING);
+		bean.setPercentComplete(42);
+		bean.setUniqueId("c0ffee");
+		bean.setUserName("benchmark");
+		bean.setHostName("localhost");
+		bean.setSubmissionTime(1480000000000L);
+		return bean;
+	}
+
+	private static ScanBean createScanBean() throws Exception {
+		
+		BoundingBox box = new BoundingBox();
+		box.setFastAxisStart(0);
+		box.setSlowAxisStart(0);
+		box.setFastAxisLength(3);
+		box.setSlowAxisLength(3);
+
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(50);
+		gmodel.setFastAxisPoints(50);
+		gmodel.setBoundingBox(box);
+
+		IROI roi = new RectangularROI(0, 0, 3, 3, 0);
+		ScanRequest<IROI> req = new ScanRequest<IROI>();
+		req.setCompoundModel(new CompoundModel(gmodel, roi));
+		req.setMonitorNames(Arrays.asList("monitor", "beamcurrent", "temperature"));
+		req.setFilePath(new File(System.getProperty("java.io.tmpdir"), "scan_12.nxs").getAbsolutePath());
+
+		ScanBean bean = new ScanBean(req);
+		bean.setName("Grid scan of x and y");
+		bean.setStatus(Status.RUNNING);
+		bean.setUniqueId("c0ffee");
+		bean.setPoint(1207);
+		bean.setSize(2500);
+		bean.setPercentComplete(48.28);
+		bean.setPosition(new Point("x", 7, 1.5, "y", 24, 2.5, true));
+		return bean;
+	}
+
+	/**
+	 * The marshalling of the connector of the event system, without a broker.
+	 */
+	private static final class Connector implements IEventConnectorService {
+
+		private final IMarshallerService marshaller;
+
+		Connector(IMarshallerService marshaller) {
+			this.marshaller = marshaller;
+		}
+
+		@Override
+		public String marshal(Object anyObject) throws Exception {
+			return marshaller.marshal(anyObject);
+		}
+
+		@Override
+		public <U> U unmarshal(String anyObject, Class<U> beanClass) throws Exception {
+			return marshaller.unmarshal(anyObject, beanClass);
+		}
+
+		@Override
+		public Object createConnectionFactory(URI uri) {
+			return null;
+		}
+	}
+}
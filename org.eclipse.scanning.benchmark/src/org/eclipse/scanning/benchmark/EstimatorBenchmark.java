@@ -0,0 +1,78 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.api.scan.ScanEstimator;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The time to estimate the size, shape and duration of a map in a
+ * circle, which the client does each time the user edits a scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstimatorBenchmark {
+
+	/**
+	 * The number of rows and columns of the grid
+	 */
+	@Param({"100", "1000"})
+	private int count;
+
+	private PointGeneratorService service;
+	private CompoundModel<IROI>   model;
+
+	@Setup
+	public void setup() {
+		service = new PointGeneratorService(GeneratorEngine.JAVA);
+		service.setCacheCapacity(0); // Estimate the scan as if it had been edited
+
+		GridModel grid = new GridModel("x", "y", count, count);
+		grid.setBoundingBox(new BoundingBox(0, 0, 10, 10));
+		grid.setSnake(true);
+		model = new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 300, 5), grid));
+		model.setRegions(Collections.singletonList(new ScanRegion<IROI>(new CircularROI(5, 5, 5), "x", "y")));
+	}
+
+	@Benchmark
+	public long estimate() throws Exception {
+		ScanEstimator estimator = new ScanEstimator(service.createCompoundGenerator(model), Collections.emptyMap(), 100);
+		return estimator.getEstimatedScanTime() + estimator.getShape().length;
+	}
+}
@@ -0,0 +1,161 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.points.IMutator;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.ArrayModel;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.LissajousModel;
+import org.eclipse.scanning.api.points.models.MultiStepModel;
+import org.eclipse.scanning.api.points.models.RasterModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.SpiralModel;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.points.mutators.RandomOffsetMutator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The throughput of creating each generator and iterating its points
+ * with the Java engine. Each generator makes about ten thousand points
+ * so that the scores of the generators may be compared.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+	@Param({"grid", "raster", "spiral", "lissajous", "step", "multistep", "array", "compound"})
+	private String type;
+
+	private PointGeneratorService service;
+	private Object                model;
+	private IPointGenerator<?>    generator;
+
+	@Setup
+	public void setup() throws Exception {
+		service = new PointGeneratorService(GeneratorEngine.JAVA);
+		service.setCacheCapacity(0); // Create the generator each time
+		model = createModel(type);
+		generator = create();
+	}
+
+	/**
+	 * Iterates the points of a generator which has been created.
+	 */
+	@Benchmark
+	public void iterate(Blackhole hole) {
+		for (IPosition pos : generator) hole.consume(pos);
+	}
+
+	/**
+	 * Creates the generator from its model then iterates its points.
+	 */
+	@Benchmark
+	public void createAndIterate(Blackhole hole) throws Exception {
+		for (IPosition pos : create()) hole.consume(pos);
+	}
+
+	/**
+	 * Creates the generator from its model and calculates its size and shape,
+	 * which are worked out before a scan is run.
+	 */
+	@Benchmark
+	public void sizeAndShape(Blackhole hole) throws Exception {
+		IPointGenerator<?> gen = create();
+		hole.consume(gen.size());
+		hole.consume(gen.getShape());
+	}
+
+	private IPointGenerator<?> create() throws Exception {
+		if (model instanceof CompoundModel) return service.createCompoundGenerator((CompoundModel<?>)model);
+		return service.createGenerator(model);
+	}
+
+	private static Object createModel(String type) {
+
+		final BoundingBox box = new BoundingBox(0, 0, 10, 10);
+		switch(type) {
+		case "grid":
+			GridModel grid = new GridModel("x", "y", 100, 100);
+			grid.setBoundingBox(box);
+			grid.setSnake(true);
+			return grid;
+		case "raster":
+			RasterModel raster = new RasterModel("x", "y");
+			raster.setFastAxisStep(0.1);
+			raster.setSlowAxisStep(0.1);
+			raster.setBoundingBox(box);
+			return raster;
+		case "spiral":
+			return new SpiralModel("x", "y", 0.05, box);
+		case "lissajous":
+			LissajousModel lissajous = new LissajousModel();
+			lissajous.setBoundingBox(box);
+			lissajous.setPoints(10000);
+			return lissajous;
+		case "step":
+			return new StepModel("T", 0, 9999, 1);
+		case "multistep":
+			MultiStepModel multi = new MultiStepModel("T", 0, 4999, 1);
+			multi.addRange(5000, 9999, 1);
+			return multi;
+		case "array":
+			double[] positions = new double[10000];
+			for (int i = 0; i < positions.length; i++) positions[i] = i*0.01;
+			ArrayModel array = new ArrayModel(positions);
+			array.setName("T");
+			return array;
+		case "compound":
+			// A temperature step of a snake grid in a circle with random offsets
+			GridModel cgrid = new GridModel("x", "y", 40, 40);
+			cgrid.setBoundingBox(box);
+			cgrid.setSnake(true);
+			CompoundModel<IROI> compound = new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 298, 1), cgrid));
+			compound.setRegions(Collections.singletonList(new ScanRegion<IROI>(new CircularROI(5, 5, 5), "x", "y")));
+			Map<String, Double> offsets = new HashMap<>();
+			offsets.put("x", 0.01);
+			offsets.put("y", 0.01);
+			compound.setMutators(Arrays.<IMutator>asList(new RandomOffsetMutator(3, Arrays.asList("x", "y"), offsets)));
+			return compound;
+		default:
+			throw new IllegalArgumentException("There is no generator "+type);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.Scalar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The throughput of compounding positions, which is done for every point
+ * of a nested scan, and of the lookups made on the compounded position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionBenchmark {
+
+	private IPosition temperature;
+	private IPosition point;
+	private IPosition map;
+	private IPosition named;
+	private IPosition compound;
+
+	@Setup
+	public void setup() {
+		temperature = new Scalar<>("T", 3, 295.0);
+		temperature.setStepIndex(30);
+		point = new Point("x", 7, 1.5, "y", 12, 2.5, true);
+		point.setStepIndex(1207);
+
+		// A map position with a value which is not a double
+		MapPosition mpos = new MapPosition();
+		mpos.put("z", 4.0);
+		mpos.putIndex("z", 4);
+		mpos.put("mode", "fast");
+		mpos.putIndex("mode", 0);
+		map = mpos;
+		named = new Scalar<>("energy", 2, "K");
+
+		compound = point.compound(temperature);
+	}
+
+	/**
+	 * A position of doubles in a position of doubles, the names are shared.
+	 */
+	@Benchmark
+	public IPosition compoundDoubles() {
+		return point.compound(temperature);
+	}
+
+	/**
+	 * Three levels, the middle one has a value which is not a double.
+	 */
+	@Benchmark
+	public IPosition compoundNested() {
+		return point.compound(map.compound(temperature));
+	}
+
+	/**
+	 * A position with a value which is not a double, which makes a map.
+	 */
+	@Benchmark
+	public IPosition compoundMap() {
+		return point.compound(named);
+	}
+
+	@Benchmark
+	public double getValue() {
+		return compound.getValue("x") + compound.getValue("T");
+	}
+
+	@Benchmark
+	public int getIndex() {
+		return compound.getIndex("y") + compound.getIndex("T");
+	}
+
+	@Benchmark
+	public int hashCodeOfCompound() {
+		return compound.hashCode();
+	}
+}
@@ -0,0 +1,80 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.Scalar;
+import org.eclipse.scanning.points.serialization.PositionDeserializer;
+import org.eclipse.scanning.points.serialization.PositionSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * The throughput of writing and reading positions with the serializers
+ * which the marshaller of the points bundle registers, positions are
+ * sent like this with every point of a scan which publishes its progress.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	private ObjectMapper mapper;
+	private IPosition    position;
+	private String       json;
+
+	@Setup
+	public void setup() throws Exception {
+		SimpleModule module = new SimpleModule();
+		module.addSerializer(IPosition.class, new PositionSerializer());
+		module.addDeserializer(IPosition.class, new PositionDeserializer());
+		mapper = new ObjectMapper();
+		mapper.registerModule(module);
+
+		Point point = new Point("x", 7, 1.5, "y", 12, 2.5, true);
+		position = point.compound(new Scalar<>("T", 3, 295.0));
+		position.setStepIndex(1207);
+		json = mapper.writeValueAsString(position);
+	}
+
+	@Benchmark
+	public String write() throws Exception {
+		return mapper.writeValueAsString(position);
+	}
+
+	@Benchmark
+	public IPosition read() throws Exception {
+		return mapper.readValue(json, IPosition.class);
+	}
+
+	@Benchmark
+	public IPosition roundTrip() throws Exception {
+		return mapper.readValue(mapper.writeValueAsString(position), IPosition.class);
+	}
+}
@@ -0,0 +1,131 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.AbstractScannable;
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The overhead per point of moving 50 scannables across 5 levels, which
+ * do no work, with the positioner which a scan uses. The positioner is
+ * package private so this benchmark is in the package of the sequencer.
+ *
+ * With planned=false the plan is made again for every point, as it was
+ * before plans were reused, which gives the cost of planning.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelRunnerBenchmark {
+
+	private static final int SCANNABLES = 50;
+	private static final int LEVELS     = 5;
+
+	@Param({"true", "false"})
+	private boolean planned;
+
+	private ScannablePositioner positioner;
+	private IPosition[]         positions;
+	private int                 index;
+
+	@Setup
+	public void setup() {
+		final Map<String, IScannable<?>> scannables = new LinkedHashMap<>(SCANNABLES);
+		for (int i = 0; i < SCANNABLES; i++) {
+			scannables.put("s"+i, new NoOpScannable("s"+i, i%LEVELS+1));
+		}
+		positioner = new ScannablePositioner(new IScannableDeviceService() {
+			@Override
+			public <T> void register(IScannable<T> scannable) {
+				scannables.put(scannable.getName(), scannable);
+			}
+			@Override
+			public List<String> getScannableNames() throws ScanningException {
+				return new ArrayList<>(scannables.keySet());
+			}
+			@SuppressWarnings("unchecked")
+			@Override
+			public <T> IScannable<T> getScannable(String name) throws ScanningException {
+				return (IScannable<T>)scannables.get(name);
+			}
+		});
+		positioner.setLevelCachingAllowed(planned);
+
+		positions = new IPosition[100];
+		for (int j = 0; j < positions.length; j++) {
+			MapPosition pos = new MapPosition();
+			for (String name : scannables.keySet()) {
+				pos.put(name, (double)j);
+				pos.putIndex(name, j);
+			}
+			pos.setStepIndex(j);
+			positions[j] = pos;
+		}
+	}
+
+	@TearDown
+	public void close() {
+		positioner.close();
+	}
+
+	@Benchmark
+	public boolean setPosition() throws Exception {
+		index = (index+1) % positions.length;
+		return positioner.setPosition(positions[index]);
+	}
+
+	private static final class NoOpScannable extends AbstractScannable<Object> {
+
+		private Object value = 0d;
+
+		NoOpScannable(String name, int level) {
+			setName(name);
+			setLevel(level);
+		}
+
+		@Override
+		public Object getPosition() {
+			return value;
+		}
+
+		@Override
+		public Object setPosition(Object value, IPosition position) {
+			this.value = value;
+			return value;
+		}
+	}
+}
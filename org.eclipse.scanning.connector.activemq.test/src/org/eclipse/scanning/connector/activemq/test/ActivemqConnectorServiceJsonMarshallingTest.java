@@ -13,8 +13,11 @@ package org.eclipse.scanning.connector.activemq.test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.InvalidClassException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -23,7 +26,12 @@ import org.apache.commons.lang.StringEscapeUtils;
 import org.eclipse.dawnsci.analysis.api.roi.IROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
 import org.eclipse.dawnsci.json.MarshallerService;
+import org.eclipse.scanning.api.event.EventException;
+import org.eclipse.scanning.api.event.scan.ScanBean;
+import org.eclipse.scanning.api.event.scan.ScanRequest;
 import org.eclipse.scanning.api.event.status.StatusBean;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
 import org.eclipse.scanning.connector.activemq.ActivemqConnectorService;
 import org.eclipse.scanning.points.classregistry.ScanningAPIClassRegistry;
 import org.eclipse.scanning.points.serialization.PointsModelMarshaller;
@@ -123,6 +131,41 @@ public class ActivemqConnectorServiceJsonMarshallingTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testBinaryEncoding() throws Exception {
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(5);
+		gmodel.setFastAxisPoints(5);
+		ScanRequest<IROI> req = new ScanRequest<IROI>();
+		req.setCompoundModel(new CompoundModel(gmodel, new RectangularROI(0, 0, 3, 3, 0)));
+		req.setMonitorNames(Arrays.asList("monitor"));
+		ScanBean bean = new ScanBean(req);
+		bean.setName("Grid scan");
+		bean.setUniqueId("c0ffee");
+		bean.setPercentComplete(42);
+
+		byte[] bytes = marshaller.encode(bean);
+		ScanBean decoded = marshaller.decode(bytes, marshaller.getBinaryContentType(), ScanBean.class);
+		assertEquals(bean, decoded);
+		assertEquals(req, decoded.getScanRequest());
+	}
+
+	@Test
+	public void testBinaryEncodingNotSerializable() throws Exception {
+		ProjectBean bean = marshaller.unmarshal(JSON_FOR_PROJECT_BEAN, ProjectBean.class);
+		assertNull("The sweeps cannot be encoded so the bean is sent as JSON", marshaller.encode(bean));
+	}
+
+	@Test(expected = EventException.class)
+	public void testBinaryEncodingUnknownContentType() throws Exception {
+		marshaller.decode(marshaller.encode(new StatusBean()), "application/x-unknown", StatusBean.class);
+	}
+
+	@Test(expected = InvalidClassException.class)
+	public void testBinaryEncodingClassNotAllowed() throws Exception {
+		marshaller.decode(marshaller.encode(new File("not_a_bean")), marshaller.getBinaryContentType(), Object.class);
+	}
+
 	@Test
 	public void testROIFieldSerialization() throws Exception {
 		IROI roi = new RectangularROI(-3.5, 4.0, 8.0, 6.1, 0.0);
@@ -267,6 +267,7 @@ public abstract class AbstractQueueConnection<U extends StatusBean> extends Abst
 					}
 				}
 			} finally {
+				StatusSet.invalidate(uri, queueName);
 				if (qCon!=null) qCon.close();
 			}
 		} catch (Exception ne) {
@@ -302,6 +303,7 @@ public abstract class AbstractQueueConnection<U extends StatusBean> extends Abst
 			throw new EventException(ne);
 
 		} finally {
+			StatusSet.invalidate(uri, qName);
 			if (qCon!=null) {
 				try {
 					qCon.close();
@@ -437,6 +439,7 @@ public abstract class AbstractQueueConnection<U extends StatusBean> extends Abst
 			throw new EventException("Cannot remove item "+bean, ne);
 			
 		}  finally {
+			StatusSet.invalidate(uri, queueName);
 			if (!isAlreadyPaused) {
 				pbean.setPause(false);
 				publisher.broadcast(pbean);
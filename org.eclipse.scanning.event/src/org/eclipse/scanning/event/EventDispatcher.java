@@ -0,0 +1,300 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.event;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.eclipse.scanning.api.event.core.DispatchStatistics;
+import org.eclipse.scanning.api.event.scan.ScanBean;
+import org.eclipse.scanning.api.event.status.StatusBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gives the events of a subscriber to its listeners in threads shared by
+ * all the subscribers, rather than a thread for each subscriber or each event.
+ *
+ * The events with the same key, for instance the unique id of a bean or the
+ * name of a scannable, are given to the listeners one at a time in the order
+ * they came. Events with different keys may be given at the same time.
+ * The shared threads are limited by the property org.eclipse.scanning.event.dispatch.threads,
+ * by default 32. If the property org.eclipse.scanning.event.dispatch.dedicated
+ * is set each subscriber has a thread of its own instead, which gives all its
+ * events in the order they came.
+ *
+ * The number of events waiting is limited by the property
+ * org.eclipse.scanning.event.dispatch.capacity, by default 1024. When it is
+ * reached an event which only updates a waiting event of the same bean, for
+ * instance its progress, replaces it. Any other event is never dropped, the
+ * messaging thread waits for the listeners until there is room or the
+ * subscriber is disconnected.
+ */
+final class EventDispatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(EventDispatcher.class);
+
+	private static final int  BATCH = 64;   // Events given by a thread before it lets the others have a go
+
+	private static final boolean DEDICATED = Boolean.getBoolean("org.eclipse.scanning.event.dispatch.dedicated");
+
+	private static ExecutorService shared;
+
+	private final String            name;
+	private final Consumer<Object>  target;
+	private final int               capacity;
+	private final Map<Object, Lane> lanes; // Guarded by this
+
+	private ExecutorService  executor; // Guarded by this, the shared threads unless dedicated
+	private int              depth;    // Guarded by this
+	private int              maxDepth; // Guarded by this
+	private boolean          closed;   // Guarded by this
+	private volatile boolean conflating;
+
+	private final LongAdder       dispatched;
+	private final LongAdder       conflated;
+	private final LongAdder       blocked;
+	private final LongAdder       lag; // ns
+	private final LongAccumulator maxLag;
+
+	/**
+	 *
+	 * @param name of the subscriber, for the log
+	 * @param target gives an event to the listeners
+	 */
+	EventDispatcher(String name, Consumer<Object> target) {
+		this.name       = name;
+		this.target     = target;
+		this.capacity   = Math.max(1, Integer.getInteger("org.eclipse.scanning.event.dispatch.capacity", 1024));
+		this.conflating = Boolean.getBoolean("org.eclipse.scanning.event.dispatch.conflate");
+		this.lanes      = new HashMap<>();
+		this.dispatched = new LongAdder();
+		this.conflated  = new LongAdder();
+		this.blocked    = new LongAdder();
+		this.lag        = new LongAdder();
+		this.maxLag     = new LongAccumulator(Math::max, 0);
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor==null) executor = !DEDICATED ? getShared() : Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r, "Subscriber despatch thread "+name);
+			thread.setDaemon(true);
+			thread.setPriority(Thread.NORM_PRIORITY+1);
+			return thread;
+		});
+		return executor;
+	}
+
+	private static synchronized ExecutorService getShared() {
+		if (shared==null) {
+			final int threads = Math.max(1, Integer.getInteger("org.eclipse.scanning.event.dispatch.threads", 32));
+			final AtomicInteger count = new AtomicInteger();
+			final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread thread = new Thread(r, "Event dispatch "+count.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setPriority(Thread.NORM_PRIORITY+1);
+				return thread;
+			});
+			pool.allowCoreThreadTimeOut(true);
+			shared = pool;
+		}
+		return shared;
+	}
+
+	/**
+	 * Queues the bean to be given to the listeners after the beans of
+	 * its lane which came before it. Does nothing once closed.
+	 *
+	 * @param lane the key of the events which are given in order, unless the thread is dedicated
+	 * @param key the key of the bean, a waiting bean with the same key may be replaced by it
+	 * @param bean
+	 * @throws InterruptedException
+	 */
+	synchronized void dispatch(Object lane, Object key, Object bean) throws InterruptedException {
+
+		if (closed) return;
+		if (DEDICATED) lane = this; // The thread of the subscriber gives all its events in order
+
+		if ((conflating || depth>=capacity) && conflate(lanes.get(lane), key, bean)) return;
+
+		if (depth>=capacity) {
+			if (blocked.sum()==0) logger.warn("The listeners of {} are not keeping up, more than {} events are waiting", name, capacity);
+			blocked.increment();
+			while (depth>=capacity) { // Woken by take() or close(), a listener which disconnects its subscriber does not deadlock.
+				wait();
+				if (closed) return;
+				if (conflate(lanes.get(lane), key, bean)) return;
+			}
+		}
+
+		Lane events = lanes.get(lane); // The lane may have finished while we waited
+		if (events==null) {
+			events = new Lane(lane);
+			lanes.put(lane, events);
+		}
+		events.events.add(new Event(key, bean, System.nanoTime()));
+		depth++;
+		maxDepth = Math.max(depth, maxDepth);
+		if (!events.running) {
+			events.running = true;
+			getExecutor().execute(events);
+		}
+	}
+
+	/**
+	 * Replaces the last waiting event of the lane by the bean if it is a later one of the same bean.
+	 * @return true if the bean was conflated
+	 */
+	private boolean conflate(Lane events, Object key, Object bean) {
+		if (events==null) return false;
+		final Event last = events.events.peekLast();
+		if (last==null || !Objects.equals(last.key, key) || !supersedes(last.bean, bean)) return false;
+		events.events.pollLast();
+		events.events.add(new Event(key, bean, last.time)); // The lag is from the first of the events
+		conflated.increment();
+		return true;
+	}
+
+	/**
+	 * An event may be replaced by a later one of the same bean unless either
+	 * changes the status, which the listeners must see.
+	 */
+	private static boolean supersedes(Object was, Object now) {
+		if (was.getClass()!=now.getClass()) return false;
+		if (was instanceof StatusBean) {
+			StatusBean swas = (StatusBean)was;
+			StatusBean snow = (StatusBean)now;
+			if (swas.getStatus()!=swas.getPreviousStatus() || swas.getStatus()!=snow.getStatus() || snow.getStatus()!=snow.getPreviousStatus()) return false;
+		}
+		if (was instanceof ScanBean) {
+			ScanBean swas = (ScanBean)was;
+			ScanBean snow = (ScanBean)now;
+			if (swas.getDeviceState()!=swas.getPreviousDeviceState() || swas.getDeviceState()!=snow.getDeviceState() || snow.getDeviceState()!=snow.getPreviousDeviceState()) return false;
+		}
+		return true;
+	}
+
+	private Event take(Lane events) {
+		synchronized (this) {
+			final Event event = events.events.poll();
+			if (event==null) {
+				events.running = false;
+				lanes.remove(events.key);
+				return null;
+			}
+			depth--;
+			notifyAll();
+			return event;
+		}
+	}
+
+	/**
+	 * Throws away the events which are waiting and stops the thread of
+	 * the subscriber. An event being given to the listeners is finished.
+	 */
+	synchronized void close() {
+		closed = true;
+		for (Lane events : lanes.values()) {
+			depth-=events.events.size();
+			events.events.clear();
+		}
+		notifyAll();
+		if (executor!=null && DEDICATED) executor.shutdown();
+	}
+
+	boolean isConflating() {
+		return conflating;
+	}
+
+	void setConflating(boolean conflating) {
+		this.conflating = conflating;
+	}
+
+	synchronized DispatchStatistics getStatistics() {
+		final DispatchStatistics stats = new DispatchStatistics();
+		final long count = dispatched.sum();
+		stats.setQueueDepth(depth);
+		stats.setMaximumQueueDepth(maxDepth);
+		stats.setDispatched(count);
+		stats.setConflated(conflated.sum());
+		stats.setBlocked(blocked.sum());
+		if (count>0) stats.setMeanLag(lag.sum()/1e6/count);
+		stats.setMaximumLag(maxLag.get()/1e6);
+		return stats;
+	}
+
+	/**
+	 * The events of a key, run by the thread of the subscriber or one of the
+	 * shared threads while it has events.
+	 */
+	private final class Lane implements Runnable {
+
+		private final Object       key;
+		private final Deque<Event> events; // Guarded by the dispatcher
+		private boolean            running;
+
+		Lane(Object key) {
+			this.key    = key;
+			this.events = new ArrayDeque<>();
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < BATCH; i++) {
+				final Event event = take(this);
+				if (event==null) return;
+				final long nanos = System.nanoTime()-event.time;
+				lag.add(nanos);
+				maxLag.accumulate(nanos);
+				try {
+					target.accept(event.bean);
+				} catch (RuntimeException ne) {
+					logger.error("RuntimeException occured despatching event of {}", name, ne);
+				} finally {
+					dispatched.increment();
+				}
+			}
+			synchronized (EventDispatcher.this) {
+				if (closed) {
+					running = false;
+					return;
+				}
+				getExecutor().execute(this); // Still running, go to the back of the queue of the threads.
+			}
+		}
+	}
+
+	private static final class Event {
+
+		private final Object key;
+		private final Object bean;
+		private final long   time; // ns
+
+		Event(Object key, Object bean, long time) {
+			this.key  = key;
+			this.bean = bean;
+			this.time = time;
+		}
+	}
+}
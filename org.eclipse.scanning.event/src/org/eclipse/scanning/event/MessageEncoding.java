@@ -0,0 +1,95 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.event;
+
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.eclipse.scanning.api.event.IEventConnectorService;
+
+/**
+ * Creates the messages of beans sent to topics in binary and reads the beans back
+ * from the messages of topics.
+ * 
+ * A bean is sent to a topic as JSON in a TextMessage unless its publisher sends
+ * binary messages, see IPublisher.setBinary(...). It is then sent in the binary
+ * encoding of the connector service in a BytesMessage which has the content type
+ * of the encoding in its contentType property. Clients which only read text, such
+ * as Python clients over STOMP, need JSON so a publisher should only send binary
+ * messages to a topic whose subscribers all use this bundle. The queues and status
+ * sets, which every client browses, are always JSON.
+ * 
+ * The messages of either kind are always read from topics, so that publishers
+ * which send binary messages and publishers which do not may be mixed.
+ */
+final class MessageEncoding {
+
+	/**
+	 * The property of a binary message with the content type of its bytes.
+	 */
+	static final String CONTENT_TYPE = "contentType";
+
+	private MessageEncoding() {
+		// Static methods only
+	}
+
+	/**
+	 * 
+	 * @param session
+	 * @param bean
+	 * @param service
+	 * @return the message to send or null if the service cannot encode the bean, it is then sent as JSON.
+	 * @throws Exception
+	 */
+	static Message createBinaryMessage(Session session, Object bean, IEventConnectorService service) throws Exception {
+		final byte[] bytes = service.encode(bean);
+		if (bytes==null) return null;
+		final BytesMessage message = session.createBytesMessage();
+		message.writeBytes(bytes);
+		message.setStringProperty(CONTENT_TYPE, service.getBinaryContentType());
+		return message;
+	}
+
+	/**
+	 * 
+	 * @param message
+	 * @return true if the message has a bean in the binary encoding of a service.
+	 * @throws JMSException
+	 */
+	static boolean isBinary(Message message) throws JMSException {
+		return message instanceof BytesMessage && message.getStringProperty(CONTENT_TYPE)!=null;
+	}
+
+	/**
+	 * 
+	 * @param message
+	 * @param beanClass the class of the bean or null if it may be any bean
+	 * @param service
+	 * @return the bean in the message or null if the message does not have one.
+	 * @throws Exception if the message cannot be read or is in an encoding which the service cannot decode
+	 */
+	static <U> U getBean(Message message, Class<U> beanClass, IEventConnectorService service) throws Exception {
+		if (message instanceof TextMessage) return service.unmarshal(((TextMessage)message).getText(), beanClass);
+		if (!isBinary(message)) return null;
+		
+		final BytesMessage bmessage = (BytesMessage)message;
+		bmessage.reset(); // Read from the start if it has been read before
+		final long length = bmessage.getBodyLength();
+		if (length>Integer.MAX_VALUE) throw new JMSException("The message "+message.getJMSMessageID()+" is too large to read");
+		final byte[] bytes = new byte[(int)length];
+		bmessage.readBytes(bytes);
+		return service.decode(bytes, message.getStringProperty(CONTENT_TYPE), beanClass);
+	}
+}
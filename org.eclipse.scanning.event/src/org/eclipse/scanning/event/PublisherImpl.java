@@ -34,6 +34,7 @@ import org.eclipse.scanning.api.event.alive.HeartbeatBean;
 import org.eclipse.scanning.api.event.alive.PauseBean;
 import org.eclipse.scanning.api.event.core.IConsumer;
 import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.event.status.StatusBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +51,8 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 	private IConsumer<?> consumer;
 
 	private PrintStream     out;
+	
+	private volatile boolean binary;
 
 	public PublisherImpl(URI uri, String topic, IEventConnectorService service) {
 		super(uri, topic, service);
@@ -88,10 +91,14 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 
 		int priority = message instanceof ConsumerCommandBean ? 8 : 4;
 	
-		String json = service.marshal(message);
-		TextMessage msg = createTextMessage(json);
+		Message msg = binary ? createBinaryMessage(message) : null;
+		String json = null;
+		if (msg==null) { // Not binary or the bean cannot be encoded
+			json = service.marshal(message);
+			msg  = createTextMessage(json);
+		}
 		producer.send(msg, DeliveryMode.NON_PERSISTENT, priority, messageLifetime);	
-		if (out!=null) out.println(json);
+		if (out!=null) out.println(json!=null ? json : service.marshal(message));
 	}
 	
 	private TextMessage createTextMessage(String json) throws JMSException {
@@ -109,6 +116,30 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 		}
         return message;
 	}
+	
+	private Message createBinaryMessage(Object bean) throws Exception {
+		
+		if (connection==null) createConnection();
+		if (session == null)  createSession();
+		
+		try {
+			return MessageEncoding.createBinaryMessage(session, bean, service);
+		} catch (javax.jms.IllegalStateException ne) {
+			createConnection();
+			createSession();
+			return MessageEncoding.createBinaryMessage(session, bean, service);
+		}
+	}
+
+	@Override
+	public boolean isBinary() {
+		return binary;
+	}
+
+	@Override
+	public void setBinary(boolean binary) {
+		this.binary = binary;
+	}
 
 	public boolean isAlive() {
 		return alive;
@@ -247,8 +278,11 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 	 */
 	private boolean updateSet(T bean) throws Exception {
 		
-		
 		Queue     queue = createQueue(getStatusSetName());
+		if (bean instanceof StatusBean && ((StatusBean)bean).getUniqueId()!=null) {
+			if (updateIndexedSet((StatusBean)bean, queue)) return true;
+		}
+
 		QueueBrowser qb = qSession.createBrowser(queue);
 
 		@SuppressWarnings("rawtypes")
@@ -257,25 +291,23 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 		String jMSMessageID = null;
 		while(e.hasMoreElements()) {
 			Message m = (Message)e.nextElement();
-			if (m==null) continue;
-			if (m instanceof TextMessage) {
-				TextMessage t = (TextMessage)m;
+			if (!(m instanceof TextMessage)) continue;
 
-				final T qbean;
-				try {
-					@SuppressWarnings("unchecked")
-					Class<T> beanClass = (Class<T>) bean.getClass();
-					qbean = service.unmarshal(t.getText(), beanClass);
-					if (qbean==null) continue;
-				} catch (Exception ne) {
-					// If we cannot deserialize to the type passed in, it certainly is
-					// not going to be the bean which we are looking for.
-					continue;
-				}
-				if (isSame(qbean, bean)) {
-					jMSMessageID = t.getJMSMessageID();
-					break;
-				}
+			TextMessage t = (TextMessage)m;
+			final T qbean;
+			try {
+				@SuppressWarnings("unchecked")
+				Class<T> beanClass = (Class<T>) bean.getClass();
+				qbean = service.unmarshal(t.getText(), beanClass);
+				if (qbean==null) continue;
+			} catch (Exception ne) {
+				// If we cannot deserialize to the type passed in, it certainly is
+				// not going to be the bean which we are looking for.
+				continue;
+			}
+			if (isSame(qbean, bean)) {
+				jMSMessageID = m.getJMSMessageID();
+				break;
 			}
 		}
 
@@ -285,10 +317,11 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 			MessageConsumer consumer = qSession.createConsumer(queue, "JMSMessageID = '"+jMSMessageID+"'");
 			Message m = consumer.receive(Constants.getReceiveFrequency());
 			consumer.close();
-			if (m!=null && m instanceof TextMessage) {
+			if (m!=null) {
 				MessageProducer producer = qSession.createProducer(queue);
 				try {
-					TextMessage t = qSession.createTextMessage(service.marshal(bean));
+					final String json = service.marshal(bean);
+					TextMessage t = qSession.createTextMessage(json);
 					t.setJMSMessageID(m.getJMSMessageID());
 					t.setJMSExpiration(m.getJMSExpiration());
 					t.setJMSTimestamp(m.getJMSTimestamp());
@@ -296,6 +329,7 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 					t.setJMSCorrelationID(m.getJMSCorrelationID());
 		
 					producer.send(t);
+					index(bean, t, json);
 				} finally {
 				    producer.close();
 				}
@@ -317,6 +351,7 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 
 				TextMessage message = session.createTextMessage(json);
 				producer.send(message);
+				index(bean, message, json);
 				
 			} finally {
 				producer.close();
@@ -328,6 +363,62 @@ class PublisherImpl<T> extends AbstractConnection implements IPublisher<T> {
 		return false;
 	}
 	
+	/**
+	 * Records a bean which was found or added by browsing the status set in its index,
+	 * so that it is not browsed for again.
+	 * 
+	 * @param bean
+	 * @param message
+	 * @param json
+	 * @throws JMSException
+	 */
+	private void index(T bean, Message message, String json) throws JMSException {
+		if (!(bean instanceof StatusBean) || ((StatusBean)bean).getUniqueId()==null) return;
+		StatusSet.getStatusSet(uri, getStatusSetName()).put(((StatusBean)bean).getUniqueId(), message.getJMSMessageID(), json);
+	}
+
+	/**
+	 * Replaces the message of the bean found by its unique id in the index
+	 * of the status set without browsing the set.
+	 * 
+	 * @param bean
+	 * @param queue
+	 * @return false if the bean is not in the index or the index is out of date,
+	 * so the bean has to be looked for in the set.
+	 * @throws Exception
+	 */
+	private boolean updateIndexedSet(StatusBean bean, Queue queue) throws Exception {
+		
+		final StatusSet set = StatusSet.getStatusSet(uri, getStatusSetName());
+		if (!set.isIndexed()) set.index(qSession, queue, service);
+		
+		final String jMSMessageID = set.getMessageId(bean.getUniqueId());
+		if (jMSMessageID==null) return false; // Another client may have added it since the set was indexed.
+
+		MessageConsumer consumer = qSession.createConsumer(queue, "JMSMessageID = '"+jMSMessageID+"'");
+		Message m = consumer.receive(Constants.getReceiveFrequency());
+		consumer.close();
+		if (m==null) { // Someone else changed the set
+			set.invalidate();
+			return false;
+		}
+
+		MessageProducer producer = qSession.createProducer(queue);
+		try {
+			final String json = service.marshal(bean);
+			TextMessage t = qSession.createTextMessage(json);
+			t.setJMSExpiration(m.getJMSExpiration());
+			t.setJMSTimestamp(m.getJMSTimestamp());
+			t.setJMSPriority(m.getJMSPriority());
+			t.setJMSCorrelationID(m.getJMSCorrelationID());
+			producer.send(t);
+			set.put(bean.getUniqueId(), t.getJMSMessageID(), json);
+		} finally {
+		    producer.close();
+		}
+		return true;
+	}
+	
 	protected boolean isSame(Object qbean, Object bean) {
 		
         if (qbean instanceof PauseBean && bean instanceof PauseBean) {
@@ -80,6 +80,21 @@ public final class QueueReader<T> {
 	 */
 	public List<T> getBeans(final URI uri, final String queueName, final Class<T> beanClass) throws Exception {
 		
+		@SuppressWarnings("unchecked")
+		final Class<T> statusBeanClass = (Class<T>) StatusBean.class;
+
+		// A status set which is indexed in this process is not browsed.
+		final StatusSet set = StatusSet.findStatusSet(uri, queueName);
+		if (set!=null) {
+			final List<T> beans = set.getBeans(beanClass != null ? beanClass : statusBeanClass, service);
+			if (beans!=null) {
+				if (comparator==null) return beans;
+				final Collection<T> sorted = new TreeSet<T>(comparator);
+				sorted.addAll(beans);
+				return new ArrayList<T>(sorted);
+			}
+		}
+		
 		QueueConnection qCon = null;
 		try {	        
 			QueueConnectionFactory connectionFactory = (QueueConnectionFactory)service.createConnectionFactory(uri);
@@ -106,8 +121,6 @@ public final class QueueReader<T> {
 				if (m instanceof TextMessage) {
 					TextMessage t = (TextMessage)m;
 					String json   = t.getText();
-					@SuppressWarnings("unchecked")
-					final Class<T> statusBeanClass = (Class<T>) StatusBean.class;
 					try {
 						final T bean = (T)service.unmarshal(json, beanClass != null ? beanClass : statusBeanClass);
 						list.add(bean);
@@ -119,6 +132,7 @@ public final class QueueReader<T> {
 							MessageConsumer consumer = qSes.createConsumer(queue, "JMSMessageID = '"+jMSMessageID+"'");
 							Message ignored = consumer.receive(1000);
 							consumer.close();
+							StatusSet.invalidate(uri, queueName);
 							System.out.println("Removed");
 						}
 
@@ -159,9 +173,8 @@ public final class QueueReader<T> {
 			MessageListener listener = new MessageListener() {
 				public void onMessage(Message message) {		            	
 					try {
-						if (message instanceof TextMessage) {
-							TextMessage t = (TextMessage) message;
-							final T bean = (T)service.unmarshal(t.getText(), clazz);
+						final T bean = MessageEncoding.getBean(message, clazz, service); // Heartbeats are sent to a topic
+						if (bean!=null) {
 							Method nameMethod = bean.getClass().getMethod("getName");
 							ret.put((String)nameMethod.invoke(bean), bean);
 						}
@@ -0,0 +1,243 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.event;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.event.EventException;
+import org.eclipse.scanning.api.event.IEventService;
+import org.eclipse.scanning.api.event.IdBean;
+import org.eclipse.scanning.api.event.bean.BeanEvent;
+import org.eclipse.scanning.api.event.bean.IBeanListener;
+import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.event.core.ISubscriber;
+import org.eclipse.scanning.api.event.core.ResponseConfiguration;
+import org.eclipse.scanning.api.event.core.ResponseConfiguration.ResponseWaiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The subscriber and publisher which the requesters of a URI and pair of topics
+ * share. Before a request used its own subscriber and publisher, each with a
+ * connection to the broker, which were made and closed for every post.
+ *
+ * The responses to all the requests come to the one subscriber and are given
+ * to the request waiting with the same unique id. The request is waiting before
+ * it is sent, so a response which comes back straight away is not missed.
+ *
+ * The number of requests of a connection waiting for their responses is limited
+ * by the property org.eclipse.scanning.event.requester.maximumInFlight, by default 64,
+ * a request which cannot be sent within its timeout fails. A connection with no
+ * requests is closed when it has not been used for the time in the property
+ * org.eclipse.scanning.event.requester.idleTime in ms, by default 10000,
+ * 0 closes it as soon as its requests have their responses.
+ */
+final class RequestConnection implements IBeanListener<IdBean> {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestConnection.class);
+
+	private static final Map<List<Object>, RequestConnection> connections = new HashMap<>();
+
+	private static ScheduledExecutorService closer;
+
+	private final List<Object>                       key;
+	private final ISubscriber<IBeanListener<IdBean>> receive;
+	private final IPublisher<IdBean>                 send;
+	private final Map<String, Pending>               pending;
+	private final Semaphore                          inFlight;
+	private final long                               idleTime; // ms
+
+	private int     users;     // Guarded by connections
+	private long    lastUsed;  // Guarded by connections
+	private boolean discarded; // Guarded by connections
+
+	private RequestConnection(List<Object> key, URI uri, String reqTopic, String resTopic, IEventService eservice) throws EventException {
+		this.key      = key;
+		this.pending  = new ConcurrentHashMap<>();
+		this.inFlight = new Semaphore(Math.max(1, Integer.getInteger("org.eclipse.scanning.event.requester.maximumInFlight", 64)), true);
+		this.idleTime = Long.getLong("org.eclipse.scanning.event.requester.idleTime", 10000);
+		this.send     = eservice.createPublisher(uri, reqTopic);
+		this.receive  = eservice.createSubscriber(uri, resTopic);
+		try {
+			receive.addListener(this);
+		} catch (EventException ne) {
+			send.disconnect();
+			receive.disconnect();
+			throw ne;
+		}
+	}
+
+	/**
+	 * The connection of the URI and topics, made if there is not one. It must
+	 * be given back with release() when the request has its response.
+	 *
+	 * @param uri
+	 * @param reqTopic
+	 * @param resTopic
+	 * @param eservice
+	 * @return the connection
+	 * @throws EventException if a connection cannot be made to the broker
+	 */
+	static RequestConnection acquire(URI uri, String reqTopic, String resTopic, IEventService eservice) throws EventException {
+		final List<Object> key = Arrays.asList(eservice, uri, reqTopic, resTopic);
+		synchronized (connections) {
+			RequestConnection connection = connections.get(key);
+			if (connection==null) {
+				connection = new RequestConnection(key, uri, reqTopic, resTopic, eservice);
+				connections.put(key, connection);
+			}
+			connection.users++;
+			return connection;
+		}
+	}
+
+	/**
+	 * Gives back a connection got from acquire(...).
+	 */
+	void release() {
+		synchronized (connections) {
+			users--;
+			lastUsed = System.currentTimeMillis();
+			if (users>0) return;
+			if (discarded || idleTime<=0) {
+				close();
+				return;
+			}
+			if (closer==null) {
+				closer = Executors.newSingleThreadScheduledExecutor(r -> {
+					Thread thread = new Thread(r, "Request connection closer");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			closer.schedule(this::closeIfIdle, idleTime, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * The connection is not given to new requests, for instance because it
+	 * could not send, and is closed when the requests using it are done.
+	 */
+	void discard() {
+		synchronized (connections) {
+			discarded = true;
+			if (connections.get(key)==this) connections.remove(key);
+		}
+	}
+
+	private void closeIfIdle() {
+		synchronized (connections) {
+			if (users>0 || System.currentTimeMillis()-lastUsed<idleTime) return;
+			close();
+		}
+	}
+
+	/**
+	 * Must be called with the lock of the connections.
+	 */
+	private void close() {
+		if (connections.get(key)==this) connections.remove(key);
+		try {
+			receive.disconnect();
+		} catch (EventException ne) {
+			logger.warn("Cannot disconnect the responses of {}", key, ne);
+		}
+		try {
+			send.disconnect();
+		} catch (EventException ne) {
+			logger.warn("Cannot disconnect the requests of {}", key, ne);
+		}
+	}
+
+	/**
+	 * Sends the request and waits for its responses, which are merged into it.
+	 *
+	 * @param request
+	 * @param configuration the type of response and the timeout
+	 * @param waiter may be null
+	 * @throws EventException if there is no response within the timeout
+	 * @throws InterruptedException
+	 */
+	void post(IdBean request, ResponseConfiguration configuration, ResponseWaiter waiter) throws EventException, InterruptedException {
+
+		final long     timeout = configuration.getTimeout();
+		final TimeUnit unit    = configuration.getTimeUnit();
+
+		if (!inFlight.tryAcquire(timeout, unit)) {
+			throw new EventException("The timeout of "+timeout+" "+unit+" was reached waiting for one of the "+getInFlightCount()+" requests in flight to "+key.get(2)+" to finish!");
+		}
+		final Pending waiting = new Pending(request);
+		try {
+			if (pending.putIfAbsent(request.getUniqueId(), waiting)!=null) {
+				throw new EventException("A request with the unique id "+request.getUniqueId()+" is already waiting for its response!");
+			}
+			try {
+				send.broadcast(request);
+			} catch (EventException ne) {
+				discard();
+				throw ne;
+			}
+			configuration.waitForResponse(waiting.latch, waiter);
+
+		} finally {
+			pending.remove(request.getUniqueId(), waiting);
+			inFlight.release();
+		}
+	}
+
+	@Override
+	public void beanChangePerformed(BeanEvent<IdBean> evt) {
+		final IdBean response = evt.getBean();
+		if (response==null) return;
+		final Pending waiting = pending.get(response.getUniqueId());
+		if (waiting==null) return; // The request has timed out or is not one of ours.
+		waiting.merge(response);
+	}
+
+	/**
+	 * @return the number of requests waiting for their responses.
+	 */
+	int getInFlightCount() {
+		return pending.size();
+	}
+
+	/**
+	 * A request waiting for its responses.
+	 */
+	private static final class Pending {
+
+		private final IdBean         request;
+		private final CountDownLatch latch;
+
+		Pending(IdBean request) {
+			this.request = request;
+			this.latch   = new CountDownLatch(1);
+		}
+
+		void merge(IdBean response) {
+			synchronized (request) {
+				request.merge(response);  // The bean must implement merge, for instance DeviceRequest.
+			}
+			latch.countDown();
+		}
+	}
+}
@@ -13,15 +13,14 @@ package org.eclipse.scanning.event;
 
 import java.net.URI;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.scanning.api.event.EventException;
 import org.eclipse.scanning.api.event.IEventService;
 import org.eclipse.scanning.api.event.IdBean;
-import org.eclipse.scanning.api.event.bean.BeanEvent;
-import org.eclipse.scanning.api.event.bean.IBeanListener;
 import org.eclipse.scanning.api.event.core.IRequester;
-import org.eclipse.scanning.api.event.core.IPublisher;
-import org.eclipse.scanning.api.event.core.ISubscriber;
+import org.eclipse.scanning.api.event.core.RequestStatistics;
 import org.eclipse.scanning.api.event.core.ResponseConfiguration;
 import org.eclipse.scanning.api.event.core.ResponseConfiguration.ResponseType;
 
@@ -29,6 +28,11 @@ class RequesterImpl<T extends IdBean> extends AbstractRequestResponseConnection
 	
 	private ResponseConfiguration responseConfiguration;
 	
+	// The times of the posts which had their responses, in ns
+	private final LongAdder       count = new LongAdder();
+	private final LongAdder       total = new LongAdder();
+	private final LongAccumulator min   = new LongAccumulator(Math::min, Long.MAX_VALUE);
+	private final LongAccumulator max   = new LongAccumulator(Math::max, 0);
 
 	RequesterImpl(URI uri, String reqTopic, String resTopic, IEventService eservice) {
 		super(uri, reqTopic, resTopic, eservice);
@@ -50,35 +54,36 @@ class RequesterImpl<T extends IdBean> extends AbstractRequestResponseConnection
 	@Override
 	public T post(final T request, ResponseConfiguration.ResponseWaiter waiter) throws EventException, InterruptedException {
 
-		// Something to listen
-        final ISubscriber<IBeanListener<T>>  receive = eservice.createSubscriber(getUri(), getResponseTopic());
-        
-        // Something to send
-        final IPublisher<T>  send    = eservice.createPublisher(getUri(), getRequestTopic());
-        
-        try {
-        	// Just listen to our id changing.
-	        receive.addListener(request.getUniqueId(), new IBeanListener<T>() {
-				@Override
-				public void beanChangePerformed(BeanEvent<T> evt) {
-					T response = evt.getBean();
-					request.merge(response);  // The bean must implement merge, for instance DeviceRequest.
-					responseConfiguration.countDown();
-				}
-			});
-	        
-	        // Send the request
-	        send.broadcast(request);
-	        
-	        responseConfiguration.latch(waiter); // Wait or die trying
-	        
-	        return request;
-	        
-        } finally {
-        	
-	        receive.disconnect();
-	        send.disconnect();
-        }
+		// The subscriber and publisher are shared with the other requesters of these topics.
+		final RequestConnection connection = RequestConnection.acquire(getUri(), getRequestTopic(), getResponseTopic(), eservice);
+		final long start = System.nanoTime();
+		try {
+			connection.post(request, responseConfiguration, waiter); // Wait or die trying
+			record(System.nanoTime()-start);
+			return request;
+
+		} finally {
+			connection.release();
+		}
+	}
+
+	private void record(long nanos) {
+		count.increment();
+		total.add(nanos);
+		min.accumulate(nanos);
+		max.accumulate(nanos);
+	}
+
+	@Override
+	public RequestStatistics getStatistics() {
+		final long size = count.sum();
+		final RequestStatistics stats = new RequestStatistics(getRequestTopic());
+		stats.setCount(size);
+		if (size<1) return stats;
+		stats.setMeanLatency(total.sum()/1e6/size);
+		stats.setMinimumLatency(min.get()/1e6);
+		stats.setMaximumLatency(max.get()/1e6);
+		return stats;
 	}
 
 	public ResponseConfiguration getResponseConfiguration() {
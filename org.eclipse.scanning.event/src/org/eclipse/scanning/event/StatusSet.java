@@ -0,0 +1,237 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.event;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Queue;
+import javax.jms.QueueBrowser;
+import javax.jms.QueueSession;
+import javax.jms.TextMessage;
+
+import org.eclipse.scanning.api.event.IEventConnectorService;
+import org.eclipse.scanning.api.event.status.StatusBean;
+
+/**
+ * The beans of a status set indexed by their unique id, so that a publisher
+ * which updates a bean as it runs does not browse and unmarshal the whole set
+ * at each broadcast.
+ * 
+ * Reads of the set in this process are only served from the index, rather than
+ * by browsing the queue, if this process is the only one which writes to the
+ * status sets, which is said with the property org.eclipse.scanning.event.statusSet.soleWriter.
+ * Otherwise another client may have changed the queue since it was indexed. Each
+ * bean is unmarshalled once, on the first read after it changes, and each read
+ * gets a shallow copy of it so that the readers may change the beans they get.
+ * 
+ * The queue on the broker is still the durable record of the set which other
+ * clients read. Each update appends the new bean to it and removes the message
+ * which it replaces by its message id, the index only says which message that is.
+ * 
+ * The index is built by browsing the queue once. It is dropped when the queue is
+ * cleared, cleaned or a bean in it cannot be found, and is built again after
+ * org.eclipse.scanning.event.statusSet.maximumAge ms (by default 60000) to pick
+ * up changes made to the queue by other clients.
+ */
+final class StatusSet {
+
+	private static final Map<String, StatusSet> sets = new ConcurrentHashMap<>(7);
+
+	private static final boolean soleWriter = Boolean.getBoolean("org.eclipse.scanning.event.statusSet.soleWriter");
+
+	private static final Map<Class<?>, Field[]> fields = new ConcurrentHashMap<>(7); // Copied for each read, by class
+
+	private final Map<String, Entry> entries; // By unique id, in the order of the queue
+	private final long               maximumAge; // ms
+	private long                     indexed = -1;
+
+	private StatusSet() {
+		this.entries    = new LinkedHashMap<>(89);
+		this.maximumAge = Long.getLong("org.eclipse.scanning.event.statusSet.maximumAge", 60000);
+	}
+
+	/**
+	 * 
+	 * @param uri
+	 * @param queueName
+	 * @return the status set of the queue, created if there is not one.
+	 */
+	static StatusSet getStatusSet(URI uri, String queueName) {
+		return sets.computeIfAbsent(getKey(uri, queueName), k -> new StatusSet());
+	}
+
+	/**
+	 * 
+	 * @param uri
+	 * @param queueName
+	 * @return the status set of the queue or null if nothing has published to the queue as a status set.
+	 */
+	static StatusSet findStatusSet(URI uri, String queueName) {
+		return sets.get(getKey(uri, queueName));
+	}
+
+	/**
+	 * Drops the index of a queue which has been changed without it.
+	 * @param uri
+	 * @param queueName
+	 */
+	static void invalidate(URI uri, String queueName) {
+		final StatusSet set = findStatusSet(uri, queueName);
+		if (set!=null) set.invalidate();
+	}
+
+	private static String getKey(URI uri, String queueName) {
+		return uri+" "+queueName;
+	}
+
+	synchronized boolean isIndexed() {
+		return indexed>-1 && System.currentTimeMillis()-indexed<=maximumAge;
+	}
+
+	synchronized void invalidate() {
+		entries.clear();
+		indexed = -1;
+	}
+
+	/**
+	 * Browses the queue and indexes its beans.
+	 * 
+	 * @param qSession
+	 * @param queue
+	 * @param service
+	 * @throws JMSException
+	 */
+	synchronized void index(QueueSession qSession, Queue queue, IEventConnectorService service) throws JMSException {
+		
+		invalidate();
+		QueueBrowser qb = qSession.createBrowser(queue);
+		try {
+			@SuppressWarnings("rawtypes")
+			Enumeration  e  = qb.getEnumeration();
+			while(e.hasMoreElements()) {
+				Message m = (Message)e.nextElement();
+				if (!(m instanceof TextMessage)) continue;
+				TextMessage t = (TextMessage)m;
+				final StatusBean bean;
+				try {
+					bean = service.unmarshal(t.getText(), StatusBean.class);
+				} catch (Exception ne) {
+					continue; // Readers of the queue will remove it.
+				}
+				if (bean==null || bean.getUniqueId()==null) continue;
+				entries.put(bean.getUniqueId(), new Entry(t.getJMSMessageID(), t.getText()));
+			}
+		} finally {
+			qb.close();
+		}
+		indexed = System.currentTimeMillis();
+	}
+
+	/**
+	 * 
+	 * @param uniqueId
+	 * @return the id of the message of the bean in the queue or null if it is not there.
+	 */
+	synchronized String getMessageId(String uniqueId) {
+		final Entry entry = entries.get(uniqueId);
+		return entry!=null ? entry.messageId : null;
+	}
+
+	/**
+	 * Records a bean which has been sent to the end of the queue.
+	 * Does nothing if the queue has not been indexed.
+	 * 
+	 * @param uniqueId
+	 * @param messageId
+	 * @param json
+	 */
+	synchronized void put(String uniqueId, String messageId, String json) {
+		if (indexed<0) return;
+		if (uniqueId==null || messageId==null) {
+			invalidate();
+			return;
+		}
+		entries.remove(uniqueId); // It goes to the end
+		entries.put(uniqueId, new Entry(messageId, json));
+	}
+
+	/**
+	 * The beans in the order of the queue, copies for each read.
+	 * 
+	 * @param beanClass
+	 * @param service
+	 * @return the beans or null if this process is not the only writer of the set,
+	 * the queue is not indexed or it has beans which are not of the class.
+	 */
+	synchronized <T> List<T> getBeans(Class<T> beanClass, IEventConnectorService service) {
+		if (!soleWriter || !isIndexed()) return null;
+		final List<T> beans = new ArrayList<>(entries.size());
+		for (Entry entry : entries.values()) {
+			try {
+				if (entry.beanClass!=beanClass) { // Unmarshalled once after it changes
+					entry.bean      = service.unmarshal(entry.json, beanClass);
+					entry.beanClass = beanClass;
+				}
+				if (!beanClass.isInstance(entry.bean)) return null;
+				beans.add(beanClass.cast(copy(entry.bean)));
+			} catch (Exception ne) {
+				return null;
+			}
+		}
+		return beans;
+	}
+
+	/**
+	 * A shallow copy of the bean, much quicker than unmarshalling it again.
+	 */
+	private static Object copy(Object bean) throws ReflectiveOperationException {
+		final Object copy = bean.getClass().getConstructor().newInstance();
+		for (Field field : fields.computeIfAbsent(bean.getClass(), StatusSet::getFields)) {
+			field.set(copy, field.get(bean));
+		}
+		return copy;
+	}
+
+	private static Field[] getFields(Class<?> clazz) {
+		final List<Field> ret = new ArrayList<>();
+		for (Class<?> c = clazz; c!=null && c!=Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) continue;
+				field.setAccessible(true);
+				ret.add(field);
+			}
+		}
+		return ret.toArray(new Field[ret.size()]);
+	}
+
+	private static final class Entry {
+		private final String messageId;
+		private final String json;
+		private Class<?>     beanClass; // Of the unmarshalled bean, guarded by the set
+		private Object       bean;
+
+		Entry(String messageId, String json) {
+			this.messageId = messageId;
+			this.json      = json;
+		}
+	}
+}
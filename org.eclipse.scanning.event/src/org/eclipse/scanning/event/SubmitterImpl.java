@@ -99,6 +99,10 @@ class SubmitterImpl<T extends StatusBean> extends AbstractQueueConnection<T> imp
 
 			producer.send(message);
 			
+			// If the queue is a status set indexed in this process, it has the bean now.
+			final StatusSet set = StatusSet.findStatusSet(uri, getSubmitQueueName());
+			if (set!=null) set.put(bean.getUniqueId(), message.getJMSMessageID(), json);
+			
 			try {
 				// Deals with paused consumers by publishing something directly after submission.
 				// If there is a topic we tell everyone that we sent something to it in case the consumer is paused.
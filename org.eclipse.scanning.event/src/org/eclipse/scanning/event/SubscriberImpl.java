@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.scanning.event;
 
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -22,9 +24,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import javax.jms.JMSException;
 import javax.jms.Message;
@@ -44,6 +44,7 @@ import org.eclipse.scanning.api.event.alive.IHeartbeatListener;
 import org.eclipse.scanning.api.event.bean.BeanEvent;
 import org.eclipse.scanning.api.event.bean.IBeanClassListener;
 import org.eclipse.scanning.api.event.bean.IBeanListener;
+import org.eclipse.scanning.api.event.core.DispatchStatistics;
 import org.eclipse.scanning.api.event.core.ISubscriber;
 import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.event.scan.IScanListener;
@@ -66,7 +67,7 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 
 	private Map<String, Collection<T>>    slisteners; // Scan listeners
 	private Map<Class, DiseminateHandler> dMap;
-	private BlockingQueue<DiseminateEvent>  queue;
+	private final EventDispatcher         dispatcher;
 	
 	private MessageConsumer scanConsumer, hearbeatConsumer;
 	
@@ -76,6 +77,7 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 		super(uri, topic, service);
 		slisteners = new ConcurrentHashMap<String, Collection<T>>(31); // Concurrent overkill?
 		dMap       = createDiseminateHandlers();
+		dispatcher = new EventDispatcher(topic, this::diseminate);
 	}
 
 	@Override
@@ -86,7 +88,6 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 	@Override
 	public void addListener(String scanID, T listener) throws EventException{
 		setConnected(true);
-		if (isSynchronous()) createDiseminateThread();
 		registerListener(scanID, listener, slisteners);
 		if (scanConsumer == null) {
 			try {
@@ -108,21 +109,29 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
     	MessageListener listener = new MessageListener() {
     		public void onMessage(Message message) {
     			
-    			TextMessage txt   = (TextMessage)message;
     			try {
-	    			String      json  = txt.getText(); 
-	    			json = JsonUtil.removeProperties(json, properties);
+	    			Object bean = null;
+	    			if (message instanceof TextMessage) {
+		    			String json  = ((TextMessage)message).getText(); 
+		    			json = JsonUtil.removeProperties(json, properties);
+		    			bean = service.unmarshal(json, beanClass);
+	    			} else {
+	    				bean = MessageEncoding.getBean(message, beanClass, service);
+	    				removeProperties(bean);
+	    			}
+	    			if (bean==null) return;
 	    			try {
-	
-		    			Object bean = service.unmarshal(json, beanClass);
-		    			schedule(new DiseminateEvent(bean));
+		    			schedule(bean);
 		    			
+	    			} catch (InterruptedException ne) {
+	    				Thread.currentThread().interrupt();
+	    				logger.warn("Interrupted despatching message {} on topic {}", message, topicName);
 	    			} catch (Exception ne) {
 	    				logger.error("Error processing message {} on topic {} with beanClass {}", message, topicName, beanClass, ne);
 	    				ne.printStackTrace(); // Unit tests without log4j config show this one.
 	     			}
-    			} catch (JMSException ne) {
-    				logger.error("Cannot get text from message "+txt, ne);
+    			} catch (Exception ne) {
+    				logger.error("Cannot read bean from message "+message+" on topic "+topicName, ne);
     			}
     		}
     	};
@@ -130,97 +139,26 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
         return consumer;
 	}
 	
-	private void schedule(DiseminateEvent event) {
-		if (isSynchronous()) {
-		    if (queue!=null) queue.add(event);
-		} else {
-			if (event==DiseminateEvent.STOP) return;
-			// TODO FIXME Might not be right...
-			final Thread thread = new Thread("Execute event "+getTopicName()) {
-				public void run() {
-					diseminate(event); // Use this JMS thread directly to do work.
-				}
-			};
-			thread.setDaemon(true);
-			thread.setPriority(Thread.NORM_PRIORITY+1);
-			thread.start();
-		}
-	}
-
-
-	private void createDiseminateThread() {
-		
-		if (!isSynchronous()) return; // If asynch we do not run events in order and wait until they return.
-		if (queue!=null) return;
-		queue      = new LinkedBlockingQueue<>(); // Small, if they do work and things back-up, exceptions will occur.
-		
-		final Thread despachter = new Thread(new Runnable() {
-			public void run() {
-				while(isConnected()) {
-					try {
-						DiseminateEvent event = queue.take();
-						if (event==DiseminateEvent.STOP) return;					
-						diseminate(event);
-						
-					} catch (RuntimeException e) {
-						e.printStackTrace();
-						logger.error("RuntimeException occured despatching event", e);
-						continue;
-						
-					} catch (Exception e) {
-						e.printStackTrace();
-						logger.error("Stopping event despatch thread ", e);
-						return;
-					}
-				}
-				System.out.println(Thread.currentThread().getName()+" disconnecting events.");
-			}
-		}, "Submitter despatch thread "+getSubmitQueueName());
-		despachter.setDaemon(true);
-		despachter.setPriority(Thread.NORM_PRIORITY+1);
-		despachter.start();
+	/**
+	 * The events of a synchronous subscriber are all given in order,
+	 * otherwise only those of the same bean or scannable are.
+	 */
+	private void schedule(Object bean) throws InterruptedException {
+		final Object key = getKey(bean);
+		dispatcher.dispatch(isSynchronous() ? DEFAULT_KEY : key, key, bean);
 	}
-
 	
-	private final static class DiseminateEvent {
-
-		public static final DiseminateEvent STOP = new DiseminateEvent("STOP");
-		
-		protected final Object bean;
-
-		public DiseminateEvent(Object bean) {
-			this.bean      = bean;
-		}
-
-		@Override
-		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + ((bean == null) ? 0 : bean.hashCode());
-			return result;
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (getClass() != obj.getClass())
-				return false;
-			DiseminateEvent other = (DiseminateEvent) obj;
-			if (bean == null) {
-				if (other.bean != null)
-					return false;
-			} else if (!bean.equals(other.bean))
-				return false;
-			return true;
+	private static Object getKey(Object bean) {
+		Object key = null;
+		if (bean instanceof IdBean) {
+			key = ((IdBean)bean).getUniqueId();
+		} else if (bean instanceof INameable) {
+			key = ((INameable)bean).getName();
 		}
-
+		return key!=null ? key : bean.getClass();
 	}
-	
-	private void diseminate(DiseminateEvent event) {
-		Object bean = event.bean;
+
+	private void diseminate(Object bean) {
 		diseminate(bean, slisteners.get(DEFAULT_KEY));  // general listeners
 		if (bean instanceof IdBean) {
 			IdBean idBean = (IdBean)bean;
@@ -254,7 +192,7 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 		return ret;
 	}
 
-	private Map<Class<? extends EventListener>,List<Class<?>>> interfaces;
+	private final Map<Class<? extends EventListener>,List<Class<?>>> interfaces = new ConcurrentHashMap<>();
 	
 	/**
 	 * Important to cache the interfaces. Getting them caused a bug where scannable
@@ -264,7 +202,6 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 	 * @return
 	 */
 	private List<Class<?>> getAllInterfaces(Class<? extends EventListener> class1) {
-		if (interfaces==null) interfaces = new HashMap<>();
 		if (!interfaces.containsKey(class1)) {
 			interfaces.put(class1, ClassUtils.getAllInterfaces(class1));
 		}
@@ -373,6 +310,7 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 	public void disconnect() throws EventException {
 		try {
 			clear();
+			dispatcher.close();
 			if (scanConsumer!=null)     scanConsumer.close();
 			if (hearbeatConsumer!=null) hearbeatConsumer.close();
 			
@@ -387,7 +325,6 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 			setConnected(false);
 		}
 		super.disconnect();
-		schedule(DiseminateEvent.STOP);
 	}
 	
 	protected boolean isListenersEmpty() {
@@ -455,6 +392,21 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 		this.synchronous = synchronous;
 	}
 
+	@Override
+	public boolean isConflating() {
+		return dispatcher.isConflating();
+	}
+
+	@Override
+	public void setConflating(boolean conflating) {
+		dispatcher.setConflating(conflating);
+	}
+
+	@Override
+	public DispatchStatistics getDispatchStatistics() {
+		return dispatcher.getStatistics();
+	}
+
 	private List<String> properties;
 
 
@@ -475,4 +427,24 @@ class SubscriberImpl<T extends EventListener> extends AbstractConnection impleme
 	public List<String> getProperties() {
 		return properties;
 	}
+
+	/**
+	 * A binary message has the whole bean in it so the properties which are not
+	 * of interest cannot be left out when it is read, as they are from json.
+	 * Instead they are cleared on the top level bean where it has setters for them.
+	 * 
+	 * @param bean
+	 */
+	private void removeProperties(Object bean) {
+		if (bean==null || properties==null || properties.isEmpty()) return;
+		try {
+			for (PropertyDescriptor pd : Introspector.getBeanInfo(bean.getClass()).getPropertyDescriptors()) {
+				if (!properties.contains(pd.getName())) continue;
+				if (pd.getWriteMethod()==null || pd.getPropertyType().isPrimitive()) continue;
+				pd.getWriteMethod().invoke(bean, (Object)null);
+			}
+		} catch (Exception ne) {
+			logger.warn("Cannot remove properties "+properties+" from "+bean.getClass().getSimpleName(), ne);
+		}
+	}
 }
@@ -11,7 +11,9 @@
  *******************************************************************************/
 package org.eclipse.scanning.event.util;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class JsonUtil {
 
@@ -25,46 +27,146 @@ public class JsonUtil {
 	 * be in the classpath. If they are not of interest to the subscriber then
 	 * they may be removed.
 	 * 
+	 * The json is read once whatever the number of properties, so a subscriber
+	 * to large beans only pays once for the properties it leaves out.
+	 * 
 	 * @param json
 	 * @param all properties in all objects with these names will be removed.
 	 * @return
 	 */
 	public static String removeProperties(String json, List<String> properties) {
 		
-		if (properties==null) return json; // Nothing to filter!
+		if (properties==null || properties.isEmpty()) return json; // Nothing to filter!
+		
+		final Set<String> names = new HashSet<>(properties.size());
 		for (String property : properties) {
-			json = remove(json, property);
+			if (json.indexOf("\""+property+"\"")>-1) names.add(property);
+		}
+		if (names.isEmpty()) return json; // Nothing to ignore.
+		
+		try {
+			final PropertyFilter filter = new PropertyFilter(json, names);
+			filter.value(true);
+			return filter.out.toString();
+		} catch (IllegalArgumentException ne) {
+			return json; // Not json we understand, the unmarshaller will say why.
 		}
-		return json;
 	}
 	
-	private static String remove(String json, String property) {
+	/**
+	 * Copies the json in one pass leaving out the members of objects with
+	 * the names given, at any depth. The text of strings is copied as it is
+	 * so brackets and commas inside strings are not confused with those of
+	 * the json. The whitespace between tokens is not copied.
+	 */
+	private static final class PropertyFilter {
 		
-		final String frag = "\""+property+"\":";
-		int index = json.indexOf(frag);
-		if (index<0) return json; // Nothing to ignore.
+		private final String        json;
+		private final Set<String>   names;
+		private final StringBuilder out;
+		private int                 pos;
 		
-		StringBuilder ret = new StringBuilder();
-		ret.append(json.substring(0, index));
+		PropertyFilter(String json, Set<String> names) {
+			this.json  = json;
+			this.names = names;
+			this.out   = new StringBuilder(json.length());
+		}
 		
-
-		int i = index+frag.length();
-		int bracket = 0;
-		while(i<json.length()) {
-			char c = json.charAt(i);
-			if (c == '{') bracket++;
-			if (c == '}') bracket--;
-			if (c ==  ',') {
-				if (bracket==0) break;
+		/**
+		 * Reads a value, copying it if write is true otherwise skipping it.
+		 */
+		void value(boolean write) {
+			final char c = next();
+			if (c=='{') {
+				object(write);
+			} else if (c=='[') {
+				array(write);
+			} else if (c=='"') {
+				final int start = pos;
+				pos = endOfString(pos);
+				if (write) out.append(json, start, pos);
+			} else {
+				final int start = pos;
+				while (pos<json.length() && ",}] \t\r\n".indexOf(json.charAt(pos))<0) pos++;
+				if (pos==start) throw new IllegalArgumentException("Unexpected '"+c+"' at "+pos);
+				if (write) out.append(json, start, pos);
+			}
+		}
+		
+		private void object(boolean write) {
+			pos++;
+			if (write) out.append('{');
+			boolean first = true;
+			while (true) {
+				final char c = next();
+				if (c=='}') {
+					pos++;
+					if (write) out.append('}');
+					return;
+				}
+				if (c==',') {
+					pos++; // Commas are written before the members which are kept.
+					continue;
+				}
+				if (c!='"') throw new IllegalArgumentException("Expected a name at "+pos);
+				final int start = pos;
+				pos = endOfString(pos);
+				final int end = pos;
+				if (next()!=':') throw new IllegalArgumentException("Expected ':' at "+pos);
+				pos++;
+				
+				final boolean keep = write && !names.contains(json.substring(start+1, end-1));
+				if (keep) {
+					if (!first) out.append(',');
+					out.append(json, start, end).append(':');
+					first = false;
+				}
+				value(keep);
 			}
-			i++;
 		}
 		
-		String end = json.substring(i+1, json.length());
-		ret.append(end);
-		String njson = ret.toString();
-		return remove(njson, property);
+		private void array(boolean write) {
+			pos++;
+			if (write) out.append('[');
+			while (true) {
+				final char c = next();
+				if (c==']') {
+					pos++;
+					if (write) out.append(']');
+					return;
+				}
+				if (c==',') {
+					pos++;
+					if (write) out.append(',');
+					continue;
+				}
+				value(write);
+			}
+		}
+		
+		/**
+		 * @return the next character which is not whitespace, without moving past it.
+		 */
+		private char next() {
+			while (pos<json.length() && Character.isWhitespace(json.charAt(pos))) pos++;
+			if (pos>=json.length()) throw new IllegalArgumentException("Unexpected end of json");
+			return json.charAt(pos);
+		}
+		
+		/**
+		 * @param start the index of the opening quote
+		 * @return the index after the closing quote
+		 */
+		private int endOfString(int start) {
+			for (int i = start+1; i < json.length(); i++) {
+				final char c = json.charAt(i);
+				if (c=='\\') {
+					i++;
+				} else if (c=='"') {
+					return i+1;
+				}
+			}
+			throw new IllegalArgumentException("Unterminated string at "+start);
+		}
 	}
-
-
 }
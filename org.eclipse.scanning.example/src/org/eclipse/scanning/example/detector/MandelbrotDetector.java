@@ -13,6 +13,8 @@
 package org.eclipse.scanning.example.detector;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.eclipse.dawnsci.nexus.INexusDevice;
@@ -28,14 +30,16 @@ import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
 import org.eclipse.january.dataset.SliceND;
 import org.eclipse.scanning.api.annotation.scan.ScanFinally;
+import org.eclipse.scanning.api.annotation.scan.ScanStart;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
-import org.eclipse.scanning.api.device.IWritableDetector;
+import org.eclipse.scanning.api.device.IBatchedDetector;
 import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.rank.IScanRankService;
 import org.eclipse.scanning.api.scan.rank.IScanSlice;
 import org.eclipse.scanning.example.Services;
+import org.eclipse.scanning.sequencer.nexus.NexusSliceWriter;
 
 /**
  * A dummy detector which must be set up with references to two Scannables representing X and Y positions. When used in a step scan, this detector generates a
@@ -43,7 +47,7 @@ import org.eclipse.scanning.example.Services;
  * <p>
  * Note: values will always be high if used at (x, y) positions more than 2 units away from the origin.
  */
-public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel> implements IWritableDetector<MandelbrotModel>, INexusDevice<NXdetector> {
+public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel> implements IBatchedDetector<MandelbrotModel>, INexusDevice<NXdetector> {
 
 	// Field names to be used in the NeXus file 
 	private static final String FIELD_NAME_VALUE = "value";
@@ -56,12 +60,14 @@ public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel>
 	private IDataset image;
 	private IDataset spectrum;
 	private double value;
+	private List<Frame> frames; // The data of each point from run(List) to write(List)
 
 	// Writable datasets
 	private ILazyWriteableDataset imageData;
 	private ILazyWriteableDataset spectrumData;
 	private ILazyWriteableDataset valueData;
 	private final Random random = new Random();
+	private NexusSliceWriter writer;
 
 	public MandelbrotDetector() throws IOException, ScanningException {
 		super(Services.getRunnableDeviceService()); // Necessary if you are going to spring it
@@ -69,8 +75,19 @@ public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel>
 		setDeviceState(DeviceState.READY);
 	}
 	
+	/**
+	 * The writer of the scan may batch the slices of consecutive points.
+	 * @param writer
+	 */
+	@ScanStart
+	public void prepare(NexusSliceWriter writer) {
+		this.writer = writer;
+	}
+	
 	@ScanFinally
 	public void clean() {
+		writer    = null;
+		frames    = null;
 		image     = null;
 		imageData = null;
 		spectrum  = null;
@@ -200,6 +217,32 @@ public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel>
 		// TODO Should device state be set back to ready here? The device has finished acquiring (calculating) but the data is not in the file yet?
 	}
 
+	/**
+	 * Calculates the data for each of the positions of a line.
+	 */
+	@Override
+	public void run(List<IPosition> positions) throws ScanningException, InterruptedException {
+		final List<Frame> line = new ArrayList<>(positions.size());
+		for (IPosition pos : positions) {
+			run(pos);
+			line.add(new Frame(image, spectrum, value));
+		}
+		frames = line;
+	}
+
+	@Override
+	public boolean write(List<IPosition> positions) throws ScanningException {
+		for (int i = 0; i < positions.size(); i++) {
+			final Frame frame = frames.get(i);
+			image    = frame.image;
+			spectrum = frame.spectrum;
+			value    = frame.value;
+			write(positions.get(i));
+		}
+		frames = null;
+		return true;
+	}
+
 	@Override
 	public boolean write(IPosition pos) throws ScanningException {
 
@@ -207,19 +250,19 @@ public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel>
 			if (model.isSaveImage()) {
 				IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos, model.getRows(), model.getColumns());
 				SliceND sliceND = new SliceND(imageData.getShape(), imageData.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-				imageData.setSlice(null, image, sliceND);
+				setSlice(imageData, image, sliceND);
 			}
 
 			if (model.isSaveSpectrum()){
 				IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos, model.getPoints());
 				SliceND sliceND = new SliceND(spectrumData.getShape(), spectrumData.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-				spectrumData.setSlice(null, spectrum, sliceND);
+				setSlice(spectrumData, spectrum, sliceND);
 			}
 
 			if (model.isSaveValue()){
 				IScanSlice rslice = IScanRankService.getScanRankService().createScanSlice(pos);
 				SliceND sliceND = new SliceND(valueData.getShape(), valueData.getMaxShape(), rslice.getStart(), rslice.getStop(), rslice.getStep());
-				valueData.setSlice(null, DatasetFactory.createFromObject(value), sliceND);
+				setSlice(valueData, DatasetFactory.createFromObject(value), sliceND);
 			}
 
 		} catch (Exception e) {
@@ -233,6 +276,28 @@ public class MandelbrotDetector extends AbstractRunnableDevice<MandelbrotModel>
 		return true;
 	}
 
+	/**
+	 * The data calculated for one point of a line.
+	 */
+	private static final class Frame {
+		private final IDataset image;
+		private final IDataset spectrum;
+		private final double   value;
+		Frame(IDataset image, IDataset spectrum, double value) {
+			this.image    = image;
+			this.spectrum = spectrum;
+			this.value    = value;
+		}
+	}
+
+	private void setSlice(ILazyWriteableDataset dataset, IDataset data, SliceND sliceND) throws Exception {
+		if (writer!=null) {
+			writer.setSlice(dataset, data, sliceND);
+		} else {
+			dataset.setSlice(null, data, sliceND);
+		}
+	}
+
 	/**
 	 * Fill a Julia set around the origin for the value C = a + bi
 	 */
@@ -30,7 +30,7 @@ import org.eclipse.january.dataset.Random;
 import org.eclipse.january.dataset.SliceND;
 import org.eclipse.scanning.api.annotation.scan.ScanFinally;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
-import org.eclipse.scanning.api.device.IWritableDetector;
+import org.eclipse.scanning.api.device.IBatchedDetector;
 import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.ScanningException;
@@ -46,13 +46,14 @@ import org.eclipse.scanning.example.Services;
  * @author Matthew Gerring
  *
  */
-public class RandomLineDevice extends AbstractRunnableDevice<RandomLineModel> implements IWritableDetector<RandomLineModel>, INexusDevice<NXdetector> {
+public class RandomLineDevice extends AbstractRunnableDevice<RandomLineModel> implements IBatchedDetector<RandomLineModel>, INexusDevice<NXdetector> {
 
 	private Map<String, Integer>      counts;
 	private Map<String, List<Object>> values;
 
 	private ILazyWriteableDataset context;
 	private IDataset              data;
+	private List<IDataset>        lineData; // The data of each point from run(List) to write(List)
 	private boolean throwWriteExceptions=false;
 
 	public RandomLineDevice() throws ScanningException {
@@ -66,6 +67,7 @@ public class RandomLineDevice extends AbstractRunnableDevice<RandomLineModel> im
 	public void clean() {
 		context = null;
 		data  = null;
+		lineData = null;
 	}
 
 	@Override
@@ -107,6 +109,26 @@ public class RandomLineDevice extends AbstractRunnableDevice<RandomLineModel> im
 		data = Random.rand(new int[]{model.getLineSize()});
 	}
 
+	@Override
+	public void run(List<IPosition> positions) throws ScanningException, InterruptedException {
+		final List<IDataset> line = new ArrayList<>(positions.size());
+		for (IPosition pos : positions) {
+			run(pos);
+			line.add(data);
+		}
+		lineData = line;
+	}
+
+	@Override
+	public boolean write(List<IPosition> positions) throws ScanningException, InterruptedException {
+		for (int i = 0; i < positions.size(); i++) {
+			data = lineData.get(i);
+			write(positions.get(i));
+		}
+		lineData = null;
+		return true;
+	}
+
 	@Override
 	public boolean write(IPosition pos) throws ScanningException, InterruptedException {
 		
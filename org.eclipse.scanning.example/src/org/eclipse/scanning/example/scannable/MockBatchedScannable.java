@@ -0,0 +1,60 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.example.scannable;
+
+import java.util.List;
+
+import org.eclipse.scanning.api.IBatchedScannable;
+import org.eclipse.scanning.api.points.IPosition;
+
+/**
+ * A mock scannable which may be moved through the positions of a line
+ * in one go, as a motor which is told the whole trajectory might be.
+ * It is armed with the positions and moves through them when the scan
+ * waits for it, each position is still recorded as MockScannable records it.
+ */
+public class MockBatchedScannable extends MockScannable implements IBatchedScannable<Number> {
+
+	private int             lines;
+	private List<IPosition> armed;
+
+	public MockBatchedScannable(String name, Double position, int level, String unit) {
+		super(name, position, level, unit);
+	}
+
+	@Override
+	public void setPositions(List<IPosition> positions) throws Exception {
+		lines++;
+		armed = positions;
+	}
+
+	@Override
+	public void awaitPositions() throws Exception {
+		if (armed==null) return;
+		try {
+			for (IPosition position : armed) setPosition((Number)position.get(getName()), position);
+		} finally {
+			armed = null;
+		}
+	}
+
+	/**
+	 * @return the number of lines which the scannable has been moved through.
+	 */
+	public int getLineCount() {
+		return lines;
+	}
+
+	public void resetLineCount() {
+		lines = 0;
+	}
+}
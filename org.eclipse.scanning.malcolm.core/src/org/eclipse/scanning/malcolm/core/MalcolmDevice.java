@@ -26,9 +26,11 @@ import java.util.stream.Collectors;
 
 import org.eclipse.scanning.api.ValidationException;
 import org.eclipse.scanning.api.annotation.scan.PointStart;
+import org.eclipse.scanning.api.device.AbstractRunnableDevice;
 import org.eclipse.scanning.api.device.IRunnableDeviceService;
 import org.eclipse.scanning.api.device.models.MalcolmModel;
 import org.eclipse.scanning.api.event.core.IPublisher;
+import org.eclipse.scanning.api.event.core.ProgressPublisher;
 import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.event.scan.ScanBean;
 import org.eclipse.scanning.api.malcolm.MalcolmDeviceException;
@@ -46,6 +48,7 @@ import org.eclipse.scanning.api.malcolm.message.Type;
 import org.eclipse.scanning.api.points.IMutator;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.CompoundModel;
 import org.eclipse.scanning.sequencer.SubscanModerator;
 import org.slf4j.Logger;
@@ -92,11 +95,12 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
     private MalcolmMessage                      scanSubscriber;
 
     // Our connection to the outside.
-	private IPublisher<ScanBean>             publisher;
+	private ProgressPublisher<ScanBean>      publisher; // Limits the rate of the completedSteps updates
 	
 	// Data should be in model?
 	private MalcolmEventBean    meb;
 	private Iterator<IPosition> scanPositionIterator;
+	private int                 scanPositionCount; // Points moved through in scanPositionIterator
 	
 	// Local data.
 	private long    lastBroadcastTime = System.currentTimeMillis();
@@ -115,7 +119,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 			IPublisher<ScanBean> publisher) throws MalcolmDeviceException {
 		super(service, runnableDeviceService);
     	setName(name);
-       	this.publisher = publisher;
+       	this.publisher = publisher!=null ? new ProgressPublisher<>(publisher, AbstractRunnableDevice::snapshot) : null;
        	setAlive(false);
 	}
 	
@@ -196,6 +200,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
     public void scanPoint(SubscanModerator moderator) {
     	Iterable<IPosition> scanPositions = moderator.getInnerIterable();
         scanPositionIterator = scanPositions.iterator();
+        scanPositionCount    = 0;
     }
 
 	protected void sendScanEvent(MalcolmEvent<MalcolmMessage> e) throws Exception {
@@ -228,17 +233,25 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 			long currentTime = System.currentTimeMillis();
 			
 			int positionDiff = point - lastUpdateCount;
+			boolean broadcast = currentTime - lastBroadcastTime >= POSITION_COMPLETE_FREQ;
 			
 			IPosition scanPosition = null;
-			for (int i = 0; i < positionDiff; i++) {
-				if (scanPositionIterator.hasNext()) {
-					scanPosition = scanPositionIterator.next();
+			if (positionDiff > 0 && scanPositionIterator instanceof ScanPointIterator
+					              && ((ScanPointIterator)scanPositionIterator).seek(scanPositionCount+positionDiff-1)) {
+				// Only calculate the position if it will be broadcast, the next seek does not depend on it.
+				if (broadcast && scanPositionIterator.hasNext()) scanPosition = scanPositionIterator.next();
+			} else {
+				for (int i = 0; i < positionDiff; i++) {
+					if (scanPositionIterator.hasNext()) {
+						scanPosition = scanPositionIterator.next();
+					}
 				}
 			}
+			if (positionDiff > 0) scanPositionCount += positionDiff;
 			
 			lastUpdateCount = point;
 			
-			if (scanPosition != null && currentTime - lastBroadcastTime >= POSITION_COMPLETE_FREQ) {
+			if (scanPosition != null && broadcast) {
 				scanPosition.setStepIndex(point);
             	firePositionComplete(scanPosition);
             	
@@ -246,7 +259,14 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 			}
 		}
 		
-		if (publisher!=null) publisher.broadcast(bean);
+		if (publisher!=null) {
+			// Changes of state always go, the steps completed at the most at the rate of the publisher.
+			if (newState!=null && newState!=bean.getPreviousDeviceState()) {
+				publisher.broadcastNow(bean);
+			} else {
+				publisher.broadcast(bean);
+			}
+		}
 	}
 
 	protected void sendScanStateChange(MalcolmEvent<MalcolmMessage> e) throws Exception {
@@ -260,7 +280,7 @@ public class MalcolmDevice<M extends MalcolmModel> extends AbstractMalcolmDevice
 		bean.setDeviceName(getName());
 		bean.setPreviousDeviceState(bean.getDeviceState());
 		bean.setDeviceState(newState);
-		if (publisher!=null) publisher.broadcast(bean);
+		if (publisher!=null) publisher.broadcastNow(bean);
 		
 		// We also send a malcolm event
 		if (meb==null) meb = new MalcolmEventBean();
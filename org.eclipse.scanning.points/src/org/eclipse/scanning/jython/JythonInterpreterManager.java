@@ -3,7 +3,10 @@ package org.eclipse.scanning.jython;
 import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
@@ -11,6 +14,7 @@ import org.eclipse.scanning.points.ScanPointGeneratorFactory;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.wiring.BundleWiring;
 import org.python.core.Py;
+import org.python.core.PyObject;
 import org.python.core.PyString;
 import org.python.core.PySystemState;
 import org.slf4j.Logger;
@@ -32,12 +36,35 @@ class JythonInterpreterManager {
 	
 	private static volatile PySystemState configuredState;
 
+	/**
+	 * The python classes imported in the configured state, keyed by module and class name.
+	 * Jython has no global interpreter lock so a class may be used to make objects on many
+	 * threads at once, each factory shares the imported class rather than importing it again.
+	 * A class is imported again if the file of its module has changed since, and all are
+	 * imported again when the paths are set again.
+	 */
+	private static volatile Map<String, PyClass> classes = new ConcurrentHashMap<>();
+
+	/**
+	 * The nanoseconds taken to set up the system state and to import the first class,
+	 * which is the wait for the first scan if Jython has not been loaded in the background.
+	 */
+	private static volatile long setupTime  = -1;
+	private static volatile long importTime = -1;
+
 	/**
 	 * Call to ensure that an interpreter is set up and configured and
 	 * able to load the relevant bundles.
 	 */
-	public static synchronized void setupSystemState(String... bundleNames) {
-		
+	public static void setupSystemState(String... bundleNames) {
+		// Once set up, factories are made without waiting on each other
+		if (configuredState!=null && Py.getSystemState()==configuredState) return;
+		configureSystemState(bundleNames);
+	}
+
+	private static synchronized void configureSystemState(String... bundleNames) {
+
+		final long start = System.nanoTime();
 		ClassLoader loader=null;
 		if (configuredState==null) { // Relies on setupSystemState() being called early in the server startup.
 			loader = createJythonClassLoader(PySystemState.class.getClassLoader());
@@ -58,7 +85,99 @@ class JythonInterpreterManager {
      	setSpgGeneratorPaths(state, bundleNames); // Adds the scripts directory from points
 	   	Py.setSystemState(state);
  
+		classes = new ConcurrentHashMap<>(); // Imported in another state or with other paths
 	   	configuredState = state;
+		if (setupTime<0) {
+			setupTime = System.nanoTime()-start;
+			logger.debug("Jython system state set up in {}ms", TimeUnit.NANOSECONDS.toMillis(setupTime));
+		}
+	}
+
+	/**
+	 * The python class, imported once in the configured system state.
+	 *
+	 * @param moduleName
+	 * @param className
+	 * @param bundleNames
+	 * @return
+	 */
+	static PyObject getPyClass(String moduleName, String className, String... bundleNames) {
+		setupSystemState(bundleNames);
+		return classes.compute(moduleName+"."+className,
+				(name, cls) -> cls==null || cls.isModified() ? importClass(moduleName, className, cls!=null) : cls).pyClass;
+	}
+
+	private static PyClass importClass(String moduleName, String className, boolean reload) {
+		final long start = System.nanoTime();
+		PySystemState state = Py.getSystemState();
+		PyObject importer = state.getBuiltins().__getitem__(Py.newString("__import__"));
+		PyObject module = importer.__call__(Py.newString(moduleName));
+		if (reload) {
+			logger.debug("Jython module {} has changed and is imported again", moduleName);
+			module = state.getBuiltins().__getitem__(Py.newString("reload")).__call__(module);
+		}
+		PyObject pyClass = module.__getattr__(className);
+		if (importTime<0) {
+			importTime = System.nanoTime()-start;
+			logger.debug("Jython module {} imported in {}ms", moduleName, TimeUnit.NANOSECONDS.toMillis(importTime));
+		}
+		return new PyClass(pyClass, getModuleFile(module));
+	}
+
+	/**
+	 * 
+	 * @param module
+	 * @return the source file of the module or null if it does not have one.
+	 */
+	private static File getModuleFile(PyObject module) {
+		PyObject file = module.__findattr__("__file__");
+		if (file==null || file==Py.None) return null;
+		String path = file.toString();
+		if (path.endsWith("$py.class")) path = path.substring(0, path.length()-"$py.class".length())+".py";
+		return new File(path);
+	}
+
+	/**
+	 * An imported python class and the last modified time of the file of its module when imported.
+	 */
+	private static final class PyClass {
+		private final PyObject pyClass;
+		private final File     file;
+		private final long     lastModified;
+
+		PyClass(PyObject pyClass, File file) {
+			this.pyClass      = pyClass;
+			this.file         = file;
+			this.lastModified = file!=null ? file.lastModified() : 0;
+		}
+
+		boolean isModified() {
+			return file!=null && file.lastModified()!=lastModified;
+		}
+	}
+
+	/**
+	 * 
+	 * @return nanoseconds taken to set up the system state, -1 if it has not been set up.
+	 */
+	static long getSetupTime() {
+		return setupTime;
+	}
+
+	/**
+	 * 
+	 * @return nanoseconds taken to import the first class, -1 if no class has been imported.
+	 */
+	static long getImportTime() {
+		return importTime;
+	}
+
+	/**
+	 * 
+	 * @return the number of python classes which have been imported and are ready to use.
+	 */
+	static int getClassCount() {
+		return classes.size();
 	}
 
 	private static final String SCRIPTS = "/scripts/";
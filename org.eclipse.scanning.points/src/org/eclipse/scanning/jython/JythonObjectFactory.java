@@ -1,8 +1,9 @@
 package org.eclipse.scanning.jython;
 
+import java.util.concurrent.TimeUnit;
+
 import org.python.core.Py;
 import org.python.core.PyObject;
-import org.python.core.PySystemState;
 
 // This class creates Java objects from Jython classes
 public final class JythonObjectFactory<T> {
@@ -11,16 +12,43 @@ public final class JythonObjectFactory<T> {
 	private final Class<T> javaClass;
 	private final PyObject pyClass;
 
-	// This constructor passes through to the other constructor with the SystemState
+	// The python class is imported once and shared by all factories for it
 	public JythonObjectFactory(Class<T> javaClass, String moduleName, String className, String... bundleNames) {
+		this.javaClass = javaClass;
+		this.pyClass   = JythonInterpreterManager.getPyClass(moduleName, className, bundleNames);
+	}
 
-		JythonInterpreterManager.setupSystemState(bundleNames);
-		PySystemState state = Py.getSystemState();
+	/**
+	 * Sets up Jython and imports the classes so that the factories for them
+	 * are made without waiting, for instance in a background thread at startup.
+	 *
+	 * @param moduleName
+	 * @param classNames
+	 * @return the time taken in milliseconds
+	 */
+	public static long warm(String moduleName, String... classNames) {
+		final long start = System.nanoTime();
+		for (String className : classNames) JythonInterpreterManager.getPyClass(moduleName, className);
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start);
+	}
 
-		this.javaClass = javaClass;
-		PyObject importer = state.getBuiltins().__getitem__(Py.newString("__import__"));
-		PyObject module = importer.__call__(Py.newString(moduleName));
-		pyClass = module.__getattr__(className);
+	/**
+	 * 
+	 * @return milliseconds taken to set up Jython and to import the first class, -1 if not done yet.
+	 */
+	public static long getStartupTime() {
+		long setup = JythonInterpreterManager.getSetupTime();
+		long imprt = JythonInterpreterManager.getImportTime();
+		if (setup<0 || imprt<0) return -1;
+		return TimeUnit.NANOSECONDS.toMillis(setup+imprt);
+	}
+
+	/**
+	 * 
+	 * @return the number of python classes imported and ready to make objects.
+	 */
+	public static int getWarmClassCount() {
+		return JythonInterpreterManager.getClassCount();
 	}
 
 	// The following methods return a coerced Jython object based upon the pieces of
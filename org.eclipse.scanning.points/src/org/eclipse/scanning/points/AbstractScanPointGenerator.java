@@ -0,0 +1,149 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.eclipse.scanning.api.points.AbstractGenerator;
+import org.eclipse.scanning.api.points.GeneratorException;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.PointBlock;
+import org.eclipse.scanning.api.points.ScanPointIterator;
+
+/**
+ * A generator whose points are calculated by the scan point
+ * generator, either in Jython or using the Java port of it.
+ *
+ * @param <T> the model
+ */
+public abstract class AbstractScanPointGenerator<T> extends AbstractGenerator<T> {
+
+	private GeneratorEngine engine = GeneratorEngine.getDefault();
+
+	/**
+	 * A Java engine iterator kept to calculate points in {@link #getPoint(int)}
+	 */
+	private volatile Iterator<IPosition> pointIterator;
+
+	protected AbstractScanPointGenerator() {
+		super();
+	}
+
+	protected AbstractScanPointGenerator(String id) {
+		super(id);
+	}
+
+	@Override
+	protected Iterator<IPosition> iteratorFromValidModel() {
+		return attach(iteratorFromValidModel(engine));
+	}
+
+	private Iterator<IPosition> attach(Iterator<IPosition> iterator) {
+		if (iterator instanceof AbstractScanPointIterator) {
+			((AbstractScanPointIterator)iterator).setGenerator(this);
+		}
+		return iterator;
+	}
+
+	/**
+	 * Creates and returns an iterator for this model using the given engine.
+	 * @param engine
+	 * @return
+	 */
+	protected abstract Iterator<IPosition> iteratorFromValidModel(GeneratorEngine engine);
+
+	/**
+	 * An iterator which uses the given engine, regardless of the engine set on this generator.
+	 * Used when generators are nested so that all use the same engine.
+	 *
+	 * @param engine
+	 * @return
+	 */
+	public Iterator<IPosition> iterator(GeneratorEngine engine) {
+		validateModel();
+		return attach(iteratorFromValidModel(engine));
+	}
+
+	/**
+	 * The Java engine iterator kept to calculate points, sizes and shapes
+	 * directly. Making it prepares the masks of any regions once, after
+	 * which the size and shape are known without iterating the points.
+	 * @return
+	 */
+	protected synchronized Iterator<IPosition> getPointIterator() {
+		Iterator<IPosition> it = pointIterator;
+		if (it==null) pointIterator = it = iterator(GeneratorEngine.JAVA);
+		return it;
+	}
+
+	/**
+	 * The shape from the Java engine, which is the same as the Jython shape
+	 * and is calculated from the masks of the regions rather than by iterating.
+	 */
+	@Override
+	protected int[] calculateShape() throws GeneratorException {
+		Iterator<IPosition> it = getPointIterator();
+		if (it instanceof ScanPointIterator) return ((ScanPointIterator)it).getShape();
+		return super.calculateShape();
+	}
+
+	/**
+	 * Calculates the point directly using the Java engine, which makes
+	 * the same points as Jython, falling back to iterating to the point
+	 * if the model is not supported by the Java engine.
+	 */
+	@Override
+	public synchronized IPosition getPoint(int stepIndex) throws GeneratorException {
+		if (stepIndex<0) throw new GeneratorException("The step index "+stepIndex+" is invalid!");
+		Iterator<IPosition> it = getPointIterator();
+		if (it instanceof ScanPointIterator && ((ScanPointIterator)it).seek(stepIndex)) {
+			if (!it.hasNext()) throw new GeneratorException("The step index "+stepIndex+" is outside the scan!");
+			return it.next();
+		}
+		return super.getPoint(stepIndex);
+	}
+
+	/**
+	 * Fills the block using the Java engine, which for compound
+	 * generators calculates the values without making positions.
+	 */
+	@Override
+	public synchronized int getPoints(int stepIndex, PointBlock block) throws GeneratorException {
+		if (stepIndex<0) throw new GeneratorException("The step index "+stepIndex+" is invalid!");
+		Iterator<IPosition> it = getPointIterator();
+		if (it instanceof ScanPointIterator && ((ScanPointIterator)it).seek(stepIndex)) {
+			return ((ScanPointIterator)it).nextBlock(block);
+		}
+		return super.getPoints(stepIndex, block);
+	}
+
+	@Override
+	public void setModel(T model) {
+		super.setModel(model);
+		this.pointIterator = null;
+	}
+
+	@Override
+	public void setRegions(Collection<Object> regions) throws GeneratorException {
+		super.setRegions(regions);
+		this.pointIterator = null;
+	}
+
+	public GeneratorEngine getEngine() {
+		return engine;
+	}
+
+	public void setEngine(GeneratorEngine engine) {
+		this.engine = engine;
+	}
+}
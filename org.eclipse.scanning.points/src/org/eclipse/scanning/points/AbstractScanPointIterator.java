@@ -12,6 +12,7 @@
 package org.eclipse.scanning.points;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -30,6 +31,12 @@ import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.models.ScanRegion;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgCompoundGenerator;
+import org.eclipse.scanning.points.spg.SpgExcluder;
+import org.eclipse.scanning.points.spg.SpgGenerator;
+import org.eclipse.scanning.points.spg.SpgMutator;
+import org.eclipse.scanning.points.spg.SpgPointIterator;
+import org.eclipse.scanning.points.spg.SpgRoi;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.python.core.PyDictionary;
 import org.python.core.PyList;
@@ -43,8 +50,19 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 
 	private static Map<Class<?>, Function<IROI, PyObject>> roiDispatchMap = new HashMap<Class<?>, Function<IROI, PyObject>>();;
 
+	/**
+	 * The iterator made by the scan point generator. When the generator
+	 * uses {@link GeneratorEngine#JAVA} this is a {@link SpgPointIterator}
+	 * rather than a Jython object.
+	 */
 	protected ScanPointIterator pyIterator;
 
+	/**
+	 * The generator which made this iterator, may be null. Used to make
+	 * a {@link GeneratorEngine#JAVA} iterator when seeking in a Jython one.
+	 */
+	private AbstractScanPointGenerator<?> generator;
+
 	public Iterator<IPosition> getPyIterator() {
 		return pyIterator;
 	}
@@ -53,6 +71,29 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 		this.pyIterator = pyIterator;
 	}
 
+	void setGenerator(AbstractScanPointGenerator<?> generator) {
+		this.generator = generator;
+	}
+
+	/**
+	 * Seeks in the iterator of the scan point generator. Both engines
+	 * make the same points so if this iterator is using Jython, it is
+	 * swapped for the Java engine which can calculate any point directly.
+	 * Subclasses holding state about the current point should override
+	 * this to reset it.
+	 */
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!(pyIterator instanceof SpgPointIterator) && generator!=null) {
+			Iterator<IPosition> java = generator.iterator(GeneratorEngine.JAVA);
+			if (java instanceof AbstractScanPointIterator) {
+				ScanPointIterator it = ((AbstractScanPointIterator)java).pyIterator;
+				if (it instanceof SpgPointIterator) pyIterator = it;
+			}
+		}
+		return pyIterator.seek(stepIndex);
+	}
+
 	protected ScanPointIterator createSpgCompoundGenerator(Iterator<?>[] iterators, Object[] regions,
 			String[] regionAxes, PyObject[] mutators) {
 		JythonObjectFactory<PyObject> excluderFactory = ScanPointGeneratorFactory.JExcluderFactory();
@@ -68,6 +109,42 @@ public abstract class AbstractScanPointIterator implements ScanPointIterator, Py
 		return cpgIterator;
 	}
 
+	/**
+	 * The Java engine equivalent of {@link #createSpgCompoundGenerator(Iterator[], Object[], String[], PyObject[])}
+	 *
+	 * @param generators
+	 * @param regions
+	 * @param regionAxes
+	 * @param mutators
+	 * @return
+	 */
+	protected static ScanPointIterator createJavaCompoundGenerator(SpgGenerator[] generators, Object[] regions,
+			String[] regionAxes, SpgMutator[] mutators) {
+		List<SpgRoi> rois = Arrays.asList(regions)
+				.stream()
+				.map(r -> SpgRoi.create(r))
+				.filter(r -> r != null)
+				.collect(Collectors.toList());
+		List<SpgExcluder> excluders = rois.size() > 0
+				? Arrays.asList(new SpgExcluder(rois, Arrays.asList(regionAxes)))
+				: Collections.emptyList();
+		SpgCompoundGenerator cpg = new SpgCompoundGenerator(Arrays.asList(generators), excluders, Arrays.asList(mutators), -1);
+		return new SpgPointIterator(cpg, SpgPointIterator.Style.COMPOUND);
+	}
+
+	/**
+	 * The Java engine equivalent of the jython wrappers of a single generator,
+	 * for instance JLineGenerator1D.
+	 *
+	 * @param generator
+	 * @param style
+	 * @return
+	 */
+	protected static ScanPointIterator createJavaGenerator(SpgGenerator generator, SpgPointIterator.Style style) {
+		SpgCompoundGenerator cpg = new SpgCompoundGenerator(Arrays.asList(generator), Collections.emptyList(), Collections.emptyList(), -1);
+		return new SpgPointIterator(cpg, style);
+	}
+
 	static {
 		roiDispatchMap.put(CircularROI.class, r -> ScanPointGeneratorFactory.JCircularROIFactory().createObject(
 				((CircularROI) r).getCentre(), ((CircularROI) r).getRadius()));
@@ -13,12 +13,11 @@ package org.eclipse.scanning.points;
 
 import org.eclipse.scanning.api.ModelValidationException;
 import org.eclipse.scanning.api.ValidationException;
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.ArrayModel;
 
-public class ArrayGenerator extends AbstractGenerator<ArrayModel> {
+public class ArrayGenerator extends AbstractScanPointGenerator<ArrayModel> {
 	
 	public ArrayGenerator() {
 		setLabel("Array Scan");
@@ -42,8 +41,8 @@ public class ArrayGenerator extends AbstractGenerator<ArrayModel> {
 	}
 	
 	@Override
-	protected ScanPointIterator iteratorFromValidModel() {
-		return new ArrayIterator(this);
+	protected ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new ArrayIterator(this, engine);
 	}
 
 	@Override
@@ -15,15 +15,22 @@ import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.ArrayModel;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgArrayGenerator;
+import org.eclipse.scanning.points.spg.SpgPointIterator;
 
 class ArrayIterator extends AbstractScanPointIterator {
 
 	private ArrayModel model;
 	int index = 0;
 
-	public ArrayIterator(ArrayGenerator gen) {
+	public ArrayIterator(ArrayGenerator gen, GeneratorEngine engine) {
 		this.model= gen.getModel();
 		
+		if (engine == GeneratorEngine.JAVA) {
+			pyIterator = createJavaGenerator(new SpgArrayGenerator(model.getName(), model.getPositions(), false), SpgPointIterator.Style.SCALAR);
+			return;
+		}
+
         JythonObjectFactory<ScanPointIterator> arrayGeneratorFactory = ScanPointGeneratorFactory.JArrayGeneratorFactory();
 
         double[] points = model.getPositions();
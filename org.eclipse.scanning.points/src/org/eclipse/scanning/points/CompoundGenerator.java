@@ -19,11 +19,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.AbstractPosition;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.PointStore;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.CompoundModel;
 import org.python.core.PyDictionary;
@@ -36,10 +36,15 @@ import org.python.core.PyDictionary;
  * @author Matthew Gerring
  *
  */
-class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySerializable {
+class CompoundGenerator extends AbstractScanPointGenerator<CompoundModel> implements PySerializable {
 	
 	private IPointGenerator<?>[]     generators;
 	private List<Collection<String>> dimensionNames;
+	
+	// Calculated once as compound generators are cached and shared by PointGeneratorService
+	private volatile int       size = -1;
+	private volatile IPosition firstPoint;
+	private volatile boolean   shared;
 
 	public CompoundGenerator(IPointGenerator<?>[] generators) throws GeneratorException {
 		super(createId(generators));
@@ -92,7 +97,17 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 	
 	@Override
 	public int sizeOfValidModel() throws GeneratorException {
-		Iterator<IPosition> it = (Iterator<IPosition>) iteratorFromValidModel();
+		if (size<0) size = calculateSize();
+		return size;
+	}
+	
+	/**
+	 * The size from the Java engine, counted from the masks of the
+	 * regions, so that the size of a large mapping scan does not need
+	 * a Jython generator or an iteration over the points.
+	 */
+	private int calculateSize() throws GeneratorException {
+		Iterator<IPosition> it = getPointIterator();
 		int size = 1;
 		if (it instanceof CompoundSpgIterator) {
 			size = ((CompoundSpgIterator)it).size();
@@ -104,8 +119,51 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 		return size;
 	}
 
+	/**
+	 * The first point is calculated once, the same
+	 * position is returned each time and must not be changed.
+	 */
+	@Override
+	public IPosition getFirstPoint() {
+		if (firstPoint==null) firstPoint = super.getFirstPoint();
+		return firstPoint;
+	}
+	
+	/**
+	 * Called when the generator is cached, after which it may not be changed.
+	 */
+	void share() {
+		this.shared = true;
+	}
+
+	private void checkNotShared() {
+		if (shared) throw new IllegalStateException("The compound generator is cached and shared, it cannot be changed!");
+	}
+
+	@Override
+	public void setModel(CompoundModel model) {
+		checkNotShared();
+		super.setModel(model);
+		size = -1;
+		firstPoint = null;
+	}
+
+	@Override
+	public void setRegions(Collection<Object> regions) throws GeneratorException {
+		checkNotShared();
+		super.setRegions(regions);
+		size = -1;
+		firstPoint = null;
+	}
+
+	@Override
+	public void setEngine(GeneratorEngine engine) {
+		checkNotShared();
+		super.setEngine(engine);
+	}
+
     public PyDictionary toDict() {
-		Iterator<?> it = iteratorFromValidModel();
+		Iterator<?> it = iteratorFromValidModel(GeneratorEngine.JYTHON); // Only the python can make a dictionary
 		if (it instanceof PySerializable) return ((PySerializable)it).toDict();
 		return null;
     }
@@ -141,10 +199,10 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 	}
 	
 	@Override
-	protected Iterator<IPosition> iteratorFromValidModel() {
+	protected Iterator<IPosition> iteratorFromValidModel(GeneratorEngine engine) {
 		try {
 			if (isScanPointGeneratorFactory()) {
-				return new CompoundSpgIterator(this);
+				return new CompoundSpgIterator(this, engine);
 			} else {
 				return new CompoundIterator(this);
 			}
@@ -156,9 +214,17 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 	@Override
 	public List<IPosition> createPoints() throws GeneratorException {
 		
-		List<IPosition> points = new ArrayList<>(size());
+		// The nested generators make every point, regardless of regions
+		int count = 1;
+		for (IPointGenerator<?> gen : generators) count *= gen.size();
+
+		List<IPosition> points;
+		if (count > PointStore.getThreshold() && PointStore.isStorable(getFirstPoint())) {
+			points = new PointStore(count); // Very large scans are held in a file rather than as objects
+		} else {
+			points = new ArrayList<>(size());
+		}
 		createPoints(0, points, null);
-		for (int i = 0; i < points.size(); i++) points.get(i).setStepIndex(i);
 		return points;
 	}
 
@@ -181,6 +247,7 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 			if (nextGen<generators.length) {
 				createPoints(nextGen, points, pos);
 			} else {
+				pos.setStepIndex(points.size());
 				points.add(pos);
 			}
 		}
@@ -196,6 +263,7 @@ class CompoundGenerator extends AbstractGenerator<CompoundModel> implements PySe
 	}
 
 	public void setDimensionNames(List<Collection<String>> dimensionNames) {
+		checkNotShared();
 		this.dimensionNames = dimensionNames;
 	}
 
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.scanning.points;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -26,9 +27,17 @@ import org.eclipse.scanning.api.points.IMutator;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.PointBlock;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.ScanRegion;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.mutators.RandomOffsetMutator;
+import org.eclipse.scanning.points.spg.SpgCompoundGenerator;
+import org.eclipse.scanning.points.spg.SpgExcluder;
+import org.eclipse.scanning.points.spg.SpgMutator;
+import org.eclipse.scanning.points.spg.SpgPointIterator;
+import org.eclipse.scanning.points.spg.SpgRandomOffsetMutator;
+import org.eclipse.scanning.points.spg.SpgRoi;
 import org.python.core.PyDictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,8 +62,21 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 	private int index = -1;
 
 	public CompoundSpgIterator(CompoundGenerator gen) throws GeneratorException {
+		this(gen, gen.getEngine());
+	}
+
+	public CompoundSpgIterator(CompoundGenerator gen, GeneratorEngine engine) throws GeneratorException {
 		this.gen       = gen;
-		this.iterators = initIterators();
+		
+		// The java engine is used if it supports all the mutators and child generators,
+		// otherwise the children are made with the same engine as the python is used.
+		List<SpgMutator> javaMutators = engine == GeneratorEngine.JAVA ? getJavaMutators(gen.getModel().getMutators()) : null;
+		boolean java = javaMutators != null && isJavaEngine(gen.getGenerators());
+		if (java) {
+			this.iterators = initIterators(GeneratorEngine.JAVA);
+			java = isJavaIterators(iterators);
+		}
+		if (!java) this.iterators = initIterators(GeneratorEngine.JYTHON);
 		this.pos       = createFirstPosition();
 		
 		// Throw an exception if iterator is device dependent and can't be processed by SPG
@@ -64,6 +86,18 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 			}
 		}
 		
+		if (java) {
+			List<SpgCompoundGenerator> children = new ArrayList<>(iterators.length);
+			for (Iterator<? extends IPosition> it : iterators) {
+				children.add(((SpgPointIterator)((AbstractScanPointIterator)it).getPyIterator()).getGenerator());
+			}
+			List<SpgExcluder> excluders = getJavaExcluders(gen.getModel().getRegions());
+			SpgCompoundGenerator cpg = SpgCompoundGenerator.nest(children, excluders, javaMutators, gen.getModel().getDuration());
+			index = -1;
+			pyIterator = new SpgPointIterator(cpg, SpgPointIterator.Style.COMPOUND);
+			return;
+		}
+		
 		JythonObjectFactory<ScanPointIterator> compoundGeneratorFactory = ScanPointGeneratorFactory.JCompoundGeneratorFactory();
 		
         Object[] excluders = getExcluders(gen.getModel().getRegions());
@@ -92,6 +126,27 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 		return ((PySerializable) pyIterator).toDict();
     }
     
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!super.seek(stepIndex)) return false;
+		currentPoint = null;
+		index = stepIndex-1;
+		return true;
+	}
+
+	/**
+	 * Fills the block directly when using the Java engine, otherwise
+	 * from the points of this iterator.
+	 */
+	@Override
+	public int nextBlock(PointBlock block) {
+		if (!(pyIterator instanceof SpgPointIterator)) return super.nextBlock(block);
+		if (currentPoint!=null) seek(index); // hasNext() has already read the next point
+		int size = pyIterator.nextBlock(block);
+		index += size;
+		return size;
+	}
+
 	@Override
 	public boolean hasNext() {
 		if (pyIterator.hasNext()) {
@@ -136,16 +191,35 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 	}
 
 
-	private Iterator<? extends IPosition>[] initIterators() {
+	private Iterator<? extends IPosition>[] initIterators(GeneratorEngine engine) {
 		final IPointGenerator<?>[] gs = gen.getGenerators();
 		@SuppressWarnings("unchecked")
 		Iterator<? extends IPosition>[] ret = new Iterator[gs.length];
 		for (int i = 0; i < gs.length; i++) {
-			ret[i] = gs[i].iterator();
+			if (gs[i] instanceof AbstractScanPointGenerator) {
+				ret[i] = ((AbstractScanPointGenerator<?>)gs[i]).iterator(engine);
+			} else {
+				ret[i] = gs[i].iterator();
+			}
 		}
 		return ret;
 	}
 
+	private static boolean isJavaEngine(IPointGenerator<?>[] gs) {
+		for (IPointGenerator<?> g : gs) {
+			if (!(g instanceof AbstractScanPointGenerator)) return false;
+		}
+		return true;
+	}
+
+	private static boolean isJavaIterators(Iterator<? extends IPosition>[] its) {
+		for (Iterator<? extends IPosition> it : its) {
+			if (!(it instanceof AbstractScanPointIterator)) return false;
+			if (!(((AbstractScanPointIterator)it).getPyIterator() instanceof SpgPointIterator)) return false;
+		}
+		return true;
+	}
+
 	public void remove() {
         throw new UnsupportedOperationException("remove");
     }
@@ -165,6 +239,59 @@ public class CompoundSpgIterator extends AbstractScanPointIterator {
 		return pyMutators.toArray();
 	}
 	
+	/**
+	 * Creates the java mutators for the Java engine
+	 * @param mutators
+	 * @return the mutators or null if a mutator is not supported by the Java engine
+	 */
+	private static List<SpgMutator> getJavaMutators(Collection<IMutator> mutators) {
+		List<SpgMutator> ret = new ArrayList<>();
+		if (mutators != null) {
+			for (IMutator mutator : mutators) {
+				if (!(mutator instanceof RandomOffsetMutator)) return null;
+				RandomOffsetMutator rom = (RandomOffsetMutator) mutator;
+				ret.add(new SpgRandomOffsetMutator(rom.getSeed(), rom.getAxes(), rom.getMaxOffsets()));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates the java excluders for the Java engine, grouped in the same way as {@link #getExcluders(Collection)}
+	 * @param regions
+	 * @return
+	 */
+	public static List<SpgExcluder> getJavaExcluders(Collection<?> regions) {
+		LinkedHashMap<List<String>, List<SpgRoi>> excluders = new LinkedHashMap<List<String>, List<SpgRoi>>();
+		if (regions != null) {
+			for (Object region : regions) {
+				if (region instanceof ScanRegion) {
+					ScanRegion<?> sr = (ScanRegion<?>) region;
+					Optional<List<SpgRoi>> excluderOptional = excluders.entrySet().stream()
+							.filter(e -> sr.getScannables().containsAll(e.getKey()))
+							.map(e -> e.getValue())
+							.findFirst();
+					List<SpgRoi> rois = excluderOptional.orElse(new LinkedList<SpgRoi>());
+					if (!excluderOptional.isPresent()) {
+						excluders.put(sr.getScannables(), rois);
+					}
+					try {
+						SpgRoi roi = SpgRoi.create(region);
+						if (roi != null) rois.add(roi);
+					} catch (Exception e) {
+						logger.error("Could not convert ROI to SpgRoi", e);
+					}
+				} else {
+					logger.error("Region wasn't of type ScanRegion");
+				}
+			}
+		}
+		return excluders.entrySet().stream()
+				.filter(e -> e.getValue().size() > 0)
+				.map(e -> new SpgExcluder(e.getValue(), e.getKey()))
+				.collect(Collectors.toList());
+	}
+
 	/**
 	 * Creates an array of python objects representing the excluders
 	 * @param regions
@@ -0,0 +1,227 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+
+/**
+ * A least recently used cache of compound generators keyed by the contents
+ * of their {@link CompoundModel}, so that the generator for a scan is
+ * made once however many times the scan is prepared, estimated and validated.
+ *
+ * The key holds a private deep copy of the model, made by {@link #copy(CompoundModel)},
+ * and cached generators are made from that copy, so a caller changing its
+ * model after the generator was cached changes neither the key nor the generator.
+ * Models which cannot be copied to an equal model are not cached. Cached generators
+ * are shared and are made unchangeable by {@link CompoundGenerator#share()}.
+ */
+class GeneratorCache {
+
+	private final Map<Key, IPointGenerator<?>> cache;
+	private final AtomicLong hits   = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private volatile int capacity;
+
+	GeneratorCache(int capacity) {
+		this.capacity = capacity;
+		this.cache    = new LinkedHashMap<Key, IPointGenerator<?>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, IPointGenerator<?>> eldest) {
+				return size() > GeneratorCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 *
+	 * @param cmodel
+	 * @param engine
+	 * @return the cached generator or null if there is not one.
+	 */
+	IPointGenerator<?> get(CompoundModel<?> cmodel, GeneratorEngine engine) {
+		if (capacity<1) return null;
+		IPointGenerator<?> gen;
+		synchronized (cache) {
+			gen = cache.get(new Key(cmodel, engine));
+		}
+		if (gen!=null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return gen;
+	}
+
+	/**
+	 * Caches the generator, which must have been made from a copy returned by
+	 * {@link #copy(CompoundModel)} that is not referenced anywhere else.
+	 * The generator is shared from now on and may not be changed.
+	 * @param copy
+	 * @param engine
+	 * @param gen
+	 */
+	void put(CompoundModel<?> copy, GeneratorEngine engine, IPointGenerator<?> gen) {
+		if (capacity<1) return;
+		if (gen instanceof CompoundGenerator) ((CompoundGenerator)gen).share();
+		synchronized (cache) {
+			cache.put(new Key(copy, engine), gen);
+		}
+	}
+
+	/**
+	 * Makes a deep copy of the model to key and make a cached generator from.
+	 *
+	 * @param cmodel
+	 * @return the copy or null if the cache is off or the model cannot be
+	 *         copied to one which is equal to it, in which case it is not cached.
+	 */
+	CompoundModel<?> copy(CompoundModel<?> cmodel) {
+		if (capacity<1) return null;
+		try {
+			CompoundModel<?> copy = (CompoundModel<?>)copy(cmodel, 0);
+			if (copy.hashCode()!=cmodel.hashCode() || !copy.equals(cmodel)) return null;
+			return copy;
+		} catch (Exception | LinkageError ne) {
+			return null;
+		}
+	}
+
+	private static final int MAX_DEPTH = 32;
+
+	@SuppressWarnings("unchecked")
+	private static Object copy(Object value, int depth) throws Exception {
+
+		if (depth>MAX_DEPTH) throw new IllegalArgumentException("The model is too deep to copy!");
+		if (value==null || value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum || value instanceof Class) {
+			return value;
+		}
+		if (value instanceof IROI) return ((IROI)value).copy();
+
+		Class<?> clazz = value.getClass();
+		if (clazz.isArray()) {
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(clazz.getComponentType(), length);
+			for (int i = 0; i < length; i++) Array.set(copy, i, copy(Array.get(value, i), depth+1));
+			return copy;
+		}
+		if (value instanceof List) {
+			List<Object> copy = new ArrayList<>(((List<?>)value).size());
+			for (Object o : (List<?>)value) copy.add(copy(o, depth+1));
+			return copy;
+		}
+		if (value instanceof Set) {
+			Set<Object> copy = new LinkedHashSet<>();
+			for (Object o : (Set<?>)value) copy.add(copy(o, depth+1));
+			return copy;
+		}
+		if (value instanceof Map) {
+			Map<Object,Object> copy = new LinkedHashMap<>();
+			for (Map.Entry<?,?> e : ((Map<?,?>)value).entrySet()) copy.put(copy(e.getKey(), depth+1), copy(e.getValue(), depth+1));
+			return copy;
+		}
+		if (value instanceof Collection) throw new IllegalArgumentException("Cannot copy "+clazz);
+
+		// A bean, copied by its read and write properties
+		Constructor<?> constructor = clazz.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		Object copy = constructor.newInstance();
+		for (PropertyDescriptor desc : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+			Method read  = desc.getReadMethod();
+			Method write = desc.getWriteMethod();
+			if (read==null || write==null) continue;
+			write.invoke(copy, copy(read.invoke(value), depth+1));
+		}
+		return copy;
+	}
+
+	void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	int getCapacity() {
+		return capacity;
+	}
+
+	void setCapacity(int capacity) {
+		this.capacity = capacity;
+		synchronized (cache) {
+			if (capacity<1) {
+				cache.clear();
+			} else {
+				while (cache.size()>capacity) cache.remove(cache.keySet().iterator().next());
+			}
+		}
+	}
+
+	long getHits() {
+		return hits.get();
+	}
+
+	long getMisses() {
+		return misses.get();
+	}
+
+	private static final class Key {
+		private final CompoundModel<?> model;
+		private final GeneratorEngine  engine;
+		private final int              hash;
+
+		/**
+		 * @param model a private copy when the key is cached, the model asked for when looking up.
+		 * @param engine
+		 */
+		Key(CompoundModel<?> model, GeneratorEngine engine) {
+			this.model  = model;
+			this.engine = engine;
+			this.hash   = 31 * model.hashCode() + engine.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+			Key other = (Key) obj;
+			return hash==other.hash && engine==other.engine && model.equals(other.model);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points;
+
+/**
+ * The engine used to calculate the points of the generators
+ * which wrap the scan point generator (SPG) library.
+ * <p>
+ * The default engine may be set using the system property
+ * <code>org.eclipse.scanning.points.engine</code>, for instance
+ * <code>-Dorg.eclipse.scanning.points.engine=JAVA</code>
+ */
+public enum GeneratorEngine {
+
+	/**
+	 * The python scan point generator, run using Jython.
+	 */
+	JYTHON,
+
+	/**
+	 * A port of the scan point generator to Java which does not need an
+	 * interpreter. It makes the same positions, indices and dimension names
+	 * as the Jython engine for the generators, regions and mutators supported.
+	 */
+	JAVA;
+
+	public static GeneratorEngine getDefault() {
+		String name = System.getProperty("org.eclipse.scanning.points.engine", JYTHON.name());
+		try {
+			return valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException ne) {
+			return JYTHON;
+		}
+	}
+}
@@ -13,6 +13,8 @@ package org.eclipse.scanning.points;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.scanning.api.points.Point;
 import org.eclipse.scanning.api.points.ScanPointIterator;
@@ -20,6 +22,10 @@ import org.eclipse.scanning.api.points.models.GridModel;
 import org.eclipse.scanning.api.points.models.RandomOffsetGridModel;
 import org.eclipse.scanning.api.points.models.RasterModel;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgGenerator;
+import org.eclipse.scanning.points.spg.SpgLineGenerator;
+import org.eclipse.scanning.points.spg.SpgMutator;
+import org.eclipse.scanning.points.spg.SpgRandomOffsetMutator;
 import org.python.core.PyDictionary;
 import org.python.core.PyList;
 import org.python.core.PyObject;
@@ -37,7 +43,7 @@ class GridIterator extends AbstractScanPointIterator {
 	
 	private Point currentPoint;
 
-	public GridIterator(GridGenerator gen) {
+	public GridIterator(GridGenerator gen, GeneratorEngine engine) {
 		GridModel model = gen.getModel();
 		
 		this.columns = model.getFastAxisPoints();
@@ -49,6 +55,14 @@ class GridIterator extends AbstractScanPointIterator {
 		this.minX = model.getBoundingBox().getFastAxisStart() + xStep / 2;
 		this.minY = model.getBoundingBox().getSlowAxisStart() + yStep / 2;
 		
+		if (engine == GeneratorEngine.JAVA) {
+			SpgGenerator outerLine = new SpgLineGenerator(yName, minY, minY + (rows - 1) * yStep, rows, model.isSnake());
+			SpgGenerator innerLine = new SpgLineGenerator(xName, minX, minX + (columns - 1) * xStep, columns, model.isSnake());
+			pyIterator = createJavaCompoundGenerator(new SpgGenerator[] {outerLine, innerLine}, gen.getRegions().toArray(),
+					new String[] {xName, yName}, new SpgMutator[] {});
+			return;
+		}
+
 		JythonObjectFactory<ScanPointIterator> lineGeneratorFactory = ScanPointGeneratorFactory.JLineGenerator1DFactory();
         
 		ScanPointIterator outerLine = lineGeneratorFactory.createObject(
@@ -63,7 +77,7 @@ class GridIterator extends AbstractScanPointIterator {
 				new String[] {xName, yName}, new PyObject[] {});
 	}
 
-	public GridIterator(RandomOffsetGridGenerator gen) {
+	public GridIterator(RandomOffsetGridGenerator gen, GeneratorEngine engine) {
 		RandomOffsetGridModel model = (RandomOffsetGridModel) gen.getModel();
 		
 		this.columns = model.getFastAxisPoints();
@@ -75,6 +89,19 @@ class GridIterator extends AbstractScanPointIterator {
 		this.minX = model.getBoundingBox().getFastAxisStart() + xStep / 2;
 		this.minY = model.getBoundingBox().getSlowAxisStart() + yStep / 2;
 		
+		if (engine == GeneratorEngine.JAVA) {
+			SpgGenerator outerLine = new SpgLineGenerator(yName, minY, minY + (rows - 1) * yStep, rows, false);
+			SpgGenerator innerLine = new SpgLineGenerator(xName, minX, minX + (columns - 1) * xStep, columns, model.isSnake());
+			double offset = getXStep() * model.getOffset() / 100;
+			Map<String, Double> maxOffset = new LinkedHashMap<>(2);
+			maxOffset.put(yName, offset);
+			maxOffset.put(xName, offset);
+			SpgMutator randomOffset = new SpgRandomOffsetMutator(model.getSeed(), Arrays.asList(yName, xName), maxOffset);
+			pyIterator = createJavaCompoundGenerator(new SpgGenerator[] {outerLine, innerLine}, gen.getRegions().toArray(),
+					new String[] {xName, yName}, new SpgMutator[] {randomOffset});
+			return;
+		}
+
         JythonObjectFactory<ScanPointIterator> lineGeneratorFactory = ScanPointGeneratorFactory.JLineGenerator1DFactory();
         
 		ScanPointIterator outerLine = lineGeneratorFactory.createObject(
@@ -102,7 +129,7 @@ class GridIterator extends AbstractScanPointIterator {
 				new String[] {xName, yName}, mutators);
 	}
 
-	public GridIterator(RasterGenerator gen) {
+	public GridIterator(RasterGenerator gen, GeneratorEngine engine) {
 		RasterModel model = gen.getModel();
 		this.xStep = model.getFastAxisStep();
 		this.yStep = model.getSlowAxisStep();
@@ -113,6 +140,14 @@ class GridIterator extends AbstractScanPointIterator {
 		this.columns = (int) Math.floor(model.getBoundingBox().getFastAxisLength() / xStep + 1);
 		this.rows = (int) Math.floor(model.getBoundingBox().getSlowAxisLength() / yStep + 1);
 		
+		if (engine == GeneratorEngine.JAVA) {
+			SpgGenerator outerLine = new SpgLineGenerator(yName, minY, minY + (rows - 1) * yStep, rows, false);
+			SpgGenerator innerLine = new SpgLineGenerator(xName, minX, minX + (columns - 1) * xStep, columns, model.isSnake());
+			pyIterator = createJavaCompoundGenerator(new SpgGenerator[] {outerLine, innerLine}, gen.getRegions().toArray(),
+					new String[] {xName, yName}, new SpgMutator[] {});
+			return;
+		}
+
 		JythonObjectFactory<ScanPointIterator> lineGeneratorFactory = ScanPointGeneratorFactory.JLineGenerator1DFactory();
         
 		ScanPointIterator outerLine = lineGeneratorFactory.createObject(
@@ -126,6 +161,13 @@ class GridIterator extends AbstractScanPointIterator {
 				new String[] {xName, yName}, new PyObject[] {});
 	}
 
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!super.seek(stepIndex)) return false;
+		currentPoint = null;
+		return true;
+	}
+
 	@Override
 	public boolean hasNext() {
 		if (pyIterator.hasNext()) {
@@ -23,6 +23,8 @@ import org.eclipse.scanning.api.points.models.OneDEqualSpacingModel;
 import org.eclipse.scanning.api.points.models.OneDStepModel;
 import org.eclipse.scanning.api.points.models.StepModel;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgLineGenerator;
+import org.eclipse.scanning.points.spg.SpgPointIterator;
 import org.python.core.PyList;
 
 class LineIterator extends AbstractScanPointIterator {
@@ -31,7 +33,7 @@ class LineIterator extends AbstractScanPointIterator {
 	private double value;
 	private int index;
 	
-	public LineIterator(StepGenerator gen) {
+	public LineIterator(StepGenerator gen, GeneratorEngine engine) {
 		this.model = gen.getModel();
 		value = model.getStart() - model.getStep();
 
@@ -43,11 +45,16 @@ class LineIterator extends AbstractScanPointIterator {
         int numPoints = (int) ((stop - start) / model.getStep() + 1);
 		this.index = 0;
        
+		if (engine == GeneratorEngine.JAVA) {
+			pyIterator = createJavaGenerator(new SpgLineGenerator(name, start, stop, numPoints, false), SpgPointIterator.Style.SCALAR);
+			return;
+		}
+
 		ScanPointIterator iterator = lineGeneratorFactory.createObject(name, "mm", start, stop, numPoints);
 		pyIterator = iterator;
 	}
 	
-	public LineIterator(OneDEqualSpacingGenerator gen) {
+	public LineIterator(OneDEqualSpacingGenerator gen, GeneratorEngine engine) {
 		OneDEqualSpacingModel model= gen.getModel();
 		BoundingLine line = model.getBoundingLine();
 
@@ -63,12 +70,18 @@ class LineIterator extends AbstractScanPointIterator {
 		double[] start = {line.getxStart() + xStep/2, line.getyStart() + yStep/2};
 		double[] stop = {line.getxStart() + xStep * (numPoints - 0.5), line.getyStart() + yStep * (numPoints - 0.5)};
 
+		if (engine == GeneratorEngine.JAVA) {
+			String[] axes = {model.getFastAxisName(), model.getSlowAxisName()};
+			pyIterator = createJavaGenerator(new SpgLineGenerator(axes, start, stop, numPoints, false), SpgPointIterator.Style.LINE);
+			return;
+		}
+
 		ScanPointIterator iterator = lineGeneratorFactory.createObject(
 				names, units, start, stop, numPoints);
 		pyIterator = iterator;
 	}
 	
-	public LineIterator(OneDStepGenerator gen) {
+	public LineIterator(OneDStepGenerator gen, GeneratorEngine engine) {
 		OneDStepModel model= gen.getModel();
 		BoundingLine line = model.getBoundingLine();
 
@@ -82,12 +95,25 @@ class LineIterator extends AbstractScanPointIterator {
 		PyList units = new PyList(Arrays.asList(new String[] {"mm", "mm"}));
 		double[] start = {line.getxStart(), line.getyStart()};
         double[] stop = {line.getxStart() + xStep * numPoints, line.getyStart() + yStep * numPoints};
+
+		if (engine == GeneratorEngine.JAVA) {
+			String[] axes = {model.getFastAxisName(), model.getSlowAxisName()};
+			pyIterator = createJavaGenerator(new SpgLineGenerator(axes, start, stop, numPoints, false), SpgPointIterator.Style.LINE);
+			return;
+		}
         
 		ScanPointIterator iterator = lineGeneratorFactory.createObject(
 				names, units, start, stop, numPoints);
 		pyIterator = iterator;
 	}
 
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!super.seek(stepIndex)) return false;
+		index = stepIndex;
+		return true;
+	}
+
 	@Override
 	public boolean hasNext() {
 		return pyIterator.hasNext();
@@ -18,6 +18,9 @@ import org.eclipse.scanning.api.points.Point;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.LissajousModel;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgGenerator;
+import org.eclipse.scanning.points.spg.SpgLissajousGenerator;
+import org.eclipse.scanning.points.spg.SpgMutator;
 import org.python.core.PyDictionary;
 import org.python.core.PyList;
 import org.python.core.PyObject;
@@ -28,7 +31,7 @@ class LissajousIterator extends AbstractScanPointIterator {
 	
 	private Point currentPoint;
 
-	public LissajousIterator(LissajousGenerator gen) {
+	public LissajousIterator(LissajousGenerator gen, GeneratorEngine engine) {
 		this.model     = gen.getModel();
 
 		String xName = model.getFastAxisName();
@@ -36,6 +39,16 @@ class LissajousIterator extends AbstractScanPointIterator {
 		double width = model.getBoundingBox().getFastAxisLength();
 		double height = model.getBoundingBox().getSlowAxisLength();
 		
+		if (engine == GeneratorEngine.JAVA) {
+			double[] centre = {model.getBoundingBox().getFastAxisStart() + width / 2,
+					           model.getBoundingBox().getSlowAxisStart() + height / 2};
+			SpgGenerator lissajous = new SpgLissajousGenerator(new String[] {xName, yName}, centre,
+					new double[] {width, height}, (int) (model.getA() / model.getB()), model.getPoints(), false);
+			pyIterator = createJavaCompoundGenerator(new SpgGenerator[] {lissajous}, gen.getRegions().toArray(),
+					new String[] {xName, yName}, new SpgMutator[] {});
+			return;
+		}
+
         JythonObjectFactory<ScanPointIterator> lissajousGeneratorFactory = ScanPointGeneratorFactory.JLissajousGeneratorFactory();
 
         PyDictionary box = new PyDictionary();
@@ -55,6 +68,13 @@ class LissajousIterator extends AbstractScanPointIterator {
 				new String[] {xName, yName}, new PyObject[] {});
 	}
 
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!super.seek(stepIndex)) return false;
+		currentPoint = null;
+		return true;
+	}
+
 	@Override
 	public boolean hasNext() {
 		if (pyIterator.hasNext()) {
@@ -14,7 +14,6 @@ package org.eclipse.scanning.points;
 import java.text.MessageFormat;
 
 import org.eclipse.scanning.api.ModelValidationException;
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.MultiStepModel;
 import org.eclipse.scanning.api.points.models.StepModel;
@@ -24,7 +23,7 @@ import org.eclipse.scanning.api.points.models.StepModel;
  * 
  * @author Matthew Dickie
  */
-class MultiStepGenerator extends AbstractGenerator<MultiStepModel> {
+class MultiStepGenerator extends AbstractScanPointGenerator<MultiStepModel> {
 
 	MultiStepGenerator() {
 		setLabel("Multi-step");
@@ -36,8 +35,8 @@ class MultiStepGenerator extends AbstractGenerator<MultiStepModel> {
 	}
 
 	@Override
-	protected ScanPointIterator iteratorFromValidModel() {
-		return new MultiStepIterator(model);
+	protected ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new MultiStepIterator(model, engine);
 	}
 
 	protected void validateModel() {
@@ -20,6 +20,8 @@ import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.MultiStepModel;
 import org.eclipse.scanning.api.points.models.StepModel;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgArrayGenerator;
+import org.eclipse.scanning.points.spg.SpgPointIterator;
 
 /**
  * An iterator over multiple step ranges. Acts essentially as a sequence of
@@ -36,12 +38,21 @@ public class MultiStepIterator extends AbstractScanPointIterator {
 	private double[]             times; 
 	
 	public MultiStepIterator(MultiStepModel model) {
+		this(model, GeneratorEngine.getDefault());
+	}
+
+	public MultiStepIterator(MultiStepModel model, GeneratorEngine engine) {
 		this.model = model;
 		
-		JythonObjectFactory<ScanPointIterator> arrayGeneratorFactory = ScanPointGeneratorFactory.JArrayGeneratorFactory();
-
 		createPositions();
 
+		if (engine == GeneratorEngine.JAVA) {
+			pyIterator = createJavaGenerator(new SpgArrayGenerator(model.getName(), points, false), SpgPointIterator.Style.SCALAR);
+			return;
+		}
+
+		JythonObjectFactory<ScanPointIterator> arrayGeneratorFactory = ScanPointGeneratorFactory.JArrayGeneratorFactory();
+
 		ScanPointIterator iterator = arrayGeneratorFactory.createObject(model.getName(), "mm", points);
 		pyIterator = iterator;
 	}
@@ -94,6 +105,13 @@ public class MultiStepIterator extends AbstractScanPointIterator {
 		}
 	}
 	
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!super.seek(stepIndex)) return false;
+		index = stepIndex;
+		return true;
+	}
+
 	@Override
 	public boolean hasNext() {
 		return pyIterator.hasNext();
@@ -12,13 +12,12 @@
 package org.eclipse.scanning.points;
 
 import org.eclipse.scanning.api.ModelValidationException;
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.BoundingLine;
 import org.eclipse.scanning.api.points.models.OneDStepModel;
 
-class OneDStepGenerator extends AbstractGenerator<OneDStepModel> {
+class OneDStepGenerator extends AbstractScanPointGenerator<OneDStepModel> {
 
 	OneDStepGenerator() {
 		setLabel("Point");
@@ -32,8 +31,8 @@ class OneDStepGenerator extends AbstractGenerator<OneDStepModel> {
 	}
 
 	@Override
-	protected ScanPointIterator iteratorFromValidModel() {
-		return new LineIterator(this);
+	protected ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new LineIterator(this, engine);
 	}
 
 	@Override
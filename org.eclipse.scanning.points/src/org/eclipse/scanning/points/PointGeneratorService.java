@@ -97,6 +97,87 @@ public class PointGeneratorService implements IPointGeneratorService {
 		info       = Collections.unmodifiableMap(tinfo);
 	}
 	
+	private GeneratorEngine engine;
+	
+	/**
+	 * Compound generators by the content of their model. The number of generators
+	 * kept may be set with the system property org.eclipse.scanning.points.cacheSize,
+	 * 0 turns off the cache.
+	 */
+	private final GeneratorCache cache = new GeneratorCache(Integer.getInteger("org.eclipse.scanning.points.cacheSize", 16));
+	
+	public PointGeneratorService() {
+		this(GeneratorEngine.getDefault());
+	}
+	
+	/**
+	 * Create a service whose generators use the given engine
+	 * to calculate scan points.
+	 * 
+	 * @param engine
+	 */
+	public PointGeneratorService(GeneratorEngine engine) {
+		this.engine = engine;
+	}
+	
+	public GeneratorEngine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Set the engine used by generators created after this call.
+	 * @param engine
+	 */
+	public void setEngine(GeneratorEngine engine) {
+		this.engine = engine;
+	}
+	
+	/**
+	 * The number of times {@link #createCompoundGenerator(CompoundModel)} returned a cached generator.
+	 * @return
+	 */
+	public long getCacheHits() {
+		return cache.getHits();
+	}
+	
+	/**
+	 * The number of times {@link #createCompoundGenerator(CompoundModel)} had to make a generator.
+	 * @return
+	 */
+	public long getCacheMisses() {
+		return cache.getMisses();
+	}
+	
+	/**
+	 * The number of compound generators currently cached.
+	 * @return
+	 */
+	public int getCacheSize() {
+		return cache.size();
+	}
+	
+	public int getCacheCapacity() {
+		return cache.getCapacity();
+	}
+	
+	/**
+	 * Set the number of compound generators which are kept, the least
+	 * recently used are discarded first. 0 turns off the cache.
+	 * @param capacity
+	 */
+	public void setCacheCapacity(int capacity) {
+		cache.setCapacity(capacity);
+	}
+	
+	public void clearCache() {
+		cache.clear();
+	}
+	
+	private <T> IPointGenerator<T> configure(IPointGenerator<T> gen) {
+		if (gen instanceof AbstractScanPointGenerator) ((AbstractScanPointGenerator<T>)gen).setEngine(engine);
+		return gen;
+	}
+
 	public Map<Class<? extends IScanPathModel>, Class<? extends IPointGenerator>> getGenerators() {
 		return generators;
 	}
@@ -104,7 +185,7 @@ public class PointGeneratorService implements IPointGeneratorService {
 	@Override
 	public <T, R> IPointGenerator<T> createGenerator(T model, Collection<R> regions) throws GeneratorException {
 		try {
-			IPointGenerator<T> gen = (IPointGenerator<T>)generators.get(model.getClass()).newInstance();
+			IPointGenerator<T> gen = configure((IPointGenerator<T>)generators.get(model.getClass()).newInstance());
 			if (regions != null && !regions.isEmpty())  {
 				setBounds(model, new ArrayList<>(regions));
 				gen.setContainers(wrap(regions));
@@ -224,7 +305,7 @@ public class PointGeneratorService implements IPointGeneratorService {
 	
 	@Override
 	public IPointGenerator<?> createCompoundGenerator(IPointGenerator<?>... generators) throws GeneratorException {
-		return new CompoundGenerator(generators);
+		return configure(new CompoundGenerator(generators));
 	}
 
 	@Override
@@ -236,7 +317,7 @@ public class PointGeneratorService implements IPointGeneratorService {
 	public <T extends IScanPathModel> IPointGenerator<T> createGenerator(String id) throws GeneratorException {
 		try {
 			GeneratorInfo ginfo = info.get(id);
-			IPointGenerator<T> gen = ginfo.getGeneratorClass().newInstance();
+			IPointGenerator<T> gen = configure(ginfo.getGeneratorClass().newInstance());
 			T                  mod = (T)ginfo.getModelClass().newInstance();
 			gen.setModel(mod);
 			if (ginfo.getLabel()!=null) gen.setLabel(ginfo.getLabel());
@@ -248,9 +329,32 @@ public class PointGeneratorService implements IPointGeneratorService {
 		}
 	}
 
+	/**
+	 * Compound generators are cached by the content of the compound model, so
+	 * the same generator is returned for equal models. The generator is made
+	 * from a copy of the model, so changing the model afterwards does not change
+	 * it, and the generator, its size, shape and first point are shared so it
+	 * cannot be changed and its positions must not be.
+	 */
 	@Override
 	public IPointGenerator<?> createCompoundGenerator(CompoundModel<?> cmodel) throws GeneratorException {
 		
+		final GeneratorEngine engine = this.engine;
+		IPointGenerator<?> gen = cache.get(cmodel, engine);
+		if (gen!=null) return gen;
+		
+		// Made from the model first, as a generator with regions can set the bounds of the model.
+		gen = newCompoundGenerator(cmodel);
+		final CompoundModel<?> copy = cache.copy(cmodel);
+		if (copy==null) return gen;
+		
+		gen = newCompoundGenerator(copy);
+		cache.put(copy, engine, gen);
+		return gen;
+	}
+	
+	private IPointGenerator<?> newCompoundGenerator(CompoundModel<?> cmodel) throws GeneratorException {
+		
 		IPointGenerator<?>[] gens = new IPointGenerator<?>[cmodel.getModels().size()];
 		int index = 0;
 		for (Object model : cmodel.getModels()) {
@@ -32,8 +32,8 @@ public class RandomOffsetGridGenerator extends GridGenerator {
 	}
 
 	@Override
-	public ScanPointIterator iteratorFromValidModel() {
-		return new GridIterator(this);
+	public ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new GridIterator(this, engine);
 	}
 
 }
\ No newline at end of file
@@ -12,11 +12,10 @@
 package org.eclipse.scanning.points;
 
 import org.eclipse.scanning.api.ModelValidationException;
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.RasterModel;
 
-class RasterGenerator extends AbstractGenerator<RasterModel> {
+class RasterGenerator extends AbstractScanPointGenerator<RasterModel> {
 	
 	RasterGenerator() {
 		setLabel("Raster");
@@ -40,8 +39,8 @@ class RasterGenerator extends AbstractGenerator<RasterModel> {
 			throw new ModelValidationException("Model slow axis step is directed so as to produce no points!", model, "slowAxisStep");
 	}
 
-	public ScanPointIterator iteratorFromValidModel() {
-		return new GridIterator(this);
+	public ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new GridIterator(this, engine);
 	}
 
 }
@@ -15,12 +15,27 @@ package org.eclipse.scanning.points;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.jython.JythonObjectFactory;
 import org.python.core.PyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Based on JythonObjectFactory
  * See: http://www.jython.org/jythonbook/en/1.0/JythonAndJavaIntegration.html#more-efficient-version-of-loosely-coupled-object-factory
  */
 public class ScanPointGeneratorFactory {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScanPointGeneratorFactory.class);
+
+	private static final String MODULE = "jython_spg_interface";
+
+	/**
+	 * The classes which are imported by {@link #init()}
+	 */
+	private static final String[] CLASSES = {
+		"JLineGenerator1D", "JLineGenerator2D", "JArrayGenerator", "JSpiralGenerator", "JLissajousGenerator",
+		"JCompoundGenerator", "JRandomOffsetMutator", "JCircularROI", "JEllipticalROI", "JPointROI",
+		"JPolygonalROI", "JRectangularROI", "JSectorROI", "JExcluder"
+	};
 	
 	/**
 	 * Call to load Jython asynchronously to avoid the
@@ -28,14 +43,19 @@ public class ScanPointGeneratorFactory {
 	 * 
 	 * Call this method to load jython in a daemon thread such that
 	 * when it is first used, for instance in the UI, it will execute
-	 * fast because the interpreter has classloaded.
+	 * fast because the interpreter has classloaded and all the
+	 * generator classes have been imported.
 	 */
 	public static void init() {
 		
 		final Thread background = new Thread() {
 			public void run() {
-				// Loading one causes Jython to class load.
-				ScanPointGeneratorFactory.JLineGenerator1DFactory();
+				try {
+					long time = JythonObjectFactory.warm(MODULE, CLASSES);
+					logger.info("Jython point generators loaded in {}ms", time);
+				} catch (Exception ne) {
+					logger.error("Cannot load the jython point generators!", ne);
+				}
 			}
 		};
 		background.setDaemon(true);
@@ -53,59 +73,59 @@ public class ScanPointGeneratorFactory {
 	// for example, "JArrayGenerator" with your new class and give the constructor a new name
 	// like "<YourClass>Factory"
     public static JythonObjectFactory<ScanPointIterator> JLineGenerator1DFactory() {
-        return new JythonObjectFactory<>(ScanPointIterator.class, "jython_spg_interface", "JLineGenerator1D");
+        return new JythonObjectFactory<>(ScanPointIterator.class, MODULE, "JLineGenerator1D");
     }
 
 	public static JythonObjectFactory<ScanPointIterator> JLineGenerator2DFactory() {
-        return new JythonObjectFactory<>(ScanPointIterator.class, "jython_spg_interface", "JLineGenerator2D");
+        return new JythonObjectFactory<>(ScanPointIterator.class, MODULE, "JLineGenerator2D");
     }
 	
     public static JythonObjectFactory<ScanPointIterator> JArrayGeneratorFactory() {
-        return new JythonObjectFactory<>(ScanPointIterator.class, "jython_spg_interface", "JArrayGenerator");
+        return new JythonObjectFactory<>(ScanPointIterator.class, MODULE, "JArrayGenerator");
     }
 	
 	public static JythonObjectFactory<ScanPointIterator> JSpiralGeneratorFactory() {
-        return new JythonObjectFactory<>(ScanPointIterator.class, "jython_spg_interface", "JSpiralGenerator");
+        return new JythonObjectFactory<>(ScanPointIterator.class, MODULE, "JSpiralGenerator");
     }
 	
     public static JythonObjectFactory<ScanPointIterator> JLissajousGeneratorFactory() {
-        return new JythonObjectFactory<>(ScanPointIterator.class, "jython_spg_interface", "JLissajousGenerator");
+        return new JythonObjectFactory<>(ScanPointIterator.class, MODULE, "JLissajousGenerator");
     }
 	
     public static JythonObjectFactory<ScanPointIterator> JCompoundGeneratorFactory() {
-        return new JythonObjectFactory<>(ScanPointIterator.class, "jython_spg_interface", "JCompoundGenerator");
+        return new JythonObjectFactory<>(ScanPointIterator.class, MODULE, "JCompoundGenerator");
     }
 	
     public static JythonObjectFactory<PyObject> JRandomOffsetMutatorFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JRandomOffsetMutator");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JRandomOffsetMutator");
     }
 
     public static JythonObjectFactory<PyObject> JCircularROIFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JCircularROI");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JCircularROI");
     }
     
     public static JythonObjectFactory<PyObject> JEllipticalROIFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JEllipticalROI");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JEllipticalROI");
     }
     
     public static JythonObjectFactory<PyObject> JPointROIFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JPointROI");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JPointROI");
     }
     
     public static JythonObjectFactory<PyObject> JPolygonalROIFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JPolygonalROI");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JPolygonalROI");
     }
     
     public static JythonObjectFactory<PyObject> JRectangularROIFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JRectangularROI");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JRectangularROI");
     }
     
     public static JythonObjectFactory<PyObject> JSectorROIFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JSectorROI");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JSectorROI");
     }
     
     public static JythonObjectFactory<PyObject> JExcluderFactory() {
-        return new JythonObjectFactory<>(PyObject.class, "jython_spg_interface", "JExcluder");
+        return new JythonObjectFactory<>(PyObject.class, MODULE, "JExcluder");
     }
  
 }
\ No newline at end of file
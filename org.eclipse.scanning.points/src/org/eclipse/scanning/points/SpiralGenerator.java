@@ -12,11 +12,10 @@
 package org.eclipse.scanning.points;
 
 import org.eclipse.scanning.api.ModelValidationException;
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.SpiralModel;
 
-class SpiralGenerator extends AbstractGenerator<SpiralModel> {
+class SpiralGenerator extends AbstractScanPointGenerator<SpiralModel> {
 
 	SpiralGenerator() {
 		setLabel("Fermat Spiral");
@@ -25,8 +24,8 @@ class SpiralGenerator extends AbstractGenerator<SpiralModel> {
 	}
 	
 	@Override
-	public ScanPointIterator iteratorFromValidModel() {
-		return new SpiralIterator(this);
+	public ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new SpiralIterator(this, engine);
 	}
 
 	@Override
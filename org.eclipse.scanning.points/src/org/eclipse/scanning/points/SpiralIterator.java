@@ -18,6 +18,9 @@ import org.eclipse.scanning.api.points.Point;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.SpiralModel;
 import org.eclipse.scanning.jython.JythonObjectFactory;
+import org.eclipse.scanning.points.spg.SpgGenerator;
+import org.eclipse.scanning.points.spg.SpgMutator;
+import org.eclipse.scanning.points.spg.SpgSpiralGenerator;
 import org.python.core.PyList;
 import org.python.core.PyObject;
 
@@ -32,7 +35,7 @@ class SpiralIterator extends AbstractScanPointIterator {
 	
 	private Point currentPoint;
 
-	public SpiralIterator(SpiralGenerator gen) {
+	public SpiralIterator(SpiralGenerator gen, GeneratorEngine engine) {
 		
 		SpiralModel model = gen.getModel();
 		this.xName = model.getFastAxisName();
@@ -44,6 +47,14 @@ class SpiralIterator extends AbstractScanPointIterator {
 		yCentre = model.getBoundingBox().getSlowAxisStart() + radiusY;
 		maxRadius = Math.sqrt(radiusX * radiusX + radiusY * radiusY);
         
+		if (engine == GeneratorEngine.JAVA) {
+			SpgGenerator spiral = new SpgSpiralGenerator(new String[] {xName, yName}, new double[] {xCentre, yCentre},
+					maxRadius, model.getScale(), false);
+			pyIterator = createJavaCompoundGenerator(new SpgGenerator[] {spiral}, gen.getRegions().toArray(),
+					new String[] {xName, yName}, new SpgMutator[] {});
+			return;
+		}
+
         JythonObjectFactory<ScanPointIterator> spiralGeneratorFactory = ScanPointGeneratorFactory.JSpiralGeneratorFactory();
 
         PyList names =  new PyList(Arrays.asList(new String[] {xName, yName}));
@@ -59,6 +70,13 @@ class SpiralIterator extends AbstractScanPointIterator {
 				new String[] {xName, yName}, new PyObject[] {});
 	}
 
+	@Override
+	public boolean seek(int stepIndex) {
+		if (!super.seek(stepIndex)) return false;
+		currentPoint = null;
+		return true;
+	}
+
 	@Override
 	public boolean hasNext() {
 		if (pyIterator.hasNext()) {
@@ -12,12 +12,11 @@
 package org.eclipse.scanning.points;
 
 import org.eclipse.scanning.api.ModelValidationException;
-import org.eclipse.scanning.api.points.AbstractGenerator;
 import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.StepModel;
 
-class StepGenerator extends AbstractGenerator<StepModel> {
+class StepGenerator extends AbstractScanPointGenerator<StepModel> {
 	
 	StepGenerator() {
 		setLabel("Step");
@@ -40,8 +39,8 @@ class StepGenerator extends AbstractGenerator<StepModel> {
 	}
 	
 	@Override
-	public ScanPointIterator iteratorFromValidModel() {
-		return new LineIterator(this);
+	public ScanPointIterator iteratorFromValidModel(GeneratorEngine engine) {
+		return new LineIterator(this, engine);
 	}
 
 	@Override
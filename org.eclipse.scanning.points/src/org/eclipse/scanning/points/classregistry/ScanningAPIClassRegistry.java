@@ -51,6 +51,7 @@ import org.eclipse.scanning.api.malcolm.attributes.StringArrayAttribute;
 import org.eclipse.scanning.api.malcolm.attributes.StringAttribute;
 import org.eclipse.scanning.api.malcolm.attributes.TableAttribute;
 import org.eclipse.scanning.api.malcolm.event.MalcolmEventBean;
+import org.eclipse.scanning.api.points.ArrayPosition;
 import org.eclipse.scanning.api.points.MapPosition;
 import org.eclipse.scanning.api.points.Point;
 import org.eclipse.scanning.api.points.Scalar;
@@ -115,6 +116,7 @@ public class ScanningAPIClassRegistry implements IClassRegistry {
 		
 		// points
 		registerClass(tmp, StaticPosition.class);
+		registerClass(tmp, ArrayPosition.class);
 		registerClass(tmp, MapPosition.class);
 		registerClass(tmp, Point.class);
 		registerClass(tmp, Scalar.class);
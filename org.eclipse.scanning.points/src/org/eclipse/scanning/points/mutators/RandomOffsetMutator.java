@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.scanning.points.mutators;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
@@ -20,7 +21,9 @@ import org.eclipse.scanning.points.ScanPointGeneratorFactory;
 import org.python.core.PyDictionary;
 import org.python.core.PyList;
 
-public class RandomOffsetMutator implements IMutator {
+public class RandomOffsetMutator implements IMutator, Serializable {
+
+	private static final long serialVersionUID = -6358021773465316148L;
 
 	private int seed;
 	private List<String> axes;
@@ -0,0 +1,48 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+/**
+ * Java port of scanpointgenerator.generators.ArrayGenerator,
+ * points taken from a given array of positions.
+ */
+public class SpgArrayGenerator extends SpgGenerator {
+
+	private final double[] points;
+
+	public SpgArrayGenerator(String axis, double[] points, boolean alternate) {
+		super(new String[]{axis}, alternate);
+		this.points = points.clone();
+		this.size   = points.length;
+	}
+
+	@Override
+	protected double calculatePosition(int axis, int index) {
+		// The python interpolates between neighbours of a linearly extended
+		// array; for whole number indices the fraction is always zero but
+		// the sum is kept so that signed zeros come out the same.
+		final double epsilon = 0;
+		final double next;
+		if (index < size-1) {
+			next = points[index+1];
+		} else if (size > 1) {
+			next = points[index] + (points[index] - points[index-1]);
+		} else {
+			next = points[index];
+		}
+		return points[index] + epsilon * (next - points[index]);
+	}
+
+	public double[] getPoints() {
+		return points.clone();
+	}
+}
@@ -0,0 +1,335 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Java port of scanpointgenerator.core.CompoundGenerator. Nests
+ * generators, applies excluders to relevant generator pairs and applies
+ * any mutators to each point.
+ * <p>
+ * The points are calculated by index so the generator may be read in any
+ * order once {@link #prepare()} has been called. Positions are written to
+ * a double[] ordered as {@link #getAxes()} and indices to an int[] with
+ * one entry per dimension, no objects are made per point.
+ */
+public class SpgCompoundGenerator {
+
+	private final List<SpgGenerator> generators;
+	private final List<SpgExcluder>  excluders;
+	private final List<SpgMutator>   mutators;
+	private final List<String>       axes;
+	private final double             duration;
+
+	private volatile boolean   prepared;
+	private List<SpgDimension> dimensions;
+	private int[]              repeats;  // Per dimension
+	private int[][]            axisMap;  // Per dimension, per generator, the index of each of its axes in axes
+	private int                size;
+	private int[]              shape;
+
+	public SpgCompoundGenerator(List<? extends SpgGenerator> generators, List<SpgExcluder> excluders, List<? extends SpgMutator> mutators, double duration) {
+		this.generators = Collections.unmodifiableList(new ArrayList<>(generators));
+		this.excluders  = Collections.unmodifiableList(new ArrayList<>(excluders));
+		this.mutators   = Collections.unmodifiableList(new ArrayList<>(mutators));
+		this.duration   = duration;
+
+		List<String> axes = new ArrayList<>();
+		for (SpgGenerator g : generators) axes.addAll(g.getAxes());
+		if (axes.size() != new HashSet<>(axes).size()) throw new IllegalArgumentException("Axis names cannot be duplicated");
+		this.axes = Collections.unmodifiableList(axes);
+	}
+
+	/**
+	 * Nest compound generators by flattening their generators, excluders and
+	 * mutators into one compound generator, the equivalent of JCompoundGenerator.
+	 * Excluders and mutators attached to more than one of the generators are only
+	 * applied once.
+	 *
+	 * @param children
+	 * @param excluders
+	 * @param mutators
+	 * @param duration
+	 * @return
+	 */
+	public static SpgCompoundGenerator nest(List<SpgCompoundGenerator> children, List<SpgExcluder> excluders, List<? extends SpgMutator> mutators, double duration) {
+		List<SpgGenerator> gens = new ArrayList<>();
+		List<SpgExcluder>  excs = new ArrayList<>(excluders);
+		List<SpgMutator>   muts = new ArrayList<>(mutators);
+		for (SpgCompoundGenerator child : children) {
+			gens.addAll(child.generators);
+			for (SpgExcluder e : child.excluders) if (!excs.contains(e)) excs.add(e);
+			for (SpgMutator m : child.mutators)   if (!muts.contains(m)) muts.add(m);
+		}
+		return new SpgCompoundGenerator(gens, excs, muts, duration);
+	}
+
+	/**
+	 * Prepare data structures required for point generation and
+	 * initialize size, shape, and dimensions. Must be called before
+	 * getPoint(...)
+	 */
+	public synchronized void prepare() {
+		if (prepared) return;
+
+		List<SpgExcluder>  excluders  = new ArrayList<>(this.excluders);
+		List<SpgGenerator> generators = new ArrayList<>(this.generators);
+
+		// special case if we have rectangular regions on line generators
+		// we should restrict the resulting grid rather than merge dimensions
+		// this changes the alternating case a little (without doing this, we
+		// may have started in reverse direction)
+		for (SpgExcluder excluder : this.excluders) {
+			if (excluder.getRois().size() != 1) continue;
+			if (!(excluder.getRois().get(0) instanceof SpgRoi.Rectangular)) continue;
+			SpgRoi.Rectangular rect = (SpgRoi.Rectangular) excluder.getRois().get(0);
+			if (rect.getAngle() != 0) continue;
+
+			String axis1 = excluder.getAxes().get(0), axis2 = excluder.getAxes().get(1);
+			SpgGenerator gen1 = find(generators, axis1);
+			SpgGenerator gen2 = find(generators, axis2);
+			if (gen1 == gen2) continue;
+			if (gen1 instanceof SpgLineGenerator && gen2 instanceof SpgLineGenerator) {
+				gen1.preparePositions();
+				gen2.preparePositions();
+				double[] start = rect.getStart();
+				double[] points1 = filter(gen1.getPositions(axis1), start[0], rect.getWidth() + start[0]);
+				double[] points2 = filter(gen2.getPositions(axis2), start[1], rect.getHeight() + start[1]);
+				if (points1.length == 0 || points2.length == 0) throw new IllegalArgumentException("Regions would exclude entire scan");
+				// Recreate generators to replace larger generators + ROI
+				generators.set(generators.indexOf(gen1), createLine(gen1, points1));
+				generators.set(generators.indexOf(gen2), createLine(gen2, points2));
+				// Remove Excluder as it is now empty
+				excluders.remove(excluder);
+			}
+		}
+
+		List<SpgDimension> dimensions = new ArrayList<>(generators.size());
+		for (SpgGenerator generator : generators) {
+			generator.preparePositions();
+			dimensions.add(new SpgDimension(generator));
+		}
+
+		for (SpgExcluder excluder : excluders) {
+			String axis1 = excluder.getAxes().get(0), axis2 = excluder.getAxes().get(1);
+			int genDiff = generators.indexOf(find(generators, axis1)) - generators.indexOf(find(generators, axis2));
+			if (genDiff < -1 || genDiff > 1) {
+				throw new IllegalArgumentException("Excluders must be defined on axes that are adjacent in generator order");
+			}
+
+			// merge dimensions if region spans two
+			SpgDimension dim1 = findDimension(dimensions, axis1);
+			SpgDimension dim2 = findDimension(dimensions, axis2);
+			int dimDiff = dimensions.indexOf(dim1) - dimensions.indexOf(dim2);
+			if (dimDiff == 1) {
+				SpgDimension d = dim1; dim1 = dim2; dim2 = d;
+				dimDiff = -1;
+			}
+			if (dim1.isAlternate() != dim2.isAlternate() && dim1 != dimensions.get(0)) {
+				throw new IllegalArgumentException("Generators tied by regions must have the same alternate setting");
+			}
+			// merge "inner" into "outer"
+			SpgDimension dim;
+			if (dimDiff == -1) {
+				// dim1 is "outer" - preserves axis ordering
+				dim = SpgDimension.merge(dim1, dim2);
+				dimensions.set(dimensions.indexOf(dim1), dim);
+				dimensions.remove(dim2);
+			} else {
+				dim = dim1;
+			}
+			dim.applyExcluder(excluder);
+		}
+
+		int size = 1;
+		for (SpgDimension dim : dimensions) {
+			dim.prepare();
+			if (dim.getSize() == 0) throw new IllegalArgumentException("Regions would exclude entire scan");
+			size *= dim.getSize();
+		}
+
+		int[] shape   = new int[dimensions.size()];
+		int[] repeats = new int[dimensions.size()];
+		int repeat = size;
+		for (int i = 0; i < shape.length; i++) {
+			shape[i]   = dimensions.get(i).getSize();
+			repeat    /= shape[i];
+			repeats[i] = repeat;
+		}
+
+		int[][] axisMap = new int[generators.size()][];
+		int igen = 0;
+		for (SpgDimension dim : dimensions) {
+			for (SpgGenerator g : dim.getGenerators()) {
+				axisMap[igen] = new int[g.getAxes().size()];
+				for (int i = 0; i < axisMap[igen].length; i++) axisMap[igen][i] = axes.indexOf(g.getAxes().get(i));
+				igen++;
+			}
+		}
+
+		this.dimensions = Collections.unmodifiableList(dimensions);
+		this.repeats    = repeats;
+		this.axisMap    = axisMap;
+		this.shape      = shape;
+		this.size       = size;
+		this.prepared   = true;
+	}
+
+	private static SpgGenerator find(List<SpgGenerator> generators, String axis) {
+		for (SpgGenerator g : generators) if (g.getAxes().contains(axis)) return g;
+		throw new IllegalArgumentException("No generator for axis "+axis);
+	}
+
+	private static SpgDimension findDimension(List<SpgDimension> dimensions, String axis) {
+		for (SpgDimension d : dimensions) if (d.getAxes().contains(axis)) return d;
+		throw new IllegalArgumentException("No dimension for axis "+axis);
+	}
+
+	private static double[] filter(double[] positions, double lower, double upper) {
+		int count = 0;
+		double[] ret = new double[positions.length];
+		for (double p : positions) {
+			if (p <= upper && p >= lower) ret[count++] = p;
+		}
+		double[] trimmed = new double[count];
+		System.arraycopy(ret, 0, trimmed, 0, count);
+		return trimmed;
+	}
+
+	private static SpgLineGenerator createLine(SpgGenerator line, double[] points) {
+		if (line.getAxes().size() != 1) throw new IllegalArgumentException("Dimensions of axes, start and stop do not match");
+		return new SpgLineGenerator(line.getAxes().toArray(new String[1]), new double[]{points[0]}, new double[]{points[points.length-1]}, points.length, line.isAlternate());
+	}
+
+	/**
+	 * Calculate the point n, which must be less than size.
+	 *
+	 * @param n the index of the point in the scan
+	 * @param positions array of length getAxes().size() filled with the position of each axis
+	 * @param indices array of length getRank() filled with the index of each dimension
+	 */
+	public void getPoint(int n, double[] positions, int[] indices) {
+		if (!prepared) throw new IllegalStateException("CompoundGenerator has not been prepared");
+		if (n < 0 || n >= size) throw new IndexOutOfBoundsException("Requested point is out of range");
+
+		// need to know how far along each dimension we are
+		// and, in the case of alternating indices, how many
+		// times we've run through them. Only the parity of the
+		// "cumulative" k is needed.
+		boolean kcOdd = false;
+		int igen = 0;
+		for (int d = 0; d < repeats.length; d++) {
+			SpgDimension dim = dimensions.get(d);
+			int dsize = dim.getSize();
+			int i = (n / repeats[d]) % dsize;
+			int k = dim.getIndex(i);
+			if (dim.isAlternate() && kcOdd) {
+				i = dsize - i - 1;
+			}
+			kcOdd = (kcOdd && dsize % 2 == 1) != (k % 2 == 1);
+			k = dim.getIndex(i);
+			indices[d] = i;
+
+			// need point k along each generator in dimension
+			// in alternating case, need to sometimes go backward
+			List<SpgGenerator> gens = dim.getGenerators();
+			for (int ig = 0; ig < gens.size(); ig++, igen++) {
+				SpgGenerator g = gens.get(ig);
+				int j = k / dim.getGeneratorRepeat(ig);
+				int r = j / g.getSize();
+				j %= g.getSize();
+				if (dim.isAlternate() && ig > 0 && r % 2 == 1) {
+					// the top level generator's direction is handled by
+					// the fact that the reverse direction was appended
+					j = g.getSize() - j - 1;
+				}
+				int[] amap = axisMap[igen];
+				for (int a = 0; a < amap.length; a++) {
+					positions[amap[a]] = g.getPositions(a)[j];
+				}
+			}
+		}
+		for (SpgMutator m : mutators) m.mutate(axes, positions, n);
+	}
+
+	/**
+	 * The names of the axes in each dimension, valid only after prepare()
+	 * @return
+	 */
+	public List<List<String>> getDimensionNames() {
+		if (!prepared) throw new IllegalStateException("CompoundGenerator has not been prepared");
+		List<List<String>> names = new ArrayList<>(dimensions.size());
+		for (SpgDimension dim : dimensions) {
+			List<String> dnames = new ArrayList<>();
+			for (SpgGenerator g : dim.getGenerators()) dnames.addAll(g.getAxes());
+			names.add(dnames);
+		}
+		return names;
+	}
+
+	public List<SpgDimension> getDimensions() {
+		if (!prepared) throw new IllegalStateException("CompoundGenerator has not been prepared");
+		return dimensions;
+	}
+
+	public List<SpgGenerator> getGenerators() {
+		return generators;
+	}
+
+	public List<SpgExcluder> getExcluders() {
+		return excluders;
+	}
+
+	public List<SpgMutator> getMutators() {
+		return mutators;
+	}
+
+	/**
+	 * The axes in the order of the generators
+	 * @return
+	 */
+	public List<String> getAxes() {
+		return axes;
+	}
+
+	public double getDuration() {
+		return duration;
+	}
+
+	public boolean isPrepared() {
+		return prepared;
+	}
+
+	/**
+	 * Final number of points to be generated, valid only after prepare()
+	 * @return
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Final shape of the scan, valid only after prepare()
+	 * @return
+	 */
+	public int[] getShape() {
+		return shape.clone();
+	}
+
+	public int getRank() {
+		return shape.length;
+	}
+}
@@ -0,0 +1,292 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Java port of scanpointgenerator.core.Dimension, an unrolled set
+ * of generators joined by excluders representing a single dimension
+ * within a scan.
+ */
+public class SpgDimension {
+
+	/**
+	 * A mask made by an excluder which is expanded to the
+	 * length of the dimension by repeating each element
+	 * and then tiling the whole mask. The tile may be a
+	 * half integer in the case of alternating dimensions.
+	 */
+	private static class Mask {
+		final BitSet mask;
+		final int    length;
+		int          repeat;
+		double       tile;
+		Mask(BitSet mask, int length, int repeat, double tile) {
+			this.mask   = mask;
+			this.length = length;
+			this.repeat = repeat;
+			this.tile   = tile;
+		}
+		Mask copy() {
+			return new Mask(mask, length, repeat, tile);
+		}
+
+		/**
+		 * The mask repeated and tiled to the given length, made by
+		 * setting each run of included points rather than each point.
+		 */
+		BitSet expand(int size) {
+			if (repeat == 1 && length == size) return (BitSet)mask.clone();
+			BitSet ret = new BitSet(size);
+			// A tiled mask repeats with the period of the repeated mask,
+			// including the half tile appended for alternating dimensions.
+			final int period = length * repeat;
+			for (int offset = 0; offset < size; offset += period) {
+				for (int start = mask.nextSetBit(0); start > -1; start = mask.nextSetBit(start)) {
+					if (offset + start * repeat >= size) break;
+					int end = Math.min(mask.nextClearBit(start), length);
+					ret.set(offset + start * repeat, Math.min(offset + end * repeat, size));
+					start = end;
+				}
+			}
+			return ret;
+		}
+	}
+
+	private List<String>       axes;
+	private List<SpgGenerator> generators;
+	private List<Mask>         masks;
+	private boolean            alternate;
+	private int                maxLength;
+	private boolean            prepared;
+
+	/**
+	 * The points of the unmasked dimension which are included, null if all
+	 * are. With the number of included points before each word of the mask
+	 * so that the index of a point can be found without an array of all the
+	 * indices, which would be very large for a masked dimension of a big map.
+	 */
+	private long[] words;
+	private int[]  ranks;
+	private int    size;
+	private int[]  generatorRepeats;
+
+	public SpgDimension(SpgGenerator generator) {
+		this.axes       = new ArrayList<>(generator.getAxes());
+		this.alternate  = generator.isAlternate();
+		this.generators = new ArrayList<>(1);
+		this.generators.add(generator);
+		this.masks      = new ArrayList<>();
+		this.maxLength  = generator.getSize();
+	}
+
+	/**
+	 * Collapse two dimensions into one, with appropriate scaling of the masks
+	 *
+	 * @param outer
+	 * @param inner
+	 * @return
+	 */
+	public static SpgDimension merge(SpgDimension outer, SpgDimension inner) {
+		SpgDimension dim = new SpgDimension(outer.generators.get(0));
+		// masks in the inner generator are tiled by the size of
+		// outer generators and outer generators have their elements
+		// repeated by the size of inner generators
+		List<Mask> outerMasks = new ArrayList<>(outer.masks.size());
+		for (Mask m : outer.masks) {
+			Mask c = m.copy();
+			c.repeat *= inner.maxLength;
+			outerMasks.add(c);
+		}
+		List<Mask> innerMasks = new ArrayList<>(inner.masks.size());
+		for (Mask m : inner.masks) {
+			Mask c = m.copy();
+			c.tile *= outer.maxLength;
+			innerMasks.add(c);
+		}
+		dim.masks = new ArrayList<>(outerMasks);
+		dim.masks.addAll(innerMasks);
+		dim.axes = new ArrayList<>(outer.axes);
+		dim.axes.addAll(inner.axes);
+		dim.generators = new ArrayList<>(outer.generators);
+		dim.generators.addAll(inner.generators);
+		dim.alternate = outer.alternate || inner.alternate;
+		dim.maxLength = outer.maxLength * inner.maxLength;
+		return dim;
+	}
+
+	/**
+	 * Apply an excluder with axes matching some axes in the
+	 * dimension to produce an internal mask.
+	 *
+	 * @param excluder
+	 */
+	public void applyExcluder(SpgExcluder excluder) {
+		if (prepared) throw new IllegalStateException("Can not apply excluders after prepare has been called");
+
+		String axisInner = excluder.getAxes().get(0);
+		String axisOuter = excluder.getAxes().get(1);
+		SpgGenerator genInner = findGenerator(axisInner);
+		SpgGenerator genOuter = findGenerator(axisOuter);
+		double[] pointsX = genInner.getPositions(axisInner);
+		double[] pointsY = genOuter.getPositions(axisOuter);
+		if (generators.indexOf(genInner) > generators.indexOf(genOuter)) {
+			SpgGenerator g = genInner; genInner = genOuter; genOuter = g;
+			String a = axisInner; axisInner = axisOuter; axisOuter = a;
+			double[] p = pointsX; pointsX = pointsY; pointsY = p;
+		}
+		if (alternate) {
+			pointsX = appendReversed(pointsX);
+			pointsY = appendReversed(pointsY);
+		}
+
+		final boolean xFirst = axisInner.equals(excluder.getAxes().get(0));
+		final BitSet bits;
+		final int    length;
+		if (genInner == genOuter) {
+			bits   = xFirst ? excluder.createMask(pointsX, pointsY) : excluder.createMask(pointsY, pointsX);
+			length = pointsX.length;
+		} else {
+			// The points of the two generators are a grid, with each point of the outer
+			// generator repeated for each point of the inner, which is masked without
+			// making arrays of the points of the whole grid.
+			int rowRepeat = genOuter.getSize();
+			bits   = excluder.createGridMask(pointsX, rowRepeat, pointsY, xFirst);
+			length = pointsX.length * rowRepeat;
+		}
+
+		double tile = alternate ? 0.5 : 1;
+		int repeat = 1;
+		boolean foundAxis = false;
+		for (SpgGenerator g : generators) {
+			if (g.getAxes().contains(axisInner) || g.getAxes().contains(axisOuter)) {
+				foundAxis = true;
+			} else {
+				if (foundAxis) {
+					repeat *= g.getSize();
+				} else {
+					tile *= g.getSize();
+				}
+			}
+		}
+		masks.add(new Mask(bits, length, repeat, tile));
+	}
+
+	private SpgGenerator findGenerator(String axis) {
+		for (SpgGenerator g : generators) {
+			if (g.getAxes().contains(axis)) return g;
+		}
+		throw new IllegalArgumentException("The axis "+axis+" is not in this dimension");
+	}
+
+	private static double[] appendReversed(double[] points) {
+		double[] ret = new double[points.length * 2];
+		System.arraycopy(points, 0, ret, 0, points.length);
+		for (int i = 0; i < points.length; i++) ret[points.length + i] = points[points.length - 1 - i];
+		return ret;
+	}
+
+	/**
+	 * Combine the masks into the points in the dimension which are not excluded.
+	 * The size is counted from the words of the combined mask so is much
+	 * faster than iterating the points.
+	 */
+	public void prepare() {
+		if (prepared) return;
+		BitSet mask = null;
+		for (Mask m : masks) {
+			if (m.length * m.repeat * m.tile != maxLength) {
+				throw new IllegalStateException("Mask lengths are not consistent");
+			}
+			BitSet bits = m.expand(maxLength);
+			if (mask == null) {
+				mask = bits;
+			} else {
+				mask.and(bits);
+			}
+		}
+
+		if (mask == null) {
+			this.words = null;
+			this.ranks = null;
+			this.size  = maxLength;
+		} else {
+			this.words = mask.toLongArray();
+			this.ranks = new int[words.length + 1];
+			for (int w = 0; w < words.length; w++) ranks[w + 1] = ranks[w] + Long.bitCount(words[w]);
+			this.size  = ranks[words.length];
+		}
+
+		// The scaling of each generator within the dimension
+		this.generatorRepeats = new int[generators.size()];
+		int repeat = maxLength;
+		for (int i = 0; i < generators.size(); i++) {
+			repeat /= generators.get(i).getSize();
+			generatorRepeats[i] = repeat;
+		}
+		this.prepared = true;
+	}
+
+	public List<String> getAxes() {
+		return axes;
+	}
+
+	public List<SpgGenerator> getGenerators() {
+		return generators;
+	}
+
+	public boolean isAlternate() {
+		return alternate;
+	}
+
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * The size of the dimension, valid only after prepare() has been called
+	 * @return
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * The index of each point of the dimension in the unmasked dimension,
+	 * valid only after prepare() has been called
+	 * @return
+	 */
+	int getIndex(int i) {
+		if (words == null) return i;
+
+		// The word containing the i'th included point, by a binary search of the counts
+		int lo = 0, hi = words.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (ranks[mid] <= i) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		long word = words[lo];
+		for (int n = i - ranks[lo]; n > 0; n--) word &= word - 1; // Clear the lowest set bits before the point
+		return lo * 64 + Long.numberOfTrailingZeros(word);
+	}
+
+	int getGeneratorRepeat(int igen) {
+		return generatorRepeats[igen];
+	}
+}
@@ -0,0 +1,134 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Java port of scanpointgenerator.excluders.ROIExcluder which excludes
+ * points outside of the union of its regions.
+ */
+public class SpgExcluder {
+
+	/**
+	 * The number of points masked at once, a multiple of 64
+	 * so that each block makes whole words of the mask.
+	 */
+	private static final int BLOCK_SIZE = 1 << 14;
+
+	private final List<SpgRoi> rois;
+	private final List<String> axes;
+
+	public SpgExcluder(List<SpgRoi> rois, List<String> axes) {
+		if (axes.size() != 2) throw new IllegalArgumentException("An excluder must be defined on two axes, not "+axes);
+		this.rois = Collections.unmodifiableList(new ArrayList<>(rois));
+		this.axes = Collections.unmodifiableList(new ArrayList<>(axes));
+	}
+
+	/**
+	 * Create a mask which is set for the points to keep.
+	 *
+	 * @param x points for the first axis
+	 * @param y points for the second axis
+	 * @return
+	 */
+	public BitSet createMask(double[] x, double[] y) {
+		if (x.length != y.length) throw new IllegalArgumentException("Points lengths must be equal");
+		return createMask(x.length, (from, length, bx, by) -> {
+			System.arraycopy(x, from, bx, 0, length);
+			System.arraycopy(y, from, by, 0, length);
+		});
+	}
+
+	/**
+	 * Create a mask which is set for the points to keep, for the points of
+	 * a grid which are not made. Point i of the grid is at rows[i / repeat] and
+	 * columns[i % columns.length], which is a raster when the repeat is the
+	 * number of columns. An alternating grid has the reversed points appended
+	 * to the rows and columns, when the repeat is half the number of columns.
+	 *
+	 * @param rows the points of the outer axis
+	 * @param repeat the number of consecutive points at each row point
+	 * @param columns the points of the inner axis
+	 * @param rowsFirst true if the rows are the points of the first axis of the excluder
+	 * @return mask of length rows.length * repeat
+	 */
+	public BitSet createGridMask(double[] rows, int repeat, double[] columns, boolean rowsFirst) {
+		final int ncols = columns.length;
+		return createMask(rows.length * repeat, (from, length, bx, by) -> {
+			final double[] r = rowsFirst ? bx : by;
+			final double[] c = rowsFirst ? by : bx;
+			for (int i = 0, p = from; i < length; i++, p++) {
+				r[i] = rows[p / repeat];
+				c[i] = columns[p % ncols];
+			}
+		});
+	}
+
+	/**
+	 * The coordinates of a block of points
+	 */
+	@FunctionalInterface
+	private interface Block {
+		void fill(int from, int length, double[] x, double[] y);
+	}
+
+	/**
+	 * Masks the points in blocks, in parallel on the fork-join pool if there is
+	 * more than one block. Each block sets its own words of the mask.
+	 */
+	private BitSet createMask(int size, Block block) {
+		final long[] words  = new long[(size + 63) >>> 6];
+		final int    blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		IntStream range = IntStream.range(0, blocks);
+		if (blocks > 1) range = range.parallel();
+		range.forEach(b -> {
+			final int from   = b * BLOCK_SIZE;
+			final int length = Math.min(BLOCK_SIZE, size - from);
+			final double[]  x    = new double[length];
+			final double[]  y    = new double[length];
+			final boolean[] mask = new boolean[length];
+			block.fill(from, length, x, y);
+			// Points outside of all ROIs will be excluded
+			for (SpgRoi roi : rois) roi.maskPoints(x, y, mask, length);
+			for (int i = 0; i < length; i++) {
+				if (mask[i]) words[(from + i) >>> 6] |= 1L << (from + i);
+			}
+		});
+		return BitSet.valueOf(words);
+	}
+
+	public List<SpgRoi> getRois() {
+		return rois;
+	}
+
+	public List<String> getAxes() {
+		return axes;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * rois.hashCode() + axes.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (obj == null || getClass() != obj.getClass()) return false;
+		SpgExcluder other = (SpgExcluder) obj;
+		return rois.equals(other.rois) && axes.equals(other.axes);
+	}
+}
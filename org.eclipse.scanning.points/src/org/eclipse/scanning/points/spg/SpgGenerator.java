@@ -0,0 +1,93 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Java port of scanpointgenerator.core.generator.Generator.
+ * <p>
+ * A generator knows its axes, its size and whether it alternates
+ * direction when nested. The positions of each axis are calculated
+ * once in {@link #preparePositions()} and then read by index, in the
+ * same way as the python implementation does with numpy arrays.
+ * <p>
+ * The arithmetic in subclasses is deliberately written in the same
+ * order as the python so that the doubles produced are identical
+ * to those made by the Jython scan point generator.
+ */
+public abstract class SpgGenerator {
+
+	protected final List<String> axes;
+	protected final boolean      alternate;
+	protected int                size;
+
+	private double[][] positions; // Axis index->position
+
+	protected SpgGenerator(String[] axes, boolean alternate) {
+		if (axes.length != new HashSet<>(Arrays.asList(axes)).size()) {
+			throw new IllegalArgumentException("Axis names cannot be duplicated; given "+Arrays.toString(axes));
+		}
+		this.axes      = Collections.unmodifiableList(Arrays.asList(axes));
+		this.alternate = alternate;
+	}
+
+	/**
+	 * Calculate the position for a given axis at a given index, equivalent
+	 * to the python prepare_arrays() evaluated at one point of the index array.
+	 *
+	 * @param axis index of the axis in {@link #getAxes()}
+	 * @param index
+	 * @return
+	 */
+	protected abstract double calculatePosition(int axis, int index);
+
+	public synchronized void preparePositions() {
+		if (positions!=null) return;
+		double[][] pos = new double[axes.size()][size];
+		for (int axis = 0; axis < pos.length; axis++) {
+			for (int i = 0; i < size; i++) {
+				pos[axis][i] = calculatePosition(axis, i);
+			}
+		}
+		this.positions = pos;
+	}
+
+	/**
+	 * The positions of the given axis, valid only after calling preparePositions()
+	 * @param axis
+	 * @return
+	 */
+	public double[] getPositions(String axis) {
+		return getPositions(axes.indexOf(axis));
+	}
+
+	public double[] getPositions(int axis) {
+		if (positions==null) throw new IllegalStateException("Must call preparePositions first");
+		return positions[axis];
+	}
+
+	public List<String> getAxes() {
+		return axes;
+	}
+
+	public boolean isAlternate() {
+		return alternate;
+	}
+
+	public int getSize() {
+		return size;
+	}
+}
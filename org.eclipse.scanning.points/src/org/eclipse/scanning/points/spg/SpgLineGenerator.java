@@ -0,0 +1,52 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+/**
+ * Java port of scanpointgenerator.generators.LineGenerator,
+ * a line of equally spaced N-dimensional points.
+ */
+public class SpgLineGenerator extends SpgGenerator {
+
+	private final double[] start;
+	private final double[] stop;
+
+	public SpgLineGenerator(String axis, double start, double stop, int size, boolean alternate) {
+		this(new String[]{axis}, new double[]{start}, new double[]{stop}, size, alternate);
+	}
+
+	public SpgLineGenerator(String[] axes, double[] start, double[] stop, int size, boolean alternate) {
+		super(axes, alternate);
+		if (axes.length != start.length || axes.length != stop.length) {
+			throw new IllegalArgumentException("Dimensions of axes, start and stop do not match");
+		}
+		this.start = start.clone();
+		this.stop  = stop.clone();
+		this.size  = size;
+	}
+
+	@Override
+	protected double calculatePosition(int axis, int index) {
+		double step = stop[axis] - start[axis];
+		// if size == 1 then single point case
+		if (size > 1) step /= (size - 1);
+		return (index * step) + start[axis];
+	}
+
+	public double[] getStart() {
+		return start.clone();
+	}
+
+	public double[] getStop() {
+		return stop.clone();
+	}
+}
@@ -0,0 +1,48 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+/**
+ * Java port of scanpointgenerator.generators.LissajousGenerator,
+ * the points of a Lissajous curve with lobes and lobes+1 frequencies.
+ */
+public class SpgLissajousGenerator extends SpgGenerator {
+
+	private final double[] centre;
+	private final int      xFreq;
+	private final int      yFreq;
+	private final double   xMax;
+	private final double   yMax;
+	private final double   phaseDiff;
+
+	public SpgLissajousGenerator(String[] axes, double[] centre, double[] span, int lobes, int size, boolean alternate) {
+		super(axes, alternate);
+		this.centre = centre.clone();
+		this.xFreq  = lobes;
+		this.yFreq  = lobes + 1;
+		this.xMax   = span[0] / 2;
+		this.yMax   = span[1] / 2;
+
+		// Phase needs to be 0 for even lobes and pi/2 for odd lobes to start
+		// at centre for odd and at right edge for even
+		this.phaseDiff = Math.PI / 2 * (lobes % 2);
+		this.size      = size;
+	}
+
+	@Override
+	protected double calculatePosition(int axis, int index) {
+		if (axis == 0) {
+			return centre[0] + xMax * Math.sin(xFreq * 2 * Math.PI * index / size + phaseDiff);
+		}
+		return centre[1] + yMax * Math.sin(yFreq * 2 * Math.PI * index / size);
+	}
+}
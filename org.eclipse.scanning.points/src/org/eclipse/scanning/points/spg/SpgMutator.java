@@ -0,0 +1,30 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.List;
+
+/**
+ * Java port of scanpointgenerator.core.Mutator, alters
+ * the positions of a point once it has been generated.
+ */
+public abstract class SpgMutator {
+
+	/**
+	 * Mutate the positions of point n in place.
+	 *
+	 * @param axes the axes of the compound generator, in the order of positions
+	 * @param positions the positions of the point, changed by this method
+	 * @param n the index of the point in the scan
+	 */
+	public abstract void mutate(List<String> axes, double[] positions, int n);
+}
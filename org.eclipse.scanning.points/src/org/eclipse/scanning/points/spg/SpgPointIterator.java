@@ -0,0 +1,208 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.scanning.api.points.ArrayPosition;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.PointBlock;
+import org.eclipse.scanning.api.points.PositionSchema;
+import org.eclipse.scanning.api.points.Scalar;
+import org.eclipse.scanning.api.points.ScanPointIterator;
+
+/**
+ * Iterates the points of a {@link SpgCompoundGenerator} making the same
+ * positions as the wrapper classes in jython_spg_interface.py.
+ */
+public class SpgPointIterator implements ScanPointIterator {
+
+	/**
+	 * How points are returned, following the jython wrapper which would have been used.
+	 */
+	public enum Style {
+		/**
+		 * A {@link Scalar} for each point as JLineGenerator1D and JArrayGenerator
+		 */
+		SCALAR,
+		/**
+		 * A {@link Point} which is not 2D for each point as JLineGenerator2D
+		 */
+		LINE,
+		/**
+		 * A {@link Scalar}, {@link Point} or {@link ArrayPosition}
+		 * depending on the number of axes as JCompoundGenerator,
+		 * which makes a {@link MapPosition} rather than an ArrayPosition.
+		 */
+		COMPOUND;
+	}
+
+	private final SpgCompoundGenerator generator;
+	private final Style                style;
+
+	private final List<Collection<String>> dimensionNames;
+	private final int[]    ordering;       // Index in generator axes of each axis in the order of the dimensions
+	private final int[]    indexLocations; // Dimension of each axis in the order of the dimensions
+	private final String[] names;          // Axes in the order of the dimensions
+	private final PositionSchema schema;   // Of positions with more than two axes
+
+	private int index;
+
+	public SpgPointIterator(SpgCompoundGenerator generator, Style style) {
+		generator.prepare();
+		this.generator = generator;
+		this.style     = style;
+
+		this.dimensionNames = new ArrayList<>(generator.getRank());
+		List<String> axesOrdering = new ArrayList<>();
+		List<Integer> locations   = new ArrayList<>();
+		int dim = 0;
+		for (List<String> dnames : generator.getDimensionNames()) {
+			dimensionNames.add(dnames);
+			for (String name : dnames) {
+				axesOrdering.add(name);
+				locations.add(dim);
+			}
+			dim++;
+		}
+		this.names          = axesOrdering.toArray(new String[axesOrdering.size()]);
+		this.ordering       = new int[names.length];
+		this.indexLocations = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			ordering[i]       = generator.getAxes().indexOf(names[i]);
+			indexLocations[i] = locations.get(i);
+		}
+		this.schema = new PositionSchema(axesOrdering, dimensionNames);
+		this.index = 0;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return index < generator.getSize();
+	}
+
+	@Override
+	public IPosition next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		IPosition next = createPosition(index);
+		++index;
+		return next;
+	}
+
+	/**
+	 * Moves to the given point in O(rank) time, as the points are calculated
+	 * directly from their index.
+	 */
+	@Override
+	public boolean seek(int stepIndex) {
+		if (stepIndex<0) throw new IllegalArgumentException("The step index "+stepIndex+" is invalid!");
+		this.index = stepIndex;
+		return true;
+	}
+
+	/**
+	 * Fills the block directly from the generator without making positions.
+	 */
+	@Override
+	public int nextBlock(PointBlock block) {
+
+		final List<String> axes = generator.getAxes();
+		final List<String> bnames = block.getNames();
+		final int[] columns = new int[bnames.size()];
+		for (int c = 0; c < columns.length; c++) {
+			columns[c] = axes.indexOf(bnames.get(c));
+			if (columns[c]<0) throw new IllegalArgumentException("The axis "+bnames.get(c)+" is not in the scan!");
+		}
+		if (block.getRank()>generator.getRank()) throw new IllegalArgumentException("The block has rank "+block.getRank()+" but the scan has rank "+generator.getRank());
+
+		final double[]   positions = new double[axes.size()];
+		final int[]      indices   = new int[generator.getRank()];
+		final double[][] bvalues   = block.getValues();
+		final int[][]    bindices  = block.getIndices();
+
+		int row = 0;
+		for (; row < block.getCapacity() && hasNext(); row++, index++) {
+			generator.getPoint(index, positions, indices);
+			for (int c = 0; c < columns.length; c++) bvalues[c][row] = positions[columns[c]];
+			for (int d = 0; d < bindices.length; d++) bindices[d][row] = indices[d];
+		}
+		block.setSize(row);
+		return row;
+	}
+
+	private IPosition createPosition(int n) {
+
+		final double[] positions = new double[generator.getAxes().size()];
+		final int[]    indices   = new int[generator.getRank()];
+		generator.getPoint(n, positions, indices);
+
+		switch (style) {
+		case SCALAR:
+			return new Scalar<Double>(names[0], indices[0], positions[ordering[0]]);
+		case LINE:
+			return new Point(names[0], indices[0], positions[ordering[0]],
+					         names[1], indices[0], positions[ordering[1]], false);
+		default:
+			if (names.length == 1) {
+				return new Scalar<Double>(names[0], indices[0], positions[ordering[0]]);
+
+			} else if (names.length == 2) {
+				Point point = new Point(names[1], indices[indexLocations[1]], positions[ordering[1]],
+						                names[0], indices[indexLocations[0]], positions[ordering[0]]);
+				point.setDimensionNames(dimensionNames);
+				return point;
+
+			} else {
+				final double[] values = new double[names.length];
+				final int[]    inds   = new int[names.length];
+				for (int i = 0; i < names.length; i++) {
+					values[i] = positions[ordering[i]];
+					inds[i]   = indices[indexLocations[i]];
+				}
+				return new ArrayPosition(schema, values, inds);
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return generator.getSize();
+	}
+
+	@Override
+	public int[] getShape() {
+		return generator.getShape();
+	}
+
+	@Override
+	public int getRank() {
+		return generator.getRank();
+	}
+
+	public SpgCompoundGenerator getGenerator() {
+		return generator;
+	}
+
+	public Style getStyle() {
+		return style;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+}
@@ -0,0 +1,99 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java port of scanpointgenerator.mutators.RandomOffsetMutator. The
+ * offset is a hash of the point index, axis and seed so it may be
+ * calculated for any point without generating the ones before it.
+ */
+public class SpgRandomOffsetMutator extends SpgMutator {
+
+	private static final long MASK = 0xFFFFFFFFL;
+
+	private final int                 seed;
+	private final List<String>        axes;
+	private final Map<String, Double> maxOffset;
+
+	public SpgRandomOffsetMutator(int seed, List<String> axes, Map<String, Double> maxOffset) {
+		this.seed      = seed;
+		this.axes      = Collections.unmodifiableList(new ArrayList<>(axes));
+		this.maxOffset = Collections.unmodifiableMap(new LinkedHashMap<>(maxOffset));
+	}
+
+	/**
+	 * Robert Jenkins 32 bit hash of the index, axis and seed, scaled to [-max, max].
+	 * The python does this with unbounded integers, using longs and masking
+	 * at the same places gives the same low 32 bits.
+	 *
+	 * @param axis
+	 * @param idx
+	 * @return
+	 */
+	public double calcOffset(String axis, int idx) {
+		double m = maxOffset.get(axis);
+		long x = ((long)idx << 4) + (axis.isEmpty() ? 0 : axis.charAt(0));
+		x ^= ((long)seed << 12);
+		x = (x + 0x7ED55D16L) + (x << 12);
+		x &= MASK; // act as 32 bit unsigned before doing any right-shifts
+		x = (x ^ 0xC761C23CL) ^ (x >> 19);
+		x = (x + 0x165667B1L) + (x << 5);
+		x = (x + 0xD3A2646CL) ^ (x << 9);
+		x = (x + 0xFD7046C5L) + (x << 3);
+		x &= MASK;
+		x = (x ^ 0xB55A4F09L) ^ (x >> 16);
+		x &= MASK;
+		double r = (double) x / (double) MASK; // r in interval [0, 1]
+		r = r * 2 - 1; // r in [-1, 1]
+		return m * r;
+	}
+
+	@Override
+	public void mutate(List<String> paxes, double[] positions, int n) {
+		for (String axis : axes) {
+			int index = paxes.indexOf(axis);
+			if (index < 0) throw new IllegalArgumentException("The axis "+axis+" is not generated!");
+			positions[index] += calcOffset(axis, n);
+		}
+	}
+
+	public int getSeed() {
+		return seed;
+	}
+
+	public List<String> getAxes() {
+		return axes;
+	}
+
+	public Map<String, Double> getMaxOffset() {
+		return maxOffset;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * seed + axes.hashCode()) + maxOffset.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (obj == null || getClass() != obj.getClass()) return false;
+		SpgRandomOffsetMutator other = (SpgRandomOffsetMutator) obj;
+		return seed == other.seed && axes.equals(other.axes) && maxOffset.equals(other.maxOffset);
+	}
+}
@@ -0,0 +1,429 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.EllipticalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.LinearROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PointROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PolygonalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java port of the scanpointgenerator.rois package. Each region can
+ * create a mask for arrays of x and y positions, the arithmetic
+ * follows the python mask_points() methods.
+ */
+public abstract class SpgRoi {
+
+	private static Logger logger = LoggerFactory.getLogger(SpgRoi.class);
+
+	private static Map<Class<?>, Function<IROI, SpgRoi>> roiDispatchMap = new HashMap<Class<?>, Function<IROI, SpgRoi>>();
+
+	static {
+		roiDispatchMap.put(CircularROI.class, r -> new Circular(
+				((CircularROI) r).getCentre(), ((CircularROI) r).getRadius()));
+		roiDispatchMap.put(EllipticalROI.class, r -> new Elliptical(
+				((EllipticalROI) r).getPoint(), ((EllipticalROI) r).getSemiAxes(), ((EllipticalROI) r).getAngle()));
+		roiDispatchMap.put(LinearROI.class, r -> null); // not supported
+		roiDispatchMap.put(PointROI.class, r -> new Point(((PointROI) r).getPoint()));
+		roiDispatchMap.put(PolygonalROI.class, r -> {
+			PolygonalROI p = (PolygonalROI) r;
+			double[] xPoints = new double[p.getNumberOfPoints()];
+			double[] yPoints = new double[p.getNumberOfPoints()];
+			for (int i = 0; i < xPoints.length; i++) {
+				PointROI point = p.getPoint(i);
+				xPoints[i] = point.getPointX();
+				yPoints[i] = point.getPointY();
+			}
+			return new Polygonal(xPoints, yPoints);
+		});
+		roiDispatchMap.put(RectangularROI.class, r -> new Rectangular(
+				((RectangularROI) r).getPoint(), ((RectangularROI) r).getLength(0), ((RectangularROI) r).getLength(1),
+				((RectangularROI) r).getAngle()));
+		roiDispatchMap.put(SectorROI.class, r -> new Sector(
+				((SectorROI) r).getPoint(), ((SectorROI) r).getRadii(), ((SectorROI) r).getAngles()));
+	}
+
+	/**
+	 * Create the java region for an IROI or a ScanRegion holding one,
+	 * the equivalent of AbstractScanPointIterator.makePyRoi(...)
+	 *
+	 * @param region
+	 * @return the region or null if the region is not supported.
+	 */
+	public static SpgRoi create(Object region) {
+		IROI roi = null;
+		if (region instanceof ScanRegion<?>) {
+			region = ((ScanRegion<?>) region).getRoi();
+		}
+		if (region instanceof IROI) {
+			roi = (IROI) region;
+		} else {
+			logger.error("Unknown region type: " + (region != null ? region.getClass() : null));
+			return null;
+		}
+		if (roiDispatchMap.containsKey(roi.getClass())) {
+			return roiDispatchMap.get(roi.getClass()).apply(roi);
+		} else {
+			logger.error("Unsupported region type: " + roi.getClass());
+			return null;
+		}
+	}
+
+	/**
+	 * Create a mask which is true for each point inside the region.
+	 *
+	 * @param x
+	 * @param y
+	 * @return mask the same length as x and y
+	 */
+	public boolean[] maskPoints(double[] x, double[] y) {
+		final boolean[] mask = new boolean[x.length];
+		maskPoints(x, y, mask, mask.length);
+		return mask;
+	}
+
+	/**
+	 * Set the mask true for each of the first length points which is inside
+	 * the region, leaving the others unchanged so that the masks of several
+	 * regions may be combined in one array. Called by excluders for blocks
+	 * of points, possibly on many threads at once, so must not change the region.
+	 *
+	 * @param x
+	 * @param y
+	 * @param mask
+	 * @param length the number of points to test
+	 */
+	public abstract void maskPoints(double[] x, double[] y, boolean[] mask, int length);
+
+	/**
+	 * Python modulo of floats, the sign of the result follows the divisor.
+	 */
+	static double pyMod(double a, double b) {
+		double z = a % b;
+		if (z != 0 && ((b < 0) != (z < 0))) z += b;
+		return z;
+	}
+
+	/**
+	 * Modulo as done on datasets by the numpy wrapper used with Jython.
+	 */
+	static double floorRemainder(double a, double b) {
+		return a - Math.floor(a / b) * b;
+	}
+
+	public static class Circular extends SpgRoi {
+
+		private final double[] centre;
+		private final double   radius;
+
+		public Circular(double[] centre, double radius) {
+			if (radius == 0.0) throw new IllegalArgumentException("Circle must have some size");
+			this.centre = centre.clone();
+			this.radius = radius;
+		}
+
+		@Override
+		public void maskPoints(double[] x, double[] y, boolean[] mask, int length) {
+			final double r2 = radius * radius;
+			final double cx = centre[0], cy = centre[1];
+			for (int i = 0; i < length; i++) {
+				double dx = x[i] - cx;
+				double dy = y[i] - cy;
+				if (dx * dx + dy * dy <= r2) mask[i] = true;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(centre) + Double.hashCode(radius);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null || getClass() != obj.getClass()) return false;
+			Circular other = (Circular) obj;
+			return Arrays.equals(centre, other.centre) && radius == other.radius;
+		}
+	}
+
+	public static class Elliptical extends SpgRoi {
+
+		private final double[] centre;
+		private final double[] semiaxes;
+		private final double   angle;
+
+		public Elliptical(double[] centre, double[] semiaxes, double angle) {
+			if (semiaxes[0] <= 0.0 || semiaxes[1] <= 0.0) throw new IllegalArgumentException("Ellipse semi-axes must be greater than zero");
+			this.centre   = centre.clone();
+			this.semiaxes = semiaxes.clone();
+			this.angle    = angle;
+		}
+
+		@Override
+		public void maskPoints(double[] x, double[] y, boolean[] mask, int length) {
+			final double phi = -angle;
+			final double cos = Math.cos(phi), sin = Math.sin(phi);
+			final double rx2 = semiaxes[0] * semiaxes[0];
+			final double ry2 = semiaxes[1] * semiaxes[1];
+			for (int i = 0; i < length; i++) {
+				double dx = x[i] - centre[0];
+				double dy = y[i] - centre[1];
+				if (angle != 0) {
+					double tx = dx * cos - dy * sin;
+					double ty = dx * sin + dy * cos;
+					dx = tx;
+					dy = ty;
+				}
+				if ((dx * dx) / rx2 + (dy * dy) / ry2 <= 1) mask[i] = true;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(centre) + Arrays.hashCode(semiaxes)) + Double.hashCode(angle);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null || getClass() != obj.getClass()) return false;
+			Elliptical other = (Elliptical) obj;
+			return Arrays.equals(centre, other.centre) && Arrays.equals(semiaxes, other.semiaxes) && angle == other.angle;
+		}
+	}
+
+	public static class Point extends SpgRoi {
+
+		private final double[] point;
+
+		public Point(double[] point) {
+			this.point = point.clone();
+		}
+
+		@Override
+		public void maskPoints(double[] x, double[] y, boolean[] mask, int length) {
+			for (int i = 0; i < length; i++) {
+				double dx = x[i] - point[0];
+				double dy = y[i] - point[1];
+				if (dx * dx + dy * dy <= 0) mask[i] = true;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(point);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null || getClass() != obj.getClass()) return false;
+			return Arrays.equals(point, ((Point) obj).point);
+		}
+	}
+
+	public static class Polygonal extends SpgRoi {
+
+		private final double[] pointsX;
+		private final double[] pointsY;
+
+		public Polygonal(double[] pointsX, double[] pointsY) {
+			if (pointsX.length != pointsY.length) throw new IllegalArgumentException("Point arrays must be the same size");
+			if (pointsX.length < 3) throw new IllegalArgumentException("Polygon requires at least 3 vertices");
+			this.pointsX = pointsX.clone();
+			this.pointsY = pointsY.clone();
+		}
+
+		/**
+		 * The crossing number of each point, counting the edges crossed by a ray
+		 * from the point in the x direction. The same comparisons as the python,
+		 * which toggles the mask for each edge in turn, but testing each point
+		 * against all the edges so that the points in a block are independent.
+		 */
+		@Override
+		public void maskPoints(double[] x, double[] y, boolean[] mask, int length) {
+			final int nv = pointsX.length;
+			for (int i = 0; i < length; i++) {
+				final double px = x[i], py = y[i];
+				boolean inside = false;
+				double v1x = pointsX[nv - 1];
+				double v1y = pointsY[nv - 1];
+				for (int v = 0; v < nv; v++) {
+					double v2x = pointsX[v];
+					double v2y = pointsY[v];
+					// skip horizontal edges
+					if (v2y != v1y && ((py < v2y && py >= v1y) || (py < v1y && py >= v2y))) {
+						double t = (py - v1y) / (v2y - v1y);
+						if (px < v1x + t * (v2x - v1x)) inside = !inside;
+					}
+					v1x = v2x;
+					v1y = v2y;
+				}
+				if (inside) mask[i] = true;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(pointsX) + Arrays.hashCode(pointsY);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null || getClass() != obj.getClass()) return false;
+			Polygonal other = (Polygonal) obj;
+			return Arrays.equals(pointsX, other.pointsX) && Arrays.equals(pointsY, other.pointsY);
+		}
+	}
+
+	public static class Rectangular extends SpgRoi {
+
+		private final double[] start;
+		private final double   width;
+		private final double   height;
+		private final double   angle;
+
+		public Rectangular(double[] start, double width, double height, double angle) {
+			if (width == 0.0 || height == 0.0) throw new IllegalArgumentException("Rectangle must have some size");
+			this.start  = start.clone();
+			this.width  = width;
+			this.height = height;
+			this.angle  = angle;
+		}
+
+		@Override
+		public void maskPoints(double[] x, double[] y, boolean[] mask, int length) {
+			final double phi = -angle;
+			final double cos = Math.cos(phi), sin = Math.sin(phi);
+			for (int i = 0; i < length; i++) {
+				double dx = x[i] - start[0];
+				double dy = y[i] - start[1];
+				if (angle != 0) {
+					double rx = dx * cos - dy * sin;
+					double ry = dx * sin + dy * cos;
+					dx = rx;
+					dy = ry;
+				}
+				if (dx >= 0 && dx <= width && dy >= 0 && dy <= height) mask[i] = true;
+			}
+		}
+
+		public double[] getStart() {
+			return start.clone();
+		}
+
+		public double getWidth() {
+			return width;
+		}
+
+		public double getHeight() {
+			return height;
+		}
+
+		public double getAngle() {
+			return angle;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Arrays.hashCode(start);
+			result = 31 * result + Double.hashCode(width);
+			result = 31 * result + Double.hashCode(height);
+			return 31 * result + Double.hashCode(angle);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null || getClass() != obj.getClass()) return false;
+			Rectangular other = (Rectangular) obj;
+			return Arrays.equals(start, other.start) && width == other.width && height == other.height && angle == other.angle;
+		}
+	}
+
+	public static class Sector extends SpgRoi {
+
+		private final double[] centre;
+		private final double[] radii;
+		private final double[] angles;
+
+		public Sector(double[] centre, double[] radii, double[] angles) {
+			if (radii[0] < 0 || radii[1] < radii[0] || radii[1] <= 0.0) throw new IllegalArgumentException("Sector size is invalid");
+			this.centre = centre.clone();
+			this.radii  = radii.clone();
+			this.angles = constrainAngles(angles);
+		}
+
+		/**
+		 * Constrain angles such that angles[0] < angles[1],
+		 * angles[0] in [0, 2pi), and angles[1] <= angles[0] + 2pi
+		 */
+		private static double[] constrainAngles(double[] angles) {
+			double a1 = angles[0];
+			double a2 = angles[1];
+			if (a2 < a1) {
+				a2 += 2 * Math.PI;
+				// input describes the full circle
+				if (a2 < a1) return new double[]{0, 2 * Math.PI};
+			}
+			double diff = a2 - a1;
+			if (diff >= 2 * Math.PI) return new double[]{0, 2 * Math.PI};
+			a1 = pyMod(a1 + 2 * Math.PI, 2 * Math.PI);
+			return new double[]{a1, a1 + diff};
+		}
+
+		@Override
+		public void maskPoints(double[] x, double[] y, boolean[] mask, int length) {
+			final double[] phi = constrainAngles(angles);
+			final double phiS = phi[1] - phi[0];
+			for (int i = 0; i < length; i++) {
+				double dx = x[i] - centre[0];
+				double dy = y[i] - centre[1];
+				double r2 = dx * dx + dy * dy;
+				double phiX = Math.atan2(dy, dx);
+				// translate phiX to range [0, 2pi] then offset from phi[0]
+				phiX = floorRemainder(2 * Math.PI + phiX, 2 * Math.PI);
+				phiX -= phi[0] + 2 * Math.PI;
+				phiX = floorRemainder(phiX, 2 * Math.PI);
+				// NOTE the squared radius is compared to the radii as the python does.
+				if (r2 <= radii[1] && r2 >= radii[0] && phiX <= phiS) mask[i] = true;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(centre) + Arrays.hashCode(radii)) + Arrays.hashCode(angles);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null || getClass() != obj.getClass()) return false;
+			Sector other = (Sector) obj;
+			return Arrays.equals(centre, other.centre) && Arrays.equals(radii, other.radii) && Arrays.equals(angles, other.angles);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.points.spg;
+
+/**
+ * Java port of scanpointgenerator.generators.SpiralGenerator,
+ * the points of an Archimedean spiral.
+ */
+public class SpgSpiralGenerator extends SpgGenerator {
+
+	private final double[] centre;
+	private final double   radius;
+	private final double   scale;
+	private final double   alpha;
+	private final double   beta;
+
+	public SpgSpiralGenerator(String[] axes, double[] centre, double radius, double scale, boolean alternate) {
+		super(axes, alternate);
+		this.centre = centre.clone();
+		this.radius = radius;
+		this.scale  = scale;
+
+		// spiral equation : r = b * phi
+		// scale = 2 * pi * b
+		// parameterise phi with approximation:
+		// phi(t) = k * sqrt(t) (for some k)
+		// number of possible t is solved by sqrt(t) = max_r / b*k
+		this.alpha = Math.sqrt(4 * Math.PI); // Theta scale factor = k
+		this.beta  = scale / (2 * Math.PI);  // Radius scale factor = b
+		this.size  = (int) Math.pow(radius / (alpha * beta), 2) + 1;
+	}
+
+	@Override
+	protected double calculatePosition(int axis, int index) {
+		double phi = alpha * Math.sqrt(index + 0.5);
+		if (axis == 0) {
+			return centre[0] + beta * phi * Math.sin(phi);
+		}
+		return centre[1] + beta * phi * Math.cos(phi);
+	}
+
+	public double getRadius() {
+		return radius;
+	}
+
+	public double getScale() {
+		return scale;
+	}
+}
@@ -42,6 +42,7 @@ import org.eclipse.scanning.api.annotation.scan.ScanResume;
 import org.eclipse.scanning.api.annotation.scan.ScanStart;
 import org.eclipse.scanning.api.annotation.scan.WriteComplete;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.device.IBatchedDetector;
 import org.eclipse.scanning.api.device.IPausableDevice;
 import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.device.models.DeviceRole;
@@ -54,6 +55,7 @@ import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.IDeviceDependentIterable;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.IScanService;
+import org.eclipse.scanning.api.scan.LevelRole;
 import org.eclipse.scanning.api.scan.PositionEvent;
 import org.eclipse.scanning.api.scan.ScanEstimator;
 import org.eclipse.scanning.api.scan.ScanInformation;
@@ -61,8 +63,10 @@ import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.event.IPositionListener;
 import org.eclipse.scanning.api.scan.event.IPositioner;
 import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.sequencer.StageTimer.Stage;
 import org.eclipse.scanning.sequencer.nexus.INexusScanFileManager;
 import org.eclipse.scanning.sequencer.nexus.NexusScanFileManagerFactory;
+import org.eclipse.scanning.sequencer.nexus.NexusSliceWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -121,6 +125,39 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	 * to move over the CPU scan.
 	 */
 	private Iterator<IPosition> positionIterator;
+	
+	/**
+	 * Moves the readout safe scannables ahead if the
+	 * model has a look ahead, otherwise null.
+	 */
+	private PositionPipeline pipeline;
+	
+	/**
+	 * True if the lines of the innermost axis of the scan may be run
+	 * in one go, see IBatchedDetector. The position after a line is read
+	 * to know where the line ends, it is kept here to be the next position.
+	 */
+	private boolean          batched;
+	private IPosition        peeked;
+	private List<IPosition>  writingLine; // The line being written, if it is
+	private static final int BATCH_SIZE = Integer.getInteger("org.eclipse.scanning.sequencer.batch.size", 1000);
+	
+	/**
+	 * Saves how far the scan has got, if the model has a checkpoint.
+	 */
+	private CheckpointManager checkpoint;
+	
+	/**
+	 * The time spent in each stage of the points.
+	 */
+	private final StageTimer timer = new StageTimer();
+	
+	/**
+	 * When the stage times were last set on the bean, they are
+	 * sent with the position at most once in this many ms.
+	 */
+	private long stageTimesUpdated;
+	private static final long STAGE_TIMES_INTERVAL = Long.getLong("org.eclipse.scanning.sequencer.stage.times.interval", 1000);
 		
 	/**
 	 * Package private constructor, devices are created by the service.
@@ -186,6 +223,10 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		nexusScanFileManager = NexusScanFileManagerFactory.createNexusScanFileManager(this);
 		nexusScanFileManager.configure(model);
 		nexusScanFileManager.createNexusFile(Boolean.getBoolean("org.eclipse.scanning.sequencer.nexus.async"));
+		annotationManager.addContext(nexusScanFileManager.getSliceWriter()); // Devices may write their slices with it
+		
+		// save the progress of the scan so that it may carry on if the server dies
+		checkpoint = model.getCheckpoint()!=null ? new CheckpointManager(model.getCheckpoint(), location, nexusScanFileManager, annotationManager) : null;
 		
 		// create the runners and writers
 		if (model.getDetectors()!=null) {
@@ -199,6 +240,8 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 			runners = LevelRunner.createEmptyRunner();
 			writers = LevelRunner.createEmptyRunner();
 		}
+		setExecutorStrategies(model);
+		setStageTimer(timer);
 		
 		// notify that the device is now armed
 		setDeviceState(DeviceState.ARMED); 
@@ -208,6 +251,30 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		setConfigureTime(after-before);
 	}
 
+	/**
+	 * The runners time each of their devices with the timer.
+	 */
+	private void setStageTimer(StageTimer timer) {
+		if (positioner instanceof LevelRunner) {
+			((LevelRunner<?>)positioner).setStageTimer(timer);
+		}
+		runners.setStageTimer(timer);
+		writers.setStageTimer(timer);
+	}
+
+	/**
+	 * The runners make their executor services when they first run, so the
+	 * strategies of the model are set on them before the scan runs.
+	 */
+	private void setExecutorStrategies(ScanModel model) {
+		if (positioner instanceof LevelRunner) {
+			((LevelRunner<?>)positioner).setExecutorStrategy(model.getExecutorStrategy(LevelRole.MOVE));
+		}
+		exposureManager.setExecutorStrategy(model.getExecutorStrategy(LevelRole.MOVE));
+		runners.setExecutorStrategy(model.getExecutorStrategy(LevelRole.RUN));
+		writers.setExecutorStrategy(model.getExecutorStrategy(LevelRole.WRITE));
+	}
+
 	private AnnotationManager createAnnotationManager(ScanModel model) throws ScanningException {
 		Collection<Object> globalParticipants = ((IScanService)runnableDeviceService).getScanParticipants();
 		AnnotationManager manager = new AnnotationManager(SequencerActivator.getInstance());
@@ -242,6 +309,16 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		IPosition pos = null;
 		try {
 			this.positionIterator = location.createPositionIterator();
+			if (checkpoint!=null) checkpoint.resume(positionIterator); // The points which were written are not run again
+			if (model.getLookAhead()>0 && positioner instanceof ScannablePositioner) {
+				this.pipeline = new PositionPipeline(positionIterator, model.getLookAhead(), runnableDeviceService.getDeviceConnectorService(), timer);
+				pipeline.setExecutorStrategy(model.getExecutorStrategy(LevelRole.MOVE));
+				this.positionIterator = pipeline;
+			}
+			timer.reset();
+			stageTimesUpdated = 0;
+			getBean().setStageTimes(null);
+			ScanTimes.setCurrent(getBean().getName(), timer);
 
 			RunnableDeviceServiceImpl.setCurrentScanningDevice(this); // Alows Jython to get and pause/seek.
 			
@@ -262,13 +339,18 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
     		
     		// Add the malcolm listners so that progress on inner malcolm scans can be reported
     		addMalcolmListeners();
+    		
+    		// Whether the lines may be run in one go
+    		batched     = isBatchable(model);
+    		peeked      = null;
+    		writingLine = null;
 
     		// The scan loop
         	pos = null; // We want the last point when we are done so don't use foreach
         	boolean firedFirst = false;
-	        while (positionIterator.hasNext()) {
+	        while (hasNextPosition()) {
                 
-	        	pos = positionIterator.next();
+	        	pos = nextPosition();
 	        	pos.setStepIndex(location.getStepNumber());
 	        	
 	        	if (!firedFirst) {
@@ -279,28 +361,45 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 	        	// Check if we are paused, blocks until we are not
 	        	boolean continueRunning = checkPaused();
 	        	if (!continueRunning) return;  // finally block performed 
+	        	
+	        	if (batched) {
+	        		List<IPosition> line = readLine(pos);
+	        		if (line.size()>1) {
+	        			pos = runLine(line);
+	        			continue;
+	        		}
+	        	}
 
 	        	// Run to the position
+	        	long start = timer.start();
         		annotationManager.invoke(PointStart.class, pos);
-	        	positioner.setPosition(pos);          // moveTo in GDA8
+        		timer.record(Stage.POINT_START, start);
+	        	moveTo(pos);                          // moveTo in GDA8
 	        	exposureManager.setExposureTime(pos); // most of the time this does nothing.
 	        	
-	        	IPosition written = writers.await();  // Wait for the previous write out to return, if any
-	       		if (written!=null) annotationManager.invoke(WriteComplete.class, written);
+	        	awaitWrite();                         // Wait for the previous write out to return, if any
 	        	
+	        	start = timer.start();
  	        	runners.run(pos);                     // GDA8: collectData() / GDA9: run() for Malcolm
+	        	timer.record(Stage.RUN, start);
+	        	if (pipeline!=null) pipeline.moveAhead(); // Readout safe scannables move to the next position during the write.
 	        	writers.run(pos, false);              // Do not block on the readout, move to the next position immediately.
+	        	if (pipeline!=null) pipeline.readAhead();
 	        	
 	        	// Send an event about where we are in the scan
+	        	start = timer.start();
         		annotationManager.invoke(PointEnd.class, pos);
+        		timer.record(Stage.POINT_END, start);
+        		updateStageTimes(false);
+	        	start = timer.start();
 	        	positionComplete(pos);
+	        	timer.record(Stage.PUBLISH, start);
 	        	
 	        	logger.info("Scanning completed step "+location.getStepNumber()+". Position was "+pos);
 	        }
 	        
 	        // On the last iteration we must wait for the final readout.
-        	IPosition written = writers.await();          // Wait for the previous write out to return, if any
-       		annotationManager.invoke(WriteComplete.class, written);
+        	awaitWrite();
 
       	
 		} catch (ScanningException | InterruptedException i) {
@@ -319,6 +418,195 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		}
 	}
 
+	/**
+	 * Moves to the position, the readout safe scannables may already
+	 * be moving there, in which case the others are moved at the same time.
+	 * @param pos
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	private void moveTo(IPosition pos) throws ScanningException, InterruptedException {
+		long start = timer.start();
+		if (pipeline!=null) {
+			((ScannablePositioner)positioner).setPosition(pos, pipeline.getMoving(pos));
+			timer.record(Stage.MOVE, start);
+			pipeline.await();
+		} else {
+			positioner.setPosition(pos);
+			timer.record(Stage.MOVE, start);
+		}
+	}
+
+	/**
+	 * Waits for the previous write, of a point or of a line, and calls
+	 * WriteComplete for each point written.
+	 */
+	private void awaitWrite() throws IllegalAccessException, IllegalArgumentException, InvocationTargetException, InstantiationException, ScanningException, EventException, InterruptedException {
+		long start = timer.start();
+		IPosition written = writers.await();
+		if (writingLine!=null || written!=null) flushSlices();
+		timer.record(Stage.WRITE_WAIT, start);
+		if (writingLine!=null) {
+			final List<IPosition> line = writingLine;
+			writingLine = null;
+			for (IPosition point : line) writeComplete(point);
+		} else if (written!=null) {
+			writeComplete(written);
+		}
+	}
+
+	/**
+	 * Slices given to the NexusSliceWriter may still be queued when the devices have
+	 * written, they are written before the WriteComplete participants are called.
+	 */
+	private void flushSlices() throws ScanningException, InterruptedException {
+		if (nexusScanFileManager==null || !annotationManager.hasMethods(WriteComplete.class)) return;
+		final NexusSliceWriter writer = nexusScanFileManager.getSliceWriter();
+		if (writer!=null && writer.isBatched()) writer.flush();
+	}
+
+	/**
+	 * Lines are only run in one go if batching is switched on with the property
+	 * org.eclipse.scanning.sequencer.batch, every detector is an IBatchedDetector, there
+	 * are no per point monitors, no look ahead and no inner scan. The scannables
+	 * are checked for each line.
+	 * 
+	 * @param model
+	 * @return true if the lines of the scan may be run in one go.
+	 */
+	private boolean isBatchable(ScanModel model) throws ScanningException {
+		if (!Boolean.getBoolean("org.eclipse.scanning.sequencer.batch")) return false;
+		if (BATCH_SIZE<2 || pipeline!=null || !(positioner instanceof ScannablePositioner) || location.isInnerScan()) return false;
+		if (model.getDetectors()==null || model.getDetectors().isEmpty()) return false;
+		for (IRunnableDevice<?> device : model.getDetectors()) {
+			if (!(device instanceof IBatchedDetector)) return false;
+		}
+		if (model.getMonitors()!=null) {
+			for (IScannable<?> monitor : model.getMonitors()) {
+				if (monitor.getMonitorRole()==MonitorRole.PER_POINT) return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean hasNextPosition() {
+		return peeked!=null || positionIterator.hasNext();
+	}
+
+	private IPosition nextPosition() {
+		if (peeked==null) return positionIterator.next();
+		final IPosition next = peeked;
+		peeked = null;
+		return next;
+	}
+
+	/**
+	 * Reads the positions which follow the first along the innermost
+	 * axis, up to the batch size. The position after the line is kept
+	 * to be the next.
+	 * 
+	 * @param first
+	 * @return the line, just the first if it cannot be run in one go.
+	 */
+	private List<IPosition> readLine(IPosition first) throws ScanningException {
+		if (!((ScannablePositioner)positioner).isBatchable(first)) return Collections.singletonList(first);
+		final List<IPosition> line = new ArrayList<>();
+		line.add(first);
+		while (line.size()<BATCH_SIZE && hasNextPosition()) {
+			final IPosition next = nextPosition();
+			if (!isSameLine(first, next)) {
+				peeked = next;
+				break;
+			}
+			line.add(next);
+		}
+		return line;
+	}
+
+	/**
+	 * 
+	 * @param first
+	 * @param next
+	 * @return true if the positions move the same scannables and differ only in the innermost dimension.
+	 */
+	private static boolean isSameLine(IPosition first, IPosition next) {
+		if (!first.getNames().equals(next.getNames())) return false;
+		final int rank = first.getScanRank();
+		if (rank<1 || rank!=next.getScanRank()) return false;
+		for (int dim = 0; dim < rank-1; dim++) {
+			if (first.getIndex(dim)!=next.getIndex(dim)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Moves to the first of a line of positions, arms the scannables with the rest
+	 * and runs the detectors once for all of them while the scannables move through
+	 * them, then starts writing them, as the loop of run(...) does for a point.
+	 * 
+	 * @param line
+	 * @return the last position of the line
+	 */
+	private IPosition runLine(List<IPosition> line) throws Exception {
+		
+		// There is no inner scan so each point is a step.
+		final int step = location.getStepNumber();
+		for (int i = 0; i < line.size(); i++) line.get(i).setStepIndex(step+i);
+		final IPosition first = line.get(0);
+		final IPosition last  = line.get(line.size()-1);
+
+		long start = timer.start();
+		for (IPosition pos : line) annotationManager.invoke(PointStart.class, pos);
+		timer.record(Stage.POINT_START, start);
+		
+		moveTo(first);
+		exposureManager.setExposureTime(first);
+		start = timer.start();
+		((ScannablePositioner)positioner).setPositions(line.subList(1, line.size()));
+		timer.record(Stage.MOVE, start);
+		
+		awaitWrite();
+		
+		start = timer.start();
+		runners.run(line, true);
+		timer.record(Stage.RUN, start);
+		start = timer.start();
+		((ScannablePositioner)positioner).awaitPositions();
+		timer.record(Stage.MOVE, start);
+		writers.run(line, false);
+		writingLine = line;
+
+		for (IPosition pos : line) {
+			start = timer.start();
+			annotationManager.invoke(PointEnd.class, pos);
+			timer.record(Stage.POINT_END, start);
+			updateStageTimes(false);
+			start = timer.start();
+			positionComplete(pos);
+			timer.record(Stage.PUBLISH, start);
+		}
+		logger.info("Scanning completed steps "+step+" to "+location.getStepNumber()+". Positions were "+first+" to "+last);
+		return last;
+	}
+
+	private void writeComplete(IPosition written) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException, InstantiationException, ScanningException, EventException {
+		long start = timer.start();
+		annotationManager.invoke(WriteComplete.class, written);
+		timer.record(Stage.WRITE_COMPLETE, start);
+	}
+
+	/**
+	 * Sets the stage times on the bean so that they are sent with the
+	 * next event, at most once in STAGE_TIMES_INTERVAL unless forced.
+	 * @param force
+	 */
+	private void updateStageTimes(boolean force) {
+		final long now = System.currentTimeMillis();
+		if (!force && now-stageTimesUpdated<STAGE_TIMES_INTERVAL) return;
+		stageTimesUpdated = now;
+		getBean().setStageTimes(timer.getStatistics());
+	}
+
 	private void positionComplete(IPosition pos) throws EventException, ScanningException {
     	positionComplete(pos, location.getOuterCount(), location.getOuterSize());
 	}
@@ -380,8 +668,16 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 					logger.warn("Error during removing Malcolm listeners", ex);
 				}
 				positioner.close();
+				if (pipeline!=null) pipeline.close();
+				pipeline = null;
 				runners.close();
 				writers.close();
+				logger.info("Stage times of scan: {}", timer);
+				updateStageTimes(true); // Sent with the end of the scan and written to the NeXus file
+				logger.info("Times in ms of @PointStart {}, @PointEnd {}, @WriteComplete {}",
+						annotationManager.getTimes(PointStart.class, TimeUnit.MILLISECONDS),
+						annotationManager.getTimes(PointEnd.class, TimeUnit.MILLISECONDS),
+						annotationManager.getTimes(WriteComplete.class, TimeUnit.MILLISECONDS));
 				
 				nexusScanFileManager.scanFinished(); // writes scanFinished and closes nexus file
 	        	
@@ -555,6 +851,7 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		
 		setDeviceState(DeviceState.ABORTING);
 		positioner.abort();
+		if (pipeline!=null) pipeline.abort();
 		writers.abort();
 		runners.abort();
 		
@@ -607,8 +904,14 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		
 		if (stepNumber<0) throw new ScanningException("Seek position is invalid "+stepNumber);
 		if (stepNumber>location.getTotalSize())  throw new ScanningException("Seek position is invalid "+stepNumber);
-		this.positionIterator = location.createPositionIterator();
-		IPosition pos = location.seek(stepNumber, positionIterator);
+		Iterator<IPosition> iterator = location.createPositionIterator();
+		IPosition pos = location.seek(stepNumber, iterator);
+		if (pipeline!=null) {
+			pipeline.setIterator(iterator);
+			iterator = pipeline;
+		}
+		this.positionIterator = iterator;
+		this.peeked           = null;
 		positioner.setPosition(pos);
 		if (getModel().getDetectors()!=null) for (IRunnableDevice<?> device : getModel().getDetectors()) {
 			if (device instanceof IPausableDevice) ((IPausableDevice<?>)device).seek(stepNumber);
@@ -712,9 +1015,9 @@ final class AcquisitionDevice extends AbstractRunnableDevice<ScanModel> implemen
 		bean.setMessage("Point " + location.getOverallCount() + " of " + location.getTotalSize());
 		bean.setPercentComplete(location.getOuterPercent());
 		
-		if (getPublisher() != null) {
+		if (getProgressPublisher() != null) {
 			try {
-				getPublisher().broadcast(bean);
+				getProgressPublisher().broadcast(bean);
 			} catch (EventException e) {
 				logger.warn("An error occurred publishing percent complete event ", e);
 			}
@@ -0,0 +1,153 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.annotation.scan.AnnotationManager;
+import org.eclipse.scanning.api.annotation.scan.ScanAbort;
+import org.eclipse.scanning.api.annotation.scan.ScanEnd;
+import org.eclipse.scanning.api.annotation.scan.ScanFinally;
+import org.eclipse.scanning.api.annotation.scan.WriteComplete;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.ScanCheckpoint;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.sequencer.nexus.INexusScanFileManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saves the checkpoint of the scan, if the model has one, as the points
+ * are written so that a scan of the same request may carry on from it
+ * if the server dies. The checkpoint is saved at most once in the interval
+ * given by the property org.eclipse.scanning.sequencer.checkpoint.interval
+ * in ms, by default 1000. It is deleted when the scan ends or is aborted,
+ * it is left if the scan fails.
+ *
+ * The NeXus file is flushed before each save so that the points the
+ * checkpoint says are written are in the file. The file of the checkpoint
+ * is written in a thread of its own rather than the thread of the scan, the
+ * saves and the delete are done in order and have finished when the scan has.
+ */
+final class CheckpointManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(CheckpointManager.class);
+
+	private final ScanCheckpoint        checkpoint;
+	private final LocationManager       location;
+	private final INexusScanFileManager files; // May be null if there is no file
+	private final long                  interval;
+	private final ExecutorService       saver;
+	private long                        saved;
+
+	CheckpointManager(ScanCheckpoint checkpoint, LocationManager location, INexusScanFileManager files, AnnotationManager manager) {
+		this.checkpoint = checkpoint;
+		this.location   = location;
+		this.files      = files;
+		this.interval   = Long.getLong("org.eclipse.scanning.sequencer.checkpoint.interval", 1000);
+		this.saver      = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r, "Checkpoint saver");
+			thread.setDaemon(true);
+			return thread;
+		});
+		manager.addDevices(this);
+	}
+
+	/**
+	 * Moves the iterator on to the step of the checkpoint.
+	 * @param iterator
+	 * @return the step carried on from, 0 if the scan starts from the beginning.
+	 */
+	int resume(Iterator<IPosition> iterator) {
+		final int step = checkpoint.getStepNumber();
+		if (step<1) return 0;
+		location.skip(step, iterator);
+		logger.info("Carrying on from step {} of the checkpoint {}", step, checkpoint);
+		return step;
+	}
+
+	@WriteComplete
+	public void written(IPosition position) {
+		checkpoint.setLastWritten(position.getStepIndex());
+		checkpoint.setStepNumber(position.getStepIndex()+Math.max(location.getInnerSize(), 1));
+		final long now = System.currentTimeMillis();
+		if (now-saved<interval) return;
+		try {
+			if (files!=null) files.flushNexusFile();
+		} catch (ScanningException ne) {
+			logger.warn("Cannot flush the NeXus file, the checkpoint "+checkpoint+" is not saved", ne); // The scan carries on without it.
+			return;
+		}
+		save(now);
+	}
+
+	private void save(long now) {
+		checkpoint.setSize(location.getTotalSize());
+		checkpoint.setTime(now);
+		final ScanCheckpoint copy = copy(checkpoint); // The checkpoint carries on changing as the scan runs
+		execute(() -> {
+			try {
+				copy.save();
+			} catch (IOException ne) {
+				logger.warn("Cannot save the checkpoint "+copy, ne); // The scan carries on without it.
+			}
+		});
+		saved = now;
+	}
+
+	private static ScanCheckpoint copy(ScanCheckpoint checkpoint) {
+		final ScanCheckpoint copy = new ScanCheckpoint(checkpoint.getRequestHash(), checkpoint.getFilePath());
+		copy.setStepNumber(checkpoint.getStepNumber());
+		copy.setLastWritten(checkpoint.getLastWritten());
+		copy.setSize(checkpoint.getSize());
+		copy.setTime(checkpoint.getTime());
+		copy.setContinuedFilePath(checkpoint.getContinuedFilePath());
+		copy.setContinuedStepNumber(checkpoint.getContinuedStepNumber());
+		return copy;
+	}
+
+	/**
+	 * Runs the task after the saves, in this thread if the scan has finished.
+	 */
+	private void execute(Runnable task) {
+		try {
+			saver.execute(task);
+		} catch (RejectedExecutionException ne) {
+			task.run();
+		}
+	}
+
+	@ScanEnd
+	public void ended() {
+		final ScanCheckpoint done = copy(checkpoint);
+		execute(done::delete);
+		checkpoint.setStepNumber(0); // Run again from the start
+		checkpoint.setLastWritten(-1);
+	}
+
+	@ScanAbort
+	public void aborted() {
+		final ScanCheckpoint done = copy(checkpoint);
+		execute(done::delete);
+	}
+
+	@ScanFinally
+	public void finished() throws InterruptedException {
+		saver.shutdown();
+		if (!saver.awaitTermination(10, TimeUnit.SECONDS)) logger.warn("The checkpoint {} was not saved in time", checkpoint);
+	}
+}
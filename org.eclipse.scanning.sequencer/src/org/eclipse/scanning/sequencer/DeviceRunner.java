@@ -12,10 +12,12 @@
 package org.eclipse.scanning.sequencer;
 
 import java.util.Collection;
-import java.util.concurrent.Callable;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.scanning.api.ITimeoutable;
 import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.device.IBatchedDetector;
 import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.device.IRunnableEventDevice;
 import org.eclipse.scanning.api.device.models.IDetectorModel;
@@ -87,8 +89,8 @@ class DeviceRunner extends LevelRunner<IRunnableDevice<?>> {
 	}
 
 	@Override
-	protected Callable<IPosition> create(IRunnableDevice<?> detector, IPosition position) throws ScanningException {
-		return new RunTask(detector, position);
+	protected LevelTask<IRunnableDevice<?>> create(IRunnableDevice<?> detector) throws ScanningException {
+		return new RunTask(detector);
 	}
 	
 	@Override
@@ -96,32 +98,34 @@ class DeviceRunner extends LevelRunner<IRunnableDevice<?>> {
 		return devices;
 	}
 
-	private final class RunTask implements Callable<IPosition> {
+	private final class RunTask extends LevelTask<IRunnableDevice<?>> {
 
-		private IRunnableDevice<?>   detector;
-		private IPosition            position;
-
-		public RunTask(IRunnableDevice<?> detector, IPosition position) {
-			this.detector = detector;
-			this.position = position;
+		public RunTask(IRunnableDevice<?> detector) {
+			super(detector);
 		}
 
 		@SuppressWarnings("rawtypes")
 		@Override
 		public IPosition call() throws Exception {
+			final IRunnableDevice<?> detector = object;
+			final List<IPosition>    line     = positions!=null ? positions : Collections.singletonList(position);
 			if (detector instanceof IRunnableEventDevice) {
-				((IRunnableEventDevice)detector).fireRunWillPerform(position);
+				for (IPosition pos : line) ((IRunnableEventDevice)detector).fireRunWillPerform(pos);
 			}
 			try {
 				if (detector instanceof AbstractRunnableDevice) ((AbstractRunnableDevice)detector).setBusy(true);
-			    detector.run(position);
+				if (positions!=null && detector instanceof IBatchedDetector) {
+					((IBatchedDetector)detector).run(positions);
+				} else {
+					for (IPosition pos : line) detector.run(pos);
+				}
 			} catch (Throwable ne) {
 				abort(detector, position, ne);
 			} finally {
 				if (detector instanceof AbstractRunnableDevice) ((AbstractRunnableDevice)detector).setBusy(false);
 			}
 			if (detector instanceof IRunnableEventDevice) {
-				((IRunnableEventDevice)detector).fireRunPerformed(position);
+				for (IPosition pos : line) ((IRunnableEventDevice)detector).fireRunPerformed(pos);
 			}
 			return null; // Faster if we are not adding new information.
 		}
@@ -12,8 +12,10 @@
 package org.eclipse.scanning.sequencer;
 
 import java.util.Collection;
-import java.util.concurrent.Callable;
+import java.util.Collections;
+import java.util.List;
 
+import org.eclipse.scanning.api.device.IBatchedDetector;
 import org.eclipse.scanning.api.device.IRunnableDevice;
 import org.eclipse.scanning.api.device.IRunnableEventDevice;
 import org.eclipse.scanning.api.device.IWritableDetector;
@@ -47,31 +49,37 @@ final class DeviceWriter extends DeviceRunner {
 	}
 
 	@Override
-	protected Callable<IPosition> create(IRunnableDevice<?> device, IPosition position) throws ScanningException {
+	protected LevelTask<IRunnableDevice<?>> create(IRunnableDevice<?> device) throws ScanningException {
 		if (!(device instanceof IWritableDetector<?>)) return null;
-		return new WriteTask((IWritableDetector<?>)device, position);
+		return new WriteTask((IWritableDetector<?>)device);
 	}
 
-	private final class WriteTask implements Callable<IPosition> {
+	private final class WriteTask extends LevelTask<IRunnableDevice<?>> {
 
 		private IWritableDetector<?> detector;
-		private IPosition            position;
 
-		public WriteTask(IWritableDetector<?> detector, IPosition position) {
+		public WriteTask(IWritableDetector<?> detector) {
+			super(detector);
 			this.detector = detector;
-			this.position = position;
 		}
 
 		@Override
 		public IPosition call() throws Exception {
+			final List<IPosition> line = positions!=null ? positions : Collections.singletonList(position);
 			if (detector instanceof IRunnableEventDevice) {
-				((IRunnableEventDevice)detector).fireWriteWillPerform(position);
+				for (IPosition pos : line) ((IRunnableEventDevice)detector).fireWriteWillPerform(pos);
 			}
 			try {
-				boolean wrote = detector.write(position);
+				boolean wrote;
+				if (positions!=null && detector instanceof IBatchedDetector) {
+					wrote = ((IBatchedDetector<?>)detector).write(positions);
+				} else {
+					wrote = true;
+					for (IPosition pos : line) wrote = detector.write(pos) && wrote;
+				}
 				if (wrote) {
 					if (detector instanceof IRunnableEventDevice) {
-						((IRunnableEventDevice)detector).fireWritePerformed(position);
+						for (IPosition pos : line) ((IRunnableEventDevice)detector).fireWritePerformed(pos);
 					}
 				}
 				return null; // faster if not adding new information
@@ -5,7 +5,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -53,6 +52,7 @@ class ExposureTimeManager extends LevelRunner<IRunnableDevice<?>> {
 		List<IRunnableDevice<?>> filtered = Optional.of(toAdd).orElse(Collections.emptyList());
 		filtered = filtered.stream().filter(this::isApplicable).collect(Collectors.toList());
 		devices.addAll(filtered);
+		invalidatePlan();
 	}
 	
 	private boolean isApplicable(IRunnableDevice<?> device) {
@@ -104,18 +104,17 @@ class ExposureTimeManager extends LevelRunner<IRunnableDevice<?>> {
 
 	@SuppressWarnings("unchecked")
 	@Override
-	protected Callable<IPosition> create(IRunnableDevice<?> device, IPosition position) throws ScanningException {
-		return new ExposureTimeTask((IRunnableDevice<IDetectorModel>)device, position);
+	protected LevelTask<IRunnableDevice<?>> create(IRunnableDevice<?> device) throws ScanningException {
+		return new ExposureTimeTask((IRunnableDevice<IDetectorModel>)device);
 	}
 	
-	private final class ExposureTimeTask implements Callable<IPosition> {
+	private final class ExposureTimeTask extends LevelTask<IRunnableDevice<?>> {
 
 		private IRunnableDevice<IDetectorModel> device;
-		private IPosition          position;
 
-		public ExposureTimeTask(IRunnableDevice<IDetectorModel> device, IPosition position) {
+		public ExposureTimeTask(IRunnableDevice<IDetectorModel> device) {
+			super(device);
 			this.device   = device;
-			this.position = position;
 		}
 
 		@Override
@@ -0,0 +1,138 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.scanning.api.event.scan.StageStatistics;
+
+/**
+ * A histogram of times in nanoseconds, in the manner of an HDR histogram,
+ * which may be recorded to from many threads without locking.
+ *
+ * Each power of two is divided into 64 buckets, so a percentile is within
+ * 1% of the time recorded. Times up to 128ns are exact and times over
+ * about 18 minutes are counted as 18 minutes.
+ */
+final class Histogram {
+
+	private static final int  SUB_BITS  = 7;
+	private static final int  SUB_COUNT = 1<<SUB_BITS;     // 128, values below are exact
+	private static final int  SUB_HALF  = SUB_COUNT>>1;    // 64 buckets in each power of two above
+	private static final int  MAX_POWER = 40;              // 2^40ns is about 18 minutes
+	private static final long MAX_VALUE = (1L<<MAX_POWER)-1;
+
+	private final AtomicLongArray buckets;
+	private final LongAdder       count;
+	private final LongAdder       total;
+	private final LongAccumulator min;
+	private final LongAccumulator max;
+
+	Histogram() {
+		this.buckets = new AtomicLongArray(index(MAX_VALUE)+1);
+		this.count   = new LongAdder();
+		this.total   = new LongAdder();
+		this.min     = new LongAccumulator(Math::min, Long.MAX_VALUE);
+		this.max     = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * @param nanos
+	 */
+	void record(long nanos) {
+		if (nanos<0) nanos = 0; // nanoTime() is monotonic but be safe.
+		buckets.incrementAndGet(index(Math.min(nanos, MAX_VALUE)));
+		count.increment();
+		total.add(nanos);
+		min.accumulate(nanos);
+		max.accumulate(nanos);
+	}
+
+	long getCount() {
+		return count.sum();
+	}
+
+	long getTotal(TimeUnit unit) {
+		return unit.convert(total.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the time in nanoseconds below which the percentile of the times recorded fall, 0 if none have been.
+	 */
+	long getValueAtPercentile(double percentile) {
+		final long size = getCount();
+		if (size<1) return 0;
+		final long target = Math.max(1, (long)Math.ceil(percentile/100d*size));
+		long seen = 0;
+		for (int i = 0; i < buckets.length(); i++) {
+			seen+=buckets.get(i);
+			if (seen>=target) return Math.max(min.get(), Math.min(value(i), max.get()));
+		}
+		return max.get();
+	}
+
+	void reset() {
+		for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+		count.reset();
+		total.reset();
+		min.reset();
+		max.reset();
+	}
+
+	/**
+	 * @param name
+	 * @return a summary of the times in milliseconds
+	 */
+	StageStatistics getStatistics(String name) {
+		final long size = getCount();
+		final StageStatistics stats = new StageStatistics(name);
+		stats.setCount(size);
+		if (size<1) return stats;
+		stats.setTotal(toMillis(total.sum()));
+		stats.setMean(toMillis(total.sum())/size);
+		stats.setMin(toMillis(min.get()));
+		stats.setMax(toMillis(max.get()));
+		stats.setMedian(toMillis(getValueAtPercentile(50)));
+		stats.setPercentile90(toMillis(getValueAtPercentile(90)));
+		stats.setPercentile99(toMillis(getValueAtPercentile(99)));
+		return stats;
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos/1e6;
+	}
+
+	/**
+	 * The bucket of a value.
+	 * Below 128 a value is its own bucket, above the power of two gives
+	 * a shift and the top seven bits of the value the bucket in the power.
+	 */
+	static int index(long value) {
+		if (value<SUB_COUNT) return (int)value;
+		final int shift = 64-Long.numberOfLeadingZeros(value)-SUB_BITS;
+		return (shift<<(SUB_BITS-1)) + (int)(value>>>shift);
+	}
+
+	/**
+	 * @return the middle of the values of a bucket.
+	 */
+	static long value(int index) {
+		if (index<SUB_COUNT) return index;
+		final int  shift = (index>>(SUB_BITS-1))-1;
+		final long lower = (long)((index&(SUB_HALF-1))+SUB_HALF)<<shift;
+		return lower + ((1L<<shift)>>1);
+	}
+}
@@ -11,20 +11,19 @@
  *******************************************************************************/
 package org.eclipse.scanning.sequencer;
 
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.scanning.api.ILevel;
 import org.eclipse.scanning.api.INameable;
@@ -33,6 +32,8 @@ import org.eclipse.scanning.api.annotation.scan.LevelEnd;
 import org.eclipse.scanning.api.annotation.scan.LevelStart;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.scan.ExecutorStrategy;
+import org.eclipse.scanning.api.scan.IExecutorStrategy;
 import org.eclipse.scanning.api.scan.LevelInformation;
 import org.eclipse.scanning.api.scan.LevelRole;
 import org.eclipse.scanning.api.scan.ScanningException;
@@ -50,6 +51,17 @@ import org.slf4j.LoggerFactory;
  * The implementing class provides the Callable which runs the
  * actual task. For instance setting a position.
  * 
+ * The devices are ordered by level, and their tasks and annotation
+ * managers created, once into a plan which is reused for every
+ * position. The plan is only made again if isPlanValid(...) says
+ * that the position needs different devices.
+ * 
+ * The executor service is made by the IExecutorStrategy of the runner,
+ * by default the one which the properties give for its role.
+ * 
+ * The devices may also be run once for a line of positions, if their
+ * tasks can do that, see run(List, boolean).
+ * 
  * @author Matthew Gerring
  *
  */
@@ -58,10 +70,16 @@ abstract class LevelRunner<L extends ILevel> {
 	private static Logger logger = LoggerFactory.getLogger(LevelRunner.class);
 
     protected IPosition                 position;
-    private volatile ForkJoinPool       eservice; // Different threads may nullify the service, better to make volatile.
+    private volatile ExecutorService    eservice; // Different threads may nullify the service, better to make volatile.
+	private IExecutorStrategy           executorStrategy;
 	private ScanningException           abortException;
 	private PositionDelegate            pDelegate;
 	private boolean                     levelCachingAllowed=true;
+	private List<Level<L>>              plan;
+	private List<Future<IPosition>>     pending = Collections.emptyList(); // The tasks of the last level submitted without blocking
+	private StageTimer                  timer;
+	private List<IPosition>             positions; // The line of positions of the run, null for a single position
+	private int                         count = 1; // The number of positions of the last run, the timeouts are for each
 	
 	protected LevelRunner() {
 		pDelegate = new PositionDelegate();
@@ -74,18 +92,48 @@ abstract class LevelRunner<L extends ILevel> {
 	protected abstract Collection<L> getDevices() throws ScanningException ;
 
 	/**
-	 * Implement this method to create a callable which willbe run by the executor service.
-	 * If a given level object and position return null, no work will be done for that object at that level.
+	 * Implement this method to create a task which will be run by the executor service.
+	 * The task is created once for the plan and run for every position, which is set
+	 * on the task before it is run. If a given level object returns null, no work will
+	 * be done for that object at that level.
 	 * 
 	 * @param levelObject
-	 * @param position
-	 * @return a callable that returns the position reached once it has finished running. May return null to
+	 * @return a task that returns the position reached once it has finished running. May return null to
 	 * do no work for a given create level.
 	 * 
 	 * @throws ScanningException
 	 */
-	protected abstract Callable<IPosition> create(L levelObject, IPosition position)  throws ScanningException;
+	protected abstract LevelTask<L> create(L levelObject)  throws ScanningException;
+
+	/**
+	 * Override to say when the plan made from getDevices() may not be
+	 * used for a position, for instance because it moves different scannables.
+	 * 
+	 * @param position
+	 * @return true if the devices of the current plan are those which the position needs.
+	 */
+	protected boolean isPlanValid(IPosition position) {
+		return true;
+	}
+
+	/**
+	 * Call when the devices have changed so that the plan is made again
+	 * at the next position.
+	 */
+	protected void invalidatePlan() {
+		plan = null;
+	}
 	
+	/**
+	 * Times each device in a histogram of the timer, named by the
+	 * role and the device, for instance move/x.
+	 * @param timer or null not to time the devices.
+	 */
+	void setStageTimer(StageTimer timer) {
+		this.timer = timer;
+		invalidatePlan();
+	}
+
 	/**
 	 * Call to set the value at the location specified
 	 * Same as calling run(position, true)
@@ -112,6 +160,10 @@ abstract class LevelRunner<L extends ILevel> {
 		if (abortException!=null) {
 			throw abortException;
 		}
+		
+		// The tasks are reused so those of a non-blocking run must be done.
+		if (!pending.isEmpty()) await();
+		count = positions!=null ? positions.size() : 1;
 
 		/** NOTE: The position is passed down to run in the tread pool.
 		 *  A subsequent run and await could in theory return the last
@@ -122,8 +174,7 @@ abstract class LevelRunner<L extends ILevel> {
 		boolean ok = pDelegate.firePositionWillPerform(loc);
         if (!ok) return false;
 		
-		Map<Integer, List<L>> positionMap = getLevelOrderedDevices(getDevices());
-		Map<Integer, AnnotationManager> managerMap = getLevelOrderedManagerMap(positionMap);
+		final List<Level<L>> levels = getPlan(loc);
 		
 		try {
 			// TODO Should we actually create the service size to the size
@@ -132,35 +183,34 @@ abstract class LevelRunner<L extends ILevel> {
 			if (eservice==null) this.eservice = createService();
 
 			Integer finalLevel = 0;
-			for (Iterator<Integer> it = positionMap.keySet().iterator(); it.hasNext();) {
+			for (int i = 0; i < levels.size(); i++) {
 			    
 				if (abortException!=null) throw abortException;
 				
-				int level = it.next();
-				List<L> lobjects = positionMap.get(level);
-				Collection<Callable<IPosition>> tasks = new ArrayList<>(lobjects.size());
-				for (L lobject : lobjects) {
-					Callable<IPosition> c = create(lobject, loc);
-					if (c==null) continue; // legal to say that there is nothing to do for a given object.
-					tasks.add(c);
+				final Level<L> level = levels.get(i);
+				for (LevelTask<L> task : level.tasks) {
+					task.setPosition(loc);
+					task.setPositions(positions);
 				}
 				
-				managerMap.get(level).invoke(LevelStart.class, loc, new LevelInformation(getLevelRole(), level, lobjects));
-				if (!it.hasNext() && !block) { 
+				level.manager.invoke(LevelStart.class, loc, level.information);
+				if (i==levels.size()-1 && !block) { 
 					// The last one and we are non-blocking
-					for (Callable<IPosition> callable : tasks) eservice.submit(callable);
+					final List<Future<IPosition>> futures = new ArrayList<>(level.tasks.size());
+					for (Callable<IPosition> callable : level.callables) futures.add(eservice.submit(callable));
+					pending = futures;
 				} else {
 					// Normally we block until done.
 					// Blocks until level has run
-				    List<Future<IPosition>> pos = eservice.invokeAll(tasks, getTimeout(lobjects), TimeUnit.SECONDS);
+				    List<Future<IPosition>> pos = eservice.invokeAll(level.callables, scale(getTimeout(level.objects)), TimeUnit.SECONDS);
 				    
 				    // If timed out, some isDone will be false.
 				    for (Future<IPosition> future : pos) {
-						if (!future.isDone()) throw new ScanningException("The timeout of "+timeout+"s has been reached waiting for level "+level+" objects "+toString(lobjects));
+						if (!future.isDone()) throw new ScanningException("The timeout of "+timeout+"s has been reached waiting for level "+level.level+" objects "+toString(level.objects));
 					}
-				    pDelegate.fireLevelPerformed(level, lobjects, getPosition(loc, pos));
+				    pDelegate.fireLevelPerformed(level.level, level.objects, getPosition(loc, pos));
 				}
-				managerMap.get(level).invoke(LevelEnd.class, loc, new LevelInformation(getLevelRole(), level, lobjects));
+				level.manager.invoke(LevelEnd.class, loc, level.information);
 			}
 			
 			pDelegate.firePositionPerformed(finalLevel, loc);
@@ -180,6 +230,36 @@ abstract class LevelRunner<L extends ILevel> {
 		return true;
 	}
 
+	/**
+	 * Runs the devices once for a line of positions, which their tasks
+	 * read from LevelTask.positions. The position of the tasks is the
+	 * last of the line. The timeouts are multiplied by the number of
+	 * positions.
+	 * 
+	 * @param positions of a line of the scan, not empty
+	 * @param block as run(IPosition, boolean)
+	 * @return
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	protected boolean run(List<IPosition> positions, boolean block) throws ScanningException, InterruptedException {
+		this.positions = positions;
+		try {
+			return run(positions.get(positions.size()-1), block);
+		} finally {
+			this.positions = null;
+		}
+	}
+
+	/**
+	 * @param time in seconds for a position
+	 * @return the time for the positions of the last run
+	 */
+	private long scale(long time) {
+		if (count<2) return time;
+		return time < Long.MAX_VALUE/count ? time*count : Long.MAX_VALUE;
+	}
+
 	protected abstract LevelRole getLevelRole();
 
 	protected String toString(List<L> lobjects) {
@@ -208,7 +288,7 @@ abstract class LevelRunner<L extends ILevel> {
 	 * @throws InterruptedException 
 	 */
 	protected IPosition await() throws InterruptedException, ScanningException {
-        return await(getTimeout(null));
+        return await(scale(getTimeout(null)));
 	}
 	
 	/** 
@@ -225,19 +305,35 @@ abstract class LevelRunner<L extends ILevel> {
 		if (abortException!=null) {
 			throw abortException;
 		}
+		final List<Future<IPosition>> futures = pending;
+		pending = Collections.emptyList();
+		if (futures.isEmpty())       return position;
 		if (eservice==null)          return position;
 		if (eservice.isTerminated()) {
 			eservice = null;
 			return position;
 		}
-		boolean ok = eservice.awaitQuiescence(time, TimeUnit.SECONDS); 
-		if (!ok) { // Might have nullified service during wait.
+		final long nanos    = TimeUnit.SECONDS.toNanos(time); // Saturates rather than overflowing
+		final long deadline = System.nanoTime()+nanos;
+		try {
+			for (Future<IPosition> future : futures) {
+				long left = nanos==Long.MAX_VALUE ? Long.MAX_VALUE : deadline-System.nanoTime();
+				future.get(left, TimeUnit.NANOSECONDS);
+			}
+		} catch (TimeoutException ne) {
 			throw new ScanningException("The timeout of "+timeout+"s has been reached, scan aborting. Please implement ITimeoutable to define how long your device needs to write.");
+		} catch (ExecutionException ne) {
+			if (abortException!=null) throw abortException;
+			throw new ScanningException(ne.getCause().getMessage(), ne.getCause());
+		} catch (CancellationException ne) {
+			if (abortException!=null) throw abortException; // Cancelled by the abort
+			throw new ScanningException("The tasks of the last level were cancelled", ne);
 		}
 		return position;
 	}
 	
 	public void abort() {
+		pending = Collections.emptyList();
 		if (eservice==null) return; // We are already finished
 		eservice.shutdownNow();
 		eservice = null;
@@ -286,55 +382,153 @@ abstract class LevelRunner<L extends ILevel> {
 
 	public void reset() {
 		abortException = null;
+		pending        = Collections.emptyList();
+	}
+
+	private List<Level<L>> getPlan(IPosition loc) throws ScanningException {
+		if (plan==null || !isLevelCachingAllowed() || !isPlanValid(loc)) {
+			plan = createPlan(getDevices());
+		}
+		return plan;
 	}
 
-	private SoftReference<Map> sortedObjects;
 	/**
-	 * Get the scannables, ordered by level, lowest first
-	 * @param position
+	 * Orders the objects by level, lowest first, and creates their tasks
+	 * and annotation managers.
+	 * 
+	 * @param objects
 	 * @return
 	 * @throws ScanningException 
 	 */
-	protected Map<Integer, List<L>> getLevelOrderedDevices(final Collection<L> objects) throws ScanningException {
-		
-		if (objects==null) return Collections.emptyMap();
+	private List<Level<L>> createPlan(final Collection<L> objects) throws ScanningException {
 		
-		if (sortedObjects!=null && sortedObjects.get()!=null) return sortedObjects.get();
+		if (objects==null) return Collections.emptyList();
 		
-		final Map<Integer, List<L>> ret = new TreeMap<>();
+		final Map<Integer, List<L>> sorted = new TreeMap<>();
 		for (L object : objects) {
 			final int level = object.getLevel();
 		
-			if (!ret.containsKey(level)) ret.put(level, new ArrayList<L>(7));
-			ret.get(level).add(object);
+			if (!sorted.containsKey(level)) sorted.put(level, new ArrayList<L>(7));
+			sorted.get(level).add(object);
 		}
-		if (isLevelCachingAllowed()) sortedObjects = new SoftReference<Map>(ret);
 		
-		return ret;
+		final List<Level<L>> ret = new ArrayList<>(sorted.size());
+		for (Map.Entry<Integer, List<L>> entry : sorted.entrySet()) {
+			
+			final List<L> lobjects = Collections.unmodifiableList(entry.getValue());
+			final List<LevelTask<L>> tasks = new ArrayList<>(lobjects.size());
+			final List<Callable<IPosition>> callables = new ArrayList<>(lobjects.size());
+			for (L lobject : lobjects) {
+				LevelTask<L> task = create(lobject);
+				if (task==null) continue; // legal to say that there is nothing to do for a given object.
+				tasks.add(task);
+				callables.add(timer!=null ? new TimedTask(task, timer.getDeviceHistogram(getTimerName(lobject))) : task);
+			}
+			
+			final AnnotationManager manager = new AnnotationManager(SequencerActivator.getInstance(), LevelStart.class, LevelEnd.class);	// Less annotations is more efficient
+			manager.addDevices(lobjects);
+			
+			final LevelInformation information = new LevelInformation(getLevelRole(), entry.getKey(), lobjects);
+			ret.add(new Level<L>(entry.getKey(), lobjects, Collections.unmodifiableList(tasks), Collections.unmodifiableList(callables), manager, information));
+		}
+		return Collections.unmodifiableList(ret);
 	}
 	
-	private SoftReference<Map> sortedManagers;
+	/**
+	 * The objects at one level of the plan with everything
+	 * needed to run them at a position.
+	 */
+	private static final class Level<L> {
+		
+		private final int                level;
+		private final List<L>            objects;
+		private final List<LevelTask<L>> tasks;
+		private final List<Callable<IPosition>> callables; // The tasks, timed if there is a timer
+		private final AnnotationManager  manager;
+		private final LevelInformation   information;
+
+		Level(int level, List<L> objects, List<LevelTask<L>> tasks, List<Callable<IPosition>> callables, AnnotationManager manager, LevelInformation information) {
+			this.level       = level;
+			this.objects     = objects;
+			this.tasks       = tasks;
+			this.callables   = callables;
+			this.manager     = manager;
+			this.information = information;
+		}
+	}
+	
+	/**
+	 * The name of the timer of a level object, prefixed by the role of this runner.
+	 */
+	private String getTimerName(L lobject) {
+		final String name = lobject instanceof INameable ? ((INameable)lobject).getName() : String.valueOf(lobject);
+		final LevelRole role = getLevelRole();
+		return role!=null ? role.name().toLowerCase()+"/"+name : name;
+	}
 
-	private Map<Integer, AnnotationManager> getLevelOrderedManagerMap(Map<Integer, List<L>> positionMap) {
+	/**
+	 * Records the time which a task takes.
+	 */
+	private static final class TimedTask implements Callable<IPosition> {
 		
-		if (sortedManagers!=null && sortedManagers.get()!=null) return sortedManagers.get();
+		private final Callable<IPosition> task;
+		private final Histogram           histogram;
 
-		final Map<Integer, AnnotationManager> ret = new HashMap<>();
-		for (Integer position : positionMap.keySet()) {
-			ret.put(position, new AnnotationManager(SequencerActivator.getInstance(), LevelStart.class, LevelEnd.class));	// Less annotations is more efficient
-			ret.get(position).addDevices(positionMap.get(position));
+		TimedTask(Callable<IPosition> task, Histogram histogram) {
+			this.task      = task;
+			this.histogram = histogram;
+		}
+
+		@Override
+		public IPosition call() throws Exception {
+			final long start = System.nanoTime();
+			try {
+				return task.call();
+			} finally {
+				histogram.record(System.nanoTime()-start);
+			}
 		}
-		if (isLevelCachingAllowed()) sortedManagers = new SoftReference<Map>(ret);
-		return ret;
 	}
-	
 
-	protected ForkJoinPool createService() {
-		// TODO Need spring config for this.
-		Integer processors = Integer.getInteger("org.eclipse.scanning.level.runner.pool.count");
-		if (processors==null || processors<1) processors = Runtime.getRuntime().availableProcessors();
-		return new ForkJoinPool(processors);
-        // Slightly faster than thread pool executor @see ScanAlgorithmBenchMarkTest
+	/**
+	 * Runs a level object at a position. The same task is run for
+	 * each position of a scan, which is set before it is submitted.
+	 */
+	protected static abstract class LevelTask<L> implements Callable<IPosition> {
+		
+		protected final L         object;
+		protected IPosition       position;
+		protected List<IPosition> positions; // The line of positions when the devices are run for several, otherwise null
+		
+		protected LevelTask(L object) {
+			this.object = object;
+		}
+
+		void setPosition(IPosition position) {
+			this.position = position;
+		}
+
+		void setPositions(List<IPosition> positions) {
+			this.positions = positions;
+		}
+	}
+
+	protected ExecutorService createService() {
+		return getExecutorStrategy().createService(getLevelRole());
+	}
+
+	public IExecutorStrategy getExecutorStrategy() {
+		if (executorStrategy==null) return ExecutorStrategy.getDefault(getLevelRole());
+		return executorStrategy;
+	}
+
+	/**
+	 * Sets the strategy which makes the executor service, takes effect
+	 * the next time that the service is made, after close().
+	 * @param executorStrategy or null to use the default for the role.
+	 */
+	public void setExecutorStrategy(IExecutorStrategy executorStrategy) {
+		this.executorStrategy = executorStrategy;
 	}
 
 	public void addPositionListener(IPositionListener listener) {
@@ -354,6 +548,11 @@ abstract class LevelRunner<L extends ILevel> {
 	}
 
 	private IPosition getPosition(IPosition position, List<Future<IPosition>> futures) throws InterruptedException, ExecutionException {
+		if (!pDelegate.isListening()) {
+			// Nothing will read the position, only check that the tasks worked.
+			for (Future<IPosition> future : futures) future.get();
+			return position;
+		}
 		MapPosition ret = new MapPosition();
 	    for (Future<IPosition> future : futures) {
 	    	// Faster than using composite
@@ -385,7 +584,7 @@ abstract class LevelRunner<L extends ILevel> {
 			}
 
 			@Override
-			protected Callable<IPosition> create(T levelObject, IPosition position) throws ScanningException {
+			protected LevelTask<T> create(T levelObject) throws ScanningException {
 				return null;
 			}
 			@Override
@@ -9,6 +9,7 @@ import org.eclipse.scanning.api.points.GeneratorException;
 import org.eclipse.scanning.api.points.IDeviceDependentIterable;
 import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.ScanPointIterator;
 import org.eclipse.scanning.api.points.models.CompoundModel;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.models.ScanModel;
@@ -123,19 +124,35 @@ public final class LocationManager {
 			size = ((IPointGenerator<?>)gen).size();
 			
 		} else if (gen!=null) {
-		    for (IPosition unused : gen) size++; // Fast even for large stuff providing they do not check hardware on the next() call.
+			Iterator<IPosition> it = gen.iterator();
+			if (it instanceof ScanPointIterator) {
+				size = ((ScanPointIterator)it).size(); // Known without iterating, for instance from the masks of regions
+			} else {
+				while (it.hasNext()) { it.next(); size++; } // Fast even for large stuff providing they do not check hardware on the next() call.
+			}
 		}
 		return size;   		
 	}
 
 	/**
-	 * Seek within the iterator for the given location.
+	 * Seek within the iterator for the given location. If the iterator is
+	 * a {@link ScanPointIterator} which can seek it is moved directly to
+	 * the location, otherwise it is run until the location is reached.
 	 * @param location
 	 * @param iterator
 	 * @return null if position not found.
 	 */
 	public IPosition seek(int location, Iterator<IPosition> iterator) {
 		
+		final int step = Math.max(innerSize, 1);
+		if (location % step == 0 && iterator instanceof ScanPointIterator && ((ScanPointIterator)iterator).seek(location/step)) {
+			stepNumber = location;
+			if (!iterator.hasNext()) return null;
+			IPosition pos = iterator.next();
+			pos.setStepIndex(stepNumber);
+			return pos;
+		}
+		
 		stepNumber=0;
 		/*
 		 * IMPORTANT We do not keep the positions in memory because there can be millions.
@@ -145,11 +162,36 @@ public final class LocationManager {
 			IPosition pos = iterator.next();
         	pos.setStepIndex(stepNumber);
 			if (stepNumber == location) return pos;
-			stepNumber+=Math.max(innerSize, 1);
+			stepNumber+=step;
 		}
 		return null;
 	}
 
+	/**
+	 * Moves the iterator on so that its next position is the one at the
+	 * location, to carry on a scan from there. Unlike seek(...) the position
+	 * is not read, the counts are set as if the points before it had run.
+	 * A location part way along an inner line goes back to the start of the
+	 * line, which is run again. A location past the end of the scan leaves
+	 * the iterator with no more positions.
+	 * @param location
+	 * @param iterator
+	 */
+	public void skip(int location, Iterator<IPosition> iterator) {
+		
+		if (location<0) throw new IllegalArgumentException("The location "+location+" is invalid!");
+		final int step  = Math.max(innerSize, 1);
+		int       lines = location/step;
+		if (outerSize>0) lines = Math.min(lines, outerSize);
+		if (!(iterator instanceof ScanPointIterator) || !((ScanPointIterator)iterator).seek(lines)) {
+			int i = 0;
+			for (; i < lines && iterator.hasNext(); i++) iterator.next();
+			lines = i;
+		}
+		stepNumber = lines*step;
+		outerCount = lines;
+	}
+
 	public boolean isInnerScan() {
 		return outerSize > 0 && innerSize > 0;
 	}
@@ -0,0 +1,213 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.IExecutorStrategy;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.eclipse.scanning.sequencer.StageTimer.Stage;
+
+/**
+ * Reads the positions of a scan ahead of the one being collected and moves
+ * the scannables which are readout safe to the next position while the
+ * detectors are read out at the current one.
+ *
+ * The scan loop calls moveAhead() once the detectors have run, then
+ * readAhead() to read positions from the iterator, up to the look ahead,
+ * while the scannables move. At the next position getMoving(...) gives
+ * the scannables which should not be moved again and await() waits for
+ * them to get there.
+ */
+final class PositionPipeline implements Iterator<IPosition> {
+
+	private Iterator<IPosition>           iterator;
+	private final Deque<IPosition>        buffer;
+	private final int                     depth;
+	private final IScannableDeviceService connectorService;
+	private final ScannablePositioner     positioner;
+	private final StageTimer              timer;
+	private ExecutorService               mover;
+
+	private Future<?>                     move;
+	private IPosition                     moving; // The position the readout safe scannables are moving to
+	private Collection<String>            moved;  // Their names
+
+	/**
+	 *
+	 * @param iterator
+	 * @param depth the number of positions to read ahead, at least 1.
+	 * @param connectorService used to find the scannables of a position.
+	 * @param timer
+	 */
+	PositionPipeline(Iterator<IPosition> iterator, int depth, IScannableDeviceService connectorService, StageTimer timer) {
+		if (depth<1) throw new IllegalArgumentException("The look ahead must be at least one position!");
+		this.iterator         = iterator;
+		this.depth            = depth;
+		this.buffer           = new ArrayDeque<>(depth);
+		this.connectorService = connectorService;
+		this.timer            = timer;
+		this.positioner       = new ScannablePositioner(connectorService);
+		positioner.setReadoutSafeOnly(true);
+		positioner.setStageTimer(timer);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !buffer.isEmpty() || iterator.hasNext();
+	}
+
+	@Override
+	public IPosition next() {
+		fill(1);
+		if (buffer.isEmpty()) throw new NoSuchElementException();
+		return buffer.poll();
+	}
+
+	/**
+	 * Starts moving the readout safe scannables to the next position, if
+	 * there is one.
+	 *
+	 * @throws ScanningException if a previous move was not awaited.
+	 */
+	void moveAhead() throws ScanningException {
+
+		if (move!=null) throw new ScanningException("The scannables are still moving ahead to "+moving);
+		fill(1);
+		final IPosition next = buffer.peek();
+		if (next==null) return; // The last point
+
+		final Collection<String> names = getReadoutSafeNames(next);
+		if (!names.isEmpty()) {
+			if (mover==null) mover = Executors.newSingleThreadExecutor(r -> {
+				Thread thread = new Thread(r, "Move ahead");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.moving = next;
+			this.moved  = names;
+			this.move   = mover.submit(() -> {
+				long start = timer.start();
+				positioner.setPosition(next);
+				timer.record(Stage.MOVE_AHEAD, start);
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Reads positions from the iterator up to the look ahead.
+	 */
+	void readAhead() {
+		fill(depth);
+	}
+
+	/**
+	 *
+	 * @param position the position to be collected next.
+	 * @return the names of the scannables which have been moved ahead to the position,
+	 *         these should not be moved again. Empty if none have.
+	 */
+	Collection<String> getMoving(IPosition position) {
+		if (move==null || moving!=position) return Collections.emptyList();
+		return moved;
+	}
+
+	/**
+	 * Waits for the readout safe scannables which were moved ahead to
+	 * reach their position.
+	 *
+	 * @throws ScanningException if the move failed or timed out
+	 * @throws InterruptedException
+	 */
+	void await() throws ScanningException, InterruptedException {
+
+		if (move==null) return;
+		final long start = timer.start();
+		try {
+			move.get(positioner.getTimeout(null), TimeUnit.SECONDS);
+		} catch (ExecutionException ne) {
+			throw ne.getCause() instanceof ScanningException
+			    ? (ScanningException)ne.getCause()
+			    : new ScanningException("Cannot move ahead to "+moving, ne.getCause());
+		} catch (TimeoutException ne) {
+			throw new ScanningException("The timeout of "+positioner.getTimeout(null)+"s has been reached moving ahead to "+moving, ne);
+		} finally {
+			timer.record(Stage.MOVE_AHEAD_WAIT, start);
+			move   = null;
+			moving = null;
+			moved  = null;
+		}
+	}
+
+	/**
+	 * Reads ahead from a new iterator, for instance after a seek. Any
+	 * move ahead is waited for and the positions read from the old
+	 * iterator discarded.
+	 *
+	 * @param iterator
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	void setIterator(Iterator<IPosition> iterator) throws ScanningException, InterruptedException {
+		await();
+		buffer.clear();
+		this.iterator = iterator;
+	}
+
+	/**
+	 * @param strategy of the positioner which moves the scannables ahead, null for the default.
+	 */
+	void setExecutorStrategy(IExecutorStrategy strategy) {
+		positioner.setExecutorStrategy(strategy);
+	}
+
+	void abort() {
+		if (move!=null) move.cancel(true);
+		positioner.abort();
+	}
+
+	void close() {
+		if (mover!=null) mover.shutdownNow();
+		mover = null;
+		positioner.close();
+	}
+
+	private void fill(int size) {
+		while (buffer.size()<size && iterator.hasNext()) buffer.add(iterator.next());
+	}
+
+	private Collection<String> getReadoutSafeNames(IPosition position) throws ScanningException {
+		final List<String> names = new ArrayList<>(position.getNames().size());
+		for (String name : position.getNames()) {
+			IScannable<?> scannable = connectorService.getScannable(name);
+			if (scannable!=null && scannable.isReadoutSafe()) names.add(name);
+		}
+		return names;
+	}
+}
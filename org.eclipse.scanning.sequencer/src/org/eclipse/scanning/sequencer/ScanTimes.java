@@ -0,0 +1,79 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.eclipse.scanning.api.event.scan.StageStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the StageTimer of the scan which last ran over JMX.
+ */
+final class ScanTimes implements ScanTimesMXBean {
+	
+	private static final Logger logger = LoggerFactory.getLogger(ScanTimes.class);
+	
+	private static final String NAME = "org.eclipse.scanning.sequencer:type=ScanTimes";
+	
+	private static ScanTimes instance;
+
+	private volatile String     scanName;
+	private volatile StageTimer timer;
+	
+	private ScanTimes() {
+		// Use setCurrent(...)
+	}
+
+	/**
+	 * Sets the scan which the times are read from, the bean is registered
+	 * the first time that this is called.
+	 * @param scanName
+	 * @param timer
+	 */
+	static synchronized void setCurrent(String scanName, StageTimer timer) {
+		if (instance==null) instance = register();
+		instance.scanName = scanName;
+		instance.timer    = timer;
+	}
+
+	private static ScanTimes register() {
+		final ScanTimes times = new ScanTimes();
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName  name   = new ObjectName(NAME);
+			if (server.isRegistered(name)) server.unregisterMBean(name); // For instance the bundle was restarted.
+			server.registerMBean(new StandardMBean(times, ScanTimesMXBean.class, true), name);
+		} catch (Exception ne) {
+			logger.debug("Cannot register the scan times with JMX", ne);
+		}
+		return times;
+	}
+
+	@Override
+	public String getScanName() {
+		return scanName;
+	}
+
+	@Override
+	public List<StageStatistics> getStageTimes() {
+		final StageTimer timer = this.timer;
+		return timer!=null ? timer.getStatistics() : Collections.emptyList();
+	}
+}
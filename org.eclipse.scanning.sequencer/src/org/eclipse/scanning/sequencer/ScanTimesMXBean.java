@@ -0,0 +1,36 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.List;
+
+import org.eclipse.scanning.api.event.scan.StageStatistics;
+
+/**
+ * The times of the stages of the points of the current scan, or the
+ * last one if none is running, so that they may be watched with a JMX
+ * console. It is registered as org.eclipse.scanning.sequencer:type=ScanTimes
+ */
+public interface ScanTimesMXBean {
+
+	/**
+	 * 
+	 * @return the name of the scan which was timed, null if no scan has run.
+	 */
+	String getScanName();
+
+	/**
+	 * 
+	 * @return the times of the stages and devices in milliseconds, empty if no scan has run.
+	 */
+	List<StageStatistics> getStageTimes();
+}
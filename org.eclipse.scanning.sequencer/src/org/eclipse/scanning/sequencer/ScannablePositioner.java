@@ -14,11 +14,16 @@ package org.eclipse.scanning.sequencer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
+import org.eclipse.scanning.api.IBatchedScannable;
 import org.eclipse.scanning.api.IScannable;
 import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.device.ScannableValueCache;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
 import org.eclipse.scanning.api.scan.LevelRole;
@@ -35,12 +40,22 @@ import org.eclipse.scanning.api.scan.event.IPositioner;
 final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IPositioner {
 		
 	private IScannableDeviceService     connectorService;
+	private ScannableValueCache         cache; // May be null to always read the scannables
 	private List<IScannable<?>>         monitors;
+	private boolean                     readoutSafeOnly;
+	private Collection<String>          skip;
+	
+	// The scannables by level which are moving through a line, see setPositions(...)
+	private Collection<List<IBatchedScannable<?>>> armed = Collections.emptyList();
+	
+	// The names of the position and of those skipped when the plan was made.
+	private List<String>                plannedNames;
+	private Collection<String>          plannedSkip;
 
 	ScannablePositioner(IScannableDeviceService service) {	
 		
-		setLevelCachingAllowed(false);
 		this.connectorService = service;
+		this.cache            = service!=null ? service.getValueCache() : null;
 		
 		// This is setting the default but the actual value of the timeout
 		// is set by implementing ITimeoutable in your IScannable. The devices
@@ -81,6 +96,99 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 		return true;
 	}
 
+	/**
+	 * Moves the scannables of the position except those named, which
+	 * have already been moved to it.
+	 * 
+	 * @param position
+	 * @param moved the names of scannables which have been moved, may be empty.
+	 * @return
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	boolean setPosition(IPosition position, Collection<String> moved) throws ScanningException, InterruptedException {
+		this.skip = moved;
+		try {
+			run(position);
+		} finally {
+			this.skip = null;
+		}
+		return true;
+	}
+
+	/**
+	 * 
+	 * @param position
+	 * @return true if every scannable of the position may be moved through a line with setPositions(...)
+	 * @throws ScanningException
+	 */
+	boolean isBatchable(IPosition position) throws ScanningException {
+		if (position.getNames().isEmpty()) return false;
+		for (String name : position.getNames()) {
+			if (!(connectorService.getScannable(name) instanceof IBatchedScannable)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Arms the scannables with the positions in the order of their levels,
+	 * in this thread. The scannables must be at the position before the first.
+	 * They move through the positions while the detectors run, awaitPositions()
+	 * waits for them to get to the last. The monitors are not read and the
+	 * position listeners are not told.
+	 * 
+	 * @param positions of a line of the scan, which all have the same scannables.
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	void setPositions(List<IPosition> positions) throws ScanningException, InterruptedException {
+		armed = Collections.emptyList();
+		if (positions.isEmpty()) return;
+		final Map<Integer, List<IBatchedScannable<?>>> levels = new TreeMap<>();
+		for (String name : positions.get(0).getNames()) {
+			IScannable<?> scannable = connectorService.getScannable(name);
+			if (!(scannable instanceof IBatchedScannable)) throw new ScanningException("The scannable '"+name+"' cannot be moved through a line of positions!");
+			levels.computeIfAbsent(scannable.getLevel(), level -> new ArrayList<>(7)).add((IBatchedScannable<?>)scannable);
+		}
+		this.position = positions.get(positions.size()-1);
+		for (List<IBatchedScannable<?>> level : levels.values()) {
+			for (IBatchedScannable<?> scannable : level) {
+				if (cache!=null) cache.invalidate(scannable.getName());
+				try {
+					scannable.setPositions(positions);
+				} catch (InterruptedException | ScanningException ne) {
+					throw ne;
+				} catch (Exception ne) {
+					throw new ScanningException("Cannot move "+scannable.getName()+" through the positions from "+positions.get(0)+" to "+position, ne);
+				}
+			}
+		}
+		armed = levels.values();
+	}
+
+	/**
+	 * Waits for the scannables of the last setPositions(...) to get to the
+	 * end of the line, in the order of their levels.
+	 * 
+	 * @throws ScanningException
+	 * @throws InterruptedException
+	 */
+	void awaitPositions() throws ScanningException, InterruptedException {
+		final Collection<List<IBatchedScannable<?>>> levels = armed;
+		armed = Collections.emptyList();
+		for (List<IBatchedScannable<?>> level : levels) {
+			for (IBatchedScannable<?> scannable : level) {
+				try {
+					scannable.awaitPositions();
+				} catch (InterruptedException | ScanningException ne) {
+					throw ne;
+				} catch (Exception ne) {
+					throw new ScanningException("Cannot move "+scannable.getName()+" to the end of the line at "+position, ne);
+				}
+			}
+		}
+	}
+
 	@Override
 	public IPosition getPosition() throws ScanningException {
 		if (position==null) return null;
@@ -88,7 +196,7 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 		for (String name : position.getNames()) {
 			try {
 				IScannable<?> scannable = connectorService.getScannable(name);
-			    ret.put(name, scannable.getPosition());
+			    ret.put(name, getPosition(scannable));
 			} catch (Exception ne) {
 				throw new ScanningException("Cannot read value of "+name, ne);
 			}
@@ -96,48 +204,82 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 		ret.setStepIndex(position.getStepIndex());
 		return ret;
 	}
+
+	/**
+	 * 
+	 * @param scannable
+	 * @return the value of the scannable from the cache if it is recent enough.
+	 * @throws Exception
+	 */
+	private Object getPosition(IScannable<?> scannable) throws Exception {
+		return cache!=null ? cache.getPosition(scannable) : scannable.getPosition();
+	}
   
 
+	/**
+	 * The scannables are found by name when the plan is made, after that
+	 * the plan is used until a position moves different scannables.
+	 */
+	@Override
+	protected boolean isPlanValid(IPosition position) {
+		return Objects.equals(position.getNames(), plannedNames) && getSkip(skip).equals(getSkip(plannedSkip));
+	}
+
+	private static Collection<String> getSkip(Collection<String> skip) {
+		return skip!=null ? skip : Collections.emptyList();
+	}
+
 	@Override
 	protected Collection<IScannable<?>> getDevices() throws ScanningException {
-		Collection<String> names = position.getNames();
+		List<String> names = position.getNames();
+		this.plannedNames = names!=null ? new ArrayList<>(names) : null;
+		this.plannedSkip  = skip!=null  ? new ArrayList<>(skip)  : null;
 		if (names==null) return null;
 		final List<IScannable<?>> ret = new ArrayList<>(names.size());
-		for (String name : position.getNames()) ret.add(connectorService.getScannable(name));
-		if (monitors!=null) for(IScannable<?> mon : monitors) ret.add(mon);
+		for (String name : position.getNames()) {
+			if (skip!=null && skip.contains(name)) continue;
+			IScannable<?> scannable = connectorService.getScannable(name);
+			if (readoutSafeOnly && !scannable.isReadoutSafe()) continue;
+			ret.add(scannable);
+		}
+		if (monitors!=null && !readoutSafeOnly) for(IScannable<?> mon : monitors) ret.add(mon);
 		return ret;
 	}
 
 	@Override
-	protected Callable<IPosition> create(IScannable<?> scannable, IPosition position) throws ScanningException {
-		return new MoveTask(scannable, position);
+	protected LevelTask<IScannable<?>> create(IScannable<?> scannable) throws ScanningException {
+		return new MoveTask(scannable);
 	}
 
-	private final class MoveTask implements Callable<IPosition> {
-
-		private IScannable<?> scannable;
-		private IPosition     position;
+	private final class MoveTask extends LevelTask<IScannable<?>> {
 
-		public MoveTask(IScannable<?> iScannable, IPosition position) {
-			this.scannable = iScannable;
-			this.position  = position;
+		public MoveTask(IScannable<?> iScannable) {
+			super(iScannable);
 		}
 
 		@Override
 		public IPosition call() throws Exception {
 			
+			final IScannable<?> scannable = object;
+
 			// Get the value in this position, may be null for monitors.
 			Object value    = position.get(scannable.getName());
 			Object achieved = value;
+			long   start    = System.nanoTime();
 			try {
 				achieved = setPosition(scannable, value, position);
 			    
 			} catch (Exception ne) {
+				if (cache!=null) cache.invalidate(scannable.getName());
 				abort(scannable, value, position, ne);
 				throw ne;
 			}
-			// achieved might not be equal to demand
-			if (achieved == null) achieved = scannable.getPosition();
+			// achieved might not be equal to demand, the scannable may have told the cache its value as it moved.
+			if (achieved == null) {
+				achieved = cache!=null ? cache.getPosition(scannable, start) : scannable.getPosition();
+			} else if (cache!=null) {
+				cache.put(scannable, achieved);
+			}
 			return new MapPosition(scannable.getName(), position.getIndex(scannable.getName()), achieved); 
 		}
 
@@ -146,10 +288,12 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 			
 			Object tolerance = scannable.getTolerance();
 			if (tolerance==null || !(value instanceof Number) || !(tolerance instanceof Number)) {
-				return scannable.setPosition(value, position);
+				return move(scannable, value, position);
 			}
+			// Always read, a value from the cache might be out of date and the move wrongly skipped.
 			Object currentValue = scannable.getPosition();
-			if (!(currentValue instanceof Number)) return scannable.setPosition(value, position);
+			if (cache!=null) cache.put(scannable, currentValue);
+			if (!(currentValue instanceof Number)) return move(scannable, value, position);
 			
 			// Check tolerance against number
 			double tol = ((Number)tolerance).doubleValue();
@@ -166,6 +310,15 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 			// We need to move and did an extra getPosition()
 			// Note sure if this is really faster, depends how
 			// hardware of a given system actually works.
+			return move(scannable, value, position);
+		}
+
+		/**
+		 * The value of the scannable is not known while it moves.
+		 */
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private Object move(IScannable scannable, Object value, IPosition position) throws Exception {
+			if (cache!=null) cache.invalidate(scannable.getName());
 			return scannable.setPosition(value, position);
 		}
 		
@@ -177,10 +330,25 @@ final class ScannablePositioner extends LevelRunner<IScannable<?>> implements IP
 
 	public void setMonitors(List<IScannable<?>> monitors) {
 		this.monitors = monitors;
+		invalidatePlan();
 	}
 	
 	public void setMonitors(IScannable<?>... monitors) {
 		this.monitors = Arrays.asList(monitors);
+		invalidatePlan();
+	}
+
+	public boolean isReadoutSafeOnly() {
+		return readoutSafeOnly;
+	}
+
+	/**
+	 * 
+	 * @param readoutSafeOnly true to move only the scannables which are readout safe, without the monitors.
+	 */
+	public void setReadoutSafeOnly(boolean readoutSafeOnly) {
+		this.readoutSafeOnly = readoutSafeOnly;
+		invalidatePlan();
 	}
 
 	@Override
@@ -0,0 +1,163 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.event.scan.StageStatistics;
+
+/**
+ * Records the time spent in each stage of the points of a scan, and
+ * by each device in the stages, into histograms so that the dead time
+ * of a scan can be put down to the stages which caused it and slow
+ * points told from slow stages. Stages may be timed on more than one thread.
+ */
+final class StageTimer {
+
+	enum Stage {
+
+		/**
+		 * Moving the scannables to the position.
+		 */
+		MOVE,
+
+		/**
+		 * Moving the readout safe scannables to the next position
+		 * while the detectors are read out, this time is overlapped.
+		 */
+		MOVE_AHEAD,
+
+		/**
+		 * Waiting for the readout safe scannables to reach the position.
+		 */
+		MOVE_AHEAD_WAIT,
+
+		/**
+		 * Running the detectors.
+		 */
+		RUN,
+
+		/**
+		 * Waiting for the detectors to write the previous point.
+		 */
+		WRITE_WAIT,
+
+		/**
+		 * The annotation participants of @PointStart.
+		 */
+		POINT_START,
+
+		/**
+		 * The annotation participants of @PointEnd.
+		 */
+		POINT_END,
+
+		/**
+		 * The annotation participants of @WriteComplete.
+		 */
+		WRITE_COMPLETE,
+
+		/**
+		 * Publishing the position of the scan.
+		 */
+		PUBLISH;
+	}
+
+	private final Histogram[]             stages;
+	private final Map<String, Histogram>  devices; // Sorted by name
+
+	StageTimer() {
+		this.stages  = new Histogram[Stage.values().length];
+		for (int i = 0; i < stages.length; i++) stages[i] = new Histogram();
+		this.devices = new ConcurrentSkipListMap<>();
+	}
+
+	/**
+	 *
+	 * @return the time to pass to record(...) when the stage is done.
+	 */
+	long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records a stage which started at the time given.
+	 * @param stage
+	 * @param start from start()
+	 */
+	void record(Stage stage, long start) {
+		stages[stage.ordinal()].record(System.nanoTime()-start);
+	}
+
+	/**
+	 * The histogram of a device, for instance move/x, which
+	 * the device should keep to record its times.
+	 * @param name
+	 * @return
+	 */
+	Histogram getDeviceHistogram(String name) {
+		return devices.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	long getTime(Stage stage, TimeUnit unit) {
+		return stages[stage.ordinal()].getTotal(unit);
+	}
+
+	long getCount(Stage stage) {
+		return stages[stage.ordinal()].getCount();
+	}
+
+	/**
+	 * 
+	 * @return the times of the stages which have been recorded, then those of the devices.
+	 */
+	List<StageStatistics> getStatistics() {
+		final List<StageStatistics> ret = new ArrayList<>(stages.length+devices.size());
+		for (Stage stage : Stage.values()) {
+			if (getCount(stage)<1) continue;
+			ret.add(stages[stage.ordinal()].getStatistics(stage.name().toLowerCase()));
+		}
+		for (Map.Entry<String, Histogram> entry : devices.entrySet()) {
+			if (entry.getValue().getCount()<1) continue;
+			ret.add(entry.getValue().getStatistics(entry.getKey()));
+		}
+		return ret;
+	}
+
+	/**
+	 * Clears the times, the histograms of the devices are kept
+	 * because the devices hold them.
+	 */
+	void reset() {
+		for (Histogram histogram : stages) histogram.reset();
+		for (Histogram histogram : devices.values()) histogram.reset();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder buf = new StringBuilder();
+		for (Stage stage : Stage.values()) {
+			if (getCount(stage)<1) continue;
+			if (buf.length()>0) buf.append(", ");
+			buf.append(stage.name().toLowerCase());
+			buf.append(" ");
+			buf.append(getTime(stage, TimeUnit.MILLISECONDS));
+			buf.append(" ms in ");
+			buf.append(getCount(stage));
+		}
+		return buf.toString();
+	}
+}
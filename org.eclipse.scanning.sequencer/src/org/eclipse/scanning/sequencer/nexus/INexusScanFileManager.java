@@ -62,4 +62,11 @@ public interface INexusScanFileManager extends IConfigurable<ScanModel> {
 	 * @return
 	 */
 	public Set<String> getExternalFilePaths();
+	
+	/**
+	 * The writer which devices may use to write the slices of their
+	 * datasets at each point, batched if the properties say so.
+	 * @return the writer, not null
+	 */
+	public NexusSliceWriter getSliceWriter();
 }
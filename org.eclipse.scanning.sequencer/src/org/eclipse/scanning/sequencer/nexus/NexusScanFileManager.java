@@ -80,6 +80,7 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	private NexusFileBuilder fileBuilder;
 	private NexusScanFile nexusScanFile;
 	private SolsticeScanMonitor solsticeScanMonitor;
+	private NexusSliceWriter sliceWriter;
 	
 	// we need to cache various things as they are used more than once
 	/**
@@ -166,6 +167,8 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 			// create the file from the builder and open it
 			nexusScanFile = fileBuilder.createFile(async);
 			nexusScanFile.openToWrite();
+			sliceWriter = NexusSliceWriter.create();
+			solsticeScanMonitor.setSliceWriter(sliceWriter);
 			return model.getFilePath();
 		} catch (NexusException e) {
 			throw new ScanningException("Cannot create nexus file", e);
@@ -177,6 +180,11 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	 * @throws ScanningException if the nexus file could not be flushed for any reason
 	 */
 	public void flushNexusFile() throws ScanningException {
+		try {
+			sliceWriter.flush();
+		} catch (InterruptedException e) {
+			throw new ScanningException("Interrupted flushing nexus file", e);
+		}
 		try {
 			int code = nexusScanFile.flush();
 			if (code < 0) {
@@ -192,7 +200,11 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 	 * @throws ScanningException
 	 */
 	public void scanFinished() throws ScanningException {
-		solsticeScanMonitor.scanFinished();
+		try {
+			sliceWriter.close(); // Writes the slices which are waiting
+		} finally {
+			solsticeScanMonitor.scanFinished(scanDevice.getBean()!=null ? scanDevice.getBean().getStageTimes() : null);
+		}
 		try {
 			nexusScanFile.close();
 		} catch (NexusException e) {
@@ -210,6 +222,10 @@ public class NexusScanFileManager implements INexusScanFileManager, IPositionLis
 		return scanInfo;
 	}
 	
+	public NexusSliceWriter getSliceWriter() {
+		return sliceWriter;
+	}
+	
 	@Override
 	public void positionPerformed(PositionEvent evt) throws ScanningException {
 		solsticeScanMonitor.setPosition(null, evt.getPosition());
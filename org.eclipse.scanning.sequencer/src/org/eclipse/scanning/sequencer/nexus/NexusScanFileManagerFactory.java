@@ -24,6 +24,8 @@ public class NexusScanFileManagerFactory {
 	
 	private static class DummyNexusScanFileManager implements INexusScanFileManager {
 
+		private final NexusSliceWriter writer = new NexusSliceWriter();
+
 		@Override
 		public void configure(ScanModel model) throws ScanningException {
 			// do nothing
@@ -60,6 +62,11 @@ public class NexusScanFileManagerFactory {
 			return null;
 		}
 
+		@Override
+		public NexusSliceWriter getSliceWriter() {
+			return writer;
+		}
+
 	}
 	
 	public static INexusScanFileManager createNexusScanFileManager(
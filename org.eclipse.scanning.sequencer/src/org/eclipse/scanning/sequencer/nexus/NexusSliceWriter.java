@@ -0,0 +1,375 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.sequencer.nexus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.scanning.api.scan.ScanningException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes slices of the datasets of a NeXus file. Devices which write a
+ * slice at each point may use this instead of calling setSlice(...) on
+ * the dataset. It is in the context of the annotations of the scan, so a
+ * device may have it with a method such as:
+ * <pre>
+ * {@literal @}ScanStart
+ * public void prepare(NexusSliceWriter writer) {...}
+ * </pre>
+ *
+ * Unless it is batched each slice is written straight away. When it is
+ * batched the slices are queued to a single writer thread which joins
+ * the slices of consecutive points of a dataset into one larger slice,
+ * so that there are far fewer writes to the file. The queue is bounded,
+ * when it is full the scan waits for the writer. The slices are written
+ * at least every flush interval, and by flush() and close().
+ *
+ * The data given to the writer must not be changed after, it is written
+ * later in another thread.
+ *
+ * Only the slices given to this writer are batched, which are the unique keys
+ * of the scan and those of devices which ask for the writer. Devices which call
+ * setSlice(...) on their datasets, as most NexusObjectProviders do, write straight
+ * away as before and their writes are not ordered with the slices here. The writer
+ * is flushed before the WriteComplete participants of a point are called, so the
+ * slices it was given for the point have been written by then. If the writer is
+ * stopped with slices it has not written, the next call to it, or close(), fails.
+ *
+ * Batching is switched on with the property org.eclipse.scanning.sequencer.nexus.batch,
+ * org.eclipse.scanning.sequencer.nexus.batch.interval is the flush interval in ms
+ * and org.eclipse.scanning.sequencer.nexus.batch.capacity the number of slices
+ * which may be waiting to be written.
+ */
+public class NexusSliceWriter implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(NexusSliceWriter.class);
+
+	private final boolean             batched;
+	private final long                interval; // ms
+	private final int                 capacity;
+	private final BlockingQueue<Item> queue;
+	private final AtomicLong          slices;
+	private final AtomicLong          writes;
+
+	private volatile Thread           thread;
+	private volatile Exception        error;
+
+	/**
+	 * The slices joined together of each dataset, in the order of
+	 * their first slice, only used by the writer thread. The datasets
+	 * are told apart by identity, two may be equal if they have the same
+	 * name and shape.
+	 */
+	private final Map<ILazyWriteableDataset, Batch> batches;
+	private final List<Batch>                       order;
+
+	/**
+	 * Creates a writer which writes each slice straight away.
+	 */
+	public NexusSliceWriter() {
+		this(false, 0, 1);
+	}
+
+	/**
+	 *
+	 * @param batched
+	 * @param interval the longest time that a slice waits to be written in ms
+	 * @param capacity the number of slices which may wait to be written
+	 */
+	public NexusSliceWriter(boolean batched, long interval, int capacity) {
+		if (capacity<1) throw new IllegalArgumentException("The capacity must be at least one slice!");
+		this.batched  = batched;
+		this.interval = interval;
+		this.capacity = capacity;
+		this.queue    = batched ? new ArrayBlockingQueue<>(capacity) : null;
+		this.batches  = new IdentityHashMap<>();
+		this.order    = new ArrayList<>();
+		this.slices   = new AtomicLong();
+		this.writes   = new AtomicLong();
+	}
+
+	/**
+	 *
+	 * @return a writer which is batched if the properties say it should be.
+	 */
+	static NexusSliceWriter create() {
+		return new NexusSliceWriter(Boolean.getBoolean("org.eclipse.scanning.sequencer.nexus.batch"),
+				                    Long.getLong("org.eclipse.scanning.sequencer.nexus.batch.interval", 100),
+				                    Integer.getInteger("org.eclipse.scanning.sequencer.nexus.batch.capacity", 1024));
+	}
+
+	public boolean isBatched() {
+		return batched;
+	}
+
+	/**
+	 * Writes the data to the slice of the dataset, or queues it to be written.
+	 * Blocks if there are as many slices waiting as the capacity.
+	 *
+	 * @param dataset
+	 * @param data
+	 * @param slice
+	 * @throws ScanningException if this or an earlier write failed
+	 * @throws InterruptedException
+	 */
+	public void setSlice(ILazyWriteableDataset dataset, IDataset data, SliceND slice) throws ScanningException, InterruptedException {
+		checkError();
+		slices.incrementAndGet();
+		if (!batched) {
+			write(dataset, data, slice);
+			return;
+		}
+		start();
+		queue.put(new Item(dataset, data, slice, null));
+	}
+
+	/**
+	 * Blocks until every slice given to the writer has been written.
+	 * @throws ScanningException if a write failed
+	 * @throws InterruptedException
+	 */
+	public void flush() throws ScanningException, InterruptedException {
+		if (batched && thread!=null && thread.isAlive()) {
+			final CountDownLatch flushed = new CountDownLatch(1);
+			queue.put(new Item(null, null, null, flushed));
+			while (!flushed.await(1, TimeUnit.SECONDS)) {
+				if (!thread.isAlive()) {
+					if (error==null) error = new ScanningException("The NeXus slice writer stopped before writing all its slices");
+					break;
+				}
+			}
+		}
+		checkError();
+	}
+
+	/**
+	 * Writes the slices which are waiting and stops the writer thread.
+	 * @throws ScanningException if a write failed
+	 */
+	@Override
+	public void close() throws ScanningException {
+		try {
+			flush();
+		} catch (InterruptedException ne) {
+			Thread.currentThread().interrupt();
+			throw new ScanningException("Interrupted writing slices to the NeXus file", ne);
+		} finally {
+			if (thread!=null) thread.interrupt();
+			thread = null;
+		}
+	}
+
+	/**
+	 * @return the number of slices given to the writer.
+	 */
+	public long getSliceCount() {
+		return slices.get();
+	}
+
+	/**
+	 * @return the number of slices written to the datasets, fewer than the
+	 * slices given to the writer if they have been joined together.
+	 */
+	public long getWriteCount() {
+		return writes.get();
+	}
+
+	private synchronized void start() {
+		if (thread!=null) return;
+		thread = new Thread(this::writeQueue, "NeXus slice writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void checkError() throws ScanningException {
+		final Exception ne = error;
+		if (ne==null) return;
+		throw ne instanceof ScanningException ? (ScanningException)ne : new ScanningException("Cannot write slice to the NeXus file", ne);
+	}
+
+	/**
+	 * The loop of the writer thread.
+	 */
+	private void writeQueue() {
+		long flushed = System.currentTimeMillis();
+		int  waiting = 0; // The slices in the batches
+		try {
+			while (true) {
+				final long wait = Math.max(0, flushed+interval-System.currentTimeMillis());
+				final Item item = queue.poll(wait, TimeUnit.MILLISECONDS);
+				if (item!=null && item.flushed==null) {
+					add(item);
+					waiting++;
+				}
+				// Written at the interval, when asked or when the capacity is reached.
+				if (item==null || item.flushed!=null || waiting>=capacity || System.currentTimeMillis()-flushed>=interval) {
+					writeBatches();
+					waiting = 0;
+					flushed = System.currentTimeMillis();
+				}
+				if (item!=null && item.flushed!=null) item.flushed.countDown();
+			}
+		} catch (InterruptedException ne) {
+			int lost = waiting;
+			for (Item item : queue) if (item.flushed==null) lost++;
+			if (lost>0 && error==null) {
+				logger.error("The NeXus slice writer was stopped with {} slices to write", lost);
+				error = new ScanningException("The NeXus slice writer was stopped with "+lost+" slices to write");
+			}
+		} catch (RuntimeException ne) {
+			logger.error("Cannot write slice to the NeXus file", ne);
+			if (error==null) error = ne;
+		}
+	}
+
+	/**
+	 * Joins the slice to the batch of its dataset if it follows the
+	 * batch, otherwise the batch is written and a new one started.
+	 * @param item
+	 */
+	private void add(Item item) {
+		final Batch batch = batches.get(item.dataset);
+		if (batch!=null && batch.join(item)) return;
+		if (batch!=null) {
+			writeBatch(batch);
+			order.remove(batch); // The new batch goes to the end
+		}
+		final Batch next = new Batch(item);
+		batches.put(item.dataset, next);
+		order.add(next);
+	}
+
+	private void writeBatches() {
+		for (Batch batch : order) writeBatch(batch);
+		order.clear();
+		batches.clear();
+	}
+
+	private void writeBatch(Batch batch) {
+		if (error!=null) return; // Once a write fails the rest are not written.
+		try {
+			batch.write();
+		} catch (Exception ne) {
+			logger.error("Cannot write slice to the NeXus file", ne);
+			error = ne;
+		}
+	}
+
+	private void write(ILazyWriteableDataset dataset, IDataset data, SliceND slice) throws ScanningException {
+		try {
+			dataset.setSlice(null, data, slice);
+			writes.incrementAndGet();
+		} catch (Exception ne) {
+			throw new ScanningException("Cannot write slice "+slice+" of "+dataset.getName(), ne);
+		}
+	}
+
+	private static final class Item {
+
+		private final ILazyWriteableDataset dataset;
+		private final IDataset              data;
+		private final SliceND               slice;
+		private final CountDownLatch        flushed; // Not null for a flush
+
+		Item(ILazyWriteableDataset dataset, IDataset data, SliceND slice, CountDownLatch flushed) {
+			this.dataset = dataset;
+			this.data    = data;
+			this.slice   = slice;
+			this.flushed = flushed;
+		}
+	}
+
+	/**
+	 * Slices of a dataset which follow one another along one axis,
+	 * for instance the points of a line of a grid scan.
+	 */
+	private final class Batch {
+
+		private final ILazyWriteableDataset dataset;
+		private final List<Item>            items;
+		private final int[]                 start;
+		private int[]                       stop;
+		private final boolean               joinable;
+		private int                         axis = -1; // The axis along which the slices are joined, once there are two
+
+		Batch(Item first) {
+			this.dataset  = first.dataset;
+			this.items    = new ArrayList<>();
+			this.start    = first.slice.getStart().clone();
+			this.stop     = first.slice.getStop().clone();
+			this.joinable = isUnitStep(first.slice);
+			items.add(first);
+		}
+
+		/**
+		 *
+		 * @param item
+		 * @return true if the slice of the item follows this batch and was added to it
+		 */
+		boolean join(Item item) {
+			final int[] istart = item.slice.getStart();
+			final int[] istop  = item.slice.getStop();
+			if (!joinable || istart.length!=start.length || !isUnitStep(item.slice)) return false;
+
+			int along = -1;
+			for (int i = 0; i < start.length; i++) {
+				if (istart[i]==start[i] && istop[i]==stop[i]) continue;
+				if (along>-1 || istart[i]!=stop[i]) return false;
+				along = i;
+			}
+			if (along<0 || (axis>-1 && along!=axis)) return false;
+
+			axis = along;
+			stop = stop.clone();
+			stop[axis] = istop[axis];
+			items.add(item);
+			return true;
+		}
+
+		void write() throws ScanningException {
+			if (items.size()==1) {
+				final Item item = items.get(0);
+				NexusSliceWriter.this.write(dataset, item.data, item.slice);
+				return;
+			}
+			final IDataset[] data = new IDataset[items.size()];
+			for (int i = 0; i < data.length; i++) {
+				final Item item = items.get(i);
+				// The data of a point may leave out the scan axes, give it the shape of its slice to join it.
+				final Dataset d = DatasetUtils.convertToDataset(item.data);
+				data[i] = Arrays.equals(d.getShape(), item.slice.getShape()) ? d : d.reshape(item.slice.getShape());
+			}
+			final SliceND slice = new SliceND(dataset.getShape(), dataset.getMaxShape(), start, stop, null);
+			NexusSliceWriter.this.write(dataset, DatasetUtils.concatenate(data, axis), slice);
+		}
+
+		private boolean isUnitStep(SliceND slice) {
+			for (int step : slice.getStep()) if (step!=1) return false;
+			return true;
+		}
+	}
+}
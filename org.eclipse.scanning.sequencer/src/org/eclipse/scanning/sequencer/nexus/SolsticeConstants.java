@@ -27,6 +27,28 @@ public final class SolsticeConstants {
 	public static final String FIELD_NAME_SCAN_DEAD_TIME_PERCENT = "scan_dead_time_percent";
 	public static final String FIELD_NAME_SCAN_SHAPE    = "scan_shape";
 	
+	/**
+	 * The file of the scan which a resumed scan continues and the step it continued from,
+	 * the points before that step are in the continued file. Only written when a scan resumes.
+	 */
+	public static final String FIELD_NAME_CONTINUED_FILE = "continued_file";
+	public static final String FIELD_NAME_CONTINUED_STEP = "continued_step";
+	
+	/**
+	 * The times of the stages of the points and of the devices, one row for each,
+	 * written when the scan finishes. The times are in milliseconds.
+	 */
+	public static final String GROUP_NAME_STAGE_TIMES         = "stage_times";
+	public static final String FIELD_NAME_STAGE_NAME          = "name";
+	public static final String FIELD_NAME_STAGE_COUNT         = "count";
+	public static final String FIELD_NAME_STAGE_TOTAL         = "total";
+	public static final String FIELD_NAME_STAGE_MEAN          = "mean";
+	public static final String FIELD_NAME_STAGE_MIN           = "min";
+	public static final String FIELD_NAME_STAGE_MAX           = "max";
+	public static final String FIELD_NAME_STAGE_MEDIAN        = "median";
+	public static final String FIELD_NAME_STAGE_PERCENTILE_90 = "percentile_90";
+	public static final String FIELD_NAME_STAGE_PERCENTILE_99 = "percentile_99";
+	
 	/**
 	 * Property name for the path within an external (linked) nexus file to the unique keys dataset. 
 	 */
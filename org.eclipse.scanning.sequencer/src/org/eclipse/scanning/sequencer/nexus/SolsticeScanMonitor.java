@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.scanning.sequencer.nexus;
 
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_CONTINUED_FILE;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_CONTINUED_STEP;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_CMD;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME_PERCENT;
@@ -22,7 +24,17 @@ import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_SHAPE;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_UNIQUE_KEYS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_KEYS;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_COUNT;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_MAX;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_MEAN;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_MEDIAN;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_MIN;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_NAME;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_PERCENTILE_90;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_PERCENTILE_99;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_TOTAL;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_SOLSTICE_SCAN;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_STAGE_TIMES;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.PROPERTY_NAME_UNIQUE_KEYS_PATH;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.SCANNABLE_NAME_SOLSTICE_SCAN_MONITOR;
 
@@ -36,8 +48,10 @@ import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 import org.eclipse.dawnsci.nexus.INexusDevice;
@@ -56,7 +70,9 @@ import org.eclipse.january.dataset.IntegerDataset;
 import org.eclipse.january.dataset.LazyWriteableDataset;
 import org.eclipse.january.dataset.SliceND;
 import org.eclipse.scanning.api.AbstractScannable;
+import org.eclipse.scanning.api.event.scan.StageStatistics;
 import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.ScanCheckpoint;
 import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.ScanningException;
 import org.eclipse.scanning.api.scan.models.ScanModel;
@@ -97,12 +113,16 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 	private ILazyWriteableDataset scanDurationDataset = null;
 	private ILazyWriteableDataset scanDeadTimeDataset = null;
 	private ILazyWriteableDataset scanDeadTimePercentDataset = null;
+	private ILazyWriteableDataset stageNamesDataset = null;
+	private ILazyWriteableDataset stageCountsDataset = null;
+	private Map<ToDoubleFunction<StageStatistics>, ILazyWriteableDataset> stageTimesDatasets = null;
 
 	// State
 	private boolean malcolmScan = false;
 	private final ScanModel model;
 	private Instant scanStartTime = null;
 	private int[] scanShape = null;
+	private NexusSliceWriter sliceWriter = null;
 
 	
 	public SolsticeScanMonitor(ScanModel model) {
@@ -124,6 +144,13 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 		this.nexusObjectProviders = nexusObjectProviders;
 	}
 	
+	/**
+	 * @param sliceWriter writes the unique keys, batched if it is, may be null to write them directly.
+	 */
+	public void setSliceWriter(NexusSliceWriter sliceWriter) {
+		this.sliceWriter = sliceWriter;
+	}
+	
 	public void setMalcolmScan(boolean malcolmScan) {
 		this.malcolmScan = malcolmScan;
 	}
@@ -165,6 +192,13 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 			logger.debug("Unable to write point models", ne);
 		}
 
+		// record the file which a resumed scan continues and the step from which it does
+		final ScanCheckpoint checkpoint = model.getCheckpoint();
+		if (checkpoint!=null && checkpoint.getContinuedFilePath()!=null) {
+			scanPointsCollection.setField(FIELD_NAME_CONTINUED_FILE, checkpoint.getContinuedFilePath());
+			scanPointsCollection.setField(FIELD_NAME_CONTINUED_STEP, checkpoint.getContinuedStepNumber());
+		}
+
 		// create the scan finished dataset and set the initial value to false
 //		scanFinished = scanPointsCollection.initializeFixedSizeLazyDataset(
 //				FIELD_NAME_SCAN_FINISHED, new int[] { 1 }, Dataset.INT32);
@@ -197,6 +231,9 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 				new int[] { 1 }, new int[] { -1 }, new int[] { 1 }, null);
 		scanPointsCollection.createDataNode(FIELD_NAME_SCAN_DEAD_TIME_PERCENT, scanDeadTimePercentDataset);
 		
+		// create a sub-collection for the times of the stages, also written at the end of the scan
+		scanPointsCollection.addGroupNode(GROUP_NAME_STAGE_TIMES, createStageTimesCollection());
+		
 		// create a sub-collection for the unique keys field and keys from each external file
 		final NXcollection keysCollection = NexusNodeFactory.createNXcollection();
 		scanPointsCollection.addGroupNode(GROUP_NAME_KEYS, keysCollection);
@@ -221,6 +258,36 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 		return scanPointsCollection;
 	}
 	
+	private NXcollection createStageTimesCollection() {
+		
+		final NXcollection stageTimesCollection = NexusNodeFactory.createNXcollection();
+		stageNamesDataset = new LazyWriteableDataset(FIELD_NAME_STAGE_NAME, String.class,
+				new int[] { 1 }, new int[] { -1 }, new int[] { 1 }, null);
+		stageTimesCollection.createDataNode(FIELD_NAME_STAGE_NAME, stageNamesDataset);
+		stageCountsDataset = new LazyWriteableDataset(FIELD_NAME_STAGE_COUNT, Long.class,
+				new int[] { 1 }, new int[] { -1 }, new int[] { 1 }, null);
+		stageTimesCollection.createDataNode(FIELD_NAME_STAGE_COUNT, stageCountsDataset);
+		
+		stageTimesDatasets = new LinkedHashMap<>(7);
+		stageTimesDatasets.put(StageStatistics::getTotal,        createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_TOTAL));
+		stageTimesDatasets.put(StageStatistics::getMean,         createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_MEAN));
+		stageTimesDatasets.put(StageStatistics::getMin,          createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_MIN));
+		stageTimesDatasets.put(StageStatistics::getMax,          createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_MAX));
+		stageTimesDatasets.put(StageStatistics::getMedian,       createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_MEDIAN));
+		stageTimesDatasets.put(StageStatistics::getPercentile90, createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_PERCENTILE_90));
+		stageTimesDatasets.put(StageStatistics::getPercentile99, createStageTimeDataset(stageTimesCollection, FIELD_NAME_STAGE_PERCENTILE_99));
+		
+		return stageTimesCollection;
+	}
+	
+	private static ILazyWriteableDataset createStageTimeDataset(NXcollection stageTimesCollection, String name) {
+		final ILazyWriteableDataset dataset = new LazyWriteableDataset(name, Double.class,
+				new int[] { 1 }, new int[] { -1 }, new int[] { 1 }, null);
+		stageTimesCollection.createDataNode(name, dataset);
+		stageTimesCollection.setAttribute(name, "units", "ms");
+		return dataset;
+	}
+	
 	private static String durationInMillisToString(Duration duration) {
 		long days = duration.toDays(); // chop off any days as formatter can't handle them
 		duration = duration.minusDays(days);
@@ -242,6 +309,20 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 	 * @throws ScanningException
 	 */
 	public void scanFinished() throws ScanningException {
+		scanFinished(null);
+	}
+	
+	/**
+	 * Called when the scan completes to: 
+	 * <ul>
+	 * <li>write the scan finished (by writing '1' to the scan finished dataset;</li>
+	 * <li>write the scan duration;</li>
+	 * <li>write the times of the stages of the scan, if there are any.</li>
+	 * </ul>
+	 * @param stageTimes may be null
+	 * @throws ScanningException
+	 */
+	public void scanFinished(List<StageStatistics> stageTimes) throws ScanningException {
 		// Note: we don't use scanFinally as that is called after the nexus file is closed.
 		final Dataset scanFinishedDataset = DatasetFactory.createFromObject(IntegerDataset.class, 1, null);
 		try {
@@ -290,6 +371,38 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 		final String estimatedTimeStr = durationInMillisToString(Duration.ofMillis(scanInfo.getEstimatedScanTime()));
 		logger.info("MScan Details: scan file = {}, shape = {}, estimated time = {}, actual time = {}, dead time = {} ({}%)",
 				filePath, shapeStr, estimatedTimeStr, scanDurationStr, scanDeadTimeStr, deadTimePercentStr);
+		
+		if (stageTimes!=null && !stageTimes.isEmpty()) writeStageTimes(stageTimes);
+	}
+	
+	/**
+	 * Writes a row for each stage, the names to one dataset and each of the statistics to another.
+	 * @param stageTimes
+	 * @throws ScanningException
+	 */
+	private void writeStageTimes(List<StageStatistics> stageTimes) throws ScanningException {
+		
+		final int size = stageTimes.size();
+		final String[] names  = new String[size];
+		final long[]   counts = new long[size];
+		for (int i = 0; i < size; i++) {
+			names[i]  = stageTimes.get(i).getName();
+			counts[i] = stageTimes.get(i).getCount();
+		}
+		try {
+			stageNamesDataset.setSlice(null, DatasetFactory.createFromObject(names),
+					new int[] { 0 }, new int[] { size }, new int[] { 1 });
+			stageCountsDataset.setSlice(null, DatasetFactory.createFromObject(counts),
+					new int[] { 0 }, new int[] { size }, new int[] { 1 });
+			for (Map.Entry<ToDoubleFunction<StageStatistics>, ILazyWriteableDataset> entry : stageTimesDatasets.entrySet()) {
+				final double[] times = new double[size];
+				for (int i = 0; i < size; i++) times[i] = entry.getKey().applyAsDouble(stageTimes.get(i));
+				entry.getValue().setSlice(null, DatasetFactory.createFromObject(times),
+						new int[] { 0 }, new int[] { size }, new int[] { 1 });
+			}
+		} catch (Exception e) {
+			throw new ScanningException("Could not write stage times to NeXus file", e);
+		}
 	}
 
 	@Override
@@ -356,9 +469,16 @@ public class SolsticeScanMonitor extends AbstractScannable<Object> implements IN
 			final int uniqueKey = position.getStepIndex() + 1;
 			final Dataset newActualPosition = DatasetFactory.createFromObject(uniqueKey);
 			try {
-				uniqueKeysDataset.setSlice(null, newActualPosition, sliceND);
-			} catch (DatasetException e) {
-				logger.error("Could not write unique key");
+				if (sliceWriter!=null) {
+					sliceWriter.setSlice(uniqueKeysDataset, newActualPosition, sliceND);
+				} else {
+					uniqueKeysDataset.setSlice(null, newActualPosition, sliceND);
+				}
+			} catch (DatasetException | ScanningException e) {
+				logger.error("Could not write unique key", e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.error("Interrupted writing unique key", e);
 			}
 			return newActualPosition;
 		}
@@ -47,8 +47,8 @@ public class PositionServlet extends AbstractSubscriberServlet<IPosition> {
 			IPositioner    poser   = service.createPositioner();
 		    poser.setPosition(position);
 		    
-		    // TODO Figure out how to broadcast success nicely.
-		    //response.broadcast(position);
+		    // The position achieved comes from the value cache, the move has just put it there.
+		    if (response!=null) response.broadcast(poser.getPosition());
 		    
 		} catch (ScanningException | InterruptedException ne) {
 			throw new EventException(ne);
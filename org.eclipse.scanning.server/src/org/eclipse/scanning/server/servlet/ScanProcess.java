@@ -12,6 +12,7 @@
 package org.eclipse.scanning.server.servlet;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -47,6 +48,7 @@ import org.eclipse.scanning.api.points.IPointGenerator;
 import org.eclipse.scanning.api.points.IPointGeneratorService;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.scan.IFilePathService;
+import org.eclipse.scanning.api.scan.ScanCheckpoint;
 import org.eclipse.scanning.api.scan.ScanEstimator;
 import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.ScanningException;
@@ -79,6 +81,7 @@ public class ScanProcess implements IConsumerProcess<ScanBean> {
 	
 	private IDeviceController          controller;
 	private boolean                    blocking;
+	private ScanCheckpoint             checkpoint;
 
 	public ScanProcess(ScanBean scanBean, IPublisher<ScanBean> response, boolean blocking) throws EventException {
 		
@@ -134,7 +137,9 @@ public class ScanProcess implements IConsumerProcess<ScanBean> {
 	public void execute() throws EventException {
 		try {
 			logger.debug("Starting to run : {}", bean);
-			setFilePath(bean);
+			this.checkpoint = createCheckpoint(bean); // Before the request is changed
+			if (checkpoint==null || checkpoint.getStepNumber()<1) setFilePath(bean);
+			if (checkpoint!=null) checkpoint.setFilePath(bean.getFilePath());
 			IPointGenerator<?> gen = getGenerator(bean.getScanRequest());
 			initializeMalcolmDevice(bean, gen);
 			
@@ -263,6 +268,43 @@ public class ScanProcess implements IConsumerProcess<ScanBean> {
 		
 	}
 	
+	/**
+	 * Creates the checkpoint which the scan saves as it runs, if checkpoints
+	 * are switched on with the property org.eclipse.scanning.server.servlet.scanProcess.checkpoint.
+	 * If the request is to resume and there is a checkpoint of an earlier scan
+	 * of the same request, that checkpoint is returned and the scan writes to
+	 * a new file beside the file of the earlier scan. The new file records
+	 * the file and the step it continues.
+	 * 
+	 * @param bean
+	 * @return the checkpoint or null if checkpoints are switched off.
+	 * @throws EventException if the checkpoint to resume from cannot be read
+	 */
+	private ScanCheckpoint createCheckpoint(ScanBean bean) throws EventException {
+		
+		final ScanRequest<?> req  = bean.getScanRequest();
+		if (!Boolean.getBoolean("org.eclipse.scanning.server.servlet.scanProcess.checkpoint")) {
+			if (req.isResume()) logger.warn("Checkpoints are switched off, {} will run from the start.", bean.getName());
+			return null;
+		}
+		
+		final String         hash = ScanCheckpoint.hash(req);
+		if (req.isResume()) {
+			try {
+				final ScanCheckpoint previous = ScanCheckpoint.load(hash);
+				if (previous!=null && previous.getStepNumber()>0) {
+					bean.setFilePath(previous.resume());
+					logger.info("Resuming {} from step {} of {}, writing to {}", bean.getName(), previous.getContinuedStepNumber(), previous.getContinuedFilePath(), bean.getFilePath());
+					return previous;
+				}
+			} catch (IOException ne) {
+				throw new EventException("Cannot read the checkpoint to resume "+bean.getName()+" from", ne);
+			}
+			logger.warn("There is no checkpoint to resume {} from, it will run from the start.", bean.getName());
+		}
+		return new ScanCheckpoint(hash, null);
+	}
+	
 	/**
 	 * Initialise the malcolm device with the point generator and the malcolm model
 	 * with its output directory. This needs to be done before validation as these values
@@ -342,6 +384,9 @@ public class ScanProcess implements IConsumerProcess<ScanBean> {
 			scanModel.setMonitors(getScannables(req.getMonitorNames()));
 			scanModel.setScanMetadata(req.getScanMetadata());
 			scanModel.setBean(bean);
+			scanModel.setLookAhead(req.getLookAhead());
+			scanModel.setExecutorStrategy(req.getExecutorStrategy());
+			scanModel.setCheckpoint(checkpoint);
 			
 			ScanInformation scanInfo = new ScanInformation(estimator);
 			scanInfo.setFilePath(bean.getFilePath());
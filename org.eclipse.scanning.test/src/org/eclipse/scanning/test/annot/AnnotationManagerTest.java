@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.scanning.api.annotation.scan.AnnotationManager;
@@ -32,6 +33,7 @@ import org.eclipse.scanning.api.annotation.scan.LevelStart;
 import org.eclipse.scanning.api.annotation.scan.PointEnd;
 import org.eclipse.scanning.api.annotation.scan.PointStart;
 import org.eclipse.scanning.api.annotation.scan.PreConfigure;
+import org.eclipse.scanning.api.annotation.scan.ScanAbort;
 import org.eclipse.scanning.api.annotation.scan.ScanEnd;
 import org.eclipse.scanning.api.annotation.scan.ScanStart;
 import org.eclipse.scanning.api.device.IRunnableDeviceService;
@@ -114,6 +116,24 @@ public class AnnotationManagerTest {
 		assertEquals(sdevice.getCount(), 5);
 	}
 	
+	@Test
+	public void countTimes() throws Exception {
+		manager.invoke(ScanStart.class); 
+		long count = manager.getCount(ScanStart.class);
+		manager.invoke(ScanStart.class); 
+		manager.invoke(ScanStart.class); 
+		assertEquals(3*count, manager.getCount(ScanStart.class));
+		
+		Map<String, Long> times = manager.getTimes(ScanStart.class, TimeUnit.NANOSECONDS);
+		assertTrue(times.containsKey("SimpleDevice.start"));
+		assertTrue(times.get("SimpleDevice.start")>0);
+		
+		manager.resetTimes();
+		assertEquals(0, manager.getCount(ScanStart.class));
+		assertEquals(0L, manager.getTimes(ScanStart.class, TimeUnit.NANOSECONDS).get("SimpleDevice.start").longValue());
+		assertTrue(manager.getTimes(ScanAbort.class, TimeUnit.NANOSECONDS).isEmpty());
+	}
+	
 	@Test(expected=InvocationTargetException.class)
 	public void countConfigureNoScanInfo() throws Exception {
 		manager.invoke(PreConfigure.class); 
@@ -74,6 +74,7 @@ public abstract class AbstractScanCommandsTest extends AbstractJythonTest {
 	@BeforeClass
 	public static void init() {
 		pconsumer = null;
+		System.setProperty("org.eclipse.scanning.api.event.progress.rate", "0"); // The scans check an event for every point
 		ScanPointGeneratorFactory.init();
 	}
 	
@@ -192,6 +193,7 @@ public abstract class AbstractScanCommandsTest extends AbstractJythonTest {
 			// Not fatal if cannot clean them
 		}
 		servlet.disconnect();
+		System.clearProperty("org.eclipse.scanning.api.event.progress.rate");
 	}
 
 	protected String path;
@@ -14,6 +14,7 @@ package org.eclipse.scanning.test.event;
 import java.net.InetAddress;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EventListener;
 import java.util.List;
@@ -134,6 +135,47 @@ public class AbstractConsumerTest extends BrokerTest {
        	}
     }
     
+    @Test
+	public void testStatusSetUpdates() throws Exception {
+    	
+		StatusBean bean = new StatusBean();
+		bean.setName("Updates");
+		bean.setStatus(Status.RUNNING);
+		bean.setUniqueId(UUID.randomUUID().toString());
+		
+		ISubmitter<StatusBean> mover     = eservice.createSubmitter(consumer.getUri(), IEventService.STATUS_SET);
+		IPublisher<StatusBean> publisher = eservice.createPublisher(consumer.getUri(), IEventService.STATUS_TOPIC);
+		publisher.setStatusSetName(IEventService.STATUS_SET);
+		try {
+			mover.submit(bean);
+			for (int i = 1; i <= 100; i++) {
+				bean.setPercentComplete(i);
+				publisher.broadcast(bean);
+			}
+		} finally {
+			mover.disconnect();
+			publisher.disconnect();
+		}
+		
+		// Once in the status set with the last update
+		List<StatusBean> stati = consumer.getStatusSet();
+		if (stati.size()!=1) throw new Exception("Unexpected status size in queue! "+stati);
+		if (stati.get(0).getPercentComplete()!=100) throw new Exception("The last update is not in the status set! "+stati.get(0));
+		
+		// The same on the broker
+		ConnectionFactory connectionFactory = new ActiveMQConnectionFactory(consumer.getUri());		
+		Connection connection = connectionFactory.createConnection();
+		try {
+			Session   session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			Queue     queue   = session.createQueue(IEventService.STATUS_SET);
+			connection.start();
+			
+			int size = Collections.list(session.createBrowser(queue).getEnumeration()).size();
+			if (size!=1) throw new Exception("Unexpected status size on the broker! "+size);
+		} finally {
+			connection.close();
+		}
+    }
     
     @Test
     public void testBeanClass() throws Exception {
@@ -11,18 +11,35 @@
  *******************************************************************************/
 package org.eclipse.scanning.test.event;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
 import org.eclipse.scanning.api.event.EventException;
 import org.eclipse.scanning.api.event.IEventService;
+import org.eclipse.scanning.api.event.core.DispatchStatistics;
+import org.eclipse.scanning.api.event.core.IPropertyFilter.FilterAction;
 import org.eclipse.scanning.api.event.core.IPublisher;
 import org.eclipse.scanning.api.event.core.ISubscriber;
 import org.eclipse.scanning.api.event.scan.DeviceState;
 import org.eclipse.scanning.api.event.scan.IScanListener;
 import org.eclipse.scanning.api.event.scan.ScanBean;
 import org.eclipse.scanning.api.event.scan.ScanEvent;
+import org.eclipse.scanning.api.event.scan.ScanRequest;
+import org.eclipse.scanning.api.event.status.Status;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
 import org.eclipse.scanning.test.BrokerTest;
 import org.junit.After;
 import org.junit.Test;
@@ -352,6 +369,147 @@ public class AbstractScanEventTest extends BrokerTest{
 		}
 	}
 	
+	@Test
+	public void asynchronousOrderPerScan() throws Exception {
+
+		final ScanBean bean  = new ScanBean();
+		final ScanBean bean2 = new ScanBean();
+		
+		final Map<String, List<Double>> gotBack = new ConcurrentHashMap<>();
+		final CountDownLatch            latch   = new CountDownLatch(200);
+		subscriber.setSynchronous(false); // Different scans may be despatched at the same time
+		subscriber.addListener(new IScanListener() {
+			@Override
+			public void scanEventPerformed(ScanEvent evt) {
+				gotBack.computeIfAbsent(evt.getBean().getUniqueId(), id -> new ArrayList<>()).add(evt.getBean().getPercentComplete());
+				latch.countDown();
+			}
+		});
+		
+		for (int i = 0; i < 100; i++) {
+			bean.setPercentComplete(i);
+			publisher.broadcast(bean);
+			bean2.setPercentComplete(i);
+			publisher.broadcast(bean2);
+		}
+		
+		assertTrue("The events did not all come back", latch.await(10, TimeUnit.SECONDS));
+		
+		// Each scan has its events in the order they were sent.
+		for (List<Double> percents : gotBack.values()) {
+			assertEquals(100, percents.size());
+			for (int i = 0; i < percents.size(); i++) assertEquals(i, percents.get(i), 0.0001);
+		}
+		assertEquals(0, subscriber.getDispatchStatistics().getQueueDepth());
+	}
+	
+	@Test
+	public void conflatedProgress() throws Exception {
+
+		final ScanBean bean = new ScanBean();
+		bean.setStatus(Status.RUNNING);
+		bean.setPreviousStatus(Status.RUNNING);
+		bean.setDeviceState(DeviceState.RUNNING);
+		bean.setDeviceState(DeviceState.RUNNING);
+		
+		final List<Double> gotBack = new ArrayList<>();
+		subscriber.setConflating(true);
+		subscriber.addListener(new IScanListener() {
+			@Override
+			public void scanEventPerformed(ScanEvent evt) {
+				try {
+					if (gotBack.isEmpty()) Thread.sleep(200); // A slow listener, the progress comes in while it is busy.
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				gotBack.add(evt.getBean().getPercentComplete());
+			}
+		});
+		
+		for (int i = 0; i < 100; i++) {
+			bean.setPercentComplete(i);
+			publisher.broadcast(bean);
+		}
+		
+		Thread.sleep(1000); // The bean should go back and forth in ms anyway
+		
+		// The listener sees the last progress without the ones which were superseded.
+		DispatchStatistics stats = subscriber.getDispatchStatistics();
+		assertEquals(99, gotBack.get(gotBack.size()-1), 0.0001);
+		assertTrue("No events were conflated", stats.getConflated()>0);
+		assertEquals(100, gotBack.size()+stats.getConflated());
+	}
+	
+	@Test
+	public void binaryBroadcastTest() throws Exception {
+
+		final ScanBean bean = createGridScanBean();
+		
+		final List<ScanBean> gotBack = new ArrayList<>(1);
+		final CountDownLatch latch   = new CountDownLatch(1);
+		subscriber.addListener(new IScanListener() {
+			@Override
+			public void scanEventPerformed(ScanEvent evt) {
+				gotBack.add(evt.getBean());
+				latch.countDown();
+			}
+			@Override
+			public void scanStateChanged(ScanEvent evt) {
+				scanEventPerformed(evt);
+			}
+		});
+		
+		publisher.setBinary(true);
+		publisher.broadcast(bean);
+		
+		assertTrue("The bean did not come back", latch.await(10, TimeUnit.SECONDS));
+		assertEquals(bean, gotBack.get(0));
+		assertEquals(bean.getScanRequest(), gotBack.get(0).getScanRequest());
+	}
+	
+	@Test
+	public void binaryBroadcastFilteredTest() throws Exception {
+
+		final ScanBean bean = createGridScanBean();
+		
+		final List<ScanBean> gotBack = new ArrayList<>(1);
+		final CountDownLatch latch   = new CountDownLatch(1);
+		subscriber.addProperty("scanRequest", FilterAction.DELETE);
+		subscriber.addListener(new IScanListener() {
+			@Override
+			public void scanEventPerformed(ScanEvent evt) {
+				gotBack.add(evt.getBean());
+				latch.countDown();
+			}
+			@Override
+			public void scanStateChanged(ScanEvent evt) {
+				scanEventPerformed(evt);
+			}
+		});
+		
+		publisher.setBinary(true);
+		publisher.broadcast(bean);
+		
+		assertTrue("The bean did not come back", latch.await(10, TimeUnit.SECONDS));
+		assertEquals(bean.getName(), gotBack.get(0).getName());
+		assertNull("The filtered property was not removed", gotBack.get(0).getScanRequest());
+	}
+
+	private static ScanBean createGridScanBean() {
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(5);
+		gmodel.setFastAxisPoints(5);
+		ScanRequest<IROI> req = new ScanRequest<IROI>();
+		req.setCompoundModel(new CompoundModel(gmodel, new RectangularROI(0, 0, 3, 3, 0)));
+		
+		final ScanBean bean = new ScanBean(req);
+		bean.setName("binary");
+		bean.setUniqueId(UUID.randomUUID().toString());
+		bean.setStatus(Status.RUNNING);
+		bean.setPercentComplete(42);
+		return bean;
+	}
+	
 	private void checkState(int i, DeviceState state, List<ScanBean> gotBack) throws Exception {
 	    if (gotBack.get(i).getDeviceState()!=state) throw new Exception("The "+i+" change was not "+state);
 	}
@@ -0,0 +1,165 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.scanning.api.event.EventConstants;
+import org.eclipse.scanning.api.event.core.ProgressPublisher;
+import org.eclipse.scanning.api.event.scan.ScanBean;
+import org.eclipse.scanning.test.event.queues.mocks.MockPublisher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProgressPublisherTest {
+
+	private MockPublisher<ScanBean>  mock;
+	private ScanBean                 bean;
+	private AtomicLong               clock; // ms
+	private ScheduledExecutorService timer;
+
+	@Before
+	public void before() {
+		mock  = new MockPublisher<>(null, EventConstants.STATUS_TOPIC);
+		bean  = new ScanBean();
+		bean.setUniqueId("fred");
+		clock = new AtomicLong(1000);
+		timer = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@After
+	public void after() {
+		timer.shutdownNow();
+	}
+
+	private ProgressPublisher<ScanBean> create(double rate) {
+		return new ProgressPublisher<>(mock, ProgressPublisherTest::snapshot, rate, clock::get, timer);
+	}
+
+	private static ScanBean snapshot(ScanBean bean) {
+		ScanBean copy = new ScanBean();
+		copy.merge(bean);
+		return copy;
+	}
+
+	/**
+	 * Waits for the sends at the end of the intervals which are scheduled, if any.
+	 */
+	private void awaitTrailing() throws InterruptedException {
+		timer.shutdown(); // Delayed sends which are not cancelled still run
+		assertTrue(timer.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFastProgressIsCoalesced() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(10);
+		for (int i = 0; i < 1000; i++) {
+			bean.setPercentComplete(i/10d);
+			progress.broadcast(bean);
+		}
+		// 1000 points with no time passing, only the first is sent.
+		assertEquals(1, mock.getBroadcastBeans().size());
+		assertEquals(999, progress.getSuppressedCount());
+
+		// The final point is sent whenever
+		bean.setPercentComplete(100);
+		progress.broadcastNow(bean);
+		assertEquals(100d, mock.getLastQueueable().getPercentComplete(), 0.0001);
+		awaitTrailing();
+		assertEquals(2, mock.getBroadcastBeans().size());
+	}
+
+	@Test
+	public void testProgressSentAfterInterval() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(20); // 50ms
+		assertTrue(progress.broadcast(bean));
+		clock.addAndGet(10);
+		assertFalse(progress.broadcast(bean));
+		clock.addAndGet(50);
+		bean.setPercentComplete(50);
+		assertTrue(progress.broadcast(bean)); // The interval has passed, sent and replaces the one not sent
+		assertEquals(2, mock.getBroadcastBeans().size());
+		assertEquals(50d, mock.getLastQueueable().getPercentComplete(), 0.0001);
+		awaitTrailing();
+		assertEquals(2, mock.getBroadcastBeans().size());
+	}
+
+	@Test
+	public void testLastProgressSentAtEndOfInterval() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(20); // 50ms
+		assertTrue(progress.broadcast(bean));
+		bean.setPercentComplete(10);
+		assertFalse(progress.broadcast(bean));
+		bean.setPercentComplete(20);
+		assertFalse(progress.broadcast(bean));
+		assertEquals(1, mock.getBroadcastBeans().size());
+
+		awaitTrailing(); // No more progress, the last is sent anyway
+		assertEquals(2, mock.getBroadcastBeans().size());
+		assertEquals(20d, mock.getLastQueueable().getPercentComplete(), 0.0001);
+	}
+
+	@Test
+	public void testSnapshotSentAtEndOfInterval() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(20); // 50ms
+		assertTrue(progress.broadcast(bean));
+		bean.setPercentComplete(20);
+		assertFalse(progress.broadcast(bean));
+		bean.setPercentComplete(30); // The scan carries on changing the bean without broadcasting it
+
+		awaitTrailing();
+		assertEquals(2, mock.getBroadcastBeans().size());
+		assertEquals(20d, mock.getLastQueueable().getPercentComplete(), 0.0001);
+		assertEquals("fred", mock.getLastQueueable().getUniqueId());
+	}
+
+	@Test
+	public void testStateChangeReplacesLastProgress() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(20); // 50ms
+		assertTrue(progress.broadcast(bean));
+		assertFalse(progress.broadcast(bean));
+		progress.broadcastNow(bean);
+		awaitTrailing();
+		assertEquals(2, mock.getBroadcastBeans().size());
+	}
+
+	@Test
+	public void testStateChangesAlwaysSent() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(1);
+		for (int i = 0; i < 10; i++) progress.broadcastNow(bean);
+		assertEquals(10, mock.getBroadcastBeans().size());
+		assertFalse(progress.broadcast(bean));
+	}
+
+	@Test
+	public void testUnlimited() throws Exception {
+
+		ProgressPublisher<ScanBean> progress = create(0);
+		for (int i = 0; i < 100; i++) progress.broadcast(bean);
+		assertEquals(100, mock.getBroadcastBeans().size());
+		assertEquals(0, progress.getSuppressedCount());
+	}
+}
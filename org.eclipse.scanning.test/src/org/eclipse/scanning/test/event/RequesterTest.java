@@ -11,11 +11,15 @@
  *******************************************************************************/
 package org.eclipse.scanning.test.event;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.jms.Connection;
@@ -35,6 +39,7 @@ import org.eclipse.scanning.api.event.bean.BeanEvent;
 import org.eclipse.scanning.api.event.bean.IBeanListener;
 import org.eclipse.scanning.api.event.core.IRequester;
 import org.eclipse.scanning.api.event.core.IResponder;
+import org.eclipse.scanning.api.event.core.RequestStatistics;
 import org.eclipse.scanning.api.event.core.ISubscriber;
 import org.eclipse.scanning.api.event.core.ResponseConfiguration;
 import org.eclipse.scanning.api.event.core.ResponseConfiguration.ResponseType;
@@ -257,4 +262,33 @@ public class RequesterTest extends BrokerTest {
 		assertTrue(info.getState()==DeviceState.ARMED); // We do not set an exposure as part of the test.
 	}
 
+	@Test
+	public void testConcurrentPosts() throws Exception {
+		
+		// The posts share one connection and each gets its own response back.
+		final int count = 20;
+		ExecutorService exec = Executors.newFixedThreadPool(count);
+		try {
+			List<Future<DeviceRequest>> responses = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				final String name = i%2==0 ? "mandelbrot" : "fred";
+				responses.add(exec.submit(() -> {
+					DeviceRequest req = new DeviceRequest();
+					req.setDeviceName(name);
+					return requester.post(req);
+				}));
+			}
+			for (int i = 0; i < count; i++) {
+				DeviceRequest res = responses.get(i).get(20, TimeUnit.SECONDS);
+				assertEquals(i%2==0 ? 1 : 0, res.getDevices()==null ? 0 : res.getDevices().size());
+			}
+		} finally {
+			exec.shutdownNow();
+		}
+		
+		RequestStatistics stats = requester.getStatistics();
+		assertEquals(count, stats.getCount());
+		assertTrue(stats.getMaximumLatency()>=stats.getMinimumLatency());
+	}
+
 }
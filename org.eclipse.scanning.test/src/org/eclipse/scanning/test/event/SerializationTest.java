@@ -44,9 +44,11 @@ import org.eclipse.scanning.api.event.scan.DeviceValueMultiPosition;
 import org.eclipse.scanning.api.event.scan.ScanBean;
 import org.eclipse.scanning.api.event.scan.ScanRequest;
 import org.eclipse.scanning.api.event.status.Status;
+import org.eclipse.scanning.api.points.ArrayPosition;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
 import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.Scalar;
 import org.eclipse.scanning.api.points.models.BoundingBox;
 import org.eclipse.scanning.api.points.models.CompoundModel;
 import org.eclipse.scanning.api.points.models.GridModel;
@@ -196,6 +198,16 @@ public class SerializationTest {
 		IPosition tniop = service.unmarshal(json, IPosition.class);
 		assertEquals(point, tniop);
 	}
+	
+	@Test
+	public void testSerializeArrayPosition() throws Exception {
+		IPosition pos = new Point("x", 3, 0.02, "y", 4, 0.03).compound(new Scalar<>("T", 2, 295.0));
+		pos.setStepIndex(100);
+		assertTrue(pos instanceof ArrayPosition);
+		String   json = service.marshal(pos);
+		IPosition sop = service.unmarshal(json, IPosition.class);
+		assertEquals(pos, sop);
+	}
 
 
 	@Test
@@ -474,6 +486,26 @@ public class SerializationTest {
 		assertTrue(bean.getScanRequest()==null);
 	}
 
+	@Test
+	public void testRemoveLastPropertyWithBracketsInStrings() throws Exception {
+		
+		final String json = "{\"@type\":\"ScanBean\","+
+		 "\"uniqueId\":\"5f67891f-4f01-48d4-9cab-ce373c5f9807\","+
+		 "\"name\":\"Scan {x, y}, [mandelbrot]\","+
+		 "\"scanRequest\":{\"@type\":\"ScanRequest\",\"ignorePreprocess\":false,"+
+		     "\"detectors\":{\"mandelbrot\":{\"@type\":\"MandelbrotModel\",\"name\":\"mandel}brot,\",\"exposureTime\":0.1}}}}";
+		
+		String jsonNoDet = JsonUtil.removeProperties(json, Arrays.asList("detectors", "ignorePreprocess"));
+		assertEquals("{\"@type\":\"ScanBean\","+
+				 "\"uniqueId\":\"5f67891f-4f01-48d4-9cab-ce373c5f9807\","+
+				 "\"name\":\"Scan {x, y}, [mandelbrot]\","+
+				 "\"scanRequest\":{\"@type\":\"ScanRequest\"}}", jsonNoDet);
+		
+		ScanBean bean = service.unmarshal(jsonNoDet, ScanBean.class);
+		assertEquals("Scan {x, y}, [mandelbrot]", bean.getName());
+		assertTrue(bean.getScanRequest().getDetectors()==null);
+	}
+
 	@Test
 	public void testSerializeDeviceRequestWithNumber() throws Exception {
 		Number value = 1.234;
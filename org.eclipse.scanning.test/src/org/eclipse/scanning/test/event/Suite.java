@@ -24,7 +24,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	AnyBeanEventTest.class,
 	HeartbeatTest.class,
 	RequesterTest.class,
-	AcquireRequestTest.class
+	AcquireRequestTest.class,
+	ProgressPublisherTest.class
 	// MConsumerTest.class  Takes too long! TODO Make shorter
 })
 public class Suite {
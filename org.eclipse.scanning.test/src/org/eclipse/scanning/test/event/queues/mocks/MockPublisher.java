@@ -44,6 +44,7 @@ public class MockPublisher<T> implements IPublisher<T> {
 	private boolean disconnected = false;
 	
 	private boolean alive;
+	private boolean binary;
 	
 	public MockPublisher(URI uri, String topic) {
 		//Removed from sig: IEventConnectorService service
@@ -229,4 +230,14 @@ public class MockPublisher<T> implements IPublisher<T> {
 		
 	}
 
+	@Override
+	public void setBinary(boolean binary) {
+		this.binary = binary;
+	}
+
+	@Override
+	public boolean isBinary() {
+		return binary;
+	}
+
 }
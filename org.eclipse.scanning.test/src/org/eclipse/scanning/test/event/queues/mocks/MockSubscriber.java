@@ -131,4 +131,16 @@ public class MockSubscriber<T extends EventListener> implements ISubscriber<T> {
 		return false;
 	}
 
+	@Override
+	public void setConflating(boolean conflating) {
+		// TODO Auto-generated method stub
+		
+	}
+
+	@Override
+	public boolean isConflating() {
+		// TODO Auto-generated method stub
+		return false;
+	}
+
 }
@@ -0,0 +1,141 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.scanning.api.points.ArrayPosition;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.PositionSchema;
+import org.eclipse.scanning.api.points.Scalar;
+import org.junit.Test;
+
+public class ArrayPositionTest {
+
+	@Test
+	public void testSameAsMapPosition() throws Exception {
+
+		PositionSchema schema = new PositionSchema(Arrays.asList("T", "y", "x"), null);
+		ArrayPosition apos = new ArrayPosition(schema, new double[]{290, 1.5, 2.5}, new int[]{0, 3, 4});
+
+		MapPosition mpos = new MapPosition();
+		mpos.put("T", 290d);
+		mpos.put("y", 1.5);
+		mpos.put("x", 2.5);
+		mpos.putIndex("T", 0);
+		mpos.putIndex("y", 3);
+		mpos.putIndex("x", 4);
+
+		assertEquals(mpos, apos);
+		assertEquals(apos, mpos);
+		assertEquals(mpos.hashCode(), apos.hashCode());
+		assertEquals(mpos.getValues(), apos.getValues());
+		assertEquals(mpos.getIndices(), apos.getIndices());
+		assertEquals(1.5, apos.getValue("y"), 0);
+		assertEquals(4, apos.getIndex("x"));
+		assertEquals(-1, apos.getIndex("z"));
+		assertEquals(null, apos.get("z"));
+	}
+
+	@Test
+	public void testCompound() throws Exception {
+
+		IPosition outer = new Scalar<>("T", 2, 295.0);
+		Point     inner = new Point("x", 3, 0.5, "y", 4, 1.5);
+		inner.setStepIndex(10);
+
+		IPosition pos = inner.compound(outer);
+		assertTrue(pos instanceof ArrayPosition);
+		assertEquals(Arrays.asList("T", "y", "x"), pos.getNames());
+		assertEquals(3, pos.getScanRank());
+		assertEquals(2, pos.getIndex(0));
+		assertEquals(4, pos.getIndex(1));
+		assertEquals(3, pos.getIndex(2));
+		assertEquals(10, pos.getStepIndex());
+
+		List<Collection<String>> dnames = ((ArrayPosition)pos).getDimensionNames();
+		assertEquals(Arrays.asList(Arrays.asList("T"), Arrays.asList("y"), Arrays.asList("x")), dnames);
+
+		// The same as the old compound
+		MapPosition mpos = new MapPosition();
+		mpos.putAll(outer);
+		mpos.putAll(inner);
+		mpos.setStepIndex(10);
+		mpos.setDimensionNames(dnames);
+		assertEquals(mpos, pos);
+	}
+
+	@Test
+	public void testSchemaShared() throws Exception {
+
+		IPosition outer = new Scalar<>("T", 2, 295.0);
+		IPosition pos1 = new Point("x", 3, 0.5, "y", 4, 1.5).compound(outer);
+		IPosition pos2 = new Point("x", 4, 0.7, "y", 4, 1.5).compound(outer);
+		assertSame(((ArrayPosition)pos1).getSchema(), ((ArrayPosition)pos2).getSchema());
+		assertSame(pos1.getNames(), pos2.getNames());
+
+		// Compounding array positions reuses the schema too
+		IPosition energy = new Scalar<>("energy", 0, 10.0);
+		IPosition pos3 = pos1.compound(energy);
+		IPosition pos4 = pos2.compound(energy);
+		assertSame(((ArrayPosition)pos3).getSchema(), ((ArrayPosition)pos4).getSchema());
+		assertEquals(Arrays.asList("energy", "T", "y", "x"), pos4.getNames());
+		assertEquals(0.7, pos4.getValue("x"), 0);
+	}
+
+	@Test
+	public void testNameInBoth() throws Exception {
+		IPosition pos = new Scalar<>("x", 1, 2.0).compound(new Point("x", 3, 0.5, "y", 4, 1.5));
+		assertEquals(Arrays.asList("y", "x"), pos.getNames());
+		assertEquals(2.0, pos.getValue("x"), 0);
+		assertEquals(1, pos.getIndex("x"));
+	}
+
+	@Test
+	public void testNonDoubleUsesMapPosition() throws Exception {
+		IPosition pos = new Scalar<>("x", 1, 2.0).compound(new Scalar<>("name", 0, "fred"));
+		assertTrue(pos instanceof MapPosition);
+		assertEquals("fred", pos.get("name"));
+	}
+
+	@Test
+	public void testSetDimensionNamesDoesNotChangeSchema() throws Exception {
+		PositionSchema schema = new PositionSchema(Arrays.asList("y", "x"), null);
+		ArrayPosition  pos1   = new ArrayPosition(schema, new double[]{1, 2}, new int[]{0, 0});
+		ArrayPosition  pos2   = new ArrayPosition(schema, new double[]{3, 4}, new int[]{1, 1});
+		
+		List<Collection<String>> dnames = new ArrayList<>();
+		dnames.add(new ArrayList<>(Arrays.asList("y")));
+		dnames.add(new ArrayList<>(Arrays.asList("x")));
+		pos1.setDimensionNames(dnames);
+		dnames.get(0).add("z"); // The position has a copy
+		pos1.getDimensionNames().get(1).add("z"); // Its own copy may be changed
+
+		assertEquals(Arrays.asList(Arrays.asList("y"), Arrays.asList("x", "z")), pos1.getDimensionNames());
+		assertEquals(Arrays.asList(Arrays.asList("y", "x")), pos2.getDimensionNames());
+		assertEquals(Arrays.asList(Arrays.asList("y", "x")), schema.getDimensionNames());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testWrongSize() throws Exception {
+		new ArrayPosition(new PositionSchema(Arrays.asList("x", "y"), null), new double[]{1}, new int[]{0, 0});
+	}
+}
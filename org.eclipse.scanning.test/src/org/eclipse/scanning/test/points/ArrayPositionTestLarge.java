@@ -0,0 +1,111 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.scanning.api.points.AbstractPosition;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.Scalar;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Test;
+
+/**
+ * Measures the memory allocated for each position. Not part of
+ * the suite, run by hand when changing positions.
+ */
+public class ArrayPositionTestLarge {
+
+	private static final int SIZE = 1000000;
+
+	@Test
+	public void testCompoundAllocation() throws Exception {
+
+		final IPosition outer = new Scalar<>("T", 0, 295.0);
+
+		long mapBytes = allocated(() -> {
+			for (int i = 0; i < SIZE; i++) {
+				sink(mapCompound(new Point("x", i, i, "y", 0, 0), outer));
+			}
+		});
+		long arrayBytes = allocated(() -> {
+			for (int i = 0; i < SIZE; i++) {
+				sink(new Point("x", i, i, "y", 0, 0).compound(outer));
+			}
+		});
+		System.out.println("MapPosition compound allocated "+(mapBytes/SIZE)+" bytes/point, ArrayPosition "+(arrayBytes/SIZE)+" bytes/point");
+		assertTrue(arrayBytes < mapBytes);
+	}
+
+	@Test
+	public void testScanAllocation() throws Exception {
+
+		GridModel grid = new GridModel("x", "y", 1000, 1000);
+		grid.setBoundingBox(new BoundingBox(0, 0, 10, 10));
+		final IPointGenerator<?> gen = new PointGeneratorService(GeneratorEngine.JAVA).createCompoundGenerator(
+				new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 300, 10), grid)));
+		assertEquals(2*SIZE, gen.size());
+
+		long bytes = allocated(() -> {
+			for (Iterator<IPosition> it = gen.iterator(); it.hasNext();) sink(it.next());
+		});
+		System.out.println("Scan of "+gen.size()+" points allocated "+(bytes/gen.size())+" bytes/point");
+	}
+
+	/**
+	 * What AbstractPosition.compound() did before ArrayPosition.
+	 */
+	private static IPosition mapCompound(AbstractPosition pos, IPosition parent) {
+		final MapPosition ret = new MapPosition();
+		ret.putAll(parent);
+		ret.putAll(pos);
+		ret.putAllIndices(parent);
+		ret.putAllIndices(pos);
+		ret.setStepIndex(pos.getStepIndex());
+		ret.setExposureTime(pos.getExposureTime());
+		List<Collection<String>> dimensionNames = new ArrayList<>();
+		dimensionNames.addAll(((AbstractPosition) parent).getDimensionNames());
+		dimensionNames.addAll(pos.getDimensionNames());
+		ret.setDimensionNames(dimensionNames);
+		return ret;
+	}
+
+	private static volatile Object sink;
+	private static void sink(Object o) {
+		sink = o;
+	}
+
+	private static long allocated(Runnable run) {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long id = Thread.currentThread().getId();
+		run.run(); // Warm up
+		long before = bean.getThreadAllocatedBytes(id);
+		run.run();
+		return bean.getThreadAllocatedBytes(id) - before;
+	}
+}
@@ -0,0 +1,131 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.scanning.points.spg.SpgExcluder;
+import org.eclipse.scanning.points.spg.SpgRoi;
+import org.junit.Test;
+
+/**
+ * Checks the masks made by excluders, which are made in blocks
+ * on many threads, against the points tested one at a time.
+ */
+public class ExcluderTest {
+
+	// A concave arrow shape, with edges at many angles
+	private static final double[] POLYGON_X = {0, 4, 10, 4, 4.5, 0,   2};
+	private static final double[] POLYGON_Y = {0, 1, 5,  9, 6,   10,  5};
+
+	@Test
+	public void testPolygon() throws Exception {
+
+		SpgRoi.Polygonal polygon = new SpgRoi.Polygonal(POLYGON_X, POLYGON_Y);
+		Path2D path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+		path.moveTo(POLYGON_X[0], POLYGON_Y[0]);
+		for (int i = 1; i < POLYGON_X.length; i++) path.lineTo(POLYGON_X[i], POLYGON_Y[i]);
+		path.closePath();
+
+		double[][] points = randomPoints(100000, -1, 11);
+		BitSet mask = excluder(polygon).createMask(points[0], points[1]);
+		for (int i = 0; i < points[0].length; i++) {
+			assertEquals("Point "+points[0][i]+", "+points[1][i], path.contains(points[0][i], points[1][i]), mask.get(i));
+		}
+	}
+
+	@Test
+	public void testPolygonEdges() throws Exception {
+
+		// The same as the python for points on the edges, the lower and left edges are inside
+		SpgRoi.Polygonal square = new SpgRoi.Polygonal(new double[]{0, 1, 1, 0}, new double[]{0, 0, 1, 1});
+		BitSet mask = excluder(square).createMask(new double[]{0, 0.5, 0, 1, 0.5, 0.5}, new double[]{0, 0, 0.5, 0.5, 1, 0.5});
+		BitSet expected = new BitSet();
+		expected.set(0, 3);
+		expected.set(5);
+		assertEquals(expected, mask);
+	}
+
+	@Test
+	public void testUnionOfRegions() throws Exception {
+
+		SpgRoi[] rois = {
+				new SpgRoi.Circular(new double[]{3, 3}, 2),
+				new SpgRoi.Rectangular(new double[]{5, 0}, 4, 2, Math.PI/6),
+				new SpgRoi.Polygonal(POLYGON_X, POLYGON_Y),
+				new SpgRoi.Elliptical(new double[]{8, 8}, new double[]{2, 1}, 0.3),
+				new SpgRoi.Sector(new double[]{1, 9}, new double[]{0.5, 4}, new double[]{0, 2}),
+		};
+		double[][] points = randomPoints(200000, -1, 11);
+		BitSet mask = new SpgExcluder(Arrays.asList(rois), Arrays.asList("x", "y")).createMask(points[0], points[1]);
+
+		BitSet expected = new BitSet();
+		for (SpgRoi roi : rois) {
+			boolean[] rmask = roi.maskPoints(points[0], points[1]);
+			for (int i = 0; i < rmask.length; i++) if (rmask[i]) expected.set(i);
+		}
+		assertEquals(expected, mask);
+	}
+
+	@Test
+	public void testGrid() throws Exception {
+		checkGrid(301, 301, 301, false);
+		checkGrid(301, 177, 177, true);
+	}
+
+	@Test
+	public void testAlternatingGrid() throws Exception {
+		// The reversed points appended to each axis, as in an alternating dimension
+		checkGrid(2*150, 2*90, 90, false);
+	}
+
+	private void checkGrid(int nrows, int ncols, int repeat, boolean rowsFirst) {
+
+		double[] rows = new double[nrows];
+		for (int i = 0; i < nrows; i++) rows[i] = 10.0*i/nrows;
+		double[] cols = new double[ncols];
+		for (int i = 0; i < ncols; i++) cols[i] = 10.0*i/ncols;
+
+		// The grid as arrays of all its points
+		double[] r = new double[nrows*repeat];
+		double[] c = new double[nrows*repeat];
+		for (int i = 0; i < r.length; i++) {
+			r[i] = rows[i/repeat];
+			c[i] = cols[i%ncols];
+		}
+
+		SpgExcluder excluder = excluder(new SpgRoi.Polygonal(POLYGON_X, POLYGON_Y), new SpgRoi.Circular(new double[]{8, 2}, 1.5));
+		BitSet expected = rowsFirst ? excluder.createMask(r, c) : excluder.createMask(c, r);
+		assertEquals(expected, excluder.createGridMask(rows, repeat, cols, rowsFirst));
+	}
+
+	private static SpgExcluder excluder(SpgRoi... rois) {
+		List<SpgRoi> list = Arrays.asList(rois);
+		return new SpgExcluder(list, Arrays.asList("x", "y"));
+	}
+
+	private static double[][] randomPoints(int size, double min, double max) {
+		Random random = new Random(12345);
+		double[][] points = new double[2][size];
+		for (int i = 0; i < size; i++) {
+			points[0][i] = min + (max-min)*random.nextDouble();
+			points[1][i] = min + (max-min)*random.nextDouble();
+		}
+		return points;
+	}
+}
@@ -0,0 +1,138 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GeneratorCacheTest {
+
+	private PointGeneratorService service;
+
+	@Before
+	public void before() throws Exception {
+		service = new PointGeneratorService();
+	}
+
+	@Test
+	public void testSameModel() throws Exception {
+
+		CompoundModel<IROI> model = createModel(5);
+		IPointGenerator<?> gen1 = service.createCompoundGenerator(model);
+		IPointGenerator<?> gen2 = service.createCompoundGenerator(model);
+		assertSame(gen1, gen2);
+		assertEquals(1, service.getCacheHits());
+		assertEquals(1, service.getCacheMisses());
+		assertEquals(1, service.getCacheSize());
+	}
+
+	@Test
+	public void testEqualModel() throws Exception {
+
+		IPointGenerator<?> gen1 = service.createCompoundGenerator(createModel(5));
+		IPointGenerator<?> gen2 = service.createCompoundGenerator(createModel(5));
+		assertSame(gen1, gen2);
+		assertEquals(1, service.getCacheHits());
+
+		// A region changes the content
+		CompoundModel<IROI> model = createModel(5);
+		model.setRegions(Arrays.asList(new ScanRegion<IROI>(new CircularROI(1.5, 1.5, 1.5), "x", "y")));
+		IPointGenerator<?> gen3 = service.createCompoundGenerator(model);
+		assertNotSame(gen1, gen3);
+		assertEquals(2, service.getCacheMisses());
+	}
+
+	@Test
+	public void testDifferentModel() throws Exception {
+
+		IPointGenerator<?> gen1 = service.createCompoundGenerator(createModel(5));
+		IPointGenerator<?> gen2 = service.createCompoundGenerator(createModel(6));
+		assertNotSame(gen1, gen2);
+		assertEquals(0, service.getCacheHits());
+		assertEquals(2, service.getCacheMisses());
+		assertEquals(6*25, gen1.size());
+		assertEquals(7*25, gen2.size());
+	}
+
+	@Test
+	public void testChangedAfterCaching() throws Exception {
+
+		CompoundModel<IROI> model = createModel(5);
+		IPointGenerator<?> gen1 = service.createCompoundGenerator(model);
+		assertEquals(6*25, gen1.size());
+
+		// The cached generator was made from a copy so changing the model does not change it
+		((StepModel)model.getModels().get(0)).setStop(300);
+		assertEquals(6*25, gen1.size());
+		IPointGenerator<?> gen2 = service.createCompoundGenerator(createModel(5));
+		assertSame(gen1, gen2);
+		assertEquals(1, service.getCacheHits());
+
+		IPointGenerator<?> gen3 = service.createCompoundGenerator(model);
+		assertNotSame(gen1, gen3);
+		assertEquals(11*25, gen3.size());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testCachedCannotBeChanged() throws Exception {
+
+		@SuppressWarnings("unchecked")
+		IPointGenerator<CompoundModel<?>> gen = (IPointGenerator<CompoundModel<?>>)service.createCompoundGenerator(createModel(5));
+		gen.setModel(createModel(6));
+	}
+
+	@Test
+	public void testLeastRecentlyUsed() throws Exception {
+
+		service.setCacheCapacity(2);
+		IPointGenerator<?> gen1 = service.createCompoundGenerator(createModel(1));
+		service.createCompoundGenerator(createModel(2));
+		assertSame(gen1, service.createCompoundGenerator(createModel(1)));
+
+		service.createCompoundGenerator(createModel(3)); // Discards 2
+		assertEquals(2, service.getCacheSize());
+		assertSame(gen1, service.createCompoundGenerator(createModel(1)));
+		service.createCompoundGenerator(createModel(2));
+		assertEquals(2, service.getCacheHits());
+		assertEquals(4, service.getCacheMisses());
+	}
+
+	@Test
+	public void testNoCache() throws Exception {
+
+		service.setCacheCapacity(0);
+		CompoundModel<IROI> model = createModel(5);
+		assertNotSame(service.createCompoundGenerator(model), service.createCompoundGenerator(model));
+		assertEquals(0, service.getCacheSize());
+	}
+
+	private static CompoundModel<IROI> createModel(int steps) {
+		GridModel grid = new GridModel("x", "y", 5, 5);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		return new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 290+steps, 1), grid));
+	}
+}
@@ -0,0 +1,242 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.PolygonalROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.scanning.api.points.AbstractPosition;
+import org.eclipse.scanning.api.points.IMutator;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.models.ArrayModel;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.BoundingLine;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.LissajousModel;
+import org.eclipse.scanning.api.points.models.MultiStepModel;
+import org.eclipse.scanning.api.points.models.OneDEqualSpacingModel;
+import org.eclipse.scanning.api.points.models.OneDStepModel;
+import org.eclipse.scanning.api.points.models.RandomOffsetGridModel;
+import org.eclipse.scanning.api.points.models.RasterModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.SpiralModel;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.points.mutators.RandomOffsetMutator;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the java engine makes the same points as the jython one.
+ */
+public class GeneratorEngineTest {
+
+	private PointGeneratorService jython, java;
+
+	@Before
+	public void before() throws Exception {
+		jython = new PointGeneratorService(GeneratorEngine.JYTHON);
+		java   = new PointGeneratorService(GeneratorEngine.JAVA);
+	}
+
+	@Test
+	public void testGrid() throws Exception {
+		GridModel model = new GridModel("x", "y", 5, 4);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setSnake(false);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testSnakeGrid() throws Exception {
+		GridModel model = new GridModel("x", "y", 5, 4);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setSnake(true);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testGridCircularRegion() throws Exception {
+		GridModel model = new GridModel("x", "y", 20, 20);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setSnake(true);
+		checkSame(model, new CircularROI(1.5, 1.5, 1.5));
+	}
+
+	@Test
+	public void testGridRectangularRegion() throws Exception {
+		GridModel model = new GridModel("x", "y", 20, 20);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		checkSame(model, new RectangularROI(0.5, 0.5, 2, 1, 0));
+	}
+
+	@Test
+	public void testGridPolygonalRegion() throws Exception {
+		PolygonalROI diamond = new PolygonalROI(new double[] { 1.5, 0 });
+		diamond.insertPoint(new double[] { 3, 1.5 });
+		diamond.insertPoint(new double[] { 1.5, 3 });
+		diamond.insertPoint(new double[] { 0, 1.5 });
+
+		GridModel model = new GridModel("x", "y", 20, 20);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setSnake(true);
+		checkSame(model, diamond);
+	}
+
+	@Test
+	public void testRaster() throws Exception {
+		RasterModel model = new RasterModel("x", "y");
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setFastAxisStep(0.5);
+		model.setSlowAxisStep(0.75);
+		model.setSnake(true);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testRandomOffsetGrid() throws Exception {
+		RandomOffsetGridModel model = new RandomOffsetGridModel("x", "y");
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setFastAxisPoints(6);
+		model.setSlowAxisPoints(5);
+		model.setSeed(10);
+		model.setOffset(25);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testStep() throws Exception {
+		checkSame(new StepModel("x", -2, 5, 0.25), null);
+	}
+
+	@Test
+	public void testArray() throws Exception {
+		ArrayModel model = new ArrayModel(1.5, 0.5, 9, -3, 4.25);
+		model.setName("x");
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testMultiStep() throws Exception {
+		MultiStepModel model = new MultiStepModel("x", 10, 20, 1);
+		model.addStepModel(new StepModel("x", 25, 50, 5));
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testSpiral() throws Exception {
+		SpiralModel model = new SpiralModel("x", "y", 0.5, new BoundingBox(-5, -5, 10, 10));
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testLissajous() throws Exception {
+		LissajousModel model = new LissajousModel();
+		model.setBoundingBox(new BoundingBox(-10, -10, 20, 20));
+		model.setA(2);
+		model.setB(1);
+		model.setPoints(200);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testOneDEqualSpacing() throws Exception {
+		OneDEqualSpacingModel model = new OneDEqualSpacingModel();
+		model.setBoundingLine(createLine());
+		model.setPoints(10);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testOneDStep() throws Exception {
+		OneDStepModel model = new OneDStepModel();
+		model.setBoundingLine(createLine());
+		model.setStep(0.3);
+		checkSame(model, null);
+	}
+
+	@Test
+	public void testCompoundWithRegionAndMutator() throws Exception {
+		GridModel grid = new GridModel("x", "y", 10, 8);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		grid.setSnake(true);
+
+		CompoundModel<IROI> model = new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 300, 2), grid));
+		model.setRegions(Arrays.asList(new ScanRegion<IROI>(new CircularROI(1.5, 1.5, 1.5), "x", "y")));
+
+		Map<String, Double> offsets = new HashMap<>();
+		offsets.put("x", 0.1);
+		offsets.put("y", 0.2);
+		model.setMutators(Arrays.<IMutator>asList(new RandomOffsetMutator(3, Arrays.asList("x", "y"), offsets)));
+
+		checkSame(jython.createCompoundGenerator(model), java.createCompoundGenerator(model));
+	}
+
+	private BoundingLine createLine() {
+		BoundingLine line = new BoundingLine();
+		line.setxStart(0.0);
+		line.setyStart(1.0);
+		line.setLength(Math.hypot(3.0, 4.0));
+		line.setAngle(Math.atan(4.0/3.0));
+		return line;
+	}
+
+	private void checkSame(Object model, IROI roi) throws Exception {
+		checkSame(roi!=null ? jython.createGenerator(model, roi) : jython.createGenerator(model),
+				  roi!=null ? java.createGenerator(model, roi)   : java.createGenerator(model));
+	}
+
+	private void checkSame(IPointGenerator<?> jgen, IPointGenerator<?> gen) throws Exception {
+
+		assertEquals(jgen.size(),     gen.size());
+		assertEquals(jgen.getRank(),  gen.getRank());
+		assertArrayEquals(jgen.getShape(), gen.getShape());
+
+		Iterator<IPosition> jit = jgen.iterator();
+		Iterator<IPosition> it  = gen.iterator();
+		int count = 0;
+		while (jit.hasNext()) {
+			assertTrue("Java engine ended at "+count, it.hasNext());
+			IPosition expected = jit.next();
+			IPosition actual   = it.next();
+			// The java engine makes an ArrayPosition where jython makes a MapPosition
+			if (!(expected instanceof MapPosition)) assertEquals(expected.getClass(), actual.getClass());
+			assertEquals(expected.getNames(), actual.getNames());
+			assertEquals(expected.getStepIndex(), actual.getStepIndex());
+			for (String name : expected.getNames()) {
+				assertEquals(expected.getIndex(name), actual.getIndex(name));
+				assertEquals(expected.getValue(name), actual.getValue(name), 1e-10);
+			}
+			if (expected instanceof AbstractPosition) {
+				assertEquals(((AbstractPosition)expected).getDimensionNames(), ((AbstractPosition)actual).getDimensionNames());
+			}
+			++count;
+		}
+		assertFalse(it.hasNext());
+		assertEquals(gen.size(), count);
+	}
+}
@@ -0,0 +1,74 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Iterator;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Test;
+
+/**
+ * Compares the rate at which each engine iterates a large grid.
+ * Not part of the suite, run by hand when changing the engines.
+ */
+public class GeneratorEngineTestLarge {
+
+	@Test
+	public void testGrid1mill() throws Exception {
+		GridModel model = new GridModel("x", "y", 1000, 1000);
+		model.setBoundingBox(new BoundingBox(0, 0, 1000, 1000));
+		model.setSnake(true);
+
+		double jython = pointsPerSecond(GeneratorEngine.JYTHON, model, null, 1000000);
+		double java   = pointsPerSecond(GeneratorEngine.JAVA,   model, null, 1000000);
+		System.out.println("Grid of 1 million, jython "+Math.round(jython)+" points/s, java "+Math.round(java)+" points/s");
+	}
+
+	@Test
+	public void testGridCircle1mill() throws Exception {
+		GridModel model = new GridModel("x", "y", 1000, 1000);
+		model.setBoundingBox(new BoundingBox(0, 0, 1000, 1000));
+		model.setSnake(true);
+		CircularROI roi = new CircularROI(500, 500, 500);
+
+		double jython = pointsPerSecond(GeneratorEngine.JYTHON, model, roi, 785456);
+		double java   = pointsPerSecond(GeneratorEngine.JAVA,   model, roi, 785456);
+		System.out.println("Grid of 1 million in circle, jython "+Math.round(jython)+" points/s, java "+Math.round(java)+" points/s");
+	}
+
+	private double pointsPerSecond(GeneratorEngine engine, GridModel model, IROI roi, int size) throws Exception {
+
+		PointGeneratorService service = new PointGeneratorService(engine);
+
+		long start = System.nanoTime();
+		IPointGenerator<GridModel> gen = roi!=null ? service.createGenerator(model, roi) : service.createGenerator(model);
+		Iterator<IPosition> it = gen.iterator();
+		int count = 0;
+		while (it.hasNext()) {
+			it.next();
+			count++;
+		}
+		long time = System.nanoTime()-start;
+
+		assertEquals(size, count);
+		return count / (time / 1e9);
+	}
+}
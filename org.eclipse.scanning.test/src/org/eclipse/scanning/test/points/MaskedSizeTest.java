@@ -0,0 +1,129 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the size and shape of scans masked by regions, which
+ * are calculated from the masks, are those found by iterating the scan.
+ */
+public class MaskedSizeTest {
+
+	private PointGeneratorService service;
+
+	@Before
+	public void before() throws Exception {
+		service = new PointGeneratorService(GeneratorEngine.JAVA);
+	}
+
+	@Test
+	public void testCircle() throws Exception {
+		checkSize(createModel(new int[0], false, new CircularROI(1.5, 1.5, 1.5)));
+	}
+
+	@Test
+	public void testCircleSnake() throws Exception {
+		checkSize(createModel(new int[0], true, new CircularROI(1.5, 1.5, 1.5)));
+	}
+
+	@Test
+	public void testTwoRegions() throws Exception {
+		checkSize(createModel(new int[0], true, new CircularROI(1.5, 1.5, 1.5), new RectangularROI(0, 0, 2, 1, 0)));
+	}
+
+	@Test
+	public void testOuterSteps() throws Exception {
+		checkSize(createModel(new int[]{3}, true, new CircularROI(1.5, 1.5, 1.5)));
+		checkSize(createModel(new int[]{2, 5}, false, new CircularROI(1, 2, 1.2)));
+	}
+
+	@Test
+	public void testLargeGrid() throws Exception {
+		// More than one word of the mask in each row
+		GridModel grid = new GridModel("x", "y", 130, 70);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		grid.setSnake(true);
+		CompoundModel<IROI> model = new CompoundModel<>(grid);
+		model.setRegions(Arrays.asList(new ScanRegion<IROI>(new CircularROI(1.5, 1.5, 1.5), "x", "y")));
+		checkSize(model);
+	}
+
+	@Test
+	public void testNoRegions() throws Exception {
+		IPointGenerator<?> gen = service.createCompoundGenerator(createModel(new int[]{3}, true));
+		assertEquals(3*5*4, gen.size());
+		assertArrayEquals(new int[]{3, 4, 5}, gen.getShape());
+	}
+
+	private CompoundModel<IROI> createModel(int[] steps, boolean snake, IROI... rois) {
+		Object[] models = new Object[steps.length+1];
+		for (int i = 0; i < steps.length; i++) models[i] = new StepModel("T"+i, 0, steps[i]-1, 1);
+		GridModel grid = new GridModel("x", "y", 5, 4);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		grid.setSnake(snake);
+		models[steps.length] = grid;
+
+		CompoundModel<IROI> model = new CompoundModel<>(Arrays.asList(models));
+		if (rois.length>0) {
+			List<ScanRegion<IROI>> regions = new ArrayList<>();
+			for (IROI roi : rois) regions.add(new ScanRegion<IROI>(roi, "x", "y"));
+			model.setRegions(regions);
+		}
+		return model;
+	}
+
+	private void checkSize(CompoundModel<IROI> model) throws Exception {
+
+		IPointGenerator<?> gen = service.createCompoundGenerator(model);
+
+		int count = 0;
+		IPosition last = null;
+		for (Iterator<IPosition> it = gen.iterator(); it.hasNext(); count++) last = it.next();
+
+		assertEquals(count, gen.size());
+		int[] shape = gen.getShape();
+		assertEquals(last.getScanRank(), shape.length);
+
+		// The last point is at the end of the outer dimension and,
+		// as inner dimensions may snake, at either end of the others.
+		int product = 1;
+		for (int dim = 0; dim < shape.length; dim++) {
+			product *= shape[dim];
+			int index = last.getIndex(dim);
+			assertTrue(index==shape[dim]-1 || (dim>0 && index==0));
+		}
+		assertEquals(count, product);
+	}
+}
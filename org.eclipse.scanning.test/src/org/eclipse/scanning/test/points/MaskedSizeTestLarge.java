@@ -0,0 +1,56 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Test;
+
+/**
+ * Times the size of a large map in a circle. Not part of
+ * the suite, run by hand when changing the masks.
+ */
+public class MaskedSizeTestLarge {
+
+	@Test
+	public void testSizeOfLargeMap() throws Exception {
+
+		GridModel grid = new GridModel("x", "y", 4096, 4096);
+		grid.setBoundingBox(new BoundingBox(0, 0, 10, 10));
+		grid.setSnake(true);
+		CompoundModel<IROI> model = new CompoundModel<>(grid);
+		model.setRegions(Arrays.asList(new ScanRegion<IROI>(new CircularROI(5, 5, 5), "x", "y")));
+
+		long start = System.currentTimeMillis();
+		IPointGenerator<?> gen = new PointGeneratorService(GeneratorEngine.JAVA).createCompoundGenerator(model);
+		int size = gen.size();
+		int[] shape = gen.getShape();
+		long time = System.currentTimeMillis()-start;
+
+		System.out.println("Size of "+size+" points with shape "+Arrays.toString(shape)+" in "+time+"ms");
+		assertEquals(size, shape[0]);
+		assertTrue(size > 0.75*4096*4096 && size < 0.8*4096*4096); // pi/4 of the grid
+		assertTrue(time < 10000);
+	}
+}
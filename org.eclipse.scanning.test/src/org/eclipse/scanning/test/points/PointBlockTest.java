@@ -0,0 +1,150 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPointGeneratorService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.PointBlock;
+import org.eclipse.scanning.api.points.ScanPointIterator;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Test;
+
+/**
+ * Checks that blocks of points hold the same values and
+ * indices as the positions from the iterator.
+ */
+public class PointBlockTest extends AbstractGeneratorTest {
+
+	@Test
+	public void testStep() throws Exception {
+		checkBlocks(service.createGenerator(new StepModel("x", 0, 10, 0.5)), 7);
+	}
+
+	@Test
+	public void testGrid() throws Exception {
+		GridModel model = new GridModel("x", "y", 5, 4);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setSnake(true);
+		checkBlocks(service.createGenerator(model), 3);
+	}
+
+	@Test
+	public void testCompound() throws Exception {
+		checkBlocks(createCompound(service), 16);
+	}
+
+	@Test
+	public void testCompoundJavaEngine() throws Exception {
+		checkBlocks(createCompound(new PointGeneratorService(GeneratorEngine.JAVA)), 16);
+	}
+
+	@Test
+	public void testIteratorPartWay() throws Exception {
+
+		IPointGenerator<?> gen = createCompound(new PointGeneratorService(GeneratorEngine.JAVA));
+		List<IPosition> points = getPoints(gen);
+
+		Iterator<IPosition> it = gen.iterator();
+		it.next();
+		assertTrue(it.hasNext()); // Reads the next point in a compound iterator
+
+		PointBlock block = gen.createBlock(10);
+		assertEquals(10, ((ScanPointIterator)it).nextBlock(block));
+		checkBlock(points, 1, block);
+		assertEquals(points.get(11), it.next());
+	}
+
+	@Test
+	public void testSuppliedArrays() throws Exception {
+
+		IPointGenerator<?> gen = service.createGenerator(new StepModel("x", 0, 10, 1));
+		double[] x = new double[4];
+		int[]    i = new int[4];
+		PointBlock block = new PointBlock(Arrays.asList("x"), new double[][]{x}, new int[][]{i});
+
+		assertEquals(3, gen.getPoints(8, block));
+		assertEquals(3, block.getSize());
+		assertEquals(8, x[0], 0);
+		assertEquals(10, x[2], 0);
+		assertEquals(10, i[2]);
+		assertEquals(0, gen.getPoints(11, block));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testDifferentSizes() throws Exception {
+		new PointBlock(Arrays.asList("x"), new double[][]{new double[4]}, new int[][]{new int[3]});
+	}
+
+	private IPointGenerator<?> createCompound(IPointGeneratorService service) throws Exception {
+		GridModel grid = new GridModel("x", "y", 10, 8);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		grid.setSnake(true);
+
+		CompoundModel<IROI> model = new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 300, 5), grid));
+		model.setRegions(Arrays.asList(new ScanRegion<IROI>(new CircularROI(1.5, 1.5, 1.5), "x", "y")));
+		return service.createCompoundGenerator(model);
+	}
+
+	private void checkBlocks(IPointGenerator<?> gen, int capacity) throws Exception {
+
+		List<IPosition> points = getPoints(gen);
+		PointBlock block = gen.createBlock(capacity);
+		assertEquals(points.get(0).getNames(), block.getNames());
+		assertEquals(points.get(0).getScanRank(), block.getRank());
+
+		int start = 0;
+		for (int size; (size = gen.getPoints(start, block)) > 0; start += size) {
+			assertEquals(size, block.getSize());
+			assertTrue(size == capacity || start+size == points.size());
+			checkBlock(points, start, block);
+		}
+		assertEquals(points.size(), start);
+	}
+
+	/**
+	 * Not createPoints() which in CompoundGenerator nests the generators without regions
+	 */
+	private static List<IPosition> getPoints(IPointGenerator<?> gen) throws Exception {
+		List<IPosition> points = new ArrayList<>(gen.size());
+		for (IPosition pos : gen) points.add(pos);
+		return points;
+	}
+
+	private void checkBlock(List<IPosition> points, int start, PointBlock block) {
+		for (int row = 0; row < block.getSize(); row++) {
+			IPosition pos = points.get(start+row);
+			for (String name : block.getNames()) {
+				assertEquals(pos.getValue(name), block.getValues(name)[row], 0);
+			}
+			for (int dim = 0; dim < block.getRank(); dim++) {
+				assertEquals(pos.getIndex(dim), block.getIndices(dim)[row]);
+			}
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.points.Point;
+import org.eclipse.scanning.api.points.PointStore;
+import org.eclipse.scanning.api.points.Scalar;
+import org.eclipse.scanning.api.points.StaticPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.junit.Test;
+
+public class PointStoreTest {
+
+	@Test
+	public void testCompound() throws Exception {
+
+		GridModel grid = new GridModel("x", "y", 20, 15);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		grid.setSnake(true);
+		IPointGenerator<?> gen = new PointGeneratorService(GeneratorEngine.JAVA).createCompoundGenerator(
+				new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 300, 5), grid)));
+
+		List<IPosition> points = new ArrayList<>();
+		for (IPosition pos : gen) points.add(pos);
+
+		try (PointStore store = PointStore.of(gen.iterator(), gen.size())) {
+			assertEquals(points.size(), store.size());
+			assertEquals(points, store);
+			for (int i = 0; i < points.size(); i++) {
+				IPosition pos = store.get(i);
+				assertEquals(points.get(i), pos);
+				assertEquals(points.get(i).getStepIndex(), pos.getStepIndex());
+				assertEquals(points.get(i).getIndex(0), pos.getIndex(0));
+				assertEquals(points.get(i).getIndex(1), pos.getIndex(1));
+			}
+		}
+	}
+
+	@Test
+	public void testMapPositions() throws Exception {
+
+		try (PointStore store = new PointStore(10)) {
+			for (int i = 0; i < 10; i++) {
+				MapPosition pos = new MapPosition();
+				pos.put("a", i*0.5);
+				pos.put("b", i);
+				pos.putIndex("a", i);
+				pos.putIndex("b", 0);
+				pos.setStepIndex(i);
+				store.add(pos);
+			}
+			assertEquals(10, store.size());
+			assertEquals(Arrays.asList("a", "b"), store.getSchema().getNames());
+			assertEquals(4.5, store.get(9).getValue("a"), 0);
+			assertEquals(9d, store.get(9).getValue("b"), 0);
+			assertEquals(9, store.get(9).getIndex("a"));
+			assertEquals(9, store.get(9).getStepIndex());
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testFull() throws Exception {
+		try (PointStore store = new PointStore(1)) {
+			store.add(new Scalar<>("x", 0, 1.0));
+			store.add(new Scalar<>("x", 1, 2.0));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooLarge() throws Exception {
+		new PointStore(PointStore.MAX_CAPACITY+1);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testDifferentNames() throws Exception {
+		try (PointStore store = new PointStore(2)) {
+			store.add(new Point("x", 0, 1.0, "y", 0, 1.0));
+			store.add(new Point("x", 0, 1.0, "z", 0, 1.0));
+		}
+	}
+
+	@Test
+	public void testStorable() throws Exception {
+		assertTrue(PointStore.isStorable(new Point("x", 0, 1.0, "y", 0, 1.0)));
+		assertFalse(PointStore.isStorable(new Scalar<>("x", 0, "one")));
+		assertFalse(PointStore.isStorable(new StaticPosition()));
+	}
+
+	@Test
+	public void testPoints() throws Exception {
+		try (PointStore store = new PointStore(2)) {
+			Point point = new Point("x", 3, 1.5, "y", 4, 2.5);
+			point.setStepIndex(7);
+			point.setExposureTime(0.1);
+			store.add(point);
+			IPosition pos = store.get(0);
+			assertTrue(pos instanceof Point);
+			assertEquals(point, pos);
+			assertEquals(1.5, pos.getValue("X"), 0);
+			assertEquals(0.1, pos.getExposureTime(), 0);
+		}
+	}
+
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testOutOfRange() throws Exception {
+		try (PointStore store = new PointStore(2)) {
+			store.add(new Scalar<>("x", 0, 1.0));
+			store.get(1);
+		}
+	}
+
+	@Test
+	public void testIterator() throws Exception {
+		try (PointStore store = new PointStore(3)) {
+			for (int i = 0; i < 3; i++) store.add(new Scalar<>("x", i, i*2.0));
+			Iterator<IPosition> it = store.iterator();
+			for (int i = 0; i < 3; i++) assertEquals(i*2.0, it.next().getValue("x"), 0);
+			assertFalse(it.hasNext());
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.points;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.api.roi.IROI;
+import org.eclipse.dawnsci.analysis.dataset.roi.CircularROI;
+import org.eclipse.scanning.api.annotation.scan.AnnotationManager;
+import org.eclipse.scanning.api.event.scan.ScanBean;
+import org.eclipse.scanning.api.points.GeneratorException;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.ScanPointIterator;
+import org.eclipse.scanning.api.points.models.ArrayModel;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.CompoundModel;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.points.models.LissajousModel;
+import org.eclipse.scanning.api.points.models.ScanRegion;
+import org.eclipse.scanning.api.points.models.SpiralModel;
+import org.eclipse.scanning.api.points.models.StepModel;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.points.GeneratorEngine;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.sequencer.LocationManager;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks getPoint(int), getIndices(int) and seeking in iterators
+ * give the same points as iterating over the scan.
+ */
+public class RandomAccessTest extends AbstractGeneratorTest {
+
+	@Before
+	@Override
+	public void before() throws Exception {
+		// Random access uses the java engine, GeneratorEngineTest checks it makes the same points as jython.
+		service = new PointGeneratorService(GeneratorEngine.JAVA);
+	}
+
+	@Test
+	public void testStep() throws Exception {
+		checkRandomAccess(service.createGenerator(new StepModel("x", 0, 10, 0.5)));
+	}
+
+	@Test
+	public void testArray() throws Exception {
+		ArrayModel model = new ArrayModel(3, 1, 4, 1, 5, 9);
+		model.setName("x");
+		checkRandomAccess(service.createGenerator(model));
+	}
+
+	@Test
+	public void testSnakeGridInCircle() throws Exception {
+		GridModel model = new GridModel("x", "y", 15, 10);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		model.setSnake(true);
+		checkRandomAccess(service.createGenerator(model, new CircularROI(1.5, 1.5, 1.5)));
+	}
+
+	@Test
+	public void testSpiral() throws Exception {
+		checkRandomAccess(service.createGenerator(new SpiralModel("x", "y", 0.5, new BoundingBox(-5, -5, 10, 10))));
+	}
+
+	@Test
+	public void testLissajous() throws Exception {
+		LissajousModel model = new LissajousModel();
+		model.setBoundingBox(new BoundingBox(-10, -10, 20, 20));
+		model.setPoints(100);
+		checkRandomAccess(service.createGenerator(model));
+	}
+
+	@Test
+	public void testCompoundWithRegion() throws Exception {
+		GridModel grid = new GridModel("x", "y", 10, 8);
+		grid.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		grid.setSnake(true);
+
+		CompoundModel<IROI> model = new CompoundModel<>(Arrays.<Object>asList(new StepModel("T", 290, 300, 5), grid));
+		model.setRegions(Arrays.asList(new ScanRegion<IROI>(new CircularROI(1.5, 1.5, 1.5), "x", "y")));
+		checkRandomAccess(service.createCompoundGenerator(model));
+	}
+
+	@Test
+	public void testSeekInJythonIterator() throws Exception {
+		GridModel model = new GridModel("x", "y", 4, 4);
+		model.setBoundingBox(new BoundingBox(0, 0, 3, 3));
+		IPointGenerator<?> gen = new PointGeneratorService(GeneratorEngine.JYTHON).createGenerator(model);
+		List<IPosition> points = gen.createPoints();
+
+		Iterator<IPosition> it = gen.iterator();
+		assertTrue(((ScanPointIterator)it).seek(10));
+		assertEquals(points.get(10), it.next());
+		assertEquals(points.get(11), it.next());
+		assertEquals(points.get(5),  gen.getPoint(5));
+	}
+
+	@Test(expected=GeneratorException.class)
+	public void testOutsideScan() throws Exception {
+		IPointGenerator<?> gen = service.createGenerator(new StepModel("x", 0, 10, 1));
+		gen.getPoint(gen.size());
+	}
+
+	@Test
+	public void testLocationSeekInnerLines() throws Exception {
+		
+		// Five outer points each with an inner line of ten points run by the detector.
+		IPointGenerator<?> gen = service.createGenerator(new StepModel("x", 0, 4, 1));
+		LocationManager location = createLocation(gen);
+		
+		IPosition pos = location.seek(40, gen.iterator()); // The final line
+		assertEquals(gen.getPoint(4).get("x"), pos.get("x"));
+		assertEquals(40, pos.getStepIndex());
+		assertEquals(40, location.getStepNumber());
+		
+		assertNull(location.seek(45, gen.iterator())); // Part way along the final line
+		assertNull(location.seek(50, gen.iterator())); // Past the end
+		assertNull(location.seek(50, new ArrayList<>(gen.createPoints()).iterator()));
+	}
+	
+	@Test
+	public void testLocationSkipInnerLines() throws Exception {
+		
+		IPointGenerator<?> gen = service.createGenerator(new StepModel("x", 0, 4, 1));
+		for (boolean seekable : new boolean[]{true, false}) {
+			
+			LocationManager location = createLocation(gen);
+			Iterator<IPosition> it = iterator(gen, seekable);
+			location.skip(40, it); // Into the final line
+			assertEquals(40, location.getStepNumber());
+			assertEquals(4,  location.getOuterCount());
+			assertEquals(gen.getPoint(4).get("x"), it.next().get("x"));
+			assertFalse(it.hasNext());
+			
+			it = iterator(gen, seekable);
+			location.skip(47, it); // Part way along the final line goes back to its start
+			assertEquals(40, location.getStepNumber());
+			assertEquals(4,  location.getOuterCount());
+			assertEquals(gen.getPoint(4).get("x"), it.next().get("x"));
+			
+			it = iterator(gen, seekable);
+			location.skip(50, it); // The end of the final line
+			assertEquals(50, location.getStepNumber());
+			assertEquals(5,  location.getOuterCount());
+			assertFalse(it.hasNext());
+			
+			it = iterator(gen, seekable);
+			location.skip(1000, it); // Past the end, the counts stop at the end of the scan
+			assertEquals(50, location.getStepNumber());
+			assertEquals(5,  location.getOuterCount());
+			assertFalse(it.hasNext());
+		}
+	}
+	
+	private LocationManager createLocation(IPointGenerator<?> gen) {
+		LocationManager location = new LocationManager(new ScanBean(), new ScanModel(gen), new AnnotationManager());
+		location.setOuterSize(gen.size());
+		location.setInnerSize(10);
+		location.setTotalSize(gen.size()*10);
+		return location;
+	}
+	
+	private Iterator<IPosition> iterator(IPointGenerator<?> gen, boolean seekable) throws Exception {
+		return seekable ? gen.iterator() : new ArrayList<>(gen.createPoints()).iterator();
+	}
+
+	private void checkRandomAccess(IPointGenerator<?> gen) throws Exception {
+
+		// Not createPoints() which in CompoundGenerator nests the generators without regions
+		List<IPosition> points = new ArrayList<>(gen.size());
+		for (IPosition pos : gen) points.add(pos);
+		assertEquals(gen.size(), points.size());
+
+		// Backwards so that each point is calculated rather than being the next one.
+		for (int i = points.size()-1; i > -1; i--) {
+			IPosition expected = points.get(i);
+			assertEquals(expected, gen.getPoint(i));
+
+			int[] indices = gen.getIndices(i);
+			assertEquals(expected.getScanRank(), indices.length);
+			for (int d = 0; d < indices.length; d++) assertEquals(expected.getIndex(d), indices[d]);
+		}
+
+		// Seeking in an iterator which is part way through
+		Iterator<IPosition> it = gen.iterator();
+		assertTrue(it instanceof ScanPointIterator);
+		it.next();
+		it.next();
+		int middle = points.size()/2;
+		assertTrue(((ScanPointIterator)it).seek(middle));
+		for (int i = middle; i < points.size(); i++) {
+			assertTrue(it.hasNext());
+			assertEquals(points.get(i), it.next());
+		}
+		assertFalse(it.hasNext());
+
+		assertTrue(((ScanPointIterator)it).seek(points.size()));
+		assertFalse(it.hasNext());
+		assertArrayEquals(gen.getShape(), ((ScanPointIterator)it).getShape());
+	}
+}
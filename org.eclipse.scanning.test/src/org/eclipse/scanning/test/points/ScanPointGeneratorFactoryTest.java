@@ -14,11 +14,15 @@ package org.eclipse.scanning.test.points;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
 import org.eclipse.scanning.api.points.IPosition;
@@ -66,6 +70,26 @@ public class ScanPointGeneratorFactoryTest {
         assertEquals(expectedSize, index);
     }
     
+    @Test
+    public void testFactoriesOnManyThreads() throws Exception {
+
+        JythonObjectFactory.warm("jython_spg_interface", "JLineGenerator1D");
+        assertTrue(JythonObjectFactory.getWarmClassCount() > 0);
+        assertTrue(JythonObjectFactory.getStartupTime() > -1);
+
+        // Each thread makes a factory and a generator from the shared class
+        ExecutorService service = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> sizes = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                sizes.add(service.submit(() -> ScanPointGeneratorFactory.JLineGenerator1DFactory().createObject("x", "mm", 1.0, 5.0, 5).size()));
+            }
+            for (Future<Integer> size : sizes) assertEquals(5, size.get().intValue());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
     @Test
     public void testJLineGeneratorFactory2D() {
         JythonObjectFactory<ScanPointIterator> lineGeneratorFactory = ScanPointGeneratorFactory.JLineGenerator2DFactory();
@@ -17,15 +17,23 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(org.junit.runners.Suite.class)
 @SuiteClasses({
 
+	ArrayPositionTest.class,
 	ArrayTest.class,
 	CompoundTest.class, 
+	ExcluderTest.class,
+	GeneratorCacheTest.class,
+	GeneratorEngineTest.class,
 	GridTest.class, 
 	LinearTest.class, 
+	MaskedSizeTest.class,
 	// LissajousTest.class, FIXME Why does this not work?
 	MultiStepTest.class, 
+	PointBlockTest.class,
 	PointServiceTest.class,
+	PointStoreTest.class,
 	RandomOffsetDecoratorTest.class,
 	RandomOffsetGridTest.class,	
+	RandomAccessTest.class,
 	RasterTest.class, 
 	ScanPointGeneratorFactoryTest.class,
 	ScanRankTest.class,
@@ -57,6 +57,8 @@ import org.eclipse.scanning.api.scan.models.ScanModel;
 import org.eclipse.scanning.example.scannable.MockScannable;
 import org.eclipse.scanning.test.BrokerTest;
 import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 public class AbstractScanTest extends BrokerTest {
@@ -66,6 +68,16 @@ public class AbstractScanTest extends BrokerTest {
 	protected IPointGeneratorService      gservice;
 	protected IEventService               eservice;
 
+	@Before
+	public void setProgressRate() {
+		System.setProperty("org.eclipse.scanning.api.event.progress.rate", "0"); // The tests check an event for every point
+	}
+
+	@After
+	public void clearProgressRate() {
+		System.clearProperty("org.eclipse.scanning.api.event.progress.rate");
+	}
+
 	@Test
 	public void testSetSimplePosition() throws Exception {
 
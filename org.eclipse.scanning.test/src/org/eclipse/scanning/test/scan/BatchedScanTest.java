@@ -0,0 +1,156 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPointGeneratorService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.scannable.MockBatchedScannable;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.eclipse.scanning.test.scan.mock.MockBatchedDetector;
+import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that a scan of batched scannables and detectors runs each line
+ * in one go, visiting every point, and compares the time of a scan run
+ * a line at a time with one run a point at a time.
+ */
+public class BatchedScanTest {
+
+	private static IRunnableDeviceService  dservice;
+	private static MockScannableConnector  connector;
+	private static IPointGeneratorService  gservice;
+	private static MockBatchedScannable    bx, by;
+
+	@BeforeClass
+	public static void before() {
+		connector = new MockScannableConnector(null);
+		bx = new MockBatchedScannable("bx", 0d, 3, "mm");
+		by = new MockBatchedScannable("by", 0d, 3, "mm");
+		connector.register(bx);
+		connector.register(by);
+		dservice  = new RunnableDeviceServiceImpl(connector);
+		RunnableDeviceServiceImpl impl = (RunnableDeviceServiceImpl)dservice;
+		impl._register(MockDetectorModel.class, MockBatchedDetector.class);
+		gservice  = new PointGeneratorService();
+	}
+
+	@Before
+	public void batch() {
+		System.setProperty("org.eclipse.scanning.sequencer.batch", "true");
+	}
+
+	@After
+	public void reset() {
+		System.clearProperty("org.eclipse.scanning.sequencer.batch");
+		bx.resetLineCount();
+		by.resetLineCount();
+	}
+
+	@Test
+	public void testLines() throws Exception {
+
+		MockBatchedDetector detector = createDetector(0);
+		IPointGenerator<?> gen = createGenerator(5, 20);
+		runScan(gen, detector);
+
+		assertEquals(gen.size(), detector.getModel().getRan());
+		assertEquals(gen.size(), detector.getModel().getWritten());
+		assertEquals(5, detector.getLineRuns());
+		assertEquals(5, detector.getLineWrites());
+		assertEquals(5, bx.getLineCount());
+
+		// Every point is still visited, in order.
+		IPosition last = null;
+		for (IPosition pos : gen) {
+			bx.verify((Number)pos.get("bx"), pos);
+			by.verify((Number)pos.get("by"), pos);
+			last = pos;
+		}
+		assertEquals(((Number)last.get("bx")).doubleValue(), bx.getPosition().doubleValue(), 0.0000001);
+		assertEquals(((Number)last.get("by")).doubleValue(), by.getPosition().doubleValue(), 0.0000001);
+	}
+
+	@Test
+	public void testNotBatchedByDefault() throws Exception {
+
+		System.clearProperty("org.eclipse.scanning.sequencer.batch");
+		MockBatchedDetector detector = createDetector(0);
+		IPointGenerator<?> gen = createGenerator(5, 20);
+		runScan(gen, detector);
+
+		assertEquals(gen.size(), detector.getModel().getRan());
+		assertEquals(gen.size(), detector.getModel().getWritten());
+		assertEquals(0, detector.getLineRuns());
+		assertEquals(0, bx.getLineCount());
+	}
+
+	@Test
+	public void testBatchedFaster() throws Exception {
+
+		IPointGenerator<?> gen = createGenerator(10, 100);
+
+		// Warm up
+		runScan(gen, createDetector(0.001));
+
+		System.setProperty("org.eclipse.scanning.sequencer.batch", "false");
+		long start = System.currentTimeMillis();
+		runScan(gen, createDetector(0.001));
+		long points = System.currentTimeMillis()-start;
+
+		System.setProperty("org.eclipse.scanning.sequencer.batch", "true");
+		start = System.currentTimeMillis();
+		runScan(gen, createDetector(0.001));
+		long lines = System.currentTimeMillis()-start;
+
+		System.out.println("A "+gen.size()+" point scan took "+points+"ms a point at a time and "+lines+"ms a line at a time");
+		assertTrue("A line at a time took "+lines+"ms, a point at a time "+points+"ms", lines<points);
+	}
+
+	private MockBatchedDetector createDetector(double exposure) throws Exception {
+		MockDetectorModel dmodel = new MockDetectorModel();
+		dmodel.setExposureTime(exposure);
+		dmodel.setName("detector");
+		IRunnableDevice<MockDetectorModel> detector = dservice.createRunnableDevice(dmodel);
+		return (MockBatchedDetector)detector;
+	}
+
+	private IPointGenerator<?> createGenerator(int lines, int points) throws Exception {
+		GridModel gmodel = new GridModel("bx", "by");
+		gmodel.setSlowAxisPoints(lines);
+		gmodel.setFastAxisPoints(points);
+		gmodel.setBoundingBox(new BoundingBox(0,0,3,3));
+		return gservice.createGenerator(gmodel);
+	}
+
+	private void runScan(IPointGenerator<?> gen, MockBatchedDetector detector) throws Exception {
+		final ScanModel smodel = new ScanModel();
+		smodel.setPositionIterable(gen);
+		smodel.setDetectors(detector);
+		IRunnableDevice<ScanModel> scanner = dservice.createRunnableDevice(smodel);
+		scanner.run(null);
+	}
+}
@@ -0,0 +1,227 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.event.scan.ScanRequest;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPointGeneratorService;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.scan.ScanCheckpoint;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.eclipse.scanning.test.scan.mock.MockWritableDetector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that a scan saves a checkpoint as it runs and that a scan
+ * given a checkpoint carries on from it.
+ */
+public class CheckpointTest {
+
+	private static IRunnableDeviceService  dservice;
+	private static IScannableDeviceService connector;
+	private static IPointGeneratorService  gservice;
+
+	private File dir;
+
+	@BeforeClass
+	public static void before() {
+		connector = new MockScannableConnector(null);
+		dservice  = new RunnableDeviceServiceImpl(connector);
+		RunnableDeviceServiceImpl impl = (RunnableDeviceServiceImpl)dservice;
+		impl._register(MockDetectorModel.class, MockWritableDetector.class);
+		gservice  = new PointGeneratorService();
+	}
+
+	@Before
+	public void createDir() throws Exception {
+		dir = Files.createTempDirectory("checkpoints").toFile();
+		dir.deleteOnExit();
+		System.setProperty("org.eclipse.scanning.api.scan.checkpoint.dir", dir.getAbsolutePath());
+		System.setProperty("org.eclipse.scanning.sequencer.checkpoint.interval", "0");
+	}
+
+	@After
+	public void deleteDir() {
+		System.clearProperty("org.eclipse.scanning.api.scan.checkpoint.dir");
+		System.clearProperty("org.eclipse.scanning.sequencer.checkpoint.interval");
+		for (File file : dir.listFiles()) file.delete();
+		dir.delete();
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+
+		ScanCheckpoint checkpoint = new ScanCheckpoint("abc", "/dls/i05/data/scan_12.nxs");
+		checkpoint.setStepNumber(200);
+		checkpoint.setLastWritten(199);
+		checkpoint.setSize(1000);
+		checkpoint.setTime(System.currentTimeMillis());
+		checkpoint.save();
+
+		assertTrue(ScanCheckpoint.getCheckpointFile("abc").exists());
+		assertEquals(checkpoint, ScanCheckpoint.load("abc"));
+
+		assertTrue(checkpoint.delete());
+		assertNull(ScanCheckpoint.load("abc"));
+	}
+
+	@Test
+	public void testResumedFilePath() throws Exception {
+
+		ScanCheckpoint checkpoint = new ScanCheckpoint("abc", "/dls/i05/data/scan_12.nxs");
+		checkpoint.setStepNumber(200);
+		assertEquals("/dls/i05/data/scan_12_from_200.nxs", checkpoint.getResumedFilePath());
+
+		checkpoint.setFilePath(checkpoint.getResumedFilePath());
+		checkpoint.setStepNumber(300);
+		assertEquals("/dls/i05/data/scan_12_from_300.nxs", checkpoint.getResumedFilePath());
+	}
+
+	@Test
+	public void testResumeRecordsContinuedFile() throws Exception {
+
+		ScanCheckpoint checkpoint = new ScanCheckpoint("abc", "/dls/i05/data/scan_12.nxs");
+		checkpoint.setStepNumber(200);
+		assertEquals("/dls/i05/data/scan_12_from_200.nxs", checkpoint.resume());
+		assertEquals("/dls/i05/data/scan_12_from_200.nxs", checkpoint.getFilePath());
+		assertEquals("/dls/i05/data/scan_12.nxs", checkpoint.getContinuedFilePath());
+		assertEquals(200, checkpoint.getContinuedStepNumber());
+
+		checkpoint.setStepNumber(300);
+		checkpoint.save();
+		assertEquals("The continued file is saved", checkpoint, ScanCheckpoint.load("abc"));
+
+		assertEquals("/dls/i05/data/scan_12_from_300.nxs", checkpoint.resume());
+		assertEquals("/dls/i05/data/scan_12_from_200.nxs", checkpoint.getContinuedFilePath());
+		assertEquals(300, checkpoint.getContinuedStepNumber());
+	}
+
+	@Test
+	public void testHash() throws Exception {
+
+		String hash1 = ScanCheckpoint.hash(createRequest(5, "/tmp/a.nxs"));
+		String hash2 = ScanCheckpoint.hash(createRequest(5, "/tmp/b.nxs"));
+		String hash3 = ScanCheckpoint.hash(createRequest(6, "/tmp/a.nxs"));
+
+		assertEquals("The file path is not part of the hash", hash1, hash2);
+		assertNotEquals("The points are part of the hash", hash1, hash3);
+	}
+
+	@Test
+	public void testCheckpointLeftWhenScanFails() throws Exception {
+
+		MockDetectorModel dmodel = createDetectorModel();
+		dmodel.setAbortCount(7); // Fails on the seventh point
+		ScanCheckpoint checkpoint = new ScanCheckpoint("failing", null);
+
+		try {
+			runScan(dmodel, checkpoint);
+			fail("The scan should fail!");
+		} catch (Exception expected) {
+			// The detector failed
+		}
+
+		ScanCheckpoint saved = ScanCheckpoint.load("failing");
+		assertNotNull(saved);
+		assertEquals(5, saved.getLastWritten());
+		assertEquals(6, saved.getStepNumber());
+		assertEquals(25, saved.getSize());
+	}
+
+	@Test
+	public void testCheckpointDeletedWhenScanEnds() throws Exception {
+
+		MockDetectorModel dmodel = createDetectorModel();
+		ScanCheckpoint checkpoint = new ScanCheckpoint("ending", null);
+		runScan(dmodel, checkpoint);
+
+		assertEquals(25, dmodel.getRan());
+		assertFalse(ScanCheckpoint.getCheckpointFile("ending").exists());
+		assertEquals(0, checkpoint.getStepNumber());
+	}
+
+	@Test
+	public void testResume() throws Exception {
+
+		MockDetectorModel dmodel = createDetectorModel();
+		ScanCheckpoint checkpoint = new ScanCheckpoint("resuming", null);
+		checkpoint.setStepNumber(10);
+		checkpoint.setLastWritten(9);
+		checkpoint.save();
+
+		IRunnableDevice<ScanModel> scanner = runScan(dmodel, checkpoint);
+
+		assertEquals("Only the points after the checkpoint are run", 15, dmodel.getRan());
+		assertEquals(25, ((AbstractRunnableDevice<ScanModel>)scanner).getBean().getPoint());
+		assertFalse(ScanCheckpoint.getCheckpointFile("resuming").exists());
+	}
+
+	private MockDetectorModel createDetectorModel() {
+		MockDetectorModel dmodel = new MockDetectorModel();
+		dmodel.setExposureTime(0.001);
+		dmodel.setName("detector");
+		dmodel.setCreateImage(false);
+		return dmodel;
+	}
+
+	private IRunnableDevice<ScanModel> runScan(MockDetectorModel dmodel, ScanCheckpoint checkpoint) throws Exception {
+
+		IRunnableDevice<MockDetectorModel> detector = dservice.createRunnableDevice(dmodel);
+		IPointGenerator<?> gen = gservice.createGenerator(createGridModel(5));
+
+		final ScanModel smodel = new ScanModel();
+		smodel.setPositionIterable(gen);
+		smodel.setDetectors(detector);
+		smodel.setCheckpoint(checkpoint);
+
+		IRunnableDevice<ScanModel> scanner = dservice.createRunnableDevice(smodel);
+		scanner.run(null);
+		return scanner;
+	}
+
+	private ScanRequest<?> createRequest(int points, String filePath) {
+		ScanRequest<?> req = new ScanRequest<>(createGridModel(points), filePath, "beamcurrent");
+		req.putDetector("detector", createDetectorModel());
+		return req;
+	}
+
+	private GridModel createGridModel(int points) {
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(points);
+		gmodel.setFastAxisPoints(points);
+		gmodel.setBoundingBox(new BoundingBox(0,0,3,3));
+		return gmodel;
+	}
+}
@@ -0,0 +1,143 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPointGeneratorService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.scan.ExecutorStrategy;
+import org.eclipse.scanning.api.scan.LevelRole;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.scannable.MockScannable;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.eclipse.scanning.test.scan.mock.MockWritableDetector;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that scans run with each of the executor strategies
+ * and that a thread per task does not limit how many run at once.
+ */
+public class ExecutorStrategyTest {
+
+	private static IRunnableDeviceService  dservice;
+	private static IScannableDeviceService connector;
+	private static IPointGeneratorService  gservice;
+
+	@BeforeClass
+	public static void before() {
+		connector = new MockScannableConnector(null);
+		dservice  = new RunnableDeviceServiceImpl(connector);
+		RunnableDeviceServiceImpl impl = (RunnableDeviceServiceImpl)dservice;
+		impl._register(MockDetectorModel.class, MockWritableDetector.class);
+		gservice  = new PointGeneratorService();
+	}
+
+	@Test
+	public void testForkJoin() throws Exception {
+		checkScan(ExecutorStrategy.FORK_JOIN);
+	}
+
+	@Test
+	public void testBounded() throws Exception {
+		checkScan(ExecutorStrategy.BOUNDED);
+	}
+
+	@Test
+	public void testThreadPerTask() throws Exception {
+		checkScan(ExecutorStrategy.THREAD_PER_TASK);
+	}
+
+	@Test
+	public void testThreadPerTaskMove() throws Exception {
+		final ScanModel smodel = new ScanModel();
+		smodel.setExecutorStrategy(LevelRole.MOVE, ExecutorStrategy.THREAD_PER_TASK);
+		assertEquals(ExecutorStrategy.THREAD_PER_TASK, smodel.getExecutorStrategy(LevelRole.MOVE));
+		assertEquals(null, smodel.getExecutorStrategy(LevelRole.RUN));
+		checkScan(smodel);
+	}
+
+	@Test
+	public void testThreadPerTaskRunsAllAtOnce() throws Exception {
+
+		final int size = 200;
+		final ExecutorService service = ExecutorStrategy.THREAD_PER_TASK.createService(LevelRole.MOVE);
+		try {
+			// Every task waits for all the others to start, like
+			// motors which block while they move.
+			final CountDownLatch started = new CountDownLatch(size);
+			final List<Future<Boolean>> futures = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				futures.add(service.submit(() -> {
+					started.countDown();
+					return started.await(10, TimeUnit.SECONDS);
+				}));
+			}
+			for (Future<Boolean> future : futures) assertTrue(future.get(20, TimeUnit.SECONDS));
+		} finally {
+			service.shutdownNow();
+		}
+	}
+
+	private void checkScan(ExecutorStrategy strategy) throws Exception {
+		final ScanModel smodel = new ScanModel();
+		smodel.setExecutorStrategy(strategy);
+		for (LevelRole role : LevelRole.values()) assertEquals(strategy, smodel.getExecutorStrategy(role));
+		checkScan(smodel);
+	}
+
+	private void checkScan(ScanModel smodel) throws Exception {
+
+		MockDetectorModel dmodel = new MockDetectorModel();
+		dmodel.setExposureTime(0.001);
+		dmodel.setName("detector");
+		IRunnableDevice<MockDetectorModel> detector = dservice.createRunnableDevice(dmodel);
+
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(5);
+		gmodel.setFastAxisPoints(5);
+		gmodel.setBoundingBox(new BoundingBox(0,0,3,3));
+		IPointGenerator<?> gen = gservice.createGenerator(gmodel);
+
+		smodel.setPositionIterable(gen);
+		smodel.setDetectors(detector);
+
+		IRunnableDevice<ScanModel> scanner = dservice.createRunnableDevice(smodel);
+		scanner.run(null);
+
+		assertEquals(gen.size(), ((MockDetectorModel)((AbstractRunnableDevice<?>)detector).getModel()).getRan());
+
+		IScannable<Number> x = connector.getScannable("x");
+		MockScannable ms = (MockScannable)x;
+		for (IPosition pos : gen) ms.verify((Number)pos.get("x"), pos);
+	}
+}
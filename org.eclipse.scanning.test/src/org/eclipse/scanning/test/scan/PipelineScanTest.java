@@ -0,0 +1,121 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPointGeneratorService;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.scannable.MockScannable;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.eclipse.scanning.test.scan.mock.MockWritableDetector;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that a scan with a look ahead moves the readout safe
+ * scannables to every position once, as a scan without one does.
+ */
+public class PipelineScanTest {
+
+	private static IRunnableDeviceService  dservice;
+	private static IScannableDeviceService connector;
+	private static IPointGeneratorService  gservice;
+
+	@BeforeClass
+	public static void before() {
+		connector = new MockScannableConnector(null);
+		dservice  = new RunnableDeviceServiceImpl(connector);
+		RunnableDeviceServiceImpl impl = (RunnableDeviceServiceImpl)dservice;
+		impl._register(MockDetectorModel.class, MockWritableDetector.class);
+		gservice  = new PointGeneratorService();
+	}
+
+	@After
+	public void reset() throws Exception {
+		connector.getScannable("x").setReadoutSafe(false);
+	}
+
+	@Test
+	public void testNoLookAhead() throws Exception {
+		checkScan(0, true);
+	}
+
+	@Test
+	public void testLookAheadNotReadoutSafe() throws Exception {
+		checkScan(1, false);
+	}
+
+	@Test
+	public void testLookAheadOne() throws Exception {
+		checkScan(1, true);
+	}
+
+	@Test
+	public void testLookAheadMany() throws Exception {
+		checkScan(10, true);
+	}
+
+	@Test
+	public void testLookAheadLongerThanScan() throws Exception {
+		checkScan(100, true);
+	}
+
+	private void checkScan(int lookAhead, boolean readoutSafe) throws Exception {
+
+		IScannable<Number> x = connector.getScannable("x");
+		x.setReadoutSafe(readoutSafe);
+
+		MockDetectorModel dmodel = new MockDetectorModel();
+		dmodel.setExposureTime(0.001);
+		dmodel.setName("detector");
+		IRunnableDevice<MockDetectorModel> detector = dservice.createRunnableDevice(dmodel);
+
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(5);
+		gmodel.setFastAxisPoints(5);
+		gmodel.setBoundingBox(new BoundingBox(0,0,3,3));
+		IPointGenerator<?> gen = gservice.createGenerator(gmodel);
+
+		final ScanModel smodel = new ScanModel();
+		smodel.setPositionIterable(gen);
+		smodel.setDetectors(detector);
+		smodel.setLookAhead(lookAhead);
+
+		IRunnableDevice<ScanModel> scanner = dservice.createRunnableDevice(smodel);
+		scanner.run(null);
+
+		assertEquals(gen.size(), ((MockDetectorModel)((AbstractRunnableDevice<?>)detector).getModel()).getRan());
+
+		// NOTE Did with Mockito but caused dependency issues.
+		MockScannable ms = (MockScannable)x;
+		IPosition last = null;
+		for (IPosition pos : gen) {
+			ms.verify((Number)pos.get("x"), pos);
+			last = pos;
+		}
+		assertEquals(((Number)last.get("x")).doubleValue(), x.getPosition().doubleValue(), 0.0000001);
+	}
+}
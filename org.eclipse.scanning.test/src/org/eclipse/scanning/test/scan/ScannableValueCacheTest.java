@@ -0,0 +1,123 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scanning.api.IScannable;
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.device.ScannableValueCache;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.points.MapPosition;
+import org.eclipse.scanning.api.scan.event.IPositioner;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScannableValueCacheTest {
+
+	private IRunnableDeviceService  dservice;
+	private IScannableDeviceService connector;
+
+	@Before
+	public void before() {
+		connector = new MockScannableConnector(null);
+		dservice  = new RunnableDeviceServiceImpl(connector);
+	}
+
+	@Test
+	public void testRecentValueNotRead() throws Exception {
+		
+		ScannableValueCache cache = new ScannableValueCache(1, TimeUnit.HOURS);
+		IScannable<Number>  x     = connector.getScannable("x");
+		x.setPosition(1d);
+		
+		assertEquals(1d, cache.getPosition(x).doubleValue(), 0);
+		assertEquals(1d, cache.getPosition(x).doubleValue(), 0);
+		assertEquals(1, cache.getReadCount());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testAlwaysReadByDefault() throws Exception {
+		
+		ScannableValueCache cache = new ScannableValueCache();
+		IScannable<Number>  x     = connector.getScannable("x");
+		
+		for (int i = 0; i < 10; i++) cache.getPosition(x);
+		assertEquals(10, cache.getReadCount());
+		assertEquals(0,  cache.getHitCount());
+	}
+
+	@Test
+	public void testMaximumAgeZero() throws Exception {
+		
+		ScannableValueCache cache = new ScannableValueCache(1, TimeUnit.HOURS);
+		cache.setMaximumAge("x", 0, TimeUnit.MILLISECONDS);
+		IScannable<Number>  x     = connector.getScannable("x");
+		
+		for (int i = 0; i < 10; i++) cache.getPosition(x);
+		assertEquals(10, cache.getReadCount());
+		assertEquals(0,  cache.getHitCount());
+	}
+
+	@Test
+	public void testEventsUpdateValue() throws Exception {
+		
+		ScannableValueCache cache = new ScannableValueCache(1, TimeUnit.HOURS);
+		IScannable<Number>  x     = connector.getScannable("x");
+		x.setPosition(1d);
+		cache.getPosition(x); // Listens to x from now on
+		
+		// Moved by something other than the scan, the cache hears the event.
+		x.setPosition(2d);
+		assertEquals(2d, cache.getPosition(x).doubleValue(), 0);
+		assertEquals(1, cache.getReadCount());
+	}
+
+	@Test
+	public void testInvalidate() throws Exception {
+		
+		ScannableValueCache cache = new ScannableValueCache(1, TimeUnit.HOURS);
+		IScannable<Number>  x     = connector.getScannable("x");
+		cache.getPosition(x);
+		cache.invalidate("x");
+		cache.getPosition(x);
+		assertEquals(2, cache.getReadCount());
+	}
+
+	@Test
+	public void testPositionerUsesCache() throws Exception {
+		
+		ScannableValueCache cache = connector.getValueCache();
+		cache.setMaximumAge("x", 1, TimeUnit.HOURS);
+		cache.setMaximumAge("y", 1, TimeUnit.HOURS);
+		
+		IPositioner pos = dservice.createPositioner();
+		pos.setPosition(new MapPosition("x:0:2, y:0:3"));
+		
+		long reads = cache.getReadCount();
+		long hits  = cache.getHitCount();
+		for (int i = 0; i < 10; i++) {
+			IPosition position = pos.getPosition();
+			assertEquals(2d, ((Number)position.get("x")).doubleValue(), 0);
+			assertEquals(3d, ((Number)position.get("y")).doubleValue(), 0);
+		}
+		assertEquals(reads, cache.getReadCount());
+		assertEquals(hits+20, cache.getHitCount());
+	}
+
+}
@@ -86,4 +86,20 @@ public class SetPositionTest {
         assertEquals(2, cpsBad.getCount("getPosition"));
 	}
 
+	@Test
+	public void testMoveDifferentThingsWithOnePositioner() throws Exception {
+		
+		// The same positioner plans again when the scannables change
+		IPositioner     pos    = dservice.createPositioner();
+        pos.setPosition(new MapPosition("cpsGood:0:20"));
+        pos.setPosition(new MapPosition("cpsGood:1:30"));
+        pos.setPosition(new MapPosition("cpsBad:0:20"));
+        pos.setPosition(new MapPosition("cpsBad:0:20, cpsGood:2:40"));
+        
+        assertEquals(40d, cpsGood.getPosition().doubleValue(), 0.0000001);
+        assertEquals(3, cpsGood.getCount("setPosition"));
+        assertEquals(20d, cpsBad.getPosition().doubleValue(), 0.0000001);
+        assertEquals(2, cpsBad.getCount("setPosition"));
+	}
+
 }
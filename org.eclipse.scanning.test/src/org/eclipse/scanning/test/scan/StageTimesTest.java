@@ -0,0 +1,121 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.eclipse.scanning.api.device.AbstractRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDevice;
+import org.eclipse.scanning.api.device.IRunnableDeviceService;
+import org.eclipse.scanning.api.device.IScannableDeviceService;
+import org.eclipse.scanning.api.event.scan.StageStatistics;
+import org.eclipse.scanning.api.points.IPointGenerator;
+import org.eclipse.scanning.api.points.IPointGeneratorService;
+import org.eclipse.scanning.api.points.models.BoundingBox;
+import org.eclipse.scanning.api.points.models.GridModel;
+import org.eclipse.scanning.api.scan.models.ScanModel;
+import org.eclipse.scanning.example.scannable.MockScannableConnector;
+import org.eclipse.scanning.points.PointGeneratorService;
+import org.eclipse.scanning.sequencer.RunnableDeviceServiceImpl;
+import org.eclipse.scanning.test.scan.mock.MockDetectorModel;
+import org.eclipse.scanning.test.scan.mock.MockWritableDetector;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that the times of the stages of a scan and of its
+ * devices are on the bean at the end of the scan and over JMX.
+ */
+public class StageTimesTest {
+
+	private static IRunnableDeviceService  dservice;
+	private static IScannableDeviceService connector;
+	private static IPointGeneratorService  gservice;
+
+	private AbstractRunnableDevice<ScanModel> scanner;
+
+	@BeforeClass
+	public static void before() {
+		connector = new MockScannableConnector(null);
+		dservice  = new RunnableDeviceServiceImpl(connector);
+		RunnableDeviceServiceImpl impl = (RunnableDeviceServiceImpl)dservice;
+		impl._register(MockDetectorModel.class, MockWritableDetector.class);
+		gservice  = new PointGeneratorService();
+	}
+
+	@Test
+	public void testStageTimesOnBean() throws Exception {
+
+		IPointGenerator<?> gen = runScan();
+		Map<String, StageStatistics> times = new LinkedHashMap<>();
+		for (StageStatistics stats : scanner.getBean().getStageTimes()) times.put(stats.getName(), stats);
+
+		for (String name : new String[]{"move", "run", "write_wait", "point_start", "point_end", "move/x", "move/y", "run/detector"}) {
+			assertTrue("No times for "+name+" in "+times.keySet(), times.containsKey(name));
+			assertEquals(gen.size(), times.get(name).getCount());
+		}
+
+		StageStatistics run = times.get("run/detector");
+		assertTrue(run.getMin()<=run.getMedian());
+		assertTrue(run.getMedian()<=run.getPercentile99());
+		assertTrue(run.getPercentile99()<=run.getMax());
+		assertTrue(run.getTotal()>=run.getMean()*run.getCount()*0.99);
+	}
+
+	@Test
+	public void testStageTimesOverJMX() throws Exception {
+
+		runScan();
+		ObjectName name = new ObjectName("org.eclipse.scanning.sequencer:type=ScanTimes");
+		CompositeData[] times = (CompositeData[])ManagementFactory.getPlatformMBeanServer().getAttribute(name, "StageTimes");
+		assertNotNull(times);
+
+		List<StageStatistics> expected = scanner.getBean().getStageTimes();
+		assertEquals(expected.size(), times.length);
+		for (int i = 0; i < times.length; i++) {
+			assertEquals(expected.get(i).getName(),  times[i].get("name"));
+			assertEquals(expected.get(i).getCount(), times[i].get("count"));
+		}
+	}
+
+	private IPointGenerator<?> runScan() throws Exception {
+
+		MockDetectorModel dmodel = new MockDetectorModel();
+		dmodel.setExposureTime(0.001);
+		dmodel.setName("detector");
+		IRunnableDevice<MockDetectorModel> detector = dservice.createRunnableDevice(dmodel);
+
+		GridModel gmodel = new GridModel("x", "y");
+		gmodel.setSlowAxisPoints(5);
+		gmodel.setFastAxisPoints(5);
+		gmodel.setBoundingBox(new BoundingBox(0,0,3,3));
+		IPointGenerator<?> gen = gservice.createGenerator(gmodel);
+
+		final ScanModel smodel = new ScanModel();
+		smodel.setPositionIterable(gen);
+		smodel.setDetectors(detector);
+
+		scanner = (AbstractRunnableDevice<ScanModel>)dservice.createRunnableDevice(smodel);
+		scanner.run(null);
+		return gen;
+	}
+}
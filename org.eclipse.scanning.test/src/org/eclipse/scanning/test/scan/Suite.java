@@ -21,7 +21,13 @@ import org.junit.runners.Suite.SuiteClasses;
 	ScanTest.class,
 	ToleranceTest.class,
     SetPositionTest.class,
+	PipelineScanTest.class,
+	BatchedScanTest.class,
+	ExecutorStrategyTest.class,
+	StageTimesTest.class,
 	SeekTest.class,
+	CheckpointTest.class,
+	ScannableValueCacheTest.class,
 	ParserTest.class,
 	BenchmarkScanTest.class,
 	ScanFinishedTest.class,
@@ -0,0 +1,54 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.mock;
+
+import java.util.List;
+
+import org.eclipse.scanning.api.device.IBatchedDetector;
+import org.eclipse.scanning.api.points.IPosition;
+import org.eclipse.scanning.api.scan.ScanningException;
+
+/**
+ * A mock detector which acquires a whole line in one exposure, counting
+ * the lines as well as the points which it runs and writes.
+ */
+public class MockBatchedDetector extends MockWritableDetector implements IBatchedDetector<MockDetectorModel> {
+
+	private int lineRuns;
+	private int lineWrites;
+
+	public MockBatchedDetector() {
+		super();
+	}
+
+	@Override
+	public void run(List<IPosition> positions) throws ScanningException, InterruptedException {
+		if (getModel().getExposureTime()>0) Thread.sleep((long)(getModel().getExposureTime()*1000));
+		getModel().setRan(getModel().getRan()+positions.size());
+		lineRuns++;
+	}
+
+	@Override
+	public boolean write(List<IPosition> positions) throws ScanningException {
+		getModel().setWritten(getModel().getWritten()+positions.size());
+		lineWrites++;
+		return true;
+	}
+
+	public int getLineRuns() {
+		return lineRuns;
+	}
+
+	public int getLineWrites() {
+		return lineWrites;
+	}
+}
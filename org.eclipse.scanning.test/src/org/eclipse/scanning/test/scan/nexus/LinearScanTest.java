@@ -83,6 +83,7 @@ public class LinearScanTest extends BrokerTest{
 	@Before
 	public void setup() throws Exception {
 		
+		System.setProperty("org.eclipse.scanning.api.event.progress.rate", "0"); // The tests check an event for every point
 
 		setUpNonOSGIActivemqMarshaller();
 		eservice  = new EventServiceImpl(new ActivemqConnectorService());
@@ -119,6 +120,7 @@ public class LinearScanTest extends BrokerTest{
 	
 	@After
 	public void clean() throws Exception {
+		System.clearProperty("org.eclipse.scanning.api.event.progress.rate");
         this.publisher.disconnect();
         this.subscriber.disconnect();
         tmp.delete();
@@ -0,0 +1,34 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Matthew Gerring - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.scanning.test.scan.nexus;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+/**
+ * Runs the Mandelbrot scans with the slices of consecutive points
+ * joined together by the NeXus slice writer, the files must be the same.
+ */
+public class MandelbrotBatchedWriteTest extends MandelbrotExampleTest {
+
+	@BeforeClass
+	public static void batch() {
+		System.setProperty("org.eclipse.scanning.sequencer.nexus.batch", "true");
+		System.setProperty("org.eclipse.scanning.sequencer.nexus.batch.capacity", "16");
+	}
+
+	@AfterClass
+	public static void unbatch() {
+		System.clearProperty("org.eclipse.scanning.sequencer.nexus.batch");
+		System.clearProperty("org.eclipse.scanning.sequencer.nexus.batch.capacity");
+	}
+}
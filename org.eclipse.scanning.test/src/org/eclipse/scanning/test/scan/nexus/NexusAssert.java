@@ -21,9 +21,13 @@ import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_ESTIMATED_DURATION;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_FINISHED;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_SHAPE;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_COUNT;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_MEAN;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_STAGE_NAME;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_UNIQUE_KEYS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_KEYS;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_SOLSTICE_SCAN;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_STAGE_TIMES;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -127,6 +131,7 @@ public class NexusAssert {
 
 		assertScanShape(solsticeScanCollection, sizes);
 		assertScanTimes(solsticeScanCollection);
+		assertStageTimes(solsticeScanCollection);
 		 
 		NXcollection keysCollection = (NXcollection) solsticeScanCollection.getGroupNode(GROUP_NAME_KEYS);
 		assertNotNull(keysCollection);
@@ -238,6 +243,29 @@ public class NexusAssert {
 		assertEquals((double) deadTimeMs / scanDurationMs, deadTimePercent / 100, 0.001);
 	}
 	
+	private static void assertStageTimes(NXcollection solsticeScanCollection) {
+		NXcollection stageTimesCollection = (NXcollection) solsticeScanCollection.getGroupNode(GROUP_NAME_STAGE_TIMES);
+		assertNotNull(stageTimesCollection);
+		
+		IDataset names;
+		IDataset counts;
+		IDataset means;
+		try {
+			names  = stageTimesCollection.getDataNode(FIELD_NAME_STAGE_NAME).getDataset().getSlice();
+			counts = stageTimesCollection.getDataNode(FIELD_NAME_STAGE_COUNT).getDataset().getSlice();
+			means  = stageTimesCollection.getDataNode(FIELD_NAME_STAGE_MEAN).getDataset().getSlice();
+		} catch (DatasetException e) {
+			throw new AssertionError("Could not get data from lazy dataset", e);
+		}
+		
+		// a row for each stage and device, the scannables are always moved
+		assertEquals(1, names.getRank());
+		assertArrayEquals(names.getShape(), counts.getShape());
+		assertArrayEquals(names.getShape(), means.getShape());
+		assertEquals("move", names.getString(0));
+		assertTrue(counts.getLong(0) > 0);
+	}
+	
 	private static void assertUniqueKeys(NXcollection keysCollection, boolean snake, boolean foldedGrid, int... sizes) {
 		// check the unique keys field - contains the step number for each scan
 		// point
@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.scanning.test.scan.nexus;
 
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_CONTINUED_FILE;
+import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_CONTINUED_STEP;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DEAD_TIME_PERCENT;
 import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.FIELD_NAME_SCAN_DURATION;
@@ -23,6 +25,7 @@ import static org.eclipse.scanning.sequencer.nexus.SolsticeConstants.GROUP_NAME_
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -58,6 +61,7 @@ import org.eclipse.january.io.ILazySaver;
 import org.eclipse.scanning.api.points.IPosition;
 import org.eclipse.scanning.api.points.MapPosition;
 import org.eclipse.scanning.api.points.StaticPosition;
+import org.eclipse.scanning.api.scan.ScanCheckpoint;
 import org.eclipse.scanning.api.scan.ScanEstimator;
 import org.eclipse.scanning.api.scan.ScanInformation;
 import org.eclipse.scanning.api.scan.models.ScanModel;
@@ -283,6 +287,54 @@ public class SolsticeScanMonitorTest {
 		}
 	}
 	
+	@Test
+	public void testCreateNexusObjectResumed() throws Exception {
+		// Arrange
+		ScanCheckpoint checkpoint = new ScanCheckpoint("abc", "/dls/i05/data/scan_12.nxs");
+		checkpoint.setStepNumber(10);
+		checkpoint.resume();
+
+		ScanModel scanModel = new ScanModel();
+		Iterable<IPosition> positions = Collections.nCopies(25, new StaticPosition());
+		scanModel.setScanInformation(new ScanInformation(new ScanEstimator(positions, null, 100)));
+		scanModel.setCheckpoint(checkpoint);
+		SolsticeScanMonitor solsticeScanMonitor = new SolsticeScanMonitor(scanModel);
+		solsticeScanMonitor.setNexusObjectProviders(new ArrayList<>());
+
+		NexusScanInfo scanInfo = new NexusScanInfo();
+		scanInfo.setRank(2);
+		scanInfo.setShape(new int[] { 5, 5 });
+
+		// Act
+		NXcollection solsticeScanCollection = solsticeScanMonitor.createNexusObject(scanInfo);
+
+		// Assert the file records the file it continues and the step it does so from
+		DataNode continuedFileDataNode = solsticeScanCollection.getDataNode(FIELD_NAME_CONTINUED_FILE);
+		assertNotNull(continuedFileDataNode);
+		assertEquals("/dls/i05/data/scan_12.nxs", continuedFileDataNode.getDataset().getSlice().getString());
+		DataNode continuedStepDataNode = solsticeScanCollection.getDataNode(FIELD_NAME_CONTINUED_STEP);
+		assertNotNull(continuedStepDataNode);
+		assertEquals(10, continuedStepDataNode.getDataset().getSlice().getInt());
+	}
+
+	@Test
+	public void testCreateNexusObjectNotResumed() throws Exception {
+		ScanModel scanModel = new ScanModel();
+		Iterable<IPosition> positions = Collections.nCopies(25, new StaticPosition());
+		scanModel.setScanInformation(new ScanInformation(new ScanEstimator(positions, null, 100)));
+		scanModel.setCheckpoint(new ScanCheckpoint("abc", "/dls/i05/data/scan_12.nxs"));
+		SolsticeScanMonitor solsticeScanMonitor = new SolsticeScanMonitor(scanModel);
+		solsticeScanMonitor.setNexusObjectProviders(new ArrayList<>());
+
+		NexusScanInfo scanInfo = new NexusScanInfo();
+		scanInfo.setRank(2);
+		scanInfo.setShape(new int[] { 5, 5 });
+
+		NXcollection solsticeScanCollection = solsticeScanMonitor.createNexusObject(scanInfo);
+		assertNull(solsticeScanCollection.getDataNode(FIELD_NAME_CONTINUED_FILE));
+		assertNull(solsticeScanCollection.getDataNode(FIELD_NAME_CONTINUED_STEP));
+	}
+	
 	@Test
 	public void testWriteScanPoints() throws Exception {
 		// Arrange - we have to create the nexus object first 
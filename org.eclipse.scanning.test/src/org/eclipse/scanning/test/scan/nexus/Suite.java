@@ -25,6 +25,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	MalcolmScanTest.class,
 	MandelbrotAcquireTest.class,
 	MandelbrotExampleTest.class,
+	MandelbrotBatchedWriteTest.class,
 	MandelbrotRemoteTest.class,
 	MonitorTest.class,
 	ScanMetadataTest.class,